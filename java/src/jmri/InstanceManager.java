@@ -82,6 +82,10 @@ public final class InstanceManager {
     private final Map<Class<?>, List<Object>> managerLists = Collections.synchronizedMap(new HashMap<>());
     private final HashMap<Class<?>, InstanceInitializer> initializers = new HashMap<>();
     private final HashMap<Class<?>, StateHolder> initState = new HashMap<>();
+    // defaults already found, replaced rather than changed so it can be read
+    // without a lock; an entry is removed, holding the type lock, whenever the
+    // list of that type changes
+    private volatile Map<Class<?>, Object> defaults = Collections.emptyMap();
 
     /**
      * Store an object of a particular type for later retrieval via
@@ -99,14 +103,21 @@ public final class InstanceManager {
             log.error("Should not store null value of type {}", type.getName());
             throw npe;
         }
-        List<T> l = getList(type);
-        l.add(item);
-        getDefault().pcs.fireIndexedPropertyChange(getListPropertyName(type), l.indexOf(item), null, item);
+        InstanceManager manager = getDefault();
+        List<T> l = manager.getInstances(type);
+        synchronized (type) {
+            l.add(item);
+            manager.forgetDefault(type);
+        }
+        manager.pcs.fireIndexedPropertyChange(getListPropertyName(type), l.indexOf(item), null, item);
     }
 
     /**
      * Retrieve a list of all objects of type T that were registered with
      * {@link #store}.
+     * <p>
+     * Change the list only through the InstanceManager, so the default it
+     * remembers for the type is kept up to date.
      *
      * @param <T>  The type of the class
      * @param type The class Object for the items' type.
@@ -158,9 +169,15 @@ public final class InstanceManager {
     public <T> void remove(@Nonnull T item, @Nonnull Class<T> type) {
         log.debug("Remove item type {}", type.getName());
         List<T> l = getList(type);
-        int index = l.indexOf(item);
+        int index;
+        synchronized (type) {
+            index = l.indexOf(item);
+            if (index != -1) {
+                l.remove(item);
+                forgetDefault(type);
+            }
+        }
         if (index != -1) { // -1 means items was not in list, and therefore, not registered
-            l.remove(item);
             if (item instanceof Disposable) {
                 dispose((Disposable) item);
             }
@@ -254,8 +271,14 @@ public final class InstanceManager {
      * @see #getOptionalDefault(java.lang.Class)
      */
     @CheckForNull
+    @SuppressWarnings("unchecked") // the cast here is protected by the structure of the defaults
     public <T> T getInstance(@Nonnull Class<T> type) {
         log.trace("getOptionalDefault of type {}", type.getName());
+        // most calls are for a default that already exists
+        T cached = (T) defaults.get(type);
+        if (cached != null) {
+            return cached;
+        }
         synchronized (type) {
             List<T> l = getInstances(type);
             if (l.isEmpty()) {
@@ -311,7 +334,7 @@ public final class InstanceManager {
                         traceFileIndent--;
                         traceFilePrint("End initialization A: " + type.toString());
                     }
-                    return l.get(l.size() - 1);
+                    return rememberDefault(type, l);
                 }
                 // see if initializer can handle
                 log.debug("    attempt initializer create of {}", type.getName());
@@ -330,7 +353,7 @@ public final class InstanceManager {
                             traceFileIndent--;
                             traceFilePrint("End initialization I: " + type.toString());
                         }
-                        return l.get(l.size() - 1);
+                        return rememberDefault(type, l);
                     } catch (IllegalArgumentException ex) {
                         log.error("Known initializer for {} does not provide a default instance for that class",
                                 type.getName());
@@ -347,7 +370,40 @@ public final class InstanceManager {
                 }
                 return null;
             }
-            return l.get(l.size() - 1);
+            return rememberDefault(type, l);
+        }
+    }
+
+    /**
+     * Remember the default of a type for lookups without a lock. Must hold the
+     * type lock.
+     *
+     * @param <T>  the type of the class
+     * @param type the class Object for the type
+     * @param l    the list of the type, not empty
+     * @return the default, the last item in the list
+     */
+    private synchronized <T> T rememberDefault(@Nonnull Class<T> type, @Nonnull List<T> l) {
+        T item = l.get(l.size() - 1);
+        if (defaults.get(type) != item) {
+            Map<Class<?>, Object> copy = new HashMap<>(defaults);
+            copy.put(type, item);
+            defaults = Collections.unmodifiableMap(copy);
+        }
+        return item;
+    }
+
+    /**
+     * Forget the remembered default of a type after its list changes. Must
+     * hold the type lock.
+     *
+     * @param type the class Object for the type
+     */
+    private synchronized void forgetDefault(@Nonnull Class<?> type) {
+        if (defaults.containsKey(type)) {
+            Map<Class<?>, Object> copy = new HashMap<>(defaults);
+            copy.remove(type);
+            defaults = Collections.unmodifiableMap(copy);
         }
     }
 
@@ -400,9 +456,13 @@ public final class InstanceManager {
             throw npe;
         }
         Object oldDefault = containsDefault(type) ? getNullableDefault(type) : null;
-        List<T> l = getList(type);
-        l.remove(item);
-        l.add(item);
+        InstanceManager manager = getDefault();
+        List<T> l = manager.getInstances(type);
+        synchronized (type) {
+            l.remove(item);
+            l.add(item);
+            manager.forgetDefault(type);
+        }
         if (oldDefault == null || !oldDefault.equals(item)) {
             getDefault().pcs.firePropertyChange(getDefaultsPropertyName(type), oldDefault, item);
         }
@@ -807,7 +867,10 @@ public final class InstanceManager {
         List<T> toClear = new ArrayList<>(getInstances(type));
         toClear.forEach(o -> remove(o, type));
         setInitializationState(type, InitializationState.NOTSET); // initialization will have to be redone
-        managerLists.put(type, new ArrayList<>());
+        synchronized (type) {
+            managerLists.put(type, new ArrayList<>());
+            forgetDefault(type);
+        }
     }
 
     /**
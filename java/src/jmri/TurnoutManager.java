@@ -1,8 +1,10 @@
 package jmri;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import javax.annotation.Nonnull;
 import javax.annotation.CheckForNull;
+import jmri.util.ThreadingUtil;
 
 /**
  * Locate a Turnout object representing some specific turnout on the layout.
@@ -305,4 +307,21 @@ public interface TurnoutManager extends ProvidingManager<Turnout> {
     @Nonnull
     public LocalDateTime outputIntervalEnds();
 
+    /**
+     * Send a command to the layout in turn with the other commands queued on
+     * the connection of a turnout, at most one per output interval, so a
+     * group of commands such as those from a Route goes out at a rate the
+     * connection can sustain.
+     * <p>
+     * The command is run on the layout thread. This default implementation
+     * runs it when {@link #outputIntervalEnds()} says.
+     *
+     * @param turnout the turnout the command is for
+     * @param command the command to send
+     */
+    public default void queueOutput(@Nonnull Turnout turnout, @Nonnull ThreadingUtil.ThreadAction command) {
+        long delay = Math.max(0L, LocalDateTime.now().until(outputIntervalEnds(), ChronoUnit.MILLIS));
+        ThreadingUtil.runOnLayoutDelayed(command, (int) delay);
+    }
+
 }
@@ -1,20 +1,53 @@
 package jmri;
 
 import jmri.implementation.AbstractTurnout;
+import jmri.util.DebounceScheduler;
 
 /**
  * Some (not much) common machinery for the concrete turnout operator classes.
+ * <p>
+ * An operator doesn't have a thread of its own. Each step of the operation is
+ * run on the layout thread by {@link #run()}, which asks for the next step
+ * with {@link #runAfter(long)} rather than sleeping between attempts.
  *
  * @author John Harper Copyright 2005
  *
  */
-public abstract class TurnoutOperator extends Thread {
+public abstract class TurnoutOperator implements Runnable {
 
     protected AbstractTurnout myTurnout;
 
+    private final String name;
+    private final DebounceScheduler.Debouncer nextStep;
+
     protected TurnoutOperator(AbstractTurnout t) {
         myTurnout = t;
-        setName("Operating turnout " + t.getSystemName());
+        name = "Operating turnout " + t.getSystemName();
+        nextStep = new DebounceScheduler.Debouncer(t, this::run);
+    }
+
+    /**
+     * @return the name of the operation, for logging
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Start the operation. The first step runs on the layout thread soon
+     * after.
+     */
+    public void start() {
+        runAfter(0);
+    }
+
+    /**
+     * Run the next step of the operation on the layout thread after a delay.
+     *
+     * @param delay the delay in milliseconds
+     */
+    protected void runAfter(long delay) {
+        nextStep.schedule(delay);
     }
 
     protected void operatorCheck() throws TurnoutOperatorException {
@@ -1,6 +1,8 @@
 package jmri.implementation;
 
+import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
+import java.beans.PropertyChangeListenerProxy;
 import java.beans.PropertyChangeSupport;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -12,6 +14,7 @@ import javax.annotation.CheckForNull;
 import javax.annotation.OverridingMethodsMustInvokeSuper;
 import jmri.NamedBean;
 import jmri.beans.BeanUtil;
+import jmri.util.ThreadingUtil;
 
 /**
  * Abstract base for the NamedBean interface.
@@ -296,7 +299,39 @@ public abstract class AbstractNamedBean implements NamedBean {
 
     @OverridingMethodsMustInvokeSuper
     protected void firePropertyChange(String p, Object old, Object n) {
-        pcs.firePropertyChange(p, old, n);
+        if (ThreadingUtil.isLayoutThread() && !ThreadingUtil.isGUIThread()) {
+            fireFromLayoutThread(p, old, n);
+        } else {
+            pcs.firePropertyChange(p, old, n);
+        }
+    }
+
+    /**
+     * Notify listeners of a change made on a dedicated layout thread. Swing
+     * listeners, e.g. panel icons and table models, are notified later on the
+     * Swing thread; all others are notified now.
+     */
+    private void fireFromLayoutThread(String p, Object old, Object n) {
+        if (old != null && n != null && old.equals(n)) {
+            return;
+        }
+        PropertyChangeEvent e = new PropertyChangeEvent(this, p, old, n);
+        for (PropertyChangeListener l : pcs.getPropertyChangeListeners()) {
+            PropertyChangeListener listener = l;
+            if (l instanceof PropertyChangeListenerProxy) {
+                PropertyChangeListenerProxy proxy = (PropertyChangeListenerProxy) l;
+                if (p == null || !p.equals(proxy.getPropertyName())) {
+                    continue;
+                }
+                listener = proxy.getListener();
+            }
+            if (ThreadingUtil.isGUIListener(listener)) {
+                PropertyChangeListener gui = listener;
+                ThreadingUtil.runOnGUIEventually(() -> gui.propertyChange(e));
+            } else {
+                listener.propertyChange(e);
+            }
+        }
     }
 
     @Override
@@ -6,6 +6,7 @@ import javax.annotation.Nonnull;
 import jmri.Reporter;
 import jmri.Sensor;
 import jmri.Turnout;
+import jmri.util.DebounceScheduler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -96,37 +97,40 @@ public abstract class AbstractSensor extends AbstractNamedBean implements Sensor
         return useDefaultTimerSettings;
     }
 
+    /**
+     * @deprecated since 4.23.1; debouncing no longer uses a thread per change
+     */
+    @Deprecated
     protected Thread thr;
+    /**
+     * @deprecated since 4.23.1; debouncing no longer uses a thread per change
+     */
+    @Deprecated
     protected Runnable r;
 
+    private final DebounceScheduler.Debouncer debouncer = new DebounceScheduler.Debouncer(this, this::debounced);
+    private int debounceLastKnownState;
+
     /**
      * Before going active or inactive or checking that we can go active, we will wait for
      * sensorDebounceGoing(In)Active for things to settle down to help prevent a race condition.
+     * <p>
+     * The wait is shared with all other sensors by the {@link DebounceScheduler}, and the
+     * new state is published on the layout thread.
      */
     protected void sensorDebounce() {
-        final int lastKnownState = _knownState;
-        r = () -> {
-            try {
-                long sensorDebounceTimer = sensorDebounceGoingInActive;
-                if (_rawState == ACTIVE) {
-                    sensorDebounceTimer = sensorDebounceGoingActive;
-                }
-                Thread.sleep(sensorDebounceTimer);
-                restartcount = 0;
-                _knownState = _rawState;
-
-                javax.swing.SwingUtilities.invokeAndWait(
-                        () -> firePropertyChange("KnownState", lastKnownState, _knownState)
-                );
-            } catch (InterruptedException ex) {
-                restartcount++;
-            } catch (java.lang.reflect.InvocationTargetException ex) {
-                log.error("failed to start debounced Sensor update for \"{}\" due to {}", getDisplayName(), ex.getCause());
-            }
-        };
+        debounceLastKnownState = _knownState;
+        long sensorDebounceTimer = sensorDebounceGoingInActive;
+        if (_rawState == ACTIVE) {
+            sensorDebounceTimer = sensorDebounceGoingActive;
+        }
+        debouncer.schedule(sensorDebounceTimer);
+    }
 
-        thr = jmri.util.ThreadingUtil.newThread(r);
-        thr.start();
+    private void debounced() {
+        restartcount = 0;
+        _knownState = _rawState;
+        firePropertyChange("KnownState", debounceLastKnownState, _knownState);
     }
 
     int restartcount = 0;
@@ -190,8 +194,8 @@ public abstract class AbstractSensor extends AbstractNamedBean implements Sensor
 
                 int oldRawState = _rawState;
                 _rawState = s;
-                if (thr != null) {
-                    thr.interrupt();
+                if (debouncer.cancel()) {
+                    restartcount++;
                 }
 
                 if ((restartcount != 0) && (restartcount % 10 == 0)) {
@@ -201,10 +205,10 @@ public abstract class AbstractSensor extends AbstractNamedBean implements Sensor
                 sensorDebounce();
                 return;
             } else {
-                // we shall try to stop the thread as one of the state changes
-                // might start the thread, while the other may not.
-                if (thr != null) {
-                    thr.interrupt();
+                // we shall try to stop the debounce as one of the state changes
+                // might start the debounce, while the other may not.
+                if (debouncer.cancel()) {
+                    restartcount++;
                 }
                 _rawState = s;
             }
@@ -1,8 +1,6 @@
 package jmri.implementation;
 
 import java.beans.*;
-import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
 import java.util.Arrays;
 import java.util.ArrayList;
 import java.util.HashSet;
@@ -153,7 +151,7 @@ public abstract class AbstractTurnout extends AbstractNamedBean implements
         log.debug("set commanded state for turnout {} to {}", getDisplayName(DisplayOptions.USERNAME_SYSTEMNAME),
                 (s == Turnout.CLOSED ? closedText : thrownText));
         newCommandedState(s);
-        myOperator = getTurnoutOperator(); // MUST set myOperator before starting the thread
+        myOperator = getTurnoutOperator(); // MUST set myOperator before starting it
         if (myOperator == null) {
             log.debug("myOperator NULL");
             forwardCommandChangeToLayout(s);
@@ -179,41 +177,30 @@ public abstract class AbstractTurnout extends AbstractNamedBean implements
      */
     public static int DELAYED_FEEDBACK_INTERVAL = 4000;
 
+    /**
+     * @deprecated since 4.23.1; commands are no longer delayed on a thread of
+     * their own, see {@link #setCommandedStateAtInterval(int)}
+     */
+    @Deprecated
     protected Thread thr;
+    /**
+     * @deprecated since 4.23.1; commands are no longer delayed on a thread of
+     * their own, see {@link #setCommandedStateAtInterval(int)}
+     */
+    @Deprecated
     protected Runnable r;
-    private LocalDateTime nextWait;
 
     /** {@inheritDoc}
      * Used in {@link jmri.implementation.DefaultRoute#setRoute()} and
      * {@link jmri.implementation.MatrixSignalMast#updateOutputs(char[])}.
+     * <p>
+     * The command waits its turn in the queue of the connection's
+     * TurnoutManager, which sends one command per output interval.
      */
     @Override
     public void setCommandedStateAtInterval(int s) {
-        nextWait = InstanceManager.turnoutManagerInstance().outputIntervalEnds();
-        // nextWait time is calculated using actual turnoutInterval in TurnoutManager
-        if (nextWait.isAfter(LocalDateTime.now())) { // don't sleep if nextWait =< now()
-            log.debug("Turnout now() = {}, waitUntil = {}", LocalDateTime.now(), nextWait);
-            // insert wait before sending next output command to the layout
-            r = new Runnable() {
-                @Override
-                public void run() {
-                    log.debug("go to sleep for {} ms...", Math.max(0L, LocalDateTime.now().until(nextWait, ChronoUnit.MILLIS)));
-                    try {
-                        Thread.sleep(Math.max(0L, LocalDateTime.now().until(nextWait, ChronoUnit.MILLIS))); // nextWait might have passed in the meantime
-                        log.debug("back from sleep, forward on {}", LocalDateTime.now());
-                        setCommandedState(s);
-                    } catch (InterruptedException ex) {
-                        log.debug("setCommandedStateAtInterval(s) interrupted at {}", LocalDateTime.now());
-                        Thread.currentThread().interrupt(); // retain if needed later
-                    }
-                }
-            };
-            thr = new Thread(r);
-            thr.start();
-        } else {
-            log.debug("nextWait has passed");
-            setCommandedState(s);
-        }
+        log.debug("queue commanded state {} for turnout {}", s, getSystemName());
+        InstanceManager.turnoutManagerInstance().queueOutput(this, () -> setCommandedState(s));
     }
 
     @Override
@@ -68,6 +68,8 @@ public class DefaultConditional extends AbstractNamedBean
             Conditional.AntecedentOperator.ALL_AND;
     // variables (antecedent) parameters
     private List<ConditionalVariable> _variableList = new ArrayList<>();
+    // the mixed antecedent compiled for the variables, null until needed
+    private Antecedent _compiledAntecedent = null;
     // actions (consequent) parameters
     protected List<ConditionalAction> _actionList = new ArrayList<>();
 
@@ -111,6 +113,7 @@ public class DefaultConditional extends AbstractNamedBean
     public void setLogicType(Conditional.AntecedentOperator type, String antecedent) {
         _logicType = type;
         _antecedent = antecedent; // non-localised (universal) string description
+        _compiledAntecedent = null;
         setState(NamedBean.UNKNOWN);
     }
 
@@ -135,6 +138,7 @@ public class DefaultConditional extends AbstractNamedBean
         log.debug("Conditional \"{}\" ({}) updated ConditionalVariable list.",
                 getUserName(), getSystemName());  // NOI18N
         _variableList = arrayList;
+        _compiledAntecedent = null;
     }
 
     /**
@@ -238,21 +242,13 @@ public class DefaultConditional extends AbstractNamedBean
                 }
                 break;
             case MIXED:
-                char[] ch = _antecedent.toCharArray();
-                int n = 0;
-                for (int j = 0; j < ch.length; j++) {
-                    if (ch[j] != ' ') {
-                        if (ch[j] == '{' || ch[j] == '[') {
-                            ch[j] = '(';
-                        } else if (ch[j] == '}' || ch[j] == ']') {
-                            ch[j] = ')';
-                        }
-                        ch[n++] = ch[j];
-                    }
-                }
                 try {
-                    DataPair dp = parseCalculate(new String(ch, 0, n), _variableList);
-                    result = dp.result;
+                    Antecedent antecedent = _compiledAntecedent;
+                    if (antecedent == null) {
+                        antecedent = compileAntecedent(removeSpaces(_antecedent), _variableList).antecedent;
+                        _compiledAntecedent = antecedent;
+                    }
+                    result = antecedent.evaluate();
                 } catch (NumberFormatException | IndexOutOfBoundsException | JmriException e) {
                     result = false;
                     log.error("{} parseCalculation error antecedent= {}, ex= {}", getDisplayName(), _antecedent, e,e);  // NOI18N
@@ -324,17 +320,32 @@ public class DefaultConditional extends AbstractNamedBean
         boolean result = false;
         int indexCount = 0;         // index reached when parsing completed
         BitSet argsUsed = null;     // error detection for missing arguments
+        Antecedent antecedent = null;   // the level compiled for evaluation
     }
 
     /**
-     * Check that an antecedent is well formed.
+     * A compiled antecedent expression, or a part of one.
+     */
+    @FunctionalInterface
+    interface Antecedent {
+
+        /**
+         * Evaluate the state variables in the expression, left to right, and
+         * combine them.
+         *
+         * @return the truth value of the expression
+         */
+        boolean evaluate();
+    }
+
+    /**
+     * Remove the spaces from an antecedent and replace brackets and braces with
+     * parentheses.
      *
      * @param ant the antecedent string description
-     * @param variableList arraylist of existing Conditional variables
-     * @return error message string if not well formed
+     * @return the antecedent ready to parse
      */
-    @Override
-    public String validateAntecedent(String ant, List<ConditionalVariable> variableList) {
+    private static String removeSpaces(String ant) {
         char[] ch = ant.toCharArray();
         int n = 0;
         for (int j = 0; j < ch.length; j++) {
@@ -347,6 +358,20 @@ public class DefaultConditional extends AbstractNamedBean
                 ch[n++] = ch[j];
             }
         }
+        return new String(ch, 0, n);
+    }
+
+    /**
+     * Check that an antecedent is well formed.
+     *
+     * @param ant the antecedent string description
+     * @param variableList arraylist of existing Conditional variables
+     * @return error message string if not well formed
+     */
+    @Override
+    public String validateAntecedent(String ant, List<ConditionalVariable> variableList) {
+        char[] ch = removeSpaces(ant).toCharArray();
+        int n = ch.length;
         int count = 0;
         for (int j = 0; j < n; j++) {
             if (ch[j] == '(') {
@@ -398,74 +423,45 @@ public class DefaultConditional extends AbstractNamedBean
      */
     DataPair parseCalculate(String s, List<ConditionalVariable> variableList)
             throws JmriException {
+        DataPair dp = compileAntecedent(s, variableList);
+        dp.result = dp.antecedent.evaluate();
+        return dp;
+    }
 
+    /**
+     * Parses one parenthesis level of a boolean statement into an
+     * {@link Antecedent} that can be evaluated each time the Conditional is
+     * calculated without parsing the statement again.
+     * <p>
+     * The operators are applied left to right, and every variable is evaluated
+     * each time, as the variables remember their last state.
+     *
+     * @param s            The expression to be parsed
+     * @param variableList ConditionalVariables for R1, R2, etc
+     * @return a data pair consisting of the compiled level, a count of the
+     *         indices consumed to parse the level and a bitmap of the variable
+     *         indices used.
+     * @throws jmri.JmriException if unable to parse the logic
+     */
+    DataPair compileAntecedent(String s, List<ConditionalVariable> variableList)
+            throws JmriException {
         // for simplicity, we force the string to upper case before scanning
-        s = s.toUpperCase();
-
-        BitSet argsUsed = new BitSet(_variableList.size());
-        DataPair dp = null;
-        boolean leftArg = false;
-        boolean rightArg = false;
-        int oper = OPERATOR_NONE;
-        int k = -1;
-        int i = 0;      // index of String s
-        //int numArgs = 0;
-        if (s.charAt(i) == '(') {
-            dp = parseCalculate(s.substring(++i), variableList);
-            leftArg = dp.result;
-            i += dp.indexCount;
-            argsUsed.or(dp.argsUsed);
-        } else // cannot be '('.  must be either leftArg or notleftArg
-        {
-            if (s.charAt(i) == 'R') {  // NOI18N
-                try {
-                    k = Integer.parseInt(String.valueOf(s.substring(i + 1, i + 3)));
-                    i += 2;
-                } catch (NumberFormatException | IndexOutOfBoundsException nfe) {
-                    k = Integer.parseInt(String.valueOf(s.charAt(++i)));
-                }
-                leftArg = variableList.get(k - 1).evaluate();
-                if (variableList.get(k - 1).isNegated()) {
-                    leftArg = !leftArg;
-                }
-                i++;
-                argsUsed.set(k - 1);
-            } else if ("NOT".equals(s.substring(i, i + 3))) {  // NOI18N
-                i += 3;
-
-                // not leftArg
-                if (s.charAt(i) == '(') {
-                    dp = parseCalculate(s.substring(++i), variableList);
-                    leftArg = dp.result;
-                    i += dp.indexCount;
-                    argsUsed.or(dp.argsUsed);
-                } else if (s.charAt(i) == 'R') {  // NOI18N
-                    try {
-                        k = Integer.parseInt(String.valueOf(s.substring(i + 1, i + 3)));
-                        i += 2;
-                    } catch (NumberFormatException | IndexOutOfBoundsException nfe) {
-                        k = Integer.parseInt(String.valueOf(s.charAt(++i)));
-                    }
-                    leftArg = variableList.get(k - 1).evaluate();
-                    if (variableList.get(k - 1).isNegated()) {
-                        leftArg = !leftArg;
-                    }
-                    i++;
-                    argsUsed.set(k - 1);
-                } else {
-                    throw new JmriException(java.text.MessageFormat.format(
-                            rbx.getString("ParseError1"), new Object[]{s.substring(i)}));  // NOI18N
-                }
-                leftArg = !leftArg;
-            } else {
-                throw new JmriException(java.text.MessageFormat.format(
-                        rbx.getString("ParseError9"), new Object[]{s}));  // NOI18N
-            }
-        }
+        return compileLevel(s.toUpperCase(), 0, variableList);
+    }
+
+    private DataPair compileLevel(String s, int start, List<ConditionalVariable> variableList)
+            throws JmriException {
+        BitSet argsUsed = new BitSet(variableList.size());
+        int i = start;      // index of String s
+        DataPair dp = compileOperand(s, i, variableList, "ParseError1", s.substring(start));  // NOI18N
+        Antecedent leftArg = dp.antecedent;
+        i = dp.indexCount;
+        argsUsed.or(dp.argsUsed);
         // crank away to the right until a matching parent is reached
         while (i < s.length()) {
             if (s.charAt(i) != ')') {
                 // must be either AND or OR
+                int oper;
                 if ("AND".equals(s.substring(i, i + 3))) {  // NOI18N
                     i += 3;
                     oper = OPERATOR_AND;
@@ -476,61 +472,21 @@ public class DefaultConditional extends AbstractNamedBean
                     throw new JmriException(java.text.MessageFormat.format(
                             rbx.getString("ParseError2"), new Object[]{s.substring(i)}));  // NOI18N
                 }
-                if (s.charAt(i) == '(') {
-                    dp = parseCalculate(s.substring(++i), variableList);
-                    rightArg = dp.result;
-                    i += dp.indexCount;
-                    argsUsed.or(dp.argsUsed);
-                } else // cannot be '('.  must be either rightArg or notRightArg
-                {
-                    if (s.charAt(i) == 'R') {  // NOI18N
-                        try {
-                            k = Integer.parseInt(String.valueOf(s.substring(i + 1, i + 3)));
-                            i += 2;
-                        } catch (NumberFormatException | IndexOutOfBoundsException nfe) {
-                            k = Integer.parseInt(String.valueOf(s.charAt(++i)));
-                        }
-                        rightArg = variableList.get(k - 1).evaluate();
-                        if (variableList.get(k - 1).isNegated()) {
-                            rightArg = !rightArg;
-                        }
-                        i++;
-                        argsUsed.set(k - 1);
-                    } else if ("NOT".equals(s.substring(i, i + 3))) {  // NOI18N
-                        i += 3;
-                        // not rightArg
-                        if (s.charAt(i) == '(') {
-                            dp = parseCalculate(s.substring(++i), variableList);
-                            rightArg = dp.result;
-                            i += dp.indexCount;
-                            argsUsed.or(dp.argsUsed);
-                        } else if (s.charAt(i) == 'R') {  // NOI18N
-                            try {
-                                k = Integer.parseInt(String.valueOf(s.substring(i + 1, i + 3)));
-                                i += 2;
-                            } catch (NumberFormatException | IndexOutOfBoundsException nfe) {
-                                k = Integer.parseInt(String.valueOf(s.charAt(++i)));
-                            }
-                            rightArg = variableList.get(k - 1).evaluate();
-                            if (variableList.get(k - 1).isNegated()) {
-                                rightArg = !rightArg;
-                            }
-                            i++;
-                            argsUsed.set(k - 1);
-                        } else {
-                            throw new JmriException(java.text.MessageFormat.format(
-                                    rbx.getString("ParseError3"), new Object[]{s.substring(i)}));  // NOI18N
-                        }
-                        rightArg = !rightArg;
-                    } else {
-                        throw new JmriException(java.text.MessageFormat.format(
-                                rbx.getString("ParseError9"), new Object[]{s.substring(i)}));  // NOI18N
-                    }
-                }
+                dp = compileOperand(s, i, variableList, "ParseError3", s.substring(i));  // NOI18N
+                Antecedent left = leftArg;
+                Antecedent right = dp.antecedent;
+                i = dp.indexCount;
+                argsUsed.or(dp.argsUsed);
                 if (oper == OPERATOR_AND) {
-                    leftArg = (leftArg && rightArg);
-                } else if (oper == OPERATOR_OR) {
-                    leftArg = (leftArg || rightArg);
+                    leftArg = () -> {
+                        boolean l = left.evaluate();
+                        return right.evaluate() && l;
+                    };
+                } else {
+                    leftArg = () -> {
+                        boolean l = left.evaluate();
+                        return right.evaluate() || l;
+                    };
                 }
             } else {  // This level done, pop recursion
                 i++;
@@ -538,12 +494,68 @@ public class DefaultConditional extends AbstractNamedBean
             }
         }
         dp = new DataPair();
-        dp.result = leftArg;
-        dp.indexCount = i;
+        dp.antecedent = leftArg;
+        dp.indexCount = i - start;
         dp.argsUsed = argsUsed;
         return dp;
     }
 
+    /**
+     * Parse a variable, a parenthesis level or the negation of either.
+     *
+     * @param s            The expression being parsed
+     * @param i            index of the operand in s
+     * @param variableList ConditionalVariables for R1, R2, etc
+     * @param notError     message key if NOT is not followed by an operand
+     * @param text         text for the error message if there is no operand
+     * @return the operand, with indexCount the index in s after it
+     * @throws jmri.JmriException if unable to parse the operand
+     */
+    private DataPair compileOperand(String s, int i, List<ConditionalVariable> variableList,
+            String notError, String text) throws JmriException {
+        boolean negate = false;
+        if (s.charAt(i) != '(' && s.charAt(i) != 'R') {  // NOI18N
+            if (!"NOT".equals(s.substring(i, i + 3))) {  // NOI18N
+                throw new JmriException(java.text.MessageFormat.format(
+                        rbx.getString("ParseError9"), new Object[]{text}));  // NOI18N
+            }
+            i += 3;
+            negate = true;
+            if (s.charAt(i) != '(' && s.charAt(i) != 'R') {  // NOI18N
+                throw new JmriException(java.text.MessageFormat.format(
+                        rbx.getString(notError), new Object[]{s.substring(i)}));
+            }
+        }
+        DataPair dp;
+        if (s.charAt(i) == '(') {
+            dp = compileLevel(s, ++i, variableList);
+            dp.indexCount += i;
+        } else {
+            int k;
+            try {
+                k = Integer.parseInt(String.valueOf(s.substring(i + 1, i + 3)));
+                i += 2;
+            } catch (NumberFormatException | IndexOutOfBoundsException nfe) {
+                k = Integer.parseInt(String.valueOf(s.charAt(++i)));
+            }
+            int index = k - 1;
+            variableList.get(index);    // check that the variable exists
+            dp = new DataPair();
+            dp.antecedent = () -> {
+                ConditionalVariable variable = variableList.get(index);
+                return variable.evaluate() != variable.isNegated();
+            };
+            dp.indexCount = i + 1;
+            dp.argsUsed = new BitSet(variableList.size());
+            dp.argsUsed.set(index);
+        }
+        if (negate) {
+            Antecedent operand = dp.antecedent;
+            dp.antecedent = () -> !operand.evaluate();
+        }
+        return dp;
+    }
+
     /**
      * Compares action options, and takes action if appropriate
      * <p>
@@ -4,9 +4,11 @@ import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.util.ArrayList;
 import java.util.Enumeration;
+import java.util.HashSet;
 import java.util.Hashtable;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -1107,6 +1109,14 @@ public class DefaultSignalMastLogic extends AbstractNamedBean implements jmri.Si
         }
     }
 
+    /**
+     * How a single turnout, signal mast, sensor or block stands against the
+     * settings a destination needs of it.
+     */
+    private enum Condition {
+        UNSATISFIED, SATISFIED, THROWN, PERMISSIVE
+    }
+
     /**
      * Class to store SML properties for a destination mast paired with this
      * source mast.
@@ -1306,6 +1316,7 @@ public class DefaultSignalMastLogic extends AbstractNamedBean implements jmri.Si
                     userSetTurnouts.add(nbs);
                 }
             }
+            forgetConditions();
             firePropertyChange("turnouts", null, this.destination);
         }
 
@@ -1325,6 +1336,7 @@ public class DefaultSignalMastLogic extends AbstractNamedBean implements jmri.Si
             } else {
                 this.autoTurnouts = turnouts;
             }
+            forgetConditions();
             firePropertyChange("autoturnouts", null, this.destination);
         }
 
@@ -1348,6 +1360,7 @@ public class DefaultSignalMastLogic extends AbstractNamedBean implements jmri.Si
                     userSetBlocks.add(nbs);
                 }
             }
+            forgetConditions();
             firePropertyChange("blocks", null, this.destination);
         }
 
@@ -1376,6 +1389,7 @@ public class DefaultSignalMastLogic extends AbstractNamedBean implements jmri.Si
                     createSectionDetails();
                 }
             }
+            forgetConditions();
             firePropertyChange("autoblocks", null, this.destination);
         }
 
@@ -1400,6 +1414,7 @@ public class DefaultSignalMastLogic extends AbstractNamedBean implements jmri.Si
                     userSetMasts.add(nbs);
                 }
             }
+            forgetConditions();
             firePropertyChange("masts", null, this.destination);
         }
 
@@ -1444,6 +1459,7 @@ public class DefaultSignalMastLogic extends AbstractNamedBean implements jmri.Si
                 blockInXings.get(i).addSignalMastLogic(source);
             }
 
+            forgetConditions();
             firePropertyChange("automasts", null, this.destination);
         }
 
@@ -1466,6 +1482,7 @@ public class DefaultSignalMastLogic extends AbstractNamedBean implements jmri.Si
                     userSetSensors.add(nbs);
                 }
             }
+            forgetConditions();
             firePropertyChange("sensors", null, this.destination);
         }
 
@@ -1478,6 +1495,7 @@ public class DefaultSignalMastLogic extends AbstractNamedBean implements jmri.Si
             sen.getBean().addPropertyChangeListener(propertySensorListener);
             NamedBeanSetting nbs = new NamedBeanSetting(sen, state);
             userSetSensors.add(nbs);
+            forgetConditions();
             firePropertyChange("sensors", null, this.destination);
         }
 
@@ -1487,6 +1505,7 @@ public class DefaultSignalMastLogic extends AbstractNamedBean implements jmri.Si
                 if (nbh.getBean().equals(sen.getBean())) {
                     sen.getBean().removePropertyChangeListener(propertySensorListener);
                     userSetSensors.remove(nbh);
+                    forgetConditions();
                     firePropertyChange("sensors", null, this.destination);
                     return;
                 }
@@ -1498,6 +1517,7 @@ public class DefaultSignalMastLogic extends AbstractNamedBean implements jmri.Si
                 if (nbh.getBean().equals(sen)) {
                     sen.removePropertyChangeListener(propertySensorListener);
                     userSetSensors.remove(nbh);
+                    forgetConditions();
                     firePropertyChange("sensors", null, this.destination);
                     return;
                 }
@@ -1557,6 +1577,7 @@ public class DefaultSignalMastLogic extends AbstractNamedBean implements jmri.Si
                 if (i.getBean().equals(turn)) {
                     turn.removePropertyChangeListener(propertyTurnoutListener);
                     nbh.remove();
+                    forgetConditions();
                     firePropertyChange("turnouts", null, this.destination);
                 }
             }
@@ -1742,8 +1763,214 @@ public class DefaultSignalMastLogic extends AbstractNamedBean implements jmri.Si
             return autoMasts.get(mast);
         }
 
+        // The beans whose settings currently stop this pair being set, as
+        // found by the last full check and kept up to date by the bean
+        // listeners, so a change in one bean needs only that bean checked.
+        // Null when not known, such as after the lists of beans change.
+        // Guarded by this.
+        private Set<NamedBean> unsatisfied = null;
+
+        private synchronized void forgetConditions() {
+            unsatisfied = null;
+        }
+
+        /**
+         * Check the settings of every bean this pair depends on, noting those
+         * that stop this pair being set.
+         *
+         * @return true if no bean stops this pair being set
+         */
+        private synchronized boolean checkConditions() {
+            Set<NamedBean> beans = new LinkedHashSet<>(autoTurnouts.keySet());
+            userSetTurnouts.forEach(nbh -> beans.add(nbh.getBean()));
+            beans.addAll(autoMasts.keySet());
+            userSetMasts.forEach(nbh -> beans.add(nbh.getBean()));
+            userSetSensors.forEach(nbh -> beans.add(nbh.getBean()));
+            beans.addAll(autoBlocks.keySet());
+            userSetBlocks.forEach(nbh -> beans.add(nbh.getBean()));
+
+            Set<NamedBean> failed = new HashSet<>();
+            for (NamedBean bean : beans) {
+                switch (getCondition(bean)) {
+                    case UNSATISFIED:
+                        failed.add(bean);
+                        break;
+                    case THROWN:
+                        turnoutThrown = true;
+                        break;
+                    case PERMISSIVE:
+                        permissiveBlock = true;
+                        break;
+                    default:
+                        break;
+                }
+            }
+            unsatisfied = failed;
+            return failed.isEmpty();
+        }
+
+        /**
+         * Note a change in the state of a bean this pair depends on.
+         *
+         * @param bean the changed bean
+         * @return true if some bean is known to stop this pair being set, so
+         *         that the rest of the pair need not be checked again
+         */
+        private synchronized boolean updateCondition(NamedBean bean) {
+            boolean satisfied = getCondition(bean) != Condition.UNSATISFIED;
+            if (unsatisfied == null) {
+                return !satisfied;
+            }
+            if (satisfied) {
+                unsatisfied.remove(bean);
+            } else {
+                unsatisfied.add(bean);
+            }
+            return !unsatisfied.isEmpty();
+        }
+
+        /**
+         * Respond to a change in the state of a bean this pair depends on.
+         * While any bean stops this pair being set, the pair is held at
+         * danger without checking the other beans; only when the last such
+         * bean is satisfied is the whole pair checked again.
+         */
+        private void conditionChanged(NamedBean bean) {
+            if (updateCondition(bean)) {
+                log.debug("From {} to {} {} stops the pair being set", getSourceMast().getDisplayName(), destination.getDisplayName(), bean.getDisplayName());
+                if (active) {
+                    active = false;
+                    setSignalAppearance();
+                }
+            } else {
+                checkState();
+            }
+        }
+
+        private Condition getCondition(NamedBean bean) {
+            Condition condition = Condition.SATISFIED;
+            if (bean instanceof Turnout) {
+                Turnout key = (Turnout) bean;
+                Integer auto = autoTurnouts.get(key);
+                if (auto != null) {
+                    condition = getAutoTurnoutCondition(key, auto);
+                    if (condition == Condition.UNSATISFIED) {
+                        return condition;
+                    }
+                }
+                for (NamedBeanSetting nbh : userSetTurnouts) {
+                    if (nbh.getBean() == key) {
+                        if (key.getKnownState() != nbh.getSetting()) {
+                            return Condition.UNSATISFIED;
+                        } else if (key.getState() == Turnout.THROWN) {
+                            condition = Condition.THROWN;
+                        }
+                    }
+                }
+            } else if (bean instanceof SignalMast) {
+                SignalMast key = (SignalMast) bean;
+                String auto = autoMasts.get(key);
+                if (auto != null && key.getAspect() != null && !key.getAspect().equals(auto)) {
+                    if (isSignalMastIncluded(key)) {
+                        //Basically if we have a blank aspect, we don't care about the state of the signalmast
+                        if (!getSignalMastState(key).equals("")) {
+                            if (!key.getAspect().equals(getSignalMastState(key))) {
+                                return Condition.UNSATISFIED;
+                            }
+                        }
+                    } else {
+                        return Condition.UNSATISFIED;
+                    }
+                }
+                for (NamedBeanSetting nbh : userSetMasts) {
+                    if (nbh.getBean() == key) {
+                        if ((key.getAspect() == null) || (!key.getAspect().equals(nbh.getStringSetting()))) {
+                            return Condition.UNSATISFIED;
+                        }
+                    }
+                }
+            } else if (bean instanceof Sensor) {
+                Sensor key = (Sensor) bean;
+                for (NamedBeanSetting nbh : userSetSensors) {
+                    if (nbh.getBean() == key && key.getKnownState() != nbh.getSetting()) {
+                        return Condition.UNSATISFIED;
+                    }
+                }
+            } else if (bean instanceof Block) {
+                Block key = (Block) bean;
+                Integer auto = autoBlocks.get(key);
+                if (auto != null) {
+                    condition = getAutoBlockCondition(key, auto);
+                    if (condition == Condition.UNSATISFIED) {
+                        return condition;
+                    }
+                }
+                for (NamedBeanSetting nbh : userSetBlocks) {
+                    if (nbh.getBean() == key && nbh.getSetting() != 0x03 && key.getState() != nbh.getSetting()) {
+                        if (key.getState() == Block.OCCUPIED && key.getPermissiveWorking()) {
+                            condition = Condition.PERMISSIVE;
+                        } else {
+                            return Condition.UNSATISFIED;
+                        }
+                    }
+                }
+            }
+            return condition;
+        }
+
+        private Condition getAutoTurnoutCondition(Turnout key, int auto) {
+            if (key.getKnownState() != auto) {
+                if (key.getState() != auto) {
+                    if (isTurnoutIncluded(key)) {
+                        if (key.getState() != getTurnoutState(key)) {
+                            return Condition.UNSATISFIED;
+                        } else if (key.getState() == Turnout.THROWN) {
+                            return Condition.THROWN;
+                        }
+                    } else {
+                        return Condition.UNSATISFIED;
+                    }
+                }
+            } else if (key.getState() == Turnout.THROWN) {
+                return Condition.THROWN;
+            }
+            return Condition.SATISFIED;
+        }
+
+        private Condition getAutoBlockCondition(Block key, int auto) {
+            if (log.isDebugEnabled()) {
+                log.debug("{} {} {}", key.getDisplayName(), key.getState(), auto);
+            }
+            if (key.getState() != auto) {
+                if (isBlockIncluded(key)) {
+                    if (getBlockState(key) != 0x03) {
+                        if (key.getState() != getBlockState(key)) {
+                            if (key.getState() == Block.OCCUPIED && key.getPermissiveWorking()) {
+                                return Condition.PERMISSIVE;
+                            } else {
+                                return Condition.UNSATISFIED;
+                            }
+                        }
+                    }
+                } else {
+                    if (key.getState() == Block.OCCUPIED && key.getPermissiveWorking()) {
+                        return Condition.PERMISSIVE;
+                    } else if (key.getState() == Block.UNDETECTED) {
+                        if (log.isDebugEnabled()) {
+                            log.debug("Block {} is UNDETECTED so treat as unoccupied", key.getDisplayName());
+                        }
+                    } else {
+                        return Condition.UNSATISFIED;
+                    }
+                }
+            }
+            return Condition.SATISFIED;
+        }
+
         // the following 2 methods are not supplied in the implementation
-        boolean inWait = false;
+        volatile boolean inWait = false;
+        // set when a check is asked for while one is already waiting
+        volatile boolean checkAgain = false;
 
         /*
          * Before going active or checking that we can go active, wait
@@ -1759,6 +1986,7 @@ public class DefaultSignalMastLogic extends AbstractNamedBean implements jmri.Si
                 return;
             }
             if (inWait) {
+                checkAgain = true;
                 return;
             }
 
@@ -1771,8 +1999,13 @@ public class DefaultSignalMastLogic extends AbstractNamedBean implements jmri.Si
 
             jmri.util.ThreadingUtil.runOnLayoutDelayed(
                     () -> {
+                        // changes from here on might not be seen by this check
+                        checkAgain = false;
                         checkStateDetails();
                         inWait = false;
+                        if (checkAgain) {
+                            checkState();
+                        }
                     }, tempDelay
             );
         }
@@ -1798,112 +2031,10 @@ public class DefaultSignalMastLogic extends AbstractNamedBean implements jmri.Si
             log.debug("From {} to {} internal check state", getSourceMast().getDisplayName(), destination.getDisplayName());
             active = false;
             if ((useLayoutEditor) && (autoTurnouts.size() == 0) && (autoBlocks.size() == 0)) {
+                forgetConditions();
                 return;
             }
-            boolean state = true;
-            Enumeration<Turnout> keys = autoTurnouts.keys();
-            while (keys.hasMoreElements()) {
-                Turnout key = keys.nextElement();
-                if (key.getKnownState() != autoTurnouts.get(key)) {
-                    if (key.getState() != autoTurnouts.get(key)) {
-                        if (isTurnoutIncluded(key)) {
-                            if (key.getState() != getTurnoutState(key)) {
-                                state = false;
-                            } else if (key.getState() == Turnout.THROWN) {
-                                turnoutThrown = true;
-                            }
-                        } else {
-                            state = false;
-                        }
-                    }
-                } else if (key.getState() == Turnout.THROWN) {
-                    turnoutThrown = true;
-                }
-            }
-
-            for (NamedBeanSetting nbh : userSetTurnouts) {
-                Turnout key = (Turnout) nbh.getBean();
-                if (key.getKnownState() != nbh.getSetting()) {
-                    state = false;
-                } else if (key.getState() == Turnout.THROWN) {
-                    turnoutThrown = true;
-                }
-            }
-
-            Enumeration<SignalMast> mastKeys = autoMasts.keys();
-            while (mastKeys.hasMoreElements()) {
-                SignalMast key = mastKeys.nextElement();
-                if (log.isDebugEnabled()) {
-                    log.debug("{} {} {}", key.getDisplayName(), key.getAspect(), autoMasts.get(key));
-                }
-                if ((key.getAspect() != null) && (!key.getAspect().equals(autoMasts.get(key)))) {
-                    if (isSignalMastIncluded(key)) {
-                        //Basically if we have a blank aspect, we don't care about the state of the signalmast
-                        if (!getSignalMastState(key).equals("")) {
-                            if (!key.getAspect().equals(getSignalMastState(key))) {
-                                state = false;
-                            }
-                        }
-                    } else {
-                        state = false;
-                    }
-                }
-            }
-            for (NamedBeanSetting nbh : userSetMasts) {
-                SignalMast key = (SignalMast) nbh.getBean();
-                if ((key.getAspect() == null) || (!key.getAspect().equals(nbh.getStringSetting()))) {
-                    state = false;
-                }
-            }
-
-            for (NamedBeanSetting nbh : userSetSensors) {
-                Sensor key = (Sensor) nbh.getBean();
-                if (key.getKnownState() != nbh.getSetting()) {
-                    state = false;
-                }
-            }
-
-            for (Map.Entry<Block, Integer> entry : this.autoBlocks.entrySet()) {
-                if (log.isDebugEnabled()) {
-                    log.debug("{} {} {}", entry.getKey().getDisplayName(), entry.getKey().getState(), entry.getValue());
-                }
-                if (entry.getKey().getState() != autoBlocks.get(entry.getKey())) {
-                    if (isBlockIncluded(entry.getKey())) {
-                        if (getBlockState(entry.getKey()) != 0x03) {
-                            if (entry.getKey().getState() != getBlockState(entry.getKey())) {
-                                if (entry.getKey().getState() == Block.OCCUPIED && entry.getKey().getPermissiveWorking()) {
-                                    permissiveBlock = true;
-                                } else {
-                                    state = false;
-                                }
-                            }
-                        }
-                    } else {
-                        if (entry.getKey().getState() == Block.OCCUPIED && entry.getKey().getPermissiveWorking()) {
-                            permissiveBlock = true;
-                        } else if (entry.getKey().getState() == Block.UNDETECTED) {
-                            if (log.isDebugEnabled()) {
-                                log.debug("Block {} is UNDETECTED so treat as unoccupied", entry.getKey().getDisplayName());
-                            }
-                        } else {
-                            state = false;
-                        }
-                    }
-                }
-            }
-
-            for (NamedBeanSetting nbh : userSetBlocks) {
-                Block key = (Block) nbh.getBean();
-                if (nbh.getSetting() != 0x03) {
-                    if (key.getState() != nbh.getSetting()) {
-                        if (key.getState() == Block.OCCUPIED && key.getPermissiveWorking()) {
-                            permissiveBlock = true;
-                        } else {
-                            state = false;
-                        }
-                    }
-                }
-            }
+            boolean state = checkConditions();
             if (permissiveBlock) {
                 /*If a block has been found to be permissive, but the source signalmast
                  does not support a call-on/permissive aspect then the route can not be set*/
@@ -2445,6 +2576,7 @@ public class DefaultSignalMastLogic extends AbstractNamedBean implements jmri.Si
             if (destMastInit) {
                 mast.addPropertyChangeListener(propertySignalMastListener);
             }
+            forgetConditions();
             firePropertyChange("automasts", null, this.destination);
         }
 
@@ -2459,6 +2591,7 @@ public class DefaultSignalMastLogic extends AbstractNamedBean implements jmri.Si
             if (destMastInit) {
                 mast.removePropertyChangeListener(propertySignalMastListener);
             }
+            forgetConditions();
             firePropertyChange("automasts", this.destination, null);
         }
 
@@ -2623,18 +2756,11 @@ public class DefaultSignalMastLogic extends AbstractNamedBean implements jmri.Si
                 Sensor sen = (Sensor) e.getSource();
                 log.debug("{} to {} destination sensor {} trigger {}", source.getDisplayName(), destination.getDisplayName(), sen.getDisplayName(), e.getPropertyName());
                 if (e.getPropertyName().equals("KnownState")) {
-                    int now = ((Integer) e.getNewValue()).intValue();
-                    log.debug("current value {} value we want {}", now, getSensorState(sen));
-                    if (isSensorIncluded(sen) && getSensorState(sen) != now) {
-                        log.debug("Sensor {} caused the signalmast to be set to danger", sen.getDisplayName());
-                        //getSourceMast().setAspect(stopAspect);
-                        if (active == true) {
-                            active = false;
-                            setSignalAppearance();
-                        }
-                    } else if (getSensorState(sen) == now) {
-                        log.debug("{} sensor {} triggers a calculation of change", destination.getDisplayName(), sen.getDisplayName());
-                        checkState();
+                    if (log.isDebugEnabled()) {
+                        log.debug("current value {} value we want {}", e.getNewValue(), getSensorState(sen));
+                    }
+                    if (isSensorIncluded(sen)) {
+                        conditionChanged(sen);
                     }
                 }
             }
@@ -2648,39 +2774,11 @@ public class DefaultSignalMastLogic extends AbstractNamedBean implements jmri.Si
                 if (e.getPropertyName().equals("KnownState")) {
                     //Need to check this against the manual list vs auto list
                     //The manual list should over-ride the auto list
-                    int now = ((Integer) e.getNewValue()).intValue();
-                    if (isTurnoutIncluded(turn)) {
-                        if (getTurnoutState(turn) != now) {
-                            if (log.isDebugEnabled()) {
-                                log.debug("Turnout {} caused the signalmast to be set", turn.getDisplayName());
-                                log.debug("From {} to {} Turnout {} caused the signalmast to be set to danger", getSourceMast().getDisplayName(), destination.getDisplayName(), turn.getDisplayName());
-                            }
-                            if (active == true) {
-                                active = false;
-                                setSignalAppearance();
-                            }
-                        } else {
-                            if (log.isDebugEnabled()) {
-                                log.debug("{} turnout {} triggers a calculation of change", destination.getDisplayName(), turn.getDisplayName());
-                            }
-                            checkState();
-                        }
-                    } else if (autoTurnouts.containsKey(turn)) {
-                        if (getAutoTurnoutState(turn) != now) {
-                            if (log.isDebugEnabled()) {
-                                log.debug("Turnout {} auto caused the signalmast to be set", turn.getDisplayName());
-                                log.debug("From {} to {} Auto Turnout {} auto caused the signalmast to be set to danger", getSourceMast().getDisplayName(), destination.getDisplayName(), turn.getDisplayName());
-                            }
-                            if (active == true) {
-                                active = false;
-                                setSignalAppearance();
-                            }
-                        } else {
-                            if (log.isDebugEnabled()) {
-                                log.debug("From {} to {} turnout {} triggers a calculation of change", getSourceMast().getDisplayName(), destination.getDisplayName(), turn.getDisplayName());
-                            }
-                            checkState();
+                    if (isTurnoutIncluded(turn) || autoTurnouts.containsKey(turn)) {
+                        if (log.isDebugEnabled()) {
+                            log.debug("From {} to {} turnout {} triggers a calculation of change", getSourceMast().getDisplayName(), destination.getDisplayName(), turn.getDisplayName());
                         }
+                        conditionChanged(turn);
                     }
 
                 } else if ((e.getPropertyName().equals("TurnoutStraightSpeedChange")) || (e.getPropertyName().equals("TurnoutDivergingSpeedChange"))) {
@@ -2702,18 +2800,11 @@ public class DefaultSignalMastLogic extends AbstractNamedBean implements jmri.Si
                         log.debug("Included in user entered block {}", Boolean.toString(isBlockIncluded(block)));
                         log.debug("Included in AutoGenerated Block {}", Boolean.toString(autoBlocks.containsKey(block)));
                     }
-                    if (isBlockIncluded(block)) {
-                        if (log.isDebugEnabled()) {
-                            log.debug("{} in manual block", destination.getDisplayName());
-                            log.debug("{}  {}", getBlockState(block), block.getState());
-                        }
-                        checkState();
-                    } else if (autoBlocks.containsKey(block)) {
+                    if (isBlockIncluded(block) || autoBlocks.containsKey(block)) {
                         if (log.isDebugEnabled()) {
-                            log.debug("{} in auto block", destination.getDisplayName());
-                            log.debug("{}  {}", getAutoBlockState(block), block.getState());
+                            log.debug("{} {} {} {}", destination.getDisplayName(), getBlockState(block), getAutoBlockState(block), block.getState());
                         }
-                        checkState();
+                        conditionChanged(block);
                     } else if (log.isDebugEnabled()) {
                         log.debug("{} Not found", destination.getDisplayName());
                     }
@@ -2738,38 +2829,8 @@ public class DefaultSignalMastLogic extends AbstractNamedBean implements jmri.Si
                     if (log.isDebugEnabled()) {
                         log.debug("{} match property {}", destination.getDisplayName(), now);
                     }
-                    if (isSignalMastIncluded(mast)) {
-                        if (!now.equals(getSignalMastState(mast))) {
-                            if (log.isDebugEnabled()) {
-                                log.debug("{} in mast list SignalMast {} caused the signalmast to be set", destination.getDisplayName(), mast.getDisplayName());
-                                log.debug("SignalMast {} caused the signalmast to be set", mast.getDisplayName());
-                            }
-                            if (active) {
-                                active = false;
-                                setSignalAppearance();
-                            }
-                        } else {
-                            if (log.isDebugEnabled()) {
-                                log.debug("{} in mast list signalmast change", destination.getDisplayName());
-                            }
-                            checkState();
-                        }
-                    } else if (autoMasts.containsKey(mast)) {
-                        if (!now.equals(getAutoSignalMastState(mast))) {
-                            if (log.isDebugEnabled()) {
-                                log.debug("SignalMast {} caused the signalmast to be set", mast.getDisplayName());
-                                log.debug("{} in auto mast list SignalMast {} caused the signalmast to be set", destination.getDisplayName(), mast.getDisplayName());
-                            }
-                            if (active) {
-                                active = false;
-                                setSignalAppearance();
-                            }
-                        } else {
-                            if (log.isDebugEnabled()) {
-                                log.debug("{} in auto mast list signalmast change", destination.getDisplayName());
-                            }
-                            checkState();
-                        }
+                    if (isSignalMastIncluded(mast) || autoMasts.containsKey(mast)) {
+                        conditionChanged(mast);
                     }
                 }
             }
@@ -21,26 +21,21 @@ public class NoFeedbackTurnoutOperator extends TurnoutOperator {
 
     /**
      * Do the automation for a turnout with no feedback. This means try maxTries
-     * times at an interval of interval. Note the call to operatorCheck each
-     * time we're about to actually do something - if we're no longer the
-     * current operator this throws TurnoutOperatorException which just
-     * terminates the thread.
+     * times at an interval of interval, one try each time this is run. Note
+     * the call to operatorCheck each time we're about to actually do something
+     * - if we're no longer the current operator this throws
+     * TurnoutOperatorException which just ends the operation.
      */
     @Override
     public void run() {
         try {
             operatorCheck();
             myTurnout.forwardCommandChangeToLayout();
-            while (++tries < maxTries) {
-                try {
-                    Thread.sleep(interval);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt(); // retain if needed later
-                }
-                operatorCheck();
-                myTurnout.forwardCommandChangeToLayout();
+            if (++tries < maxTries) {
+                runAfter(interval);
+            } else {
+                myTurnout.setKnownStateToCommanded();
             }
-            myTurnout.setKnownStateToCommanded();
         } catch (TurnoutOperatorException e) {
         }
     }
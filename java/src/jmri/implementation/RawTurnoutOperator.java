@@ -53,26 +53,21 @@ public class RawTurnoutOperator extends TurnoutOperator {
 
     /**
      * Do the autmation for a turnout with no feedback. This means try maxTries
-     * times at an interval of interval. Note the call to operatorCheck each
-     * time we're about to actually do something - if we're no longer the
-     * current operator this throws TurnoutOperatorException which just
-     * terminates the thread.
+     * times at an interval of interval, one try each time this is run. Note
+     * the call to operatorCheck each time we're about to actually do something
+     * - if we're no longer the current operator this throws
+     * TurnoutOperatorException which just ends the operation.
      */
     @Override
     public void run() {
         try {
             operatorCheck();
             sendCommand();
-            while (++tries < maxTries) {
-                try {
-                    Thread.sleep(interval);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt(); // retain if needed later
-                }
-                operatorCheck();
-                sendCommand();
+            if (++tries < maxTries) {
+                runAfter(interval);
+            } else {
+                myTurnout.setKnownStateToCommanded();
             }
-            myTurnout.setKnownStateToCommanded();
         } catch (TurnoutOperatorException e) {
         }
     }
@@ -5,9 +5,6 @@
  */
 package jmri.implementation;
 
-import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
-import java.beans.PropertyChangeEvent;
-import java.beans.PropertyChangeListener;
 import jmri.TurnoutOperator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -17,7 +14,6 @@ public class SensorTurnoutOperator extends TurnoutOperator {
     long interval;
     int maxTries;
     int tries = 0;
-    PropertyChangeListener listener;
 
     public SensorTurnoutOperator(AbstractTurnout t, long i, int mt) {
         super(t);
@@ -27,55 +23,30 @@ public class SensorTurnoutOperator extends TurnoutOperator {
 
     /**
      * Do the autmation for a turnout with sensor feedback. Keep trying up to
-     * maxTries until the sensor tells us the change has actually happened. Note
-     * the call to operatorCheck each time we're about to actually do something
-     * - if we're no longer the current operator this throws
-     * TurnoutOperatorException which just terminates the thread.
+     * maxTries, one try each time this is run, until the sensor tells us the
+     * change has actually happened. Note the call to operatorCheck each time
+     * we're about to actually do something - if we're no longer the current
+     * operator this throws TurnoutOperatorException which just ends the
+     * operation.
      */
     @Override
     public void run() {
-        //long startTime = System.currentTimeMillis();
-        listener = new PropertyChangeListener() {
-            @SuppressFBWarnings(value = "NN_NAKED_NOTIFY",
-                    justification = "notify not naked, outside sensor and turnout is shared state")
-            @Override
-            public void propertyChange(PropertyChangeEvent e) {
-                if (e.getPropertyName().equals("KnownState")) {
-                    synchronized (this) {
-                        this.notify();
-                    }
-                }
-            }
-        };
-        myTurnout.addPropertyChangeListener(listener);
         try {
+            if (tries > 0 && myTurnout.isConsistentState()) {
+                return;
+            }
             operatorCheck();
             myTurnout.forwardCommandChangeToLayout();
-            while (++tries < maxTries) {
-                long nextTry = System.currentTimeMillis() + interval;
-                long remaining;
-                while ((remaining = nextTry - System.currentTimeMillis()) > 0) {
-                    try {
-                        synchronized (this) {
-                            wait(remaining);
-                        }
-                    } catch (InterruptedException e) {
-                        Thread.currentThread().interrupt(); // retain if needed later
-                    }
-                }
-                if (myTurnout.isConsistentState()) {
-                    break;
-                }
-                operatorCheck();
-                myTurnout.forwardCommandChangeToLayout();
+            if (tries > 0) {
                 log.warn("retrying {}, try #{}", myTurnout.getSystemName(), tries + 1);
             }
-            if (!myTurnout.isConsistentState()) {
+            if (++tries < maxTries) {
+                runAfter(interval);
+            } else if (!myTurnout.isConsistentState()) {
                 log.warn("failed to throw {}", myTurnout.getSystemName());
             }
         } catch (TurnoutOperatorException e) {
         }
-        myTurnout.removePropertyChangeListener(listener);
     }
 
     private final static Logger log = LoggerFactory.getLogger(SensorTurnoutOperator.class);
@@ -1,5 +1,7 @@
 package jmri.jmrit.audio;
 
+import com.jogamp.openal.AL;
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
@@ -181,6 +183,63 @@ public class JavaSoundAudioBuffer extends AbstractAudioBuffer {
         return (this.processBuffer());
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The data is PCM in the byte order of the ByteBuffer, as decoded for
+     * OpenAL, and the format is an OpenAL format. Only mono and stereo 8 and
+     * 16-bit formats are supported.
+     */
+    @Override
+    public boolean loadBuffer(ByteBuffer b, int format, int frequency) {
+        if (!initialised) {
+            return false;
+        }
+        int channels;
+        int bits;
+        switch (format) {
+            case AL.AL_FORMAT_MONO8:
+                channels = 1;
+                bits = 8;
+                break;
+            case AL.AL_FORMAT_MONO16:
+                channels = 1;
+                bits = 16;
+                break;
+            case AL.AL_FORMAT_STEREO8:
+                channels = 2;
+                bits = 8;
+                break;
+            case AL.AL_FORMAT_STEREO16:
+                channels = 2;
+                bits = 16;
+                break;
+            default:
+                log.error("Unsupported audio format {} when loading buffer {}", format, this.getSystemName());
+                return false;
+        }
+
+        // Reinitialise
+        init();
+
+        // Copy the data as a little endian WAV file would have it, which is
+        // what processBuffer() expects; 8-bit data is unsigned
+        ByteBuffer in = b.duplicate();
+        in.order(b.order());
+        ByteBuffer data = ByteBuffer.allocate(in.remaining());
+        data.order(ByteOrder.LITTLE_ENDIAN);
+        if (bits == 16) {
+            data.asShortBuffer().put(in.asShortBuffer());
+        } else {
+            data.put(in);
+        }
+        AudioFormat pcm = new AudioFormat(frequency, bits, channels, bits == 16, false);
+        audioInputStream = new AudioInputStream(new ByteArrayInputStream(data.array()), pcm,
+                data.capacity() / pcm.getFrameSize());
+
+        return (this.processBuffer());
+    }
+
     private boolean processBuffer() {
 
         // Temporary storage buffer
@@ -1,6 +1,7 @@
 package jmri.jmrit.audio;
 
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -62,6 +63,12 @@ public class NullAudioBuffer extends AbstractAudioBuffer {
         return true;
     }
 
+    @Override
+    public boolean loadBuffer(ByteBuffer b, int format, int frequency) {
+        // No need to do this for the NullAudioBuffer - it's always successful ;-)
+        return true;
+    }
+
     @Override
     protected void generateLoopBuffers(int which) {
         // No need to do anything for the NullAudioBuffer
@@ -17,7 +17,9 @@ import java.io.IOException;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import javax.annotation.Nonnull;
 import javax.annotation.CheckForNull;
@@ -32,6 +34,7 @@ import jmri.NamedBean.DisplayOptions;
 import jmri.jmrit.display.layoutEditor.LayoutBlock;
 import jmri.jmrit.display.layoutEditor.LayoutBlockManager;
 import jmri.swing.JTablePersistenceManager;
+import jmri.util.ThreadingUtil;
 import jmri.util.davidflanagan.HardcopyWriter;
 import jmri.util.swing.ComboBoxToolTipRenderer;
 import jmri.util.swing.StayOpenCheckBoxItem;
@@ -60,6 +63,23 @@ abstract public class BeanTableDataModel<T extends NamedBean> extends AbstractTa
     protected List<String> sysNameList = null;
     private NamedBeanHandleManager nbMan;
 
+    // the beans listened to by updateNameList(), by system name
+    private Map<String, T> listenedBeans = new HashMap<>();
+    private boolean nameListUpdatePending = false;
+    // set by dispose(), so that updates queued before then do nothing
+    private volatile boolean disposed = false;
+
+    // the rows of sysNameList by system name; checked when used, as
+    // subclasses may replace or change sysNameList. Guarded by itself.
+    private final Map<String, Integer> rowIndex = new HashMap<>();
+    private List<String> indexedList = null;
+
+    // rows changed since the table was last told, fired together
+    private static final int ROW_UPDATE_DELAY = 20; // msec, about one frame
+    private final Object updatedRowsLock = new Object();
+    private int firstUpdatedRow = -1;
+    private int lastUpdatedRow = -1;
+
     /**
      * Create a new Bean Table Data Model.
      * The default Manager for the bean type will be a Proxy Manager.
@@ -122,23 +142,124 @@ abstract public class BeanTableDataModel<T extends NamedBean> extends AbstractTa
     }
 
     protected synchronized void updateNameList() {
-        // first, remove listeners from the individual objects
-        if (sysNameList != null) {
-            for (String s : sysNameList) {
-                // if object has been deleted, it's not here; ignore it
-                T b = getBySystemName(s);
+        List<String> names = getManager().getNamedBeanSet().stream().map(NamedBean::getSystemName).collect( java.util.stream.Collectors.toList() );
+        // listen to the new beans, and keep listening to the others
+        Map<String, T> listened = new HashMap<>();
+        for (String s : names) {
+            // if object has been deleted, it's not here; ignore it
+            T b = getBySystemName(s);
+            T old = listenedBeans.remove(s);
+            if (old != b) {
+                if (old != null) {
+                    old.removePropertyChangeListener(this);
+                }
                 if (b != null) {
-                    b.removePropertyChangeListener(this);
+                    b.addPropertyChangeListener(this);
                 }
             }
-        }
-        sysNameList = getManager().getNamedBeanSet().stream().map(NamedBean::getSystemName).collect( java.util.stream.Collectors.toList() );
-        // and add them back in
-        for (String s : sysNameList) {
-            // if object has been deleted, it's not here; ignore it
-            T b = getBySystemName(s);
             if (b != null) {
-                b.addPropertyChangeListener(this);
+                listened.put(s, b);
+            }
+        }
+        // stop listening to the beans that have gone
+        for (T b : listenedBeans.values()) {
+            b.removePropertyChangeListener(this);
+        }
+        listenedBeans = listened;
+        sysNameList = names;
+    }
+
+    /**
+     * Get the row of a bean in the table.
+     *
+     * @param systemName the system name of the bean
+     * @return the row in sysNameList, or -1 if not in the table
+     */
+    protected int getRowOfSystemName(@Nonnull String systemName) {
+        List<String> names = sysNameList;
+        if (names == null) {
+            return -1;
+        }
+        synchronized (rowIndex) {
+            if (indexedList != names) {
+                indexRows(names);
+            }
+            Integer row = rowIndex.get(systemName);
+            if (row != null && row < names.size() && names.get(row).equals(systemName)) {
+                return row;
+            }
+            // the list was changed in place
+            int found = names.indexOf(systemName);
+            if (found >= 0) {
+                indexRows(names);
+            }
+            return found;
+        }
+    }
+
+    // must hold the rowIndex lock
+    private void indexRows(@Nonnull List<String> names) {
+        rowIndex.clear();
+        for (int i = 0; i < names.size(); i++) {
+            rowIndex.putIfAbsent(names.get(i), i);
+        }
+        indexedList = names;
+    }
+
+    /**
+     * Update the name list and tell the table.
+     */
+    private void nameListChanged() {
+        synchronized (this) {
+            nameListUpdatePending = false;
+            if (disposed) {
+                return;
+            }
+        }
+        updateNameList();
+        log.debug("Table changed length to {}", sysNameList.size());
+        fireTableDataChanged();
+    }
+
+    /**
+     * Tell the table that a row changed. Rows changed within a short time are
+     * sent to the table as one update, on the GUI thread.
+     *
+     * @param row the changed row
+     */
+    protected void fireTableRowUpdatedLater(int row) {
+        synchronized (updatedRowsLock) {
+            if (firstUpdatedRow >= 0) {
+                firstUpdatedRow = Math.min(firstUpdatedRow, row);
+                lastUpdatedRow = Math.max(lastUpdatedRow, row);
+                return;
+            }
+            firstUpdatedRow = row;
+            lastUpdatedRow = row;
+        }
+        ThreadingUtil.runOnGUIDelayed(this::fireUpdatedRows, ROW_UPDATE_DELAY);
+    }
+
+    private void fireUpdatedRows() {
+        if (disposed) {
+            return;
+        }
+        int first;
+        int last;
+        synchronized (updatedRowsLock) {
+            first = firstUpdatedRow;
+            last = lastUpdatedRow;
+            firstUpdatedRow = -1;
+            lastUpdatedRow = -1;
+        }
+        // rows may have been removed since
+        last = Math.min(last, getRowCount() - 1);
+        if (first <= last) {
+            // since we can add columns, the entire row is marked as updated
+            try {
+                fireTableRowsUpdated(first, last);
+            } catch (Exception ex) {
+                log.error("Exception updating table", ex);
             }
         }
     }
@@ -150,20 +271,28 @@ abstract public class BeanTableDataModel<T extends NamedBean> extends AbstractTa
     public void propertyChange(PropertyChangeEvent e) {
         if (e.getPropertyName().equals("length")) {
             // a new NamedBean is available in the manager
-            updateNameList();
-            log.debug("Table changed length to {}", sysNameList.size());
-            fireTableDataChanged();
+            if (SwingUtilities.isEventDispatchThread()) {
+                nameListChanged();
+            } else {
+                // beans registered while loading each change the length,
+                // so update the table once for all the changes made before
+                // the GUI thread gets to it
+                synchronized (this) {
+                    if (nameListUpdatePending) {
+                        return;
+                    }
+                    nameListUpdatePending = true;
+                }
+                ThreadingUtil.runOnGUIEventually(this::nameListChanged);
+            }
         } else if (matchPropertyName(e)) {
             // a value changed.  Find it, to avoid complete redraw
             if (e.getSource() instanceof NamedBean) {
                 String name = ((NamedBean) e.getSource()).getSystemName();
-                int row = sysNameList.indexOf(name);
+                int row = getRowOfSystemName(name);
                 log.debug("Update cell {},{} for {}", row, VALUECOL, name);
-                // since we can add columns, the entire row is marked as updated
-                try {
-                    fireTableRowsUpdated(row, row);
-                } catch (Exception ex) {
-                    log.error("Exception updating table", ex);
+                if (row >= 0) {
+                    fireTableRowUpdatedLater(row);
                 }
             }
         }
@@ -568,7 +697,12 @@ abstract public class BeanTableDataModel<T extends NamedBean> extends AbstractTa
     }
 
     synchronized public void dispose() {
+        disposed = true;
         getManager().removePropertyChangeListener(this);
+        for (T b : listenedBeans.values()) {
+            b.removePropertyChangeListener(this);
+        }
+        listenedBeans.clear();
         if (sysNameList != null) {
             for (String s : sysNameList) {
                 T b = getBySystemName(s);
@@ -327,10 +327,10 @@ public class SignalHeadTableAction extends AbstractTableAction<SignalHead> {
                     if (e.getSource() instanceof NamedBean) {
                         String name = ((NamedBean) e.getSource()).getSystemName();
                         if (log.isDebugEnabled()) {
-                            log.debug("Update cell {}, {} for {}", sysNameList.indexOf(name), VALUECOL, name);
+                            log.debug("Update cell {}, {} for {}", getRowOfSystemName(name), VALUECOL, name);
                         }
                         // since we can add columns, the entire row is marked as updated
-                        int row = sysNameList.indexOf(name);
+                        int row = getRowOfSystemName(name);
                         this.fireTableRowsUpdated(row, row);
                         clearAppearanceVector(row); // activate this method below
                     }
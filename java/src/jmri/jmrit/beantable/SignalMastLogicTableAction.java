@@ -563,6 +563,14 @@ public class SignalMastLogicTableAction extends AbstractTableAction<SignalMastLo
         JPanel panel1 = new JPanel();
         sourceLabel = new JLabel(Bundle.getMessage("DiscoveringSignalMastPairs"));
         panel1.add(sourceLabel);
+        JButton cancelDiscovery = new JButton(Bundle.getMessage("ButtonCancel"));
+        cancelDiscovery.addActionListener(a -> {
+            SignalMastLogicManager smlm = InstanceManager.getDefault(SignalMastLogicManager.class);
+            if (smlm instanceof jmri.managers.DefaultSignalMastLogicManager) {
+                ((jmri.managers.DefaultSignalMastLogicManager) smlm).cancelSignallingPairDiscovery();
+            }
+        });
+        panel1.add(cancelDiscovery);
         signalMastLogicFrame.add(panel1);
         signalMastLogicFrame.pack();
         signalMastLogicFrame.setVisible(true);
@@ -633,9 +641,12 @@ public class SignalMastLogicTableAction extends AbstractTableAction<SignalMastLo
                 InstanceManager.getDefault(jmri.SignalMastLogicManager.class).removePropertyChangeListener(this);
                 JOptionPane.showMessageDialog(null, Bundle.getMessage("SignalMastPairGenerationComplete"));
             } else if (evt.getPropertyName().equals("autoGenerateUpdate")) {// NOI18N
-                sourceLabel.setText((String) evt.getNewValue());
-                signalMastLogicFrame.pack();
-                signalMastLogicFrame.repaint();
+                // sent from the threads doing the discovery
+                jmri.util.ThreadingUtil.runOnGUIEventually(() -> {
+                    sourceLabel.setText((String) evt.getNewValue());
+                    signalMastLogicFrame.pack();
+                    signalMastLogicFrame.repaint();
+                });
             }
         }
     };
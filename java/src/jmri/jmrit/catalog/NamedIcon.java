@@ -85,10 +85,22 @@ public class NamedIcon extends ImageIcon {
      */
     public NamedIcon(String pUrl, String pName) {
         this(pUrl, pName, null);
+        if (mCacheEntry != null) {
+            mGifInfo = NamedIconCache.getDefault().getGifInfo(mCacheEntry, () -> scanGif(pUrl));
+        } else {
+            mGifInfo = scanGif(pUrl);
+        }
+    }
 
-        // See if this is a GIF file and if it is, see if it's animated. If it is,
-        // breakout the metadata and individual frames. Also collect the max sizes in case the
-        // frames aren't all the same.
+    /**
+     * See if this is a GIF file and if it is, see if it's animated. If it is,
+     * breakout the metadata and individual frames. Also collect the max sizes
+     * in case the frames aren't all the same.
+     *
+     * @param pUrl URL of image file to scan
+     * @return the metadata and frames, or null if not an animated GIF
+     */
+    private static GIFMetadataImages scanGif(String pUrl) {
         try {
             GIFMetadataImages gifState = new GIFMetadataImages();
             Iterator<ImageReader> rIter = ImageIO.getImageReadersByFormatName("gif");
@@ -98,7 +110,7 @@ public class NamedIcon extends ImageIcon {
             // findInputStream can return null, which has to be handled.
             if (is == null) {
                 log.warn("NamedIcon can't scan {} for animated status", pUrl);
-                return;
+                return null;
             }
             
             ImageInputStream iis = ImageIO.createImageInputStream(is);
@@ -123,7 +135,7 @@ public class NamedIcon extends ImageIcon {
                         gifState.mWidth = Math.max(gifState.mWidth, image.getWidth());
                     }
 
-                    mGifInfo = gifState;
+                    return gifState;
                 }
             }
         } catch (IOException ioe) {
@@ -131,8 +143,8 @@ public class NamedIcon extends ImageIcon {
             // a GIF. Unfortunately, there's no guarantee that it is a GIF just because
             // canDecodeInput returns true.
             log.debug("Exception extracting GIF Info: ", ioe);
-            mGifInfo = null;
         }
+        return null;
     }
 
     /**
@@ -146,10 +158,18 @@ public class NamedIcon extends ImageIcon {
      * @param pGifState  Breakdown of GIF Image metadata and frames
      */
     public NamedIcon(String pUrl, String pName, GIFMetadataImages pGifState) {
-        super(substituteDefaultUrl(pUrl));
-        URL u = FileUtil.findURL(pUrl);
+        this(pUrl, pName, pGifState, getCacheEntry(pUrl));
+    }
+
+    private NamedIcon(String pUrl, String pName, GIFMetadataImages pGifState, NamedIconCache.Entry entry) {
+        super(entry.getImage(), entry.getURL().toExternalForm());
+        NamedIconCache cache = NamedIconCache.getDefault();
+        URL u = cache.findURL(pUrl);
         if (u == null) {
             log.warn("Could not load image from {} (file does not exist)", pUrl);
+        } else {
+            // only the image of the file itself is shared with its variants
+            mCacheEntry = entry;
         }
         mDefaultImage = getImage();
         if (mDefaultImage == null) {
@@ -157,18 +177,19 @@ public class NamedIcon extends ImageIcon {
         }
         mName = pName;
         mGifInfo = pGifState;
-        mURL = FileUtil.getPortableFilename(pUrl);
+        mURL = cache.getPortableFilename(pUrl);
         mRotation = 0;
     }
 
     static private final String DEFAULTURL = "resources/icons/misc/X-red.gif";
-    static private URL substituteDefaultUrl(String pUrl) {
-        URL url = FileUtil.findURL(pUrl);
-        if (url == null) {
-            url = FileUtil.findURL(DEFAULTURL);
-            log.error("Did not find \"{}\" for NamedIcon, substitute {}", pUrl, url);
+    static private NamedIconCache.Entry getCacheEntry(String pUrl) {
+        NamedIconCache cache = NamedIconCache.getDefault();
+        NamedIconCache.Entry entry = cache.getEntry(pUrl);
+        if (entry == null) {
+            entry = cache.getEntry(DEFAULTURL);
+            log.error("Did not find \"{}\" for NamedIcon, substitute {}", pUrl, (entry != null) ? entry.getURL() : null);
         }
-        return url;
+        return entry;
     }
 
     /**
@@ -204,7 +225,7 @@ public class NamedIcon extends ImageIcon {
         if (path == null || path.isEmpty()) {
             return null;
         }
-        if (FileUtil.findURL(path) == null) {
+        if (NamedIconCache.getDefault().findURL(path) == null) {
             return null;
         }
         return new NamedIcon(path, path);
@@ -280,25 +301,73 @@ public class NamedIcon extends ImageIcon {
             pRotation = 3;
         }
         mRotation = pRotation;
-        setImage(createRotatedImage(mDefaultImage, comp, mRotation));
         _degrees = 0;
+        if (useVariant()) {
+            return;
+        }
+        setImage(createRotatedImage(mDefaultImage, comp, mRotation));
         if (Math.abs(_scale - 1.0) > .00001) {
             int w = (int) Math.ceil(_scale * getIconWidth());
             int h = (int) Math.ceil(_scale * getIconHeight());
             transformImage(w, h, _transformS, comp);
         }
+        storeVariant();
     }
 
     private String mName = null;
     private String mURL = null;
     private GIFMetadataImages mGifInfo = null;
     private final Image mDefaultImage;
+    private NamedIconCache.Entry mCacheEntry = null;
 
-    private static class GIFMetadataImages {
+    static class GIFMetadataImages {
         private int mHeight;
         private int mWidth;
         private IIOImage mFrames[] = null;
         private IIOMetadata mStreamMd;
+
+        int getHeight() {
+            return mHeight;
+        }
+
+        int getWidth() {
+            return mWidth;
+        }
+
+        int getNumFrames() {
+            return mFrames.length;
+        }
+    }
+
+    /**
+     * Use the image already made by turning and scaling the image of the file
+     * as this icon is now turned and scaled, if held by the NamedIconCache.
+     *
+     * @return true if the image was set
+     */
+    private boolean useVariant() {
+        if (mCacheEntry == null) {
+            return false;
+        }
+        Image image = NamedIconCache.getDefault().getVariant(mCacheEntry.getKey(),
+                mRotation, _degrees, _scale, mGifInfo != null);
+        if (image == null) {
+            return false;
+        }
+        setImage(image);
+        return true;
+    }
+
+    /**
+     * Hold the image made by turning and scaling the image of the file in the
+     * NamedIconCache, for other icons turned and scaled the same way.
+     */
+    private void storeVariant() {
+        if (mCacheEntry == null || getImage() == mDefaultImage) {
+            return;
+        }
+        setImage(NamedIconCache.getDefault().putVariant(mCacheEntry.getKey(), mRotation, _degrees, _scale,
+                mGifInfo != null, (mGifInfo != null) ? mGifInfo.getNumFrames() : 1, getImage()));
     }
 
     /*
@@ -566,10 +635,17 @@ public class NamedIcon extends ImageIcon {
         _degrees = MathUtil.wrap(degree, 0, 360);
 
         if (_degrees == 0) {
-            if (Math.abs(_scale - 1.0) > .00001) {
+            if (Math.abs(_scale - 1.0) > .00001 && !useVariant()) {
                 int w = (int) Math.ceil(_scale * getIconWidth());
                 int h = (int) Math.ceil(_scale * getIconHeight());
                 transformImage(w, h, _transformS, comp);
+                storeVariant();
+            }
+            return;
+        }
+        if (useVariant()) {
+            if (comp instanceof PositionableLabel) {
+                ((PositionableLabel) comp).setDegrees(_degrees);
             }
             return;
         }
@@ -602,6 +678,7 @@ public class NamedIcon extends ImageIcon {
         AffineTransform r = AffineTransform.getRotateInstance(rad);
         t.concatenate(r);
         transformImage(width, heigth, t, comp);
+        storeVariant();
         if (comp instanceof PositionableLabel) {
             ((PositionableLabel) comp).setDegrees(_degrees);
         }
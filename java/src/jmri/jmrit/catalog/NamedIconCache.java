@@ -0,0 +1,395 @@
+package jmri.jmrit.catalog;
+
+import java.awt.Image;
+import java.awt.MediaTracker;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import javax.swing.ImageIcon;
+import jmri.InstanceManager;
+import jmri.InstanceManagerAutoDefault;
+import jmri.util.FileUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Holds the images of the NamedIcons made from files, so that the many icons
+ * of a panel made from the same file share one image, and the file is only
+ * found and scanned for animation once.
+ * <p>
+ * Images are held by the URL of their file, whatever path was used to find
+ * it. The rotated and scaled images made by
+ * {@link NamedIcon#rotate(int, java.awt.Component)} and
+ * {@link NamedIcon#setRotation(int, java.awt.Component)} are held too, so that
+ * icons turned the same way share them.
+ * <p>
+ * The least recently used images are dropped once the images held are
+ * estimated to take more than {@link #getMaxSize()} bytes. The images are not
+ * changed by the icons using them. Files are not checked for changes once
+ * read; use {@link #clear()} to read them again.
+ */
+public class NamedIconCache implements InstanceManagerAutoDefault {
+
+    /**
+     * The default limit on the size of the images held, in bytes.
+     */
+    public static final long DEFAULT_MAX_SIZE = 64L * 1024 * 1024;
+
+    // all guarded by this
+    private final Map<String, Location> locations = new HashMap<>();
+    private final LinkedHashMap<Object, Cached> cached = new LinkedHashMap<>(16, 0.75f, true);
+    private long size = 0;
+    private long maxSize = DEFAULT_MAX_SIZE;
+    private long hits = 0;
+    private long misses = 0;
+
+    public NamedIconCache() {
+    }
+
+    public static NamedIconCache getDefault() {
+        return InstanceManager.getDefault(NamedIconCache.class);
+    }
+
+    /**
+     * Find the file for a path, as {@link FileUtil#findURL(String)} does.
+     * Paths not found are looked for again each time.
+     *
+     * @param path the path, either absolute or portable
+     * @return the URL of the file, or null if not found
+     */
+    @CheckForNull
+    public URL findURL(@Nonnull String path) {
+        Location location = getLocation(path);
+        return (location != null) ? location.url : null;
+    }
+
+    /**
+     * Get the portable form of a path, as
+     * {@link FileUtil#getPortableFilename(String)} does.
+     *
+     * @param path the path, either absolute or portable
+     * @return the portable path
+     */
+    @Nonnull
+    public String getPortableFilename(@Nonnull String path) {
+        Location location = getLocation(path);
+        return (location != null) ? location.portableName : FileUtil.getPortableFilename(path);
+    }
+
+    @CheckForNull
+    private Location getLocation(@Nonnull String path) {
+        synchronized (this) {
+            Location location = locations.get(path);
+            if (location != null) {
+                return location;
+            }
+        }
+        URL url = FileUtil.findURL(path);
+        if (url == null) {
+            return null;
+        }
+        Location location = new Location(url, FileUtil.getPortableFilename(path));
+        synchronized (this) {
+            locations.putIfAbsent(path, location);
+            return locations.get(path);
+        }
+    }
+
+    /**
+     * Get the image in the file for a path, reading it if not already held.
+     *
+     * @param path the path, either absolute or portable
+     * @return the image, or null if the file was not found
+     */
+    @CheckForNull
+    Entry getEntry(@Nonnull String path) {
+        URL url = findURL(path);
+        if (url == null) {
+            return null;
+        }
+        String key = url.toExternalForm();
+        synchronized (this) {
+            Cached entry = cached.get(key);
+            if (entry != null) {
+                hits++;
+                return (Entry) entry;
+            }
+            misses++;
+        }
+        // read outside the lock, keeping the first image held if two threads
+        // read the same file
+        ImageIcon icon = new ImageIcon(url);
+        Entry entry = new Entry(key, url, icon.getImage());
+        if (icon.getImageLoadStatus() == MediaTracker.ERRORED) {
+            // try again next time, in case the file is fixed
+            return entry;
+        }
+        return (Entry) put(key, entry);
+    }
+
+    /**
+     * Get the animated GIF frames of an image, scanning the file for them if
+     * it has not been scanned.
+     *
+     * @param entry   the image
+     * @param scanner scans the file of the image
+     * @return the frames, or null if the image is not an animated GIF
+     */
+    @CheckForNull
+    NamedIcon.GIFMetadataImages getGifInfo(@Nonnull Entry entry, @Nonnull Supplier<NamedIcon.GIFMetadataImages> scanner) {
+        synchronized (this) {
+            if (entry.scanned) {
+                hits++;
+                return entry.gifInfo;
+            }
+            misses++;
+        }
+        NamedIcon.GIFMetadataImages gifInfo = scanner.get();
+        synchronized (this) {
+            if (entry.scanned) {
+                return entry.gifInfo;
+            }
+            entry.gifInfo = gifInfo;
+            entry.scanned = true;
+            if (gifInfo != null && cached.get(entry.key) == entry) {
+                long frames = estimateSize(gifInfo);
+                entry.size += frames;
+                size += frames;
+                trim();
+            }
+        }
+        return gifInfo;
+    }
+
+    /**
+     * Get an image already made from the image of a file by turning and
+     * scaling it.
+     *
+     * @param key      the URL of the file, as held by {@link Entry#getKey()}
+     * @param rotation the number of quarter turns
+     * @param degrees  the rotation in degrees
+     * @param scale    the scale
+     * @param animated true if made from the frames of an animated GIF
+     * @return the image or null if not held
+     */
+    @CheckForNull
+    synchronized Image getVariant(@Nonnull String key, int rotation, int degrees, double scale, boolean animated) {
+        Cached variant = cached.get(new VariantKey(key, rotation, degrees, scale, animated));
+        if (variant == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return variant.image;
+    }
+
+    /**
+     * Hold an image made from the image of a file by turning and scaling it.
+     *
+     * @param key      the URL of the file, as held by {@link Entry#getKey()}
+     * @param rotation the number of quarter turns
+     * @param degrees  the rotation in degrees
+     * @param scale    the scale
+     * @param animated true if made from the frames of an animated GIF
+     * @param frames   the number of frames in the image
+     * @param image    the image
+     * @return the image held, which is an earlier one if the same variant
+     *         was held by another thread
+     */
+    @Nonnull
+    Image putVariant(@Nonnull String key, int rotation, int degrees, double scale, boolean animated, int frames, @Nonnull Image image) {
+        Cached variant = new Cached(image);
+        variant.size = estimateSize(image) * Math.max(1, frames);
+        return put(new VariantKey(key, rotation, degrees, scale, animated), variant).image;
+    }
+
+    @Nonnull
+    private synchronized Cached put(@Nonnull Object key, @Nonnull Cached value) {
+        Cached previous = cached.get(key);
+        if (previous != null) {
+            return previous;
+        }
+        cached.put(key, value);
+        size += value.size;
+        trim();
+        return value;
+    }
+
+    // must hold this lock
+    private void trim() {
+        Iterator<Cached> iter = cached.values().iterator();
+        while (size > maxSize && cached.size() > 1 && iter.hasNext()) {
+            Cached eldest = iter.next();
+            iter.remove();
+            size -= eldest.size;
+        }
+        log.trace("{} images held, {} bytes", cached.size(), size);
+    }
+
+    private static long estimateSize(@Nonnull Image image) {
+        return 4L * Math.max(0, image.getWidth(null)) * Math.max(0, image.getHeight(null));
+    }
+
+    private static long estimateSize(@Nonnull NamedIcon.GIFMetadataImages gifInfo) {
+        return 4L * gifInfo.getWidth() * gifInfo.getHeight() * gifInfo.getNumFrames();
+    }
+
+    /**
+     * Drop all the images held, so that files are read again when next used.
+     * Icons already made keep their images.
+     */
+    public synchronized void clear() {
+        locations.clear();
+        cached.clear();
+        size = 0;
+    }
+
+    /**
+     * @return the estimated size of the images held, in bytes
+     */
+    public synchronized long getSize() {
+        return size;
+    }
+
+    /**
+     * @return the limit on the size of the images held, in bytes
+     */
+    public synchronized long getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Set the limit on the size of the images held, dropping images if needed.
+     *
+     * @param maxSize the limit in bytes
+     */
+    public synchronized void setMaxSize(long maxSize) {
+        this.maxSize = maxSize;
+        trim();
+    }
+
+    /**
+     * @return the number of images held, including turned and scaled images
+     */
+    public synchronized int getNumImages() {
+        return cached.size();
+    }
+
+    /**
+     * @return the number of times an image was found already held
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * @return the number of times an image had to be read or made
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * @return the fraction of the images asked for that were found already
+     *         held, or 0 if none have been asked for
+     */
+    public synchronized double getHitRate() {
+        long total = hits + misses;
+        return (total > 0) ? (double) hits / total : 0.0;
+    }
+
+    private static final class Location {
+
+        private final URL url;
+        private final String portableName;
+
+        private Location(@Nonnull URL url, @Nonnull String portableName) {
+            this.url = url;
+            this.portableName = portableName;
+        }
+    }
+
+    private static class Cached {
+
+        final Image image;
+        long size;
+
+        Cached(@Nonnull Image image) {
+            this.image = image;
+        }
+    }
+
+    /**
+     * The image of a file, with its animated GIF frames once scanned.
+     */
+    static final class Entry extends Cached {
+
+        private final String key;
+        private final URL url;
+        // guarded by the cache
+        private NamedIcon.GIFMetadataImages gifInfo = null;
+        private boolean scanned = false;
+
+        private Entry(@Nonnull String key, @Nonnull URL url, @Nonnull Image image) {
+            super(image);
+            this.key = key;
+            this.url = url;
+            size = estimateSize(image);
+        }
+
+        @Nonnull
+        String getKey() {
+            return key;
+        }
+
+        @Nonnull
+        URL getURL() {
+            return url;
+        }
+
+        @Nonnull
+        Image getImage() {
+            return image;
+        }
+    }
+
+    private static final class VariantKey {
+
+        private final String key;
+        private final int rotation;
+        private final int degrees;
+        private final double scale;
+        private final boolean animated;
+
+        private VariantKey(@Nonnull String key, int rotation, int degrees, double scale, boolean animated) {
+            this.key = key;
+            this.rotation = rotation;
+            this.degrees = degrees;
+            this.scale = scale;
+            this.animated = animated;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof VariantKey)) {
+                return false;
+            }
+            VariantKey other = (VariantKey) o;
+            return key.equals(other.key) && rotation == other.rotation && degrees == other.degrees
+                    && Double.compare(scale, other.scale) == 0 && animated == other.animated;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(key, rotation, degrees, scale, animated);
+        }
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(NamedIconCache.class);
+}
@@ -8,7 +8,10 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
+import java.util.stream.Collectors;
+import javax.annotation.CheckForNull;
 import javax.annotation.Nonnull;
 import javax.swing.JComboBox;
 import jmri.InstanceInitializer;
@@ -701,25 +704,21 @@ public class DecoderIndexFile extends XmlFile {
             }
         }
 
-        // add family list by scanning files
+        // add family list by scanning files, in parallel, reusing the families
+        // of files that have not changed since the index was last created
+        DecoderIndexManifest manifest = new DecoderIndexManifest();
+        manifest.load();
         Element familyList = new Element("familyList");
-        for (String fileName : files) {
-            DecoderFile d = new DecoderFile();
-            try {
-                Element droot = d.rootFromName(DecoderFile.fileLocation + fileName);
-                Element family = droot.getChild("decoder").getChild("family").clone();
-                family.setAttribute("file", fileName);
-                familyList.addContent(family);
-            } catch (org.jdom2.JDOMException exj) {
-                log.error("could not parse {}: {}", fileName, exj.getMessage());
-            } catch (java.io.FileNotFoundException exj) {
-                log.error("could not read {}: {}", fileName, exj.getMessage());
-            } catch (IOException exj) {
-                log.error("other exception while dealing with {}: {}", fileName, exj.getMessage());
-            } catch (Exception exq) {
-                log.error("exception reading {}", fileName, exq);
-                throw exq;
-            }
+        Arrays.stream(files).parallel()
+                .map(fileName -> familyFromFile(fileName, manifest))
+                .collect(Collectors.toList())
+                .stream()
+                .filter(Objects::nonNull)
+                .forEach(familyList::addContent);
+        try {
+            manifest.store();
+        } catch (IOException ex) {
+            log.warn("could not write decoder index manifest: {}", ex.getMessage());
         }
 
         index.addContent(mfgList);
@@ -731,6 +730,32 @@ public class DecoderIndexFile extends XmlFile {
         resetInstance();
     }
 
+    /**
+     * Get the family element for the index from a decoder file.
+     *
+     * @param fileName the name of the decoder file
+     * @param manifest the families of unchanged decoder files
+     * @return the family element, or null if the file cannot be read
+     */
+    @CheckForNull
+    private static Element familyFromFile(String fileName, DecoderIndexManifest manifest) {
+        try {
+            Element family = manifest.getFamily(fileName);
+            family.setAttribute("file", fileName);
+            return family;
+        } catch (org.jdom2.JDOMException exj) {
+            log.error("could not parse {}: {}", fileName, exj.getMessage());
+        } catch (java.io.FileNotFoundException exj) {
+            log.error("could not read {}: {}", fileName, exj.getMessage());
+        } catch (IOException exj) {
+            log.error("other exception while dealing with {}: {}", fileName, exj.getMessage());
+        } catch (Exception exq) {
+            log.error("exception reading {}", fileName, exq);
+            throw exq;
+        }
+        return null;
+    }
+
     String nmraListDate = null;
     String updated = null;
     String lastAdd = null;
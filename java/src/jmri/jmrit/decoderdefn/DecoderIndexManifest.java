@@ -0,0 +1,225 @@
+package jmri.jmrit.decoderdefn;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+import javax.annotation.Nonnull;
+import jmri.jmrit.XmlFile;
+import jmri.util.FileUtil;
+import org.jdom2.Document;
+import org.jdom2.Element;
+import org.jdom2.JDOMException;
+import org.jdom2.input.JDOMParseException;
+import org.jdom2.input.SAXBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.xml.sax.Attributes;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.XMLFilterImpl;
+
+/**
+ * The family elements found in each decoder definition file when the decoder
+ * index was last created, kept with the size, modification time and checksum
+ * of the file so that only changed files need to be parsed again.
+ * <p>
+ * Files that changed are only parsed as far as the end of their family
+ * element, including any XIncludes in it.
+ * <p>
+ * The manifest is kept in the decoderIndexManifest.xml file in the user files
+ * location, and is safe to delete.
+ *
+ * @see DecoderIndexFile#writeFile(String, DecoderIndexFile, String[])
+ */
+class DecoderIndexManifest extends XmlFile {
+
+    static final String MANIFEST_FILE_NAME = "decoderIndexManifest.xml";
+    private static final String ROOT = "decoderIndexManifest";
+    private static final String DECODER_FILE = "decoderFile";
+    private static final String NAME = "name";
+    private static final String SIZE = "size";
+    private static final String MODIFIED = "modified";
+    private static final String CRC = "crc";
+
+    private final File file;
+    private final Map<String, Entry> previous = new HashMap<>();
+    private final Map<String, Entry> current = new ConcurrentHashMap<>();
+    private static final Logger log = LoggerFactory.getLogger(DecoderIndexManifest.class);
+
+    DecoderIndexManifest() {
+        this(new File(FileUtil.getUserFilesPath() + MANIFEST_FILE_NAME));
+    }
+
+    DecoderIndexManifest(@Nonnull File file) {
+        this.file = file;
+        setValidate(Validate.None);
+    }
+
+    /**
+     * Read the manifest written by the last index creation, if any.
+     */
+    void load() {
+        previous.clear();
+        if (!file.exists()) {
+            return;
+        }
+        try {
+            for (Element element : rootFromFile(file).getChildren(DECODER_FILE)) {
+                Element family = element.getChild("family");
+                if (family != null) {
+                    previous.put(element.getAttributeValue(NAME), new Entry(
+                            Long.parseLong(element.getAttributeValue(SIZE)),
+                            Long.parseLong(element.getAttributeValue(MODIFIED)),
+                            Long.parseLong(element.getAttributeValue(CRC)),
+                            family.detach()));
+                }
+            }
+        } catch (JDOMException | IOException | NumberFormatException | NullPointerException ex) {
+            log.warn("Unable to read decoder index manifest, all decoder files will be parsed: {}", ex.getMessage());
+            previous.clear();
+        }
+    }
+
+    /**
+     * Write the manifest for the files whose families were read since the
+     * manifest was loaded.
+     *
+     * @throws IOException if the manifest cannot be written
+     */
+    void store() throws IOException {
+        Element root = new Element(ROOT);
+        current.keySet().stream().sorted().forEach(name -> {
+            Entry entry = current.get(name);
+            root.addContent(new Element(DECODER_FILE)
+                    .setAttribute(NAME, name)
+                    .setAttribute(SIZE, Long.toString(entry.size))
+                    .setAttribute(MODIFIED, Long.toString(entry.modified))
+                    .setAttribute(CRC, Long.toString(entry.crc))
+                    .addContent(entry.family.clone()));
+        });
+        writeXML(file, newDocument(root));
+    }
+
+    /**
+     * Get the family element of a decoder definition file, parsing the file
+     * only if it changed since the manifest was written. Safe to call from
+     * multiple threads at once.
+     *
+     * @param fileName the name of the file in the decoders directory
+     * @return a copy of the family element
+     * @throws JDOMException if the file cannot be parsed
+     * @throws IOException   if the file cannot be read
+     */
+    @Nonnull
+    Element getFamily(@Nonnull String fileName) throws JDOMException, IOException {
+        String name = DecoderFile.fileLocation + fileName;
+        File decoderFile = findFile(name);
+        if (decoderFile == null || !decoderFile.canRead()) {
+            // not a file that can be checked for changes
+            return new DecoderFile().rootFromName(name).getChild("decoder").getChild("family").clone();
+        }
+        long size = decoderFile.length();
+        long modified = decoderFile.lastModified();
+        Entry entry = previous.get(fileName);
+        if (entry != null && entry.size == size && entry.modified != modified) {
+            // files installed again keep their contents but not their times
+            long crc = checksum(decoderFile);
+            entry = entry.crc == crc ? new Entry(size, modified, crc, entry.family) : null;
+        }
+        if (entry == null || entry.size != size || entry.modified != modified) {
+            log.debug("parsing changed decoder file {}", fileName);
+            entry = new Entry(size, modified, checksum(decoderFile), parseFamily(decoderFile));
+        }
+        current.put(fileName, entry);
+        return entry.family.clone();
+    }
+
+    /**
+     * Parse a decoder definition file only as far as the end of its family
+     * element. Files with transforms are parsed and transformed completely.
+     */
+    @Nonnull
+    private Element parseFamily(@Nonnull File decoderFile) throws JDOMException, IOException {
+        SAXBuilder builder = getBuilder(getDefaultValidate());
+        FamilyFilter filter = new FamilyFilter();
+        builder.setXMLFilter(filter);
+        Document doc;
+        try (InputStream stream = new BufferedInputStream(new FileInputStream(decoderFile))) {
+            doc = builder.build(stream);
+        } catch (JDOMParseException ex) {
+            if (!filter.done) {
+                throw ex;
+            }
+            doc = ex.getPartialDocument();
+        }
+        Element root = filter.done ? doc.getRootElement() : new DecoderFile().rootFromFile(decoderFile);
+        return root.getChild("decoder").getChild("family").clone();
+    }
+
+    private static long checksum(@Nonnull File decoderFile) throws IOException {
+        CRC32 crc = new CRC32();
+        byte[] buffer = new byte[8192];
+        try (InputStream stream = new FileInputStream(decoderFile)) {
+            int read;
+            while ((read = stream.read(buffer)) != -1) {
+                crc.update(buffer, 0, read);
+            }
+        }
+        return crc.getValue();
+    }
+
+    /**
+     * Stops parsing at the end of the decoder's family element, unless the
+     * document needs to be transformed first.
+     */
+    private static final class FamilyFilter extends XMLFilterImpl {
+
+        private int depth = 0;
+        private boolean transformed = false;
+        boolean done = false;
+
+        @Override
+        public void processingInstruction(String target, String data) throws SAXException {
+            if (depth == 0 && target.equals("transform-xslt")) {
+                transformed = true;
+            }
+            super.processingInstruction(target, data);
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes atts) throws SAXException {
+            depth++;
+            super.startElement(uri, localName, qName, atts);
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) throws SAXException {
+            super.endElement(uri, localName, qName);
+            depth--;
+            if (depth == 2 && !transformed && qName.equals("family")) {
+                done = true;
+                throw new SAXException("end of family");
+            }
+        }
+    }
+
+    private static final class Entry {
+
+        final long size;
+        final long modified;
+        final long crc;
+        final Element family;
+
+        Entry(long size, long modified, long crc, @Nonnull Element family) {
+            this.size = size;
+            this.modified = modified;
+            this.crc = crc;
+            this.family = family;
+        }
+    }
+}
@@ -34,6 +34,7 @@ import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.Hashtable;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.annotation.Nonnull;
 import javax.swing.AbstractAction;
 import javax.swing.BorderFactory;
@@ -163,6 +164,7 @@ abstract public class Editor extends JmriJFrame implements MouseListener, MouseM
     // Option menu items
     protected int _scrollState = SCROLL_NONE;
     protected boolean _editable = true;
+    private final AtomicInteger _changeCount = new AtomicInteger();
     private boolean _positionable = true;
     private boolean _controlLayout = true;
     private boolean _showHidden = true;
@@ -745,6 +747,7 @@ abstract public class Editor extends JmriJFrame implements MouseListener, MouseM
      */
     public void setAllEditable(boolean state) {
         _editable = state;
+        _changeCount.incrementAndGet();
         for (Positionable _content : _contents) {
             _content.setEditable(state);
         }
@@ -772,6 +775,19 @@ abstract public class Editor extends JmriJFrame implements MouseListener, MouseM
         return _editable;
     }
 
+    /**
+     * Get a count that changes whenever the contents of the panel may have
+     * changed: when items are added or removed, and when the panel enters or
+     * leaves edit mode, since items are edited in edit mode. Anything made
+     * from the panel contents is stale if the count has changed since it was
+     * made.
+     *
+     * @return the count
+     */
+    public int getChangeCount() {
+        return _changeCount.get();
+    }
+
     /**
      * Set which flag should be used, global or local for Positioning and
      * Control of individual items. Items call getFlag() to return the
@@ -1668,6 +1684,7 @@ abstract public class Editor extends JmriJFrame implements MouseListener, MouseM
             l.setToolTip(new ToolTip(_defaultToolTip, l));
         }
         addToTarget(l);
+        _changeCount.incrementAndGet();
         if (!_contents.add(l)) {
             log.error("Unable to add {} to _contents", l.getNameString());
         }
@@ -2520,6 +2537,7 @@ abstract public class Editor extends JmriJFrame implements MouseListener, MouseM
 
     public boolean removeFromContents(Positionable l) {
         removeFromTarget(l);
+        _changeCount.incrementAndGet();
         //todo check that parent == _targetPanel
         //Container parent = this.getParent();
         // force redisplay
@@ -73,11 +73,11 @@ public class LayoutBlock extends AbstractNamedBean implements PropertyChangeList
     private boolean enableDeleteRouteLogging = false;
     private final boolean enableSearchRouteLogging = false;
 
-    private static final List<Integer> updateReferences = new ArrayList<>(500);
+    // the last routing packet id handed out, shared by all blocks
+    private static final java.util.concurrent.atomic.AtomicInteger lastPacketID
+            = new java.util.concurrent.atomic.AtomicInteger(-1);
 
-    // might want to use the jmri ordered HashMap, so that we can add at the top
-    // and remove at the bottom.
-    private final List<Integer> actedUponUpdates = new ArrayList<>(500);
+    private final PacketHistory actedUponUpdates = new PacketHistory();
 
     public void enableDeleteRouteLog() {
         enableDeleteRouteLogging = false;
@@ -870,8 +870,9 @@ public class LayoutBlock extends AbstractNamedBean implements PropertyChangeList
             jmri.InstanceManager.getDefault(jmri.NamedBeanHandleManager.class).
                     renameBean(e.getOldValue().toString(), e.getNewValue().toString(), this);
         }
-        // Redraw all Layout Editor panels using this Layout Block
-        redrawLayoutBlockPanels();
+        // Redraw this Layout Block in all Layout Editor panels using it
+        panels.forEach(panel -> panel.redrawLayoutBlock(this));
+        firePropertyChange("redraw", null, null);
 
         if (InstanceManager.getDefault(LayoutBlockManager.class).isAdvancedRoutingEnabled()) {
             stateUpdate();
@@ -1533,7 +1534,7 @@ public class LayoutBlock extends AbstractNamedBean implements PropertyChangeList
                 } else {
                     route = new Routes(addBlock, this.getBlock(), 1, direction, 0, 0);
                 }
-                routes.add(route);
+                addRoute(route);
             }
 
             if (blk != null) {
@@ -1569,7 +1570,7 @@ public class LayoutBlock extends AbstractNamedBean implements PropertyChangeList
                             if ((ro.getDestBlock() == addBlock)
                                     && (ro.getNextBlock() == this.getBlock())) {
                                 adj.removeRouteAdvertisedToNeighbour(ro);
-                                routes.remove(j);
+                                removeRoute(j);
                             }
                         }
                         RoutingPacket newUpdate = new RoutingPacket(REMOVAL, addBlock, -1, -1, -1, -1, getNextPacketID());
@@ -1694,7 +1695,7 @@ public class LayoutBlock extends AbstractNamedBean implements PropertyChangeList
                     Routes ro = routes.get(j);
                     if ((ro.getDestBlock() == block) && (ro.getNextBlock() == this.getBlock())) {
                         adj.removeRouteAdvertisedToNeighbour(ro);
-                        routes.remove(j);
+                        removeRoute(j);
                     }
                 }
 
@@ -1968,7 +1969,7 @@ public class LayoutBlock extends AbstractNamedBean implements PropertyChangeList
                 if (enableDeleteRouteLogging) {
                     log.info("{} route to {} from block {} to be removed triggered by propertyChange", msgPrefix, ro.getDestBlock().getDisplayName(), ro.getNextBlock().getDisplayName());
                 }
-                routes.remove(i);
+                removeRoute(i);
                 // We only fire off routing update the once
             }
         }
@@ -1993,7 +1994,7 @@ public class LayoutBlock extends AbstractNamedBean implements PropertyChangeList
                 if (!tmpBlock.contains(ro)) {
                     tmpBlock.add(ro);
                 }
-                routes.remove(j);
+                removeRoute(j);
                 // This will need to be removed fromth directly connected
             } else if (ro.getNextBlock() == removedBlock) {
                 if (enableDeleteRouteLogging) {
@@ -2003,7 +2004,7 @@ public class LayoutBlock extends AbstractNamedBean implements PropertyChangeList
                 if (!tmpBlock.contains(ro)) {
                     tmpBlock.add(ro);
                 }
-                routes.remove(j);
+                removeRoute(j);
                 // This will also need to be removed from the directly connected list as well.
             }
         }
@@ -2076,7 +2077,7 @@ public class LayoutBlock extends AbstractNamedBean implements PropertyChangeList
 
             // Might need to rebuild through paths.
             if (oldPacketFlow == TXONLY) {
-                routes.add(new Routes(neighBlock, this.getBlock(),
+                addRoute(new Routes(neighBlock, this.getBlock(),
                         1, neighbour.getDirection(), neighLBlock.getBlockMetric(), neighBlock.getLengthMm()));
                 addThroughPath(neighbour);
             }
@@ -2088,7 +2089,7 @@ public class LayoutBlock extends AbstractNamedBean implements PropertyChangeList
 
             // Might need to rebuild through paths.
             if (oldPacketFlow == TXONLY) {
-                routes.add(new Routes(neighBlock, this.getBlock(),
+                addRoute(new Routes(neighBlock, this.getBlock(),
                         1, neighbour.getDirection(), neighLBlock.getBlockMetric(), neighBlock.getLengthMm()));
             }
             addThroughPath(neighbour);
@@ -2658,32 +2659,11 @@ public class LayoutBlock extends AbstractNamedBean implements PropertyChangeList
     }
 
     Integer getNextPacketID() {
-        Integer lastID;
-
-        if (updateReferences.isEmpty()) {
-            lastID = 0;
-        } else {
-            int lastIDPos = updateReferences.size() - 1;
-            lastID = updateReferences.get(lastIDPos) + 1;
-        }
-
-        if (lastID > 2000) {
-            lastID = 0;
-        }
-        updateReferences.add(lastID);
+        Integer lastID = lastPacketID.updateAndGet(id -> (id >= 2000) ? 0 : id + 1);
 
         /*As we are originating a packet, we will added to the acted upion list
          thus making sure if the packet gets back to us we do knowing with it.*/
         actedUponUpdates.add(lastID);
-
-        if (updateReferences.size() > 500) {
-            // log.info("flush update references");
-            updateReferences.subList(0, 250).clear();
-        }
-
-        if (actedUponUpdates.size() > 500) {
-            actedUponUpdates.subList(0, 250).clear();
-        }
         return lastID;
     }
 
@@ -2743,6 +2723,39 @@ public class LayoutBlock extends AbstractNamedBean implements PropertyChangeList
     // or we store the ref to the path, so we can get the directions.
     List<Routes> routes = new ArrayList<>();
 
+    // The same routes by destination block and by next block, in table order,
+    // so that looking up the routes to or via a block doesn't walk the table.
+    private final Map<Block, List<Routes>> routesByDestBlock = new HashMap<>();
+    private final Map<Block, List<Routes>> routesByNextBlock = new HashMap<>();
+
+    private void addRoute(Routes route) {
+        routes.add(route);
+        routesByDestBlock.computeIfAbsent(route.getDestBlock(), k -> new ArrayList<>(2)).add(route);
+        routesByNextBlock.computeIfAbsent(route.getNextBlock(), k -> new ArrayList<>()).add(route);
+    }
+
+    private void removeRoute(int index) {
+        Routes route = routes.remove(index);
+        removeIndexedRoute(routesByDestBlock, route.getDestBlock(), route);
+        removeIndexedRoute(routesByNextBlock, route.getNextBlock(), route);
+    }
+
+    private static void removeIndexedRoute(Map<Block, List<Routes>> index, Block block, Routes route) {
+        List<Routes> indexed = index.get(block);
+        if (indexed != null) {
+            indexed.remove(route);
+            if (indexed.isEmpty()) {
+                index.remove(block);
+            }
+        }
+    }
+
+    @Nonnull
+    private List<Routes> getIndexedRoutes(Map<Block, List<Routes>> index, Block block) {
+        List<Routes> indexed = index.get(block);
+        return (indexed != null) ? indexed : Collections.emptyList();
+    }
+
     String decodePacketFlow(int value) {
         switch (value) {
             case RXTX: {
@@ -2841,8 +2854,8 @@ public class LayoutBlock extends AbstractNamedBean implements PropertyChangeList
         int bestMetric = 965000;
         Block bestBlock = null;
 
-        for (Routes r : routes) {
-            if ((r.getDestBlock() == destBlock) && (r.getDirection() == direction)) {
+        for (Routes r : getIndexedRoutes(routesByDestBlock, destBlock)) {
+            if (r.getDirection() == direction) {
                 if (r.getMetric() < bestMetric) {
                     bestMetric = r.getMetric();
                     bestBlock = r.getNextBlock();
@@ -2867,15 +2880,13 @@ public class LayoutBlock extends AbstractNamedBean implements PropertyChangeList
         int bestMetric = 965000;
         Block bestBlock = null;
 
-        for (Routes r : routes) {
-            if (r.getDestBlock() == destBlock) {
-                // Check that the route through from the previous block, to the next hop is valid
-                if (validThroughPath(previousBlock, r.getNextBlock())) {
-                    if (r.getMetric() < bestMetric) {
-                        bestMetric = r.getMetric();
-                        // bestBlock=r.getDestBlock();
-                        bestBlock = r.getNextBlock();
-                    }
+        for (Routes r : getIndexedRoutes(routesByDestBlock, destBlock)) {
+            // Check that the route through from the previous block, to the next hop is valid
+            if (validThroughPath(previousBlock, r.getNextBlock())) {
+                if (r.getMetric() < bestMetric) {
+                    bestMetric = r.getMetric();
+                    // bestBlock=r.getDestBlock();
+                    bestBlock = r.getNextBlock();
                 }
             }
         }
@@ -2979,57 +2990,54 @@ public class LayoutBlock extends AbstractNamedBean implements PropertyChangeList
             }
         }
 
-        for (int i = 0; i < routes.size(); i++) {
-            if (!excludeBlock.contains(i)) {
-                Routes ro = routes.get(i);
-                if (!nextBlocks.contains(ro.getNextBlock())) {
-                    // if(ro.getNextBlock()!=nextBlock){
-                    int currentValue;
-                    if (routingMethod == LayoutBlockConnectivityTools.Metric.METRIC) {
-                        currentValue = routes.get(i).getMetric();
-                    } else /*if (routingMethod==InstanceManager.getDefault(
-                        LayoutBlockManager.class).HOPCOUNT)*/ {
-                        currentValue = routes.get(i).getHopCount();  // was lastindex changed to i
-                    }
+        // only routes to the destination can match, so just look at those, in table order
+        Set<Routes> excludedRoutes = new HashSet<>();
+        for (int i : excludeBlock) {
+            if ((i >= 0) && (i < routes.size())) {
+                excludedRoutes.add(routes.get(i));
+            }
+        }
+        Routes bestRoute = null;
+        for (Routes ro : getIndexedRoutes(routesByDestBlock, destBlock)) {
+            if (!excludedRoutes.contains(ro) && !nextBlocks.contains(ro.getNextBlock())) {
+                int currentValue;
+                if (routingMethod == LayoutBlockConnectivityTools.Metric.METRIC) {
+                    currentValue = ro.getMetric();
+                } else /*if (routingMethod==InstanceManager.getDefault(
+                    LayoutBlockManager.class).HOPCOUNT)*/ {
+                    currentValue = ro.getHopCount();
+                }
 
-                    if (currentValue >= lastValue) {
-                        if (ro.getDestBlock() == destBlock) {
-                            if (enableSearchRouteLogging) {
-                                log.info("Match on dest blocks");
-                                // Check that the route through from the previous block, to the next hop is valid
-                                log.info("Is valid through path previous block {} to {}", previousBlock.getDisplayName(), ro.getNextBlock().getDisplayName());
-                            }
+                if (currentValue >= lastValue) {
+                    if (enableSearchRouteLogging) {
+                        log.info("Match on dest blocks");
+                        // Check that the route through from the previous block, to the next hop is valid
+                        log.info("Is valid through path previous block {} to {}", previousBlock.getDisplayName(), ro.getNextBlock().getDisplayName());
+                    }
 
-                            if (validThroughPath(previousBlock, ro.getNextBlock())) {
-                                if (enableSearchRouteLogging) {
-                                    log.info("valid through path");
-                                }
+                    if (validThroughPath(previousBlock, ro.getNextBlock())) {
+                        if (enableSearchRouteLogging) {
+                            log.info("valid through path");
+                        }
 
-                                if (routingMethod == LayoutBlockConnectivityTools.Metric.METRIC) {
-                                    if (ro.getMetric() < bestCount) {
-                                        bestIndex = i;
-                                        bestCount = ro.getMetric();
-                                    }
-                                } else /*if (routingMethod==InstanceManager.getDefault(
-                                    LayoutBlockManager.class).HOPCOUNT)*/ {
-                                    if (ro.getHopCount() < bestCount) {
-                                        bestIndex = i;
-                                        bestCount = ro.getHopCount();
-                                    }
-                                }
-                            }
+                        if (currentValue < bestCount) {
+                            bestRoute = ro;
+                            bestCount = currentValue;
+                        }
+                    }
 
-                            if (ro.getNextBlock() == this.getBlock()) {
-                                if (enableSearchRouteLogging) {
-                                    log.info("getNextBlock is this block therefore directly connected");
-                                }
-                                return i;
-                            }
+                    if (ro.getNextBlock() == this.getBlock()) {
+                        if (enableSearchRouteLogging) {
+                            log.info("getNextBlock is this block therefore directly connected");
                         }
+                        return getRouteIndex(ro);
                     }
                 }
             }
         }
+        if (bestRoute != null) {
+            bestIndex = getRouteIndex(bestRoute);
+        }
 
         if (enableSearchRouteLogging) {
             log.info("returning {} best count {}", bestIndex, bestCount);
@@ -3039,23 +3047,13 @@ public class LayoutBlock extends AbstractNamedBean implements PropertyChangeList
 
     @CheckForNull
     Routes getRouteByDestBlock(Block blk) {
-        for (int i = routes.size() - 1; i > -1; i--) {
-            if (routes.get(i).getDestBlock() == blk) {
-                return routes.get(i);
-            }
-        }
-        return null;
+        List<Routes> destRoutes = getIndexedRoutes(routesByDestBlock, blk);
+        return destRoutes.isEmpty() ? null : destRoutes.get(destRoutes.size() - 1);
     }
 
     @Nonnull
     List<Routes> getRouteByNeighbour(Block blk) {
-        List<Routes> rtr = new ArrayList<>();
-        for (Routes route : routes) {
-            if (route.getNextBlock() == blk) {
-                rtr.add(route);
-            }
-        }
-        return rtr;
+        return new ArrayList<>(getIndexedRoutes(routesByNextBlock, blk));
     }
 
     int getAdjacencyPacketFlow(Block blk) {
@@ -3218,13 +3216,7 @@ public class LayoutBlock extends AbstractNamedBean implements PropertyChangeList
      * @return routes between this and dstBlock
      */
     List<Routes> getDestRoutes(Block dstBlock) {
-        List<Routes> rtr = new ArrayList<>();
-        for (Routes route : routes) {
-            if (route.getDestBlock() == dstBlock) {
-                rtr.add(route);
-            }
-        }
-        return rtr;
+        return new ArrayList<>(getIndexedRoutes(routesByDestBlock, dstBlock));
     }
 
     /**
@@ -3234,13 +3226,7 @@ public class LayoutBlock extends AbstractNamedBean implements PropertyChangeList
      * @return list of routes to target block
      */
     List<Routes> getNextRoutes(Block nxtBlock) {
-        List<Routes> rtr = new ArrayList<>();
-        for (Routes route : routes) {
-            if (route.getNextBlock() == nxtBlock) {
-                rtr.add(route);
-            }
-        }
-        return rtr;
+        return new ArrayList<>(getIndexedRoutes(routesByNextBlock, nxtBlock));
     }
 
     void updateRoutingInfo(Routes route) {
@@ -3684,7 +3670,7 @@ public class LayoutBlock extends AbstractNamedBean implements PropertyChangeList
         // We need to propergate out the routes that we have added to our neighbour
         int direction = adj.getDirection();
         Routes route = new Routes(destBlock, srcblk, hopCount, direction, updatemetric, length);
-        routes.add(route);
+        addRoute(route);
 
         // Need to propergate the route down to our neighbours
         addRouteToNeighbours(route);
@@ -3855,6 +3841,34 @@ public class LayoutBlock extends AbstractNamedBean implements PropertyChangeList
         return -1;
     }
 
+    /**
+     * The ids of the most recent routing packets acted upon. Once more than
+     * 500 ids are held the oldest 250 are forgotten, as packet ids are reused.
+     */
+    static class PacketHistory {
+
+        private final ArrayDeque<Integer> ids = new ArrayDeque<>(501);
+        private final HashMap<Integer, Integer> counts = new HashMap<>();
+
+        void add(Integer packetID) {
+            ids.addLast(packetID);
+            counts.merge(packetID, 1, Integer::sum);
+            if (ids.size() > 500) {
+                for (int i = 0; i < 250; i++) {
+                    counts.computeIfPresent(ids.removeFirst(), (id, count) -> (count > 1) ? count - 1 : null);
+                }
+            }
+        }
+
+        boolean contains(Integer packetID) {
+            return counts.containsKey(packetID);
+        }
+
+        int size() {
+            return ids.size();
+        }
+    }
+
     private class Adjacencies {
 
         Block adjBlock;
@@ -3864,7 +3878,7 @@ public class LayoutBlock extends AbstractNamedBean implements PropertyChangeList
         boolean mutualAdjacency = false;
 
         HashMap<Block, Routes> adjDestRoutes = new HashMap<>();
-        List<Integer> actedUponUpdates = new ArrayList<>(501);
+        PacketHistory actedUponUpdates = new PacketHistory();
 
         Adjacencies(Block block, int dir, int packetFlow) {
             adjBlock = block;
@@ -4010,9 +4024,6 @@ public class LayoutBlock extends AbstractNamedBean implements PropertyChangeList
 
         void addPacketReceivedFromNeighbour(Integer packetID) {
             actedUponUpdates.add(packetID);
-            if (actedUponUpdates.size() > 500) {
-                actedUponUpdates.subList(0, 250).clear();
-            }
         }
 
         void dispose() {
@@ -4172,11 +4183,9 @@ public class LayoutBlock extends AbstractNamedBean implements PropertyChangeList
             return 1;
         }
 
-        for (Routes route : routes) {
-            if (route.getDestBlock() == destination) {
-                if (route.getNextBlock() == nextBlock) {
-                    return route.getHopCount();
-                }
+        for (Routes route : getIndexedRoutes(routesByDestBlock, destination)) {
+            if (route.getNextBlock() == nextBlock) {
+                return route.getHopCount();
             }
         }
         return -1;
@@ -4199,11 +4208,9 @@ public class LayoutBlock extends AbstractNamedBean implements PropertyChangeList
             return 1;
         }
 
-        for (Routes route : routes) {
-            if (route.getDestBlock() == destination) {
-                if (route.getNextBlock() == nextBlock) {
-                    return route.getMetric();
-                }
+        for (Routes route : getIndexedRoutes(routesByDestBlock, destination)) {
+            if (route.getNextBlock() == nextBlock) {
+                return route.getMetric();
             }
         }
         return -1;
@@ -4226,11 +4233,9 @@ public class LayoutBlock extends AbstractNamedBean implements PropertyChangeList
             return 1;
         }
 
-        for (Routes route : routes) {
-            if (route.getDestBlock() == destination) {
-                if (route.getNextBlock() == nextBlock) {
-                    return route.getLength();
-                }
+        for (Routes route : getIndexedRoutes(routesByDestBlock, destination)) {
+            if (route.getNextBlock() == nextBlock) {
+                return route.getLength();
             }
         }
         return -1;
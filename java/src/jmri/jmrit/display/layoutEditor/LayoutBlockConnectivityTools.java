@@ -1,9 +1,21 @@
 package jmri.jmrit.display.layoutEditor;
 
+import java.util.AbstractMap;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
 import jmri.*;
 import jmri.jmrit.display.EditorManager;
 import org.slf4j.Logger;
@@ -381,42 +393,6 @@ final public class LayoutBlockConnectivityTools {
         throw new jmri.JmriException("BlockIsNull");
     }
 
-    /**
-     * This uses the layout editor to check if the destination location is
-     * reachable from the source location.<br>
-     * Only used internally to the class.
-     * <p>
-     * @param facing     Layout Block that is considered our first block
-     * @param protecting Layout Block that is considered first block +1
-     * @param dest       Layout Block that we want to get to
-     * @param pathMethod the path method
-     * @return true if valid
-     * @throws JmriException during nested getProtectingBlocks operation
-     */
-    private boolean checkValidDest(LayoutBlock facing, LayoutBlock protecting, FacingProtecting dest, Routing pathMethod) throws JmriException {
-        if (facing == null || protecting == null || dest == null) {
-            return false;
-        }
-        if (log.isDebugEnabled()) {
-            log.debug("facing : {} protecting : {} dest {}", protecting.getDisplayName(), dest.getBean().getDisplayName(), facing.getDisplayName());
-        }
-
-        // In this instance it doesn't matter what the destination protecting block is so we get the first
-        /*LayoutBlock destProt = null;
-         if(!dest.getProtectingBlocks().isEmpty()){
-         destProt = InstanceManager.getDefault(LayoutBlockManager.class).getLayoutBlock(dest.getProtectingBlocks().get(0));
-         // log.info(dest.getProtectingBlocks());
-         }*/
-         
-        List<LayoutBlock> destList = new ArrayList<>();
-
-         // may throw JmriException here
-        dest.getProtectingBlocks().forEach((b) -> {
-            destList.add(InstanceManager.getDefault(LayoutBlockManager.class).getLayoutBlock(b));
-        });
-        return checkValidDest(facing, protecting, InstanceManager.getDefault(LayoutBlockManager.class).getLayoutBlock(dest.getFacing()), destList, pathMethod);
-    }
-
     /**
      * This used in conjunction with the layout block routing protocol, to
      * discover a clear path from a source layout block through to a destination
@@ -671,26 +647,10 @@ final public class LayoutBlockConnectivityTools {
                         log.debug("  current {} {}", currentBlock.getDisplayName(), block.getDisplayName());
                     }
 
-                    jmri.NamedBean foundBean = null;
                     /* We change the logging level to fatal in the layout block manager as we are testing to make sure that no signalhead/mast exists
                      this would generate an error message that is expected.*/
                     MDC.put("loggingDisabled", LayoutBlockManager.class.getName());
-                    switch (pathMethod) {
-                        case MASTTOMAST:
-                            foundBean = InstanceManager.getDefault(LayoutBlockManager.class).getFacingSignalMast(currentBlock, blocktoCheck);
-                            break;
-                        case HEADTOHEAD:
-                            foundBean = InstanceManager.getDefault(LayoutBlockManager.class).getFacingSignalHead(currentBlock, blocktoCheck);
-                            break;
-                        case SENSORTOSENSOR:
-                            foundBean = InstanceManager.getDefault(LayoutBlockManager.class).getFacingSensor(currentBlock, blocktoCheck, null);
-                            break;
-                        case NONE:
-                            break;
-                        default:
-                            foundBean = InstanceManager.getDefault(LayoutBlockManager.class).getFacingNamedBean(currentBlock, blocktoCheck, null);
-                            break;
-                    }
+                    jmri.NamedBean foundBean = getFacingBean(currentBlock, blocktoCheck, pathMethod);
                     MDC.remove("loggingDisabled");
                     if (foundBean == null) {
                         log.debug("No object found so okay to return");
@@ -716,6 +676,33 @@ final public class LayoutBlockConnectivityTools {
         return -1;
     }
 
+    /**
+     * Get the bean that would stop a path of a particular type from crossing
+     * from one block to the next.
+     *
+     * @param facing     the block being left
+     * @param protecting the block being entered
+     * @param pathMethod the type of path
+     * @return the bean facing the boundary in the direction of travel, or null
+     *         if none or the path method does not check for beans
+     */
+    @CheckForNull
+    private NamedBean getFacingBean(Block facing, Block protecting, Routing pathMethod) {
+        LayoutBlockManager lbm = InstanceManager.getDefault(LayoutBlockManager.class);
+        switch (pathMethod) {
+            case MASTTOMAST:
+                return lbm.getFacingSignalMast(facing, protecting);
+            case HEADTOHEAD:
+                return lbm.getFacingSignalHead(facing, protecting);
+            case SENSORTOSENSOR:
+                return lbm.getFacingSensor(facing, protecting, null);
+            case NONE:
+                return null;
+            default:
+                return lbm.getFacingNamedBean(facing, protecting, null);
+        }
+    }
+
     private boolean checkForDoubleCrossover(Block prevBlock, LayoutBlock curBlock, Block nextBlock) {
         LayoutEditor le = curBlock.getMaxConnectedPanel();
         ConnectivityUtil ct = le.getConnectivityUtil();
@@ -765,6 +752,33 @@ final public class LayoutBlockConnectivityTools {
         return true;
     }
 
+    /**
+     * Notified of the progress of discovering pairs of beans, and able to
+     * cancel the discovery.
+     *
+     * @see #discoverValidBeanPairs(LayoutEditor, Class, Routing, DiscoveryMonitor)
+     */
+    public interface DiscoveryMonitor {
+
+        /**
+         * Called as the destinations of each source bean are found. May be
+         * called from any thread, and from several threads at once.
+         *
+         * @param done  the number of source beans done so far
+         * @param total the number of source beans
+         */
+        void progress(int done, int total);
+
+        /**
+         * Checked before the destinations of each source bean are found.
+         *
+         * @return true to stop the discovery
+         */
+        default boolean isCancelled() {
+            return false;
+        }
+    }
+
     /**
      * Discovers valid pairs of beans type T assigned to a layout editor. If no
      * bean type is provided, then either SignalMasts or Sensors are discovered
@@ -778,32 +792,58 @@ final public class LayoutBlockConnectivityTools {
      * @return the valid pairs
      */
     public HashMap<NamedBean, List<NamedBean>> discoverValidBeanPairs(LayoutEditor editor, Class<?> T, Routing pathMethod) {
-        LayoutBlockManager lbm = InstanceManager.getDefault(LayoutBlockManager.class);
-        HashMap<NamedBean, List<NamedBean>> retPairs = new HashMap<>();
+        return discoverValidBeanPairs(editor, T, pathMethod, null);
+    }
+
+    /**
+     * Discovers valid pairs of beans type T assigned to a layout editor. If no
+     * bean type is provided, then either SignalMasts or Sensors are discovered
+     * If no editor is provided, then all editors are considered
+     * <p>
+     * The connections between layout blocks are gathered once, and then the
+     * destinations of the source beans are found in parallel by following
+     * the through paths of the layout blocks. Only the neighbours and through
+     * paths of the layout blocks are used, so the layout block routing does
+     * not need to have stabilised.
+     *
+     * @param editor     the layout editor panel
+     * @param T          the type
+     * @param pathMethod Determine whether or not we should reject pairs if
+     *                   there are other beans in the way. Constant values of
+     *                   NONE, ANY, MASTTOMAST, HEADTOHEAD
+     * @param monitor    notified of progress and checked for cancellation,
+     *                   may be null
+     * @return the valid pairs, only for the source beans done before any
+     *         cancellation
+     */
+    public HashMap<NamedBean, List<NamedBean>> discoverValidBeanPairs(LayoutEditor editor, Class<?> T, Routing pathMethod, @CheckForNull DiscoveryMonitor monitor) {
         List<FacingProtecting> beanList = generateBlocksWithBeans(editor, T);
-        beanList.forEach((fp) -> {
-            fp.getProtectingBlocks().stream().map((block) -> {
-                if (log.isDebugEnabled()) {
-                    try {
-                        log.debug("\nSource {}", fp.getBean().getDisplayName());
-                        log.debug("facing {}", fp.getFacing().getDisplayName());
-                        log.debug("protecting {}", block.getDisplayName());
-                    } catch (java.lang.NullPointerException e) {
-                        // Can be considered normal if the signalmast is assigned to an end bumper.
-                    }
-                }
-                return block;
-            }).forEachOrdered((block) -> {
-                LayoutBlock lFacing = lbm.getLayoutBlock(fp.getFacing());
-                LayoutBlock lProtecting = lbm.getLayoutBlock(block);
-                NamedBean source = fp.getBean();
-                try {
-                    retPairs.put(source, discoverPairDest(source, lProtecting, lFacing, beanList, pathMethod));
-                } catch (JmriException ex) {
-                    log.error("exception in retPairs.put", ex);
-                }
-            });
+        PairGraph graph = createPairGraph(beanList, pathMethod);
+        List<FacingProtecting> sources = beanList.stream()
+                .filter(fp -> !fp.getProtectingBlocks().isEmpty())
+                .collect(Collectors.toList());
+
+        int total = sources.size();
+        AtomicInteger done = new AtomicInteger();
+        Map<FacingProtecting, List<NamedBean>> found = new ConcurrentHashMap<>();
+        sources.parallelStream().forEach(fp -> {
+            if (monitor != null && monitor.isCancelled()) {
+                return;
+            }
+            found.put(fp, graph.findDestinations(fp));
+            if (monitor != null) {
+                monitor.progress(done.incrementAndGet(), total);
+            }
         });
+
+        HashMap<NamedBean, List<NamedBean>> retPairs = new HashMap<>();
+        for (FacingProtecting fp : sources) {
+            List<NamedBean> destinations = found.get(fp);
+            if (destinations != null) {
+                List<NamedBean> pairs = retPairs.computeIfAbsent(fp.getBean(), k -> new ArrayList<>());
+                destinations.stream().filter(d -> !pairs.contains(d)).forEachOrdered(pairs::add);
+            }
+        }
         return retPairs;
     }
 
@@ -820,62 +860,144 @@ final public class LayoutBlockConnectivityTools {
      *                   there are other beans in the way. Constant values of
      *                   NONE, ANY, MASTTOMAST, HEADTOHEAD
      * @return A list of all reachable NamedBeans
-     * @throws jmri.JmriException occurring during nested readAll operation
+     * @throws jmri.JmriException if advanced routing is not enabled
      */
     public List<NamedBean> discoverPairDest(NamedBean source, LayoutEditor editor, Class<?> T, Routing pathMethod) throws JmriException {
         if (log.isDebugEnabled()) {
             log.debug("discover pairs from source {}", source.getDisplayName());
         }
         LayoutBlockManager lbm = InstanceManager.getDefault(LayoutBlockManager.class);
+        if (!lbm.isAdvancedRoutingEnabled()) {
+            throw new JmriException("advanced routing not enabled");
+        }
         LayoutBlock lFacing = lbm.getFacingBlockByNamedBean(source, editor);
-        List<LayoutBlock> lProtecting = lbm.getProtectingBlocksByNamedBean(source, editor);
-        List<NamedBean> ret = new ArrayList<>();
-        List<FacingProtecting> beanList = generateBlocksWithBeans(editor, T);
-        
-        // may throw JmriException here
-        for (LayoutBlock lb : lProtecting) {
-            ret.addAll(discoverPairDest(source, lb, lFacing, beanList, pathMethod));
+        if (lFacing == null) {
+            return new ArrayList<>();
         }
-        return ret;
+        List<Block> protecting = new ArrayList<>();
+        for (LayoutBlock lb : lbm.getProtectingBlocksByNamedBean(source, editor)) {
+            if (lb != null) {
+                protecting.add(lb.getBlock());
+            }
+        }
+        List<FacingProtecting> beanList = generateBlocksWithBeans(editor, T);
+        return createPairGraph(beanList, pathMethod).findDestinations(new FacingProtecting(lFacing.getBlock(), protecting, source));
     }
 
-    List<NamedBean> discoverPairDest(NamedBean source, LayoutBlock lProtecting, LayoutBlock lFacing, List<FacingProtecting> blockList, Routing pathMethod) throws JmriException {
+    /**
+     * Gather the through paths of all the layout blocks, and the beans at
+     * their boundaries.
+     */
+    @Nonnull
+    private PairGraph createPairGraph(@Nonnull List<FacingProtecting> beanList, Routing pathMethod) {
         LayoutBlockManager lbm = InstanceManager.getDefault(LayoutBlockManager.class);
-        if (!lbm.isAdvancedRoutingEnabled()) {
-            throw new JmriException("advanced routing not enabled");
+        PairGraph graph = new PairGraph();
+        beanList.forEach(graph::addDestination);
+        /* We change the logging level to fatal in the layout block manager as we are testing to make sure that no signalhead/mast exists
+         this would generate an error message that is expected.*/
+        MDC.put("loggingDisabled", LayoutBlockManager.class.getName());
+        try {
+            for (LayoutBlock lBlock : lbm.getNamedBeanSet()) {
+                Block block = lBlock.getBlock();
+                if (block == null) {
+                    continue;
+                }
+                for (int i = 0; i < lBlock.getNumberOfThroughPaths(); i++) {
+                    graph.addThroughPath(block, lBlock.getThroughPathSource(i), lBlock.getThroughPathDestination(i));
+                }
+                for (int i = 0; i < lBlock.getNumberOfNeighbours(); i++) {
+                    Block neighbour = lBlock.getNeighbourAtIndex(i);
+                    if (getFacingBean(block, neighbour, pathMethod) != null) {
+                        graph.addObstacle(block, neighbour);
+                    }
+                }
+            }
+        } finally {
+            MDC.remove("loggingDisabled");
         }
-        if (!lbm.routingStablised()) {
-            throw new JmriException("routing not stabilised");
+        return graph;
+    }
+
+    /**
+     * The through paths of the layout blocks and the beans at their
+     * boundaries, gathered once so that the destinations of any number of
+     * source beans can be found, at the same time if wanted, without using
+     * the layout block routing tables.
+     * <p>
+     * A path is followed from the facing block of a source bean into each of
+     * its protecting blocks, and then on along every through path. Each bean
+     * facing along the path is a destination. The path stops at a boundary
+     * with a bean in the way for the type of path, and at blocks it has
+     * already crossed in the same direction.
+     */
+    static final class PairGraph {
+
+        // block -> block entered from -> blocks that can be left to
+        private final Map<Block, Map<Block, List<Block>>> throughPaths = new HashMap<>();
+        // facing block -> protecting block -> beans at that boundary
+        private final Map<Block, Map<Block, List<NamedBean>>> destinations = new HashMap<>();
+        // facing block -> beans at an end bumper in that block
+        private final Map<Block, List<NamedBean>> endDestinations = new HashMap<>();
+        // facing block -> protecting blocks that a path may not enter from it
+        private final Map<Block, Set<Block>> obstacles = new HashMap<>();
+
+        void addThroughPath(@Nonnull Block block, @Nonnull Block from, @Nonnull Block to) {
+            throughPaths.computeIfAbsent(block, k -> new HashMap<>())
+                    .computeIfAbsent(from, k -> new ArrayList<>()).add(to);
         }
-        List<NamedBean> validDestBean = new ArrayList<>();
-        for (FacingProtecting facingProtecting : blockList) {
-            if (facingProtecting.getBean() != source) {
-                NamedBean destObj = facingProtecting.getBean();
-                if (log.isDebugEnabled()) {
-                    log.debug("looking for pair {} {}", source.getDisplayName(), destObj.getDisplayName());
+
+        void addDestination(@Nonnull FacingProtecting fp) {
+            if (fp.getProtectingBlocks().isEmpty()) {
+                endDestinations.computeIfAbsent(fp.getFacing(), k -> new ArrayList<>()).add(fp.getBean());
+            }
+            for (Block protecting : fp.getProtectingBlocks()) {
+                destinations.computeIfAbsent(fp.getFacing(), k -> new HashMap<>())
+                        .computeIfAbsent(protecting, k -> new ArrayList<>()).add(fp.getBean());
+            }
+        }
+
+        void addObstacle(@Nonnull Block facing, @Nonnull Block protecting) {
+            obstacles.computeIfAbsent(facing, k -> new HashSet<>()).add(protecting);
+        }
+
+        /**
+         * Find the destinations of a source bean. Safe to call from several
+         * threads at once once the graph is complete.
+         *
+         * @param source the source bean and its blocks
+         * @return the destination beans, nearest first
+         */
+        @Nonnull
+        List<NamedBean> findDestinations(@Nonnull FacingProtecting source) {
+            Set<NamedBean> found = new LinkedHashSet<>();
+            Set<Map.Entry<Block, Block>> crossed = new HashSet<>();
+            Deque<Map.Entry<Block, Block>> toFollow = new ArrayDeque<>();
+            for (Block protecting : source.getProtectingBlocks()) {
+                Map.Entry<Block, Block> boundary = new AbstractMap.SimpleImmutableEntry<>(source.getFacing(), protecting);
+                if (crossed.add(boundary)) {
+                    toFollow.add(boundary);
                 }
-                try {
-                    if (checkValidDest(lFacing, lProtecting, facingProtecting, pathMethod)) {
-                        if (log.isDebugEnabled()) {
-                            log.debug("Valid pair {} {}", source.getDisplayName(), destObj.getDisplayName());
-                        }
-                        LayoutBlock ldstBlock = lbm.getLayoutBlock(facingProtecting.getFacing());
-                        try {
-                            List<LayoutBlock> lblks = getLayoutBlocks(lFacing, ldstBlock, lProtecting, true, pathMethod);
-                            if (log.isDebugEnabled()) {
-                                log.debug("Adding block {} to paths, current size {}", destObj.getDisplayName(), lblks.size());
-                            }
-                            validDestBean.add(destObj);
-                        } catch (JmriException e) {  // Considered normal if route not found.
-                            log.debug("not a valid route through {} - {}", source.getDisplayName(), destObj.getDisplayName());
+            }
+            while (!toFollow.isEmpty()) {
+                Map.Entry<Block, Block> boundary = toFollow.remove();
+                Block from = boundary.getKey();
+                Block block = boundary.getValue();
+                found.addAll(endDestinations.getOrDefault(block, Collections.emptyList()));
+                Map<Block, List<NamedBean>> blockDestinations = destinations.getOrDefault(block, Collections.emptyMap());
+                Set<Block> blockObstacles = obstacles.getOrDefault(block, Collections.emptySet());
+                for (Block next : throughPaths.getOrDefault(block, Collections.emptyMap()).getOrDefault(from, Collections.emptyList())) {
+                    found.addAll(blockDestinations.getOrDefault(next, Collections.emptyList()));
+                    if (!blockObstacles.contains(next)) {
+                        Map.Entry<Block, Block> nextBoundary = new AbstractMap.SimpleImmutableEntry<>(block, next);
+                        if (crossed.add(nextBoundary)) {
+                            toFollow.add(nextBoundary);
                         }
                     }
-                } catch (JmriException ex) {
-                    log.debug("caught exception in discoverPairsDest", ex);
                 }
             }
+            found.remove(source.getBean());
+            return new ArrayList<>(found);
         }
-        return validDestBean;
     }
 
     List<FacingProtecting> generateBlocksWithBeans(LayoutEditor editor, Class<?> T) {
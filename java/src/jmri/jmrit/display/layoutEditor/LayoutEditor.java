@@ -1484,6 +1484,7 @@ final public class LayoutEditor extends PanelEditor implements MouseWheelListene
      */
     public void setLayoutTrackDrawingOptions(LayoutTrackDrawingOptions ltdo) {
         layoutTrackDrawingOptions = ltdo;
+        layoutTrackViewIndex.invalidate();
 
         // copy main/side line block widths
         gContext.setMainlineBlockWidth(layoutTrackDrawingOptions.getMainBlockLineWidth());
@@ -2784,6 +2785,26 @@ final public class LayoutEditor extends PanelEditor implements MouseWheelListene
         repaint();
     }
 
+    /**
+     * Redraw the parts of the panel showing a layout block. The whole panel is
+     * redrawn if those parts are not known.
+     *
+     * @param layoutBlock the layout block
+     */
+    void redrawLayoutBlock(@Nonnull LayoutBlock layoutBlock) {
+        Rectangle2D bounds = isEditable() ? null : layoutTrackViewIndex.getBounds(layoutBlock);
+        if (bounds == null) {
+            redrawPanel();
+            return;
+        }
+        double zoom = getZoom();
+        int x = (int) Math.floor(bounds.getMinX() * zoom);
+        int y = (int) Math.floor(bounds.getMinY() * zoom);
+        getTargetPanel().repaint(x, y,
+                (int) Math.ceil(bounds.getMaxX() * zoom) - x + 1,
+                (int) Math.ceil(bounds.getMaxY() * zoom) - y + 1);
+    }
+
     /**
      * Allow external set/reset of awaitingIconChange
      */
@@ -3136,7 +3157,10 @@ final public class LayoutEditor extends PanelEditor implements MouseWheelListene
         foundTrackView = null;
         foundHitPointType = HitPointType.NONE;
 
-        Optional<LayoutTrack> opt = getLayoutTracks().stream().filter(layoutTrack -> {  // != means can't (yet) loop over Views
+        // while not editing, only look at the tracks near loc
+        Stream<LayoutTrack> tracks = isEditable() ? getLayoutTracks().stream()
+                : getLayoutTrackViews(new Rectangle2D.Double(loc.getX(), loc.getY(), 0, 0)).stream().map(viewToTrk::get);
+        Optional<LayoutTrack> opt = tracks.filter(layoutTrack -> {  // != means can't (yet) loop over Views
             if ((layoutTrack != avoid) && (layoutTrack != selectedObject)) {
                 foundHitPointType = getLayoutTrackView(layoutTrack).findHitPointType(loc, false, requireUnconnected);
             }
@@ -6927,6 +6951,8 @@ final public class LayoutEditor extends PanelEditor implements MouseWheelListene
         int restoreScroll = _scrollState;
 
         super.setAllEditable(editable);
+        // views may have moved while editing
+        layoutTrackViewIndex.invalidate();
 
         if (toolBarSide.equals(ToolBarSide.eFLOAT)) {
             if (editable) {
@@ -7282,6 +7308,7 @@ final public class LayoutEditor extends PanelEditor implements MouseWheelListene
         // these are doubles
         circleRadius = SIZE * size;
         circleDiameter = 2.0 * circleRadius;
+        layoutTrackViewIndex.invalidate();
 
         setOptionMenuTurnoutCircleSize();
     }
@@ -7617,6 +7644,7 @@ final public class LayoutEditor extends PanelEditor implements MouseWheelListene
     // final initialization routine for loading a LayoutEditor
     public void setConnections() {
         getLayoutTracks().forEach((lt) -> lt.setObjects(this));
+        layoutTrackViewIndex.invalidate();
         getLEAuxTools().initializeBlockConnectivity();
         log.debug("Initializing Block Connectivity for {}", getLayoutName());
 
@@ -7867,8 +7895,25 @@ final public class LayoutEditor extends PanelEditor implements MouseWheelListene
         return Collections.unmodifiableList(layoutTrackViewList);
     }
 
+    /**
+     * Get the track views that may draw in, or be hit in, an area of the
+     * panel. While the panel is not editable, the views are found with a
+     * spatial index; otherwise all views are returned.
+     *
+     * @param area the area in panel coordinates, or null for all views
+     * @return the views, in the order of {@link #getLayoutTrackViews()}
+     */
+    @Nonnull
+    List<LayoutTrackView> getLayoutTrackViews(@CheckForNull Rectangle2D area) {
+        if ((area == null) || isEditable()) {
+            return getLayoutTrackViews();
+        }
+        return layoutTrackViewIndex.getViews(area);
+    }
+
     private final List<LayoutTrack> layoutTrackList = new ArrayList<>();
     private final List<LayoutTrackView> layoutTrackViewList = new ArrayList<>();
+    private final LayoutTrackViewIndex layoutTrackViewIndex = new LayoutTrackViewIndex(this);
     private final Map<LayoutTrack, LayoutTrackView> trkToView = new HashMap<>();
     private final Map<LayoutTrackView, LayoutTrack> viewToTrk = new HashMap<>();
 
@@ -7988,6 +8033,7 @@ final public class LayoutEditor extends PanelEditor implements MouseWheelListene
         layoutTrackViewList.add(v);
         trkToView.put(trk, v);
         viewToTrk.put(v, trk);
+        layoutTrackViewIndex.invalidate();
 
         unionToPanelBounds(v.getBounds()); // temporary - this should probably _not_ be in the topological part
     }
@@ -8025,6 +8071,7 @@ final public class LayoutEditor extends PanelEditor implements MouseWheelListene
         layoutTrackViewList.remove(v);
         trkToView.remove(trk);
         viewToTrk.remove(v);
+        layoutTrackViewIndex.invalidate();
     }
 
     /**
@@ -8036,6 +8083,7 @@ final public class LayoutEditor extends PanelEditor implements MouseWheelListene
         layoutTrackViewList.clear();
         trkToView.clear();
         viewToTrk.clear();
+        layoutTrackViewIndex.invalidate();
     }
 
     public @Nonnull
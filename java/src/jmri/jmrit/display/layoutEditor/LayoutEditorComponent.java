@@ -4,6 +4,8 @@ import java.awt.*;
 import java.awt.geom.Line2D;
 import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
+import java.util.Collections;
+import java.util.List;
 
 import javax.annotation.Nonnull;
 import javax.swing.*;
@@ -47,11 +49,16 @@ class LayoutEditorComponent extends JComponent {
                         if (!clipBounds.equals(g2.getClipBounds())) {
                             //log.debug("LEComponent.paint(); clipBounds: {}, oldClipBounds: {}",
                             //        clipBounds, g2.getClipBounds());
-                            g2.setClip(clipBounds);
+                            // keep any smaller area being repainted
+                            g2.clip(clipBounds);
                         }
                     }
                 }
             }
+            // only draw the track near the area being repainted
+            Shape clip = g2.getClip();
+            trackViews = layoutEditor.getLayoutTrackViews((clip != null) ? clip.getBounds2D() : null);
+
             // Optional antialising, to eliminate (reduce) staircase on diagonal lines
             if (layoutEditor.getAntialiasingOn()) {
                 g2.setRenderingHints(antialiasing);
@@ -433,7 +440,7 @@ class LayoutEditorComponent extends JComponent {
             boolean isBlock,
             boolean isHidden,
             boolean isDashed) {
-        for (LayoutTrackView layoutTrackView : layoutEditor.getLayoutTrackViews()) {
+        for (LayoutTrackView layoutTrackView : trackViews) {
             if (!(layoutTrackView instanceof PositionablePointView)) {
                 if (isHidden == layoutTrackView.isHidden()) {
                     if ((layoutTrackView instanceof TrackSegmentView)) {
@@ -450,8 +457,10 @@ class LayoutEditorComponent extends JComponent {
 
     // draw positionable points
     private void drawPositionablePoints(Graphics2D g2, boolean isMain) {
-        for (PositionablePointView positionablePointView : layoutEditor.getPositionablePointViews()) {
-            positionablePointView.draw1(g2, isMain, false);
+        for (LayoutTrackView layoutTrackView : trackViews) {
+            if (layoutTrackView instanceof PositionablePointView) {
+                layoutTrackView.draw1(g2, isMain, false);
+            }
         }
     }
 
@@ -463,7 +472,7 @@ class LayoutEditorComponent extends JComponent {
     // draw parallel lines (rails)
     private void draw2(Graphics2D g2, boolean isMain,
             float railDisplacement, boolean isDashed) {
-        for (LayoutTrackView layoutTrackView : layoutEditor.getLayoutTrackViews()) {
+        for (LayoutTrackView layoutTrackView : trackViews) {
             if ((layoutTrackView instanceof TrackSegmentView)) {
                 if (((TrackSegmentView) layoutTrackView).isDashed() == isDashed) {
                     layoutTrackView.draw2(g2, isMain, railDisplacement);
@@ -476,7 +485,7 @@ class LayoutEditorComponent extends JComponent {
 
     // draw decorations
     private void drawDecorations(Graphics2D g2) {
-        layoutEditor.getLayoutTrackViews().forEach((tr) -> tr.drawDecorations(g2));
+        trackViews.forEach((tr) -> tr.drawDecorations(g2));
     }
 
     // draw shapes
@@ -550,7 +559,7 @@ class LayoutEditorComponent extends JComponent {
 
         // loop over all turnouts
         boolean editable = layoutEditor.isEditable();
-        layoutEditor.getLayoutTrackViews().forEach((tr) -> {
+        trackViews.forEach((tr) -> {
             if (tr instanceof LayoutTurnoutView) {  //<== this includes LayoutSlips
                 LayoutTurnoutView lt = (LayoutTurnoutView) tr;
                 if (editable || !(lt.isHidden() || lt.isDisabled())) {
@@ -708,6 +717,9 @@ class LayoutEditorComponent extends JComponent {
 
     private Rectangle2D clipBounds = null;
 
+    // the track views to draw in the current paint
+    private List<LayoutTrackView> trackViews = Collections.emptyList();
+
     public void setClip(Rectangle2D clipBounds) {
         this.clipBounds = clipBounds;
     }
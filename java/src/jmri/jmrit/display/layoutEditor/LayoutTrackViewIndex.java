@@ -0,0 +1,271 @@
+package jmri.jmrit.display.layoutEditor;
+
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntConsumer;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+
+/**
+ * A grid of the layout track views of a LayoutEditor panel by their bounds, so
+ * that painting and hit testing only look at the views near an area of the
+ * panel, and a change in a layout block only repaints the views in that
+ * block.
+ * <p>
+ * The index is built when first used and is built again after it is
+ * invalidated. Views are moved without the index being told while the panel
+ * is being edited, so the LayoutEditor only uses the index while the panel is
+ * not editable.
+ *
+ * @see LayoutEditor#getLayoutTrackViews(Rectangle2D)
+ */
+final class LayoutTrackViewIndex {
+
+    // room for turnout circles, connection points and labels around the
+    // bounds of each view, in addition to the track widths
+    private static final double EXTRA = 20.0;
+    private static final double MIN_CELL_SIZE = 32.0;
+
+    private final LayoutEditor layoutEditor;
+
+    // all guarded by this
+    private boolean valid = false;
+    private List<LayoutTrackView> views = new ArrayList<>();
+    private Rectangle2D[] bounds = new Rectangle2D[0];
+    private int[][] cells = new int[0][];
+    private double originX;
+    private double originY;
+    private double cellSize;
+    private int columns;
+    private int rows;
+    private final Map<LayoutBlock, Rectangle2D> blockBounds = new HashMap<>();
+
+    LayoutTrackViewIndex(@Nonnull LayoutEditor layoutEditor) {
+        this.layoutEditor = layoutEditor;
+    }
+
+    /**
+     * Drop the index, so it is built again when next used.
+     */
+    synchronized void invalidate() {
+        valid = false;
+        views = new ArrayList<>();
+        bounds = new Rectangle2D[0];
+        cells = new int[0][];
+        blockBounds.clear();
+    }
+
+    /**
+     * Get the views that may draw in or be hit in an area. Views are returned
+     * in the order of {@link LayoutEditor#getLayoutTrackViews()}.
+     *
+     * @param area the area in panel coordinates
+     * @return the views near the area
+     */
+    @Nonnull
+    synchronized List<LayoutTrackView> getViews(@Nonnull Rectangle2D area) {
+        if (!valid) {
+            build();
+        }
+        List<LayoutTrackView> result = new ArrayList<>();
+        if (views.isEmpty()) {
+            return result;
+        }
+        int minColumn = column(area.getMinX());
+        int maxColumn = column(area.getMaxX());
+        int minRow = row(area.getMinY());
+        int maxRow = row(area.getMaxY());
+        BitSet found = new BitSet(views.size());
+        for (int r = minRow; r <= maxRow; r++) {
+            for (int c = minColumn; c <= maxColumn; c++) {
+                for (int i : cells[r * columns + c]) {
+                    found.set(i);
+                }
+            }
+        }
+        for (int i = found.nextSetBit(0); i >= 0; i = found.nextSetBit(i + 1)) {
+            // zero size areas, such as a point being hit tested, don't
+            // intersect anything so check containment too
+            if (bounds[i].intersects(area) || bounds[i].contains(area.getX(), area.getY())) {
+                result.add(views.get(i));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get the area of the panel showing a layout block, if the index has been
+     * built. Safe to call from any thread.
+     *
+     * @param layoutBlock the block
+     * @return the bounds of the views in the block, in panel coordinates, or
+     *         null if not known
+     */
+    @CheckForNull
+    synchronized Rectangle2D getBounds(@Nonnull LayoutBlock layoutBlock) {
+        if (!valid) {
+            return null;
+        }
+        Rectangle2D result = blockBounds.get(layoutBlock);
+        return (result != null) ? (Rectangle2D) result.clone() : null;
+    }
+
+    /**
+     * @return true if the index is built and current
+     */
+    synchronized boolean isValid() {
+        return valid;
+    }
+
+    private int column(double x) {
+        return Math.max(0, Math.min(columns - 1, (int) Math.floor((x - originX) / cellSize)));
+    }
+
+    private int row(double y) {
+        return Math.max(0, Math.min(rows - 1, (int) Math.floor((y - originY) / cellSize)));
+    }
+
+    // must hold this lock
+    private void build() {
+        views = new ArrayList<>(layoutEditor.getLayoutTrackViews());
+        bounds = new Rectangle2D[views.size()];
+        blockBounds.clear();
+        double pad = getPad();
+        Rectangle2D extent = null;
+        for (int i = 0; i < views.size(); i++) {
+            LayoutTrackView view = views.get(i);
+            double viewPad = pad + getPad(view);
+            Rectangle2D b = view.getBounds();
+            b = new Rectangle2D.Double(b.getX() - viewPad, b.getY() - viewPad,
+                    b.getWidth() + 2 * viewPad, b.getHeight() + 2 * viewPad);
+            bounds[i] = b;
+            if (extent == null) {
+                extent = (Rectangle2D) b.clone();
+            } else {
+                extent.add(b);
+            }
+            for (LayoutBlock layoutBlock : getLayoutBlocks(view)) {
+                Rectangle2D blockArea = blockBounds.get(layoutBlock);
+                if (blockArea == null) {
+                    blockBounds.put(layoutBlock, (Rectangle2D) b.clone());
+                } else {
+                    blockArea.add(b);
+                }
+            }
+        }
+        if (extent == null) {
+            originX = 0;
+            originY = 0;
+            cellSize = MIN_CELL_SIZE;
+            columns = 1;
+            rows = 1;
+            cells = new int[][]{new int[0]};
+            valid = true;
+            return;
+        }
+        // about one view per cell
+        cellSize = Math.max(MIN_CELL_SIZE, Math.sqrt(extent.getWidth() * extent.getHeight() / views.size()));
+        originX = extent.getMinX();
+        originY = extent.getMinY();
+        columns = Math.max(1, (int) Math.ceil(extent.getWidth() / cellSize));
+        rows = Math.max(1, (int) Math.ceil(extent.getHeight() / cellSize));
+
+        int[] counts = new int[columns * rows];
+        for (Rectangle2D b : bounds) {
+            forEachCell(b, cell -> counts[cell]++);
+        }
+        cells = new int[counts.length][];
+        for (int cell = 0; cell < counts.length; cell++) {
+            cells[cell] = new int[counts[cell]];
+            counts[cell] = 0;
+        }
+        for (int i = 0; i < bounds.length; i++) {
+            int view = i;
+            forEachCell(bounds[i], cell -> cells[cell][counts[cell]++] = view);
+        }
+        valid = true;
+        log.debug("Indexed {} track views in {}x{} cells of {}", views.size(), columns, rows, cellSize);
+    }
+
+    private void forEachCell(@Nonnull Rectangle2D b, @Nonnull IntConsumer action) {
+        int maxColumn = column(b.getMaxX());
+        int maxRow = row(b.getMaxY());
+        for (int r = row(b.getMinY()); r <= maxRow; r++) {
+            for (int c = column(b.getMinX()); c <= maxColumn; c++) {
+                action.accept(r * columns + c);
+            }
+        }
+    }
+
+    /**
+     * Get how far any view may draw, or be hit, outside its bounds.
+     */
+    private double getPad() {
+        LayoutTrackDrawingOptions ltdo = layoutEditor.getLayoutTrackDrawingOptions();
+        double width = Math.max(ltdo.getMainBallastWidth(), ltdo.getSideBallastWidth());
+        width = Math.max(width, Math.max(ltdo.getMainTieLength(), ltdo.getSideTieLength()));
+        width = Math.max(width, 2 * ltdo.getMainRailWidth() + ltdo.getMainRailGap());
+        width = Math.max(width, 2 * ltdo.getSideRailWidth() + ltdo.getSideRailGap());
+        width = Math.max(width, Math.max(ltdo.getMainBlockLineWidth(), ltdo.getSideBlockLineWidth()));
+        return Math.max(width, layoutEditor.circleDiameter) + EXTRA;
+    }
+
+    /**
+     * Get how far a particular view may draw outside its bounds, beyond the
+     * pad for all views.
+     */
+    private static double getPad(@Nonnull LayoutTrackView view) {
+        if (view instanceof TrackSegmentView) {
+            TrackSegmentView tsv = (TrackSegmentView) view;
+            double size = tsv.getArrowLength() + tsv.getArrowGap() + tsv.getArrowLineWidth();
+            size = Math.max(size, tsv.getBumperLength());
+            size = Math.max(size, tsv.getBridgeDeckWidth() + tsv.getBridgeApproachWidth());
+            size = Math.max(size, tsv.getTunnelEntranceWidth());
+            return size;
+        } else if (view instanceof LayoutTurntableView) {
+            return ((LayoutTurntableView) view).getRadius();
+        }
+        return 0.0;
+    }
+
+    /**
+     * Get the layout blocks whose changes change how a view is drawn.
+     */
+    @Nonnull
+    private static Set<LayoutBlock> getLayoutBlocks(@Nonnull LayoutTrackView view) {
+        Set<LayoutBlock> result = new HashSet<>();
+        LayoutTrack track = view.getLayoutTrack();
+        if (track instanceof TrackSegment) {
+            result.add(((TrackSegment) track).getLayoutBlock());
+        } else if (track instanceof LayoutTurnout) { // includes slips
+            LayoutTurnout turnout = (LayoutTurnout) track;
+            result.add(turnout.getLayoutBlock());
+            result.add(turnout.getLayoutBlockB());
+            result.add(turnout.getLayoutBlockC());
+            result.add(turnout.getLayoutBlockD());
+        } else if (track instanceof LevelXing) {
+            result.add(((LevelXing) track).getLayoutBlockAC());
+            result.add(((LevelXing) track).getLayoutBlockBD());
+        } else if (track instanceof LayoutTurntable) {
+            LayoutTurntableView turntable = (LayoutTurntableView) view;
+            result.add(((LayoutTurntable) track).getLayoutBlock());
+            for (int k = 0; k < turntable.getNumberRays(); k++) {
+                TrackSegment ray = turntable.getRayConnectOrdered(k);
+                if (ray != null) {
+                    result.add(ray.getLayoutBlock());
+                }
+            }
+        }
+        result.remove(null);
+        return result;
+    }
+
+    private final static org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(LayoutTrackViewIndex.class);
+}
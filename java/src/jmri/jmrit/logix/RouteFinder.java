@@ -1,15 +1,37 @@
 package jmri.jmrit.logix;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import javax.swing.tree.DefaultMutableTreeNode;
 import javax.swing.tree.DefaultTreeModel;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Finds the shortest routes from an origin block order to a destination block
+ * order, passing through a via block path and not using an avoid block path.
+ * <p>
+ * The search is breadth first over the block paths, so routes are found in
+ * order of the number of blocks they use. A block path entered from a given
+ * portal is expanded at most as many times as the number of routes wanted,
+ * and never twice in the same route, so the work grows with the size of the
+ * layout rather than with the number of ways around its loops. The tree of
+ * {@link RouteNode}s the caller displays is only made from the routes found,
+ * or from the block paths searched when no route is found.
+ */
 public class RouteFinder implements Runnable {
 
+    /**
+     * The default maximum number of routes to find.
+     */
+    static final int MAX_ROUTES = 20;
+
     WarrantRoute _caller;
     BlockOrder _originBlockOrder;
     BlockOrder _destBlockOrder;
@@ -27,16 +49,27 @@ public class RouteFinder implements Runnable {
     String _aPathName;
 
     int _maxBlocks;
+    int _maxRoutes;
     boolean _quit = false;
 
+    // the steps searched and the steps that reach the destination
+    private final List<Step> _steps = new ArrayList<>();
+    private final List<Step> _destSteps = new ArrayList<>();
+
     protected RouteFinder(WarrantRoute f, BlockOrder origin, BlockOrder dest,
             BlockOrder via, BlockOrder avoid, int maxB) {
+        this(f, origin, dest, via, avoid, maxB, MAX_ROUTES);
+    }
+
+    protected RouteFinder(WarrantRoute f, BlockOrder origin, BlockOrder dest,
+            BlockOrder via, BlockOrder avoid, int maxB, int maxRoutes) {
         _caller = f;
         _originBlockOrder = origin;
         _destBlockOrder = dest;
         _viaBlockOrder = via;
         _avoidBlockOrder = avoid;
         _maxBlocks = maxB;
+        _maxRoutes = maxRoutes;
     }
 
     protected synchronized void quit() {
@@ -67,8 +100,100 @@ public class RouteFinder implements Runnable {
 
     }
 
+    /**
+     * A block order reached by the search, and how it was reached.
+     */
+    private static class Step {
+
+        final BlockOrder order;
+        final Step previous;
+        final boolean needsVia;
+        final int level;
+
+        Step(BlockOrder order, Step previous, boolean needsVia) {
+            this.order = order;
+            this.previous = previous;
+            this.needsVia = needsVia;
+            level = (previous == null) ? 0 : previous.level + 1;
+        }
+
+        Key getKey() {
+            return new Key(order.getBlock(), order.getPathName(), order.getEntryName(), needsVia);
+        }
+
+        boolean isInRoute(Key key) {
+            for (Step step = this; step != null; step = step.previous) {
+                if (key.equals(step.getKey())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * A block path entered from a portal, before or after passing the via
+     * block path.
+     */
+    private static class Key {
+
+        final OBlock block;
+        final String pathName;
+        final String entryName;
+        final boolean needsVia;
+
+        Key(OBlock block, String pathName, String entryName, boolean needsVia) {
+            this.block = block;
+            this.pathName = pathName;
+            this.entryName = entryName;
+            this.needsVia = needsVia;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return block == other.block && needsVia == other.needsVia
+                    && Objects.equals(pathName, other.pathName)
+                    && Objects.equals(entryName, other.entryName);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(block), pathName, entryName, needsVia);
+        }
+    }
+
     @Override
     public void run() {
+        findRoutes();
+        if (_destSteps.isEmpty()) {
+            _tree = makeTree(_steps, null);
+        } else {
+            _destNodes = new ArrayList<>();
+            _tree = makeTree(_destSteps, _destNodes);
+        }
+        jmri.util.ThreadingUtil.runOnLayout(() -> {
+            if (_destNodes == null) {
+                _caller.debugRoute(_tree, _originBlockOrder, _destBlockOrder);
+            } else {
+                _caller.pickRoute(_destNodes, _tree);
+            }
+        });
+    }
+
+    /**
+     * Search for the routes, shortest first.
+     *
+     * @return the block orders of each route found, from the origin to the
+     *         destination
+     */
+    List<List<BlockOrder>> findRoutes() {
         _destBlock = _destBlockOrder.getBlock();
         _dPathName = _destBlockOrder.getPathName();
         _dEntryName = _destBlockOrder.getEntryName();
@@ -85,110 +210,152 @@ public class RouteFinder implements Runnable {
             _avoidBlock = _avoidBlockOrder.getBlock();
         }
 
-        _destNodes = new ArrayList<>();
+        _steps.clear();
+        _destSteps.clear();
         _quit = false;
-        int level = 0;
         if (log.isDebugEnabled()) {
             log.debug("Origin= \"{}\" Path= \"{}\" Exit= \"{}\"",  _originBlockOrder.getBlock().getDisplayName(),
                     _originBlockOrder.getPathName(), _originBlockOrder.getExitName());
             log.debug("Destination= \"{}\" Path= \"{}\" Entry= \"{}\"",  _destBlock.getDisplayName(), _dPathName, _dEntryName);
         }
-        RouteNode root = new RouteNode(_originBlockOrder, (_viaBlockOrder != null));
-        _tree = new DefaultTreeModel(root);
-        ArrayList<RouteNode> nodes = new ArrayList<>();
-        nodes.add(root);
-        while (level < _maxBlocks && !_quit) {
-            nodes = makeLevel(nodes, level);
-            if (log.isDebugEnabled()) {
-                log.debug("level {} has {} nodes. quit= {}", level, nodes.size(), _quit);
+        Step root = new Step(_originBlockOrder, null, (_viaBlockOrder != null));
+        _steps.add(root);
+        Map<Key, Integer> expanded = new HashMap<>();
+        ArrayDeque<Step> queue = new ArrayDeque<>();
+        queue.add(root);
+        while (!queue.isEmpty() && _destSteps.size() < _maxRoutes && !_quit) {
+            Step step = queue.poll();
+            if (step.level >= _maxBlocks) {
+                continue;
             }
-            level++;
+            // each way through a block path starts fewer routes than the
+            // number wanted, so searching it again can't find a shorter one
+            if (expanded.merge(step.getKey(), 1, Integer::sum) > _maxRoutes) {
+                continue;
+            }
+            expand(step, queue);
         }
-        jmri.util.ThreadingUtil.runOnLayout(() -> {
-            if (_destNodes.isEmpty()) {
-                _caller.debugRoute(_tree, _originBlockOrder, _destBlockOrder);
-            } else {
-                _caller.pickRoute(_destNodes, _tree);
+        if (log.isDebugEnabled()) {
+            log.debug("searched {} block orders, found {} routes. quit= {}", _steps.size(), _destSteps.size(), _quit);
+        }
+
+        List<List<BlockOrder>> routes = new ArrayList<>();
+        for (Step step : _destSteps) {
+            LinkedList<BlockOrder> orders = new LinkedList<>();
+            for (Step s = step; s != null; s = s.previous) {
+                orders.addFirst(s.order);
             }
-        });
+            routes.add(orders);
+        }
+        return routes;
     }
 
     /**
-     * Examines list of nodes at a given level for the destination node and
-     * makes a list of nodes of the next level.
-     * @param nodes list of route nodes
-     * @param level level of the nodes
-     * @return list of  route nodes at level
+     * Queue the block orders that can follow a step.
+     *
+     * @param step  the step
+     * @param queue the steps still to search
      */
     @SuppressFBWarnings(value="BC_UNCONFIRMED_CAST_OF_RETURN_VALUE", justification="OBlock extends Block")
-    ArrayList<RouteNode> makeLevel(ArrayList<RouteNode> nodes, int level) {
-
-        ArrayList<RouteNode> children = new ArrayList<>();
-        for (int i = 0; i < nodes.size(); i++) {
-            RouteNode node = nodes.get(i);
-            BlockOrder pOrder = (BlockOrder) node.getUserObject();
-            OBlock pBlock = pOrder.getBlock();
-            String pName = pOrder.getExitName();    // is entryName of next block
-            Portal exitPortal = pBlock.getPortalByName(pName);
-            if (exitPortal != null) {
-                OBlock nextBlock = exitPortal.getOpposingBlock(pBlock);
-                List<OPath> paths = exitPortal.getPathsFromOpposingBlock(pBlock);
-                if (log.isTraceEnabled()) {
-                    log.debug("makeLevel {} block= {}, path= {} meets {} portal paths",
-                            level, pBlock.getDisplayName(), pOrder.getPathName(), paths.size());
+    private void expand(Step step, ArrayDeque<Step> queue) {
+        BlockOrder pOrder = step.order;
+        OBlock pBlock = pOrder.getBlock();
+        String pName = pOrder.getExitName();    // is entryName of next block
+        Portal exitPortal = pBlock.getPortalByName(pName);
+        if (exitPortal == null) {
+            if (log.isDebugEnabled()) {
+                log.debug("Dead branch: block= \"{}\" has no exit portal", pBlock.getDisplayName());
+            }
+            return;
+        }
+        OBlock nextBlock = exitPortal.getOpposingBlock(pBlock);
+        List<OPath> paths = exitPortal.getPathsFromOpposingBlock(pBlock);
+        if (log.isTraceEnabled()) {
+            log.debug("expand {} block= {}, path= {} meets {} portal paths",
+                    step.level, pBlock.getDisplayName(), pOrder.getPathName(), paths.size());
+        }
+        if (paths.isEmpty()) {
+            if (nextBlock == null) {
+                log.error("Portal \"{}\" is malformed! \"{}\" not connected to another block!",
+                        pName, pBlock.getDisplayName());
+            } else {
+                log.error("Portal \"{}\" does not have any paths from \"{}\" to \"{}\"",
+                        pName, pBlock.getDisplayName(), nextBlock.getDisplayName());
+            }
+        }
+        // walk all paths
+        for (OPath path : paths) {
+            if (_avoidBlock != null && _avoidBlock.equals(nextBlock)) {
+                if (_aPathName.equals(path.getName())) {
+                    continue;
                 }
-                if (paths.isEmpty()) {
-                    if (nextBlock == null) {
-                        log.error("Portal \"{}\" is malformed! \"{}\" not connected to another block!", 
-                                pName, pBlock.getDisplayName());
-                    } else {
-                        log.error("Portal \"{}\" does not have any paths from \"{}\" to \"{}\"",
-                                pName, pBlock.getDisplayName(), nextBlock.getDisplayName());
-                    }
+            }
+            boolean needsVia = step.needsVia;
+            if (_viaBlock != null && _viaBlock.equals(nextBlock)) {
+                if (_vPathName.equals(path.getName())) {
+                    needsVia = false;
                 }
-                // walk all paths
-                for (int k = 0; k < paths.size(); k++) {
-                    OPath path = paths.get(k);
-                    if (_avoidBlock != null && _avoidBlock.equals(nextBlock)) {
-                        if (_aPathName.equals(path.getName())) {
-                            continue;
-                        }
-                    }
-                    String exitName = path.getOppositePortalName(pName);
-                    OBlock pathBlock = (OBlock) path.getBlock();
-                    BlockOrder nOrder = new BlockOrder(pathBlock, path.getName(), pName, exitName);
-                    RouteNode child = new RouteNode(nOrder, node.needsViaAncestor());
-                    _tree.insertNodeInto(child, node, node.getChildCount());
-                    if (_viaBlock != null && _viaBlock.equals(nextBlock)) {
-                        if (_vPathName.equals(path.getName())) {
-                            child.hasViaAncestor(true);
-                        }
-                    }
-                    if (!node.needsViaAncestor()) {
-                        if (log.isTraceEnabled()) {
-                            log.debug("Test= \"{}\" Path= {} Exit= {}",  nOrder.getBlock().getDisplayName(),
-                                    path.getName(),pName);
-                        }
-                        if (_destBlock == nOrder.getBlock() && _dPathName.equals(path.getName())
-                                && _dEntryName.equals(pName)) {
-                            _destNodes.add(child);
-                        }
-                    }
-                    children.add(child);
-                    if (_quit) {
-                        break;
-                    }
+            }
+            OBlock pathBlock = (OBlock) path.getBlock();
+            Key key = new Key(pathBlock, path.getName(), pName, needsVia);
+            if (step.isInRoute(key)) {
+                continue;   // a route around a loop back to where it was
+            }
+            String exitName = path.getOppositePortalName(pName);
+            Step next = new Step(new BlockOrder(pathBlock, path.getName(), pName, exitName), step, needsVia);
+            _steps.add(next);
+            if (!step.needsVia) {
+                if (log.isTraceEnabled()) {
+                    log.debug("Test= \"{}\" Path= {} Exit= {}",  pathBlock.getDisplayName(),
+                            path.getName(),pName);
                 }
-            } else {
-                if (log.isDebugEnabled()) {
-                    log.debug("Dead branch: block= \"{}\" has no exit portal", pBlock.getDisplayName());
+                if (_destBlock == pathBlock && _dPathName.equals(path.getName())
+                        && _dEntryName.equals(pName)) {
+                    _destSteps.add(next);
+                    if (_destSteps.size() >= _maxRoutes) {
+                        return;
+                    }
                 }
             }
+            queue.add(next);
             if (_quit) {
-                break;
+                return;
             }
         }
-        return children;
+    }
+
+    /**
+     * Make the tree of {@link RouteNode}s for the caller to display.
+     *
+     * @param steps     the steps to put in the tree, with the steps before them
+     * @param leafNodes if not null, has the node of each of the steps added
+     * @return the tree
+     */
+    private DefaultTreeModel makeTree(List<Step> steps, List<DefaultMutableTreeNode> leafNodes) {
+        Map<Step, RouteNode> nodes = new HashMap<>();
+        DefaultTreeModel tree = null;
+        for (Step step : steps) {
+            LinkedList<Step> branch = new LinkedList<>();
+            for (Step s = step; s != null && !nodes.containsKey(s); s = s.previous) {
+                branch.addFirst(s);
+            }
+            for (Step s : branch) {
+                RouteNode node = new RouteNode(s.order, s.needsVia);
+                nodes.put(s, node);
+                if (s.previous == null) {
+                    tree = new DefaultTreeModel(node);
+                } else {
+                    nodes.get(s.previous).add(node);
+                }
+            }
+            if (leafNodes != null) {
+                leafNodes.add(nodes.get(step));
+            }
+        }
+        if (tree == null) {
+            tree = new DefaultTreeModel(new RouteNode(_originBlockOrder, (_viaBlockOrder != null)));
+        }
+        return tree;
     }
 
     private static final Logger log = LoggerFactory.getLogger(RouteFinder.class);
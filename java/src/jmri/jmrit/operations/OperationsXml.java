@@ -58,7 +58,8 @@ public abstract class OperationsXml extends XmlFile {
                 file = new File(fullPathName);
                 File parentDir = file.getParentFile();
                 if (!parentDir.exists()) {
-                    if (!parentDir.mkdir()) {
+                    // another thread may be creating the same directory
+                    if (!parentDir.mkdir() && !parentDir.isDirectory()) {
                         log.error("Directory wasn't created");
                     }
                 }
@@ -3,9 +3,12 @@ package jmri.jmrit.operations.rollingstock;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.util.ArrayList;
-import java.util.Enumeration;
-import java.util.Hashtable;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
 
 import javax.annotation.OverridingMethodsMustInvokeSuper;
 
@@ -28,8 +31,20 @@ public abstract class RollingStockManager<T extends RollingStock> extends Proper
 
     public static final String NONE = "";
 
-    // RollingStock
-    protected Hashtable<String, T> _hashTable = new Hashtable<>();
+    // RollingStock, read by the web and JSON servers without locking the manager
+    protected ConcurrentHashMap<String, T> _hashTable = new ConcurrentHashMap<>();
+
+    // RollingStock ordered by id, built when needed, guarded by _byIdLock
+    private List<T> _byIdList = null;
+    private final Object _byIdLock = new Object();
+
+    // Secondary indexes, kept up to date from propertyChange() so that the
+    // lookups used while building trains don't scan all rolling stock
+    private final Index<Location> _byLocation = new Index<>(RollingStock::getLocation);
+    private final Index<Track> _byTrack = new Index<>(RollingStock::getTrack);
+    private final Index<Train> _byTrain = new Index<>(RollingStock::getTrain);
+    private final Index<String> _byRfid = new Index<>(RollingStock::getRfid);
+    private final Index<String> _byTypeAndRoad = new Index<>(rs -> typeAndRoad(rs.getTypeName(), rs.getRoadName()));
 
     public static final String LISTLENGTH_CHANGED_PROPERTY = "RollingStockListLength"; // NOI18N
     
@@ -59,6 +74,9 @@ public abstract class RollingStockManager<T extends RollingStock> extends Proper
      * @return requested RollingStock object or null if none exists
      */
     public T getById(String id) {
+        if (id == null) {
+            return null;
+        }
         return _hashTable.get(id);
     }
 
@@ -83,14 +101,11 @@ public abstract class RollingStockManager<T extends RollingStock> extends Proper
      * @return the first RollingStock found with the specified type and road.
      */
     public T getByTypeAndRoad(String type, String road) {
-        Enumeration<String> en = _hashTable.keys();
-        while (en.hasMoreElements()) {
-            T rs = getById(en.nextElement());
-            if (rs.getTypeName().equals(type) && rs.getRoadName().equals(road)) {
-                return rs;
-            }
-        }
-        return null;
+        return _byTypeAndRoad.getAny(typeAndRoad(type, road));
+    }
+
+    private static String typeAndRoad(String type, String road) {
+        return type + "\n" + road; // NOI18N
     }
 
     /**
@@ -100,14 +115,7 @@ public abstract class RollingStockManager<T extends RollingStock> extends Proper
      * @return the RollingStock with the specific RFID, or null if not found
      */
     public T getByRfid(String rfid) {
-        Enumeration<String> en = _hashTable.keys();
-        while (en.hasMoreElements()) {
-            T rs = getById(en.nextElement());
-            if (rs.getRfid().equals(rfid)) {
-                return rs;
-            }
-        }
-        return null;
+        return _byRfid.getAny(rfid);
     }
 
     /**
@@ -116,10 +124,18 @@ public abstract class RollingStockManager<T extends RollingStock> extends Proper
      * @param rs The RollingStock to load.
      */
     public void register(T rs) {
-        if (!_hashTable.contains(rs)) {
+        if (_hashTable.get(rs.getId()) != rs) {
             int oldSize = _hashTable.size();
             rs.addPropertyChangeListener(this);
-            _hashTable.put(rs.getId(), rs);
+            T old;
+            synchronized (_byIdLock) {
+                old = _hashTable.put(rs.getId(), rs);
+                _byIdList = null;
+            }
+            if (old != null) {
+                removeFromIndexes(old);
+            }
+            updateIndexes(rs);
             firePropertyChange(LISTLENGTH_CHANGED_PROPERTY, oldSize, _hashTable.size());
         }
     }
@@ -133,7 +149,11 @@ public abstract class RollingStockManager<T extends RollingStock> extends Proper
         rs.removePropertyChangeListener(this);
         rs.dispose();
         int oldSize = _hashTable.size();
-        _hashTable.remove(rs.getId());
+        synchronized (_byIdLock) {
+            _hashTable.remove(rs.getId());
+            _byIdList = null;
+        }
+        removeFromIndexes(rs);
         firePropertyChange(LISTLENGTH_CHANGED_PROPERTY, oldSize, _hashTable.size());
     }
 
@@ -142,19 +162,19 @@ public abstract class RollingStockManager<T extends RollingStock> extends Proper
      */
     public void deleteAll() {
         int oldSize = _hashTable.size();
-        Enumeration<String> en = _hashTable.keys();
-        while (en.hasMoreElements()) {
-            T rs = getById(en.nextElement());
+        for (T rs : _hashTable.values()) {
             rs.dispose();
             _hashTable.remove(rs.getId());
+            removeFromIndexes(rs);
+        }
+        synchronized (_byIdLock) {
+            _byIdList = null;
         }
         firePropertyChange(LISTLENGTH_CHANGED_PROPERTY, oldSize, _hashTable.size());
     }
 
     public void resetMoves() {
-        Enumeration<String> en = _hashTable.keys();
-        while (en.hasMoreElements()) {
-            T rs = getById(en.nextElement());
+        for (T rs : _hashTable.values()) {
             rs.setMoves(0);
         }
     }
@@ -174,19 +194,20 @@ public abstract class RollingStockManager<T extends RollingStock> extends Proper
      * @return list of RollingStock ordered by id
      */
     public List<T> getByIdList() {
-        Enumeration<String> en = _hashTable.keys();
-        String[] arr = new String[_hashTable.size()];
-        List<T> out = new ArrayList<>();
-        int i = 0;
-        while (en.hasMoreElements()) {
-            arr[i] = en.nextElement();
-            i++;
-        }
-        java.util.Arrays.sort(arr);
-        for (i = 0; i < arr.length; i++) {
-            out.add(getById(arr[i]));
+        synchronized (_byIdLock) {
+            if (_byIdList == null) {
+                String[] arr = _hashTable.keySet().toArray(new String[_hashTable.size()]);
+                java.util.Arrays.sort(arr);
+                _byIdList = new ArrayList<>();
+                for (String id : arr) {
+                    T rs = _hashTable.get(id);
+                    if (rs != null) {
+                        _byIdList.add(rs);
+                    }
+                }
+            }
+            return new ArrayList<>(_byIdList);
         }
-        return out;
     }
 
     /**
@@ -551,13 +572,7 @@ public abstract class RollingStockManager<T extends RollingStock> extends Proper
      * @return list of RollingStock
      */
     public List<T> getList(Train train) {
-        List<T> out = new ArrayList<>();
-        _hashTable.values().stream().filter((rs) -> {
-            return rs.getTrain() == train;
-        }).forEachOrdered((rs) -> {
-            out.add(rs);
-        });
-        return out;
+        return _byTrain.getList(train);
     }
 
     /**
@@ -567,13 +582,7 @@ public abstract class RollingStockManager<T extends RollingStock> extends Proper
      * @return list of RollingStock
      */
     public List<T> getList(Location location) {
-        List<T> out = new ArrayList<>();
-        _hashTable.values().stream().filter((rs) -> {
-            return rs.getLocation() == location;
-        }).forEachOrdered((rs) -> {
-            out.add(rs);
-        });
-        return out;
+        return _byLocation.getList(location);
     }
 
     /**
@@ -583,25 +592,126 @@ public abstract class RollingStockManager<T extends RollingStock> extends Proper
      * @return list of RollingStock
      */
     public List<T> getList(Track track) {
-        List<T> out = new ArrayList<>();
-        _hashTable.values().stream().filter((rs) -> {
-            return rs.getTrack() == track;
-        }).forEachOrdered((rs) -> {
-            out.add(rs);
-        });
-        return out;
+        return _byTrack.getList(track);
+    }
+
+    private void updateIndexes(T rs) {
+        _byLocation.update(rs);
+        _byTrack.update(rs);
+        _byTrain.update(rs);
+        _byRfid.update(rs);
+        _byTypeAndRoad.update(rs);
+    }
+
+    private void removeFromIndexes(T rs) {
+        _byLocation.remove(rs);
+        _byTrack.remove(rs);
+        _byTrain.remove(rs);
+        _byRfid.remove(rs);
+        _byTypeAndRoad.remove(rs);
     }
 
     @Override
     @OverridingMethodsMustInvokeSuper
     public void propertyChange(PropertyChangeEvent evt) {
-        if (evt.getPropertyName().equals(Xml.ID)) {
-            @SuppressWarnings("unchecked")
-            T rs = (T) evt.getSource(); // unchecked cast to T  
-            _hashTable.remove(evt.getOldValue());
-            _hashTable.put(rs.getId(), rs);
-            // fire so listeners that rebuild internal lists get signal of change in id, even without change in size
-            firePropertyChange(LISTLENGTH_CHANGED_PROPERTY, _hashTable.size(), _hashTable.size());
+        if (!(evt.getSource() instanceof RollingStock)) {
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        T rs = (T) evt.getSource(); // unchecked cast to T
+        switch (evt.getPropertyName()) {
+            case Xml.ID:
+                synchronized (_byIdLock) {
+                    if (evt.getOldValue() != null) {
+                        _hashTable.remove(evt.getOldValue());
+                    }
+                    _hashTable.put(rs.getId(), rs);
+                    _byIdList = null;
+                }
+                // the indexes are ordered by id
+                updateIndexes(rs);
+                // fire so listeners that rebuild internal lists get signal of change in id, even without change in size
+                firePropertyChange(LISTLENGTH_CHANGED_PROPERTY, _hashTable.size(), _hashTable.size());
+                break;
+            case RollingStock.TRACK_CHANGED_PROPERTY:
+                // also sent when only the location changes
+                _byLocation.update(rs);
+                _byTrack.update(rs);
+                break;
+            case RollingStock.TRAIN_CHANGED_PROPERTY:
+                _byTrain.update(rs);
+                break;
+            case "rolling stock rfid": // NOI18N
+                _byRfid.update(rs);
+                break;
+            case RollingStock.TYPE_CHANGED_PROPERTY:
+            case "rolling stock road": // NOI18N
+                _byTypeAndRoad.update(rs);
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Rolling stock grouped by the value of one attribute, ordered by id
+     * within each group. Null values are indexed too, so a lookup for a null
+     * location finds rolling stock that isn't at any location.
+     *
+     * @param <K> type of the attribute
+     */
+    private class Index<K> {
+
+        private final Object nullKey = new Object();
+        private final Function<RollingStock, K> attribute;
+        private final Map<Object, ConcurrentSkipListMap<String, T>> byKey = new ConcurrentHashMap<>();
+        // the attribute and id each RollingStock is indexed by, guarded by this
+        private final Map<T, Object> keyOf = new IdentityHashMap<>();
+        private final Map<T, String> idOf = new IdentityHashMap<>();
+
+        Index(Function<RollingStock, K> attribute) {
+            this.attribute = attribute;
+        }
+
+        private Object key(K value) {
+            return value == null ? nullKey : value;
+        }
+
+        synchronized void update(T rs) {
+            Object key = key(attribute.apply(rs));
+            Object old = keyOf.get(rs);
+            if (key.equals(old) && rs.getId().equals(idOf.get(rs))) {
+                return;
+            }
+            remove(rs);
+            keyOf.put(rs, key);
+            idOf.put(rs, rs.getId());
+            byKey.computeIfAbsent(key, k -> new ConcurrentSkipListMap<>()).put(rs.getId(), rs);
+        }
+
+        synchronized void remove(T rs) {
+            Object old = keyOf.remove(rs);
+            String id = idOf.remove(rs);
+            if (old != null) {
+                ConcurrentSkipListMap<String, T> map = byKey.get(old);
+                if (map != null) {
+                    map.remove(id, rs);
+                    if (map.isEmpty()) {
+                        byKey.remove(old);
+                    }
+                }
+            }
+        }
+
+        List<T> getList(K value) {
+            ConcurrentSkipListMap<String, T> map = byKey.get(key(value));
+            return map == null ? new ArrayList<>() : new ArrayList<>(map.values());
+        }
+
+        T getAny(K value) {
+            ConcurrentSkipListMap<String, T> map = byKey.get(key(value));
+            Map.Entry<String, T> first = map == null ? null : map.firstEntry();
+            return first == null ? null : first.getValue();
         }
     }
 
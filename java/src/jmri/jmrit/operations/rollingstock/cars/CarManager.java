@@ -498,9 +498,7 @@ public class CarManager extends RollingStockManager<Car> implements InstanceMana
      */
     public List<String> getCabooseRoadNames() {
         List<String> names = new ArrayList<>();
-        Enumeration<String> en = _hashTable.keys();
-        while (en.hasMoreElements()) {
-            Car car = getById(en.nextElement());
+        for (Car car : _hashTable.values()) {
             if (car.isCaboose() && !names.contains(car.getRoadName())) {
                 names.add(car.getRoadName());
             }
@@ -516,9 +514,7 @@ public class CarManager extends RollingStockManager<Car> implements InstanceMana
      */
     public List<String> getFredRoadNames() {
         List<String> names = new ArrayList<>();
-        Enumeration<String> en = _hashTable.keys();
-        while (en.hasMoreElements()) {
-            Car car = getById(en.nextElement());
+        for (Car car : _hashTable.values()) {
             if (car.hasFred() && !names.contains(car.getRoadName())) {
                 names.add(car.getRoadName());
             }
@@ -48,6 +48,23 @@ public class EngineManager extends RollingStockManager<Engine> implements Instan
         return getById(engineId);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * A locomotive's type comes from its model, and changing the type of a
+     * model doesn't notify every locomotive of that model, so this searches
+     * all locomotives rather than using the type and road index.
+     */
+    @Override
+    public Engine getByTypeAndRoad(String type, String road) {
+        for (Engine engine : _hashTable.values()) {
+            if (engine.getTypeName().equals(type) && engine.getRoadName().equals(road)) {
+                return engine;
+            }
+        }
+        return null;
+    }
+
     /**
      * Finds an existing engine or creates a new engine if needed requires
      * engine's road and number
@@ -245,9 +262,7 @@ public class EngineManager extends RollingStockManager<Engine> implements Instan
      */
     public List<String> getEngineRoadNames(String model) {
         List<String> names = new ArrayList<>();
-        Enumeration<String> en = _hashTable.keys();
-        while (en.hasMoreElements()) {
-            Engine engine = getById(en.nextElement());
+        for (Engine engine : _hashTable.values()) {
             if ((engine.getModel().equals(model) || model.equals(NONE)) && !names.contains(engine.getRoadName())) {
                 names.add(engine.getRoadName());
             }
@@ -562,6 +562,11 @@ public class EnginesTableModel extends javax.swing.table.AbstractTableModel impl
 
     @Override
     public void propertyChange(PropertyChangeEvent e) {
+        if (!SwingUtilities.isEventDispatchThread()) {
+            // trains can be built on several threads at once
+            SwingUtilities.invokeLater(() -> propertyChange(e));
+            return;
+        }
         if (Control.SHOW_PROPERTY) {
             log.debug("Property change: ({}) old: ({}) new: ({})", e.getPropertyName(), e.getOldValue(), e
                     .getNewValue());
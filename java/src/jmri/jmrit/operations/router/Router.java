@@ -4,7 +4,9 @@ import java.io.PrintWriter;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -31,6 +33,12 @@ import jmri.jmrit.operations.trains.TrainManager;
  * is enabled, the code tries two trains using staging tracks, then multiple
  * trains using a combination of C/I, yards, and staging tracks. Currently the
  * router is limited to six trains.
+ * <p>
+ * While searching for a route using three or more trains, the train found to
+ * carry the car between two tracks is remembered, as the same pair of tracks is
+ * tested many times. Which train can carry a car depends on the space left on
+ * tracks and in trains, so what is remembered is discarded before the next car
+ * is routed.
  *
  * @author Daniel Boudreau Copyright (C) 2010, 2011, 2012, 2013, 2015, 2021
  */
@@ -45,6 +53,13 @@ public class Router extends TrainCommon implements InstanceManagerAutoDefault {
     private final List<Train> _nextLocationTrains = new ArrayList<>();
     private final List<Train> _lastLocationTrains = new ArrayList<>();
 
+    // train, or null, that can carry the car being routed from one track to another
+    private final Map<Track, Map<Track, Train>> _trainsBetweenTracks = new HashMap<>();
+    // by number of trains, tracks that can or can't reach a "last" track
+    private final List<Map<Track, Boolean>> _reachesLastTrack = new ArrayList<>();
+    private int _trainSearches = 0;
+    private int _reusedTrainSearches = 0;
+
     protected static final String STATUS_NOT_THIS_TRAIN = Bundle.getMessage("RouterTrain");
     protected static final String STATUS_NOT_ABLE = Bundle.getMessage("RouterNotAble");
     protected static final String STATUS_ROUTER_DISABLED = Bundle.getMessage("RouterDisabled");
@@ -650,6 +665,12 @@ public class Router extends TrainCommon implements InstanceManagerAutoDefault {
             return false;
         }
 
+        long startTime = System.nanoTime();
+        _trainsBetweenTracks.clear();
+        _reachesLastTrack.clear();
+        _trainSearches = 0;
+        _reusedTrainSearches = 0;
+
         Car testCar = clone(car); // reload
         // build the "next" and "other" location/tracks
         // start with interchanges
@@ -706,6 +727,12 @@ public class Router extends TrainCommon implements InstanceManagerAutoDefault {
             log.debug("Using 5 trains to route car to ({}) was unsuccessful", car.getFinalDestinationName());
             foundRoute = routeUsing6Trains(car);
         }
+        if (_addtoReport) {
+            addLine(_buildReport, SEVEN,
+                    MessageFormat.format(Bundle.getMessage("RouterSearchTime"),
+                            new Object[] { car.toString(), (System.nanoTime() - startTime) / 1000000,
+                                    _trainSearches, _reusedTrainSearches }));
+        }
         return foundRoute;
     }
 
@@ -745,6 +772,9 @@ public class Router extends TrainCommon implements InstanceManagerAutoDefault {
         boolean foundRoute = false;
         for (Track nlt : _nextLocationTracks) {
             otherloop: for (Track mlt : _otherLocationTracks) {
+                if (!canReachLastTrack(testCar, mlt, 1)) {
+                    continue;
+                }
                 Train middleTrain2 = getTrainForCar(testCar, nlt, mlt);
                 if (middleTrain2 == null) {
                     continue;
@@ -784,6 +814,9 @@ public class Router extends TrainCommon implements InstanceManagerAutoDefault {
         boolean foundRoute = false;
         for (Track nlt : _nextLocationTracks) {
             otherloop: for (Track mlt1 : _otherLocationTracks) {
+                if (!canReachLastTrack(testCar, mlt1, 2)) {
+                    continue;
+                }
                 Train middleTrain2 = getTrainForCar(testCar, nlt, mlt1);
                 if (middleTrain2 == null) {
                     continue;
@@ -793,7 +826,7 @@ public class Router extends TrainCommon implements InstanceManagerAutoDefault {
                             testCar.getLocationName(), testCar.getDestinationName(), testCar.getDestinationTrackName());
                 }
                 for (Track mlt2 : _otherLocationTracks) {
-                    if (mlt2 == mlt1) {
+                    if (mlt2 == mlt1 || !canReachLastTrack(testCar, mlt2, 1)) {
                         continue;
                     }
                     Train middleTrain3 = getTrainForCar(testCar, mlt1, mlt2);
@@ -837,12 +870,15 @@ public class Router extends TrainCommon implements InstanceManagerAutoDefault {
         boolean foundRoute = false;
         for (Track nlt : _nextLocationTracks) {
             otherloop: for (Track mlt1 : _otherLocationTracks) {
+                if (!canReachLastTrack(testCar, mlt1, 3)) {
+                    continue;
+                }
                 Train middleTrain2 = getTrainForCar(testCar, nlt, mlt1);
                 if (middleTrain2 == null) {
                     continue;
                 }
                 for (Track mlt2 : _otherLocationTracks) {
-                    if (mlt2 == mlt1) {
+                    if (mlt2 == mlt1 || !canReachLastTrack(testCar, mlt2, 2)) {
                         continue;
                     }
                     Train middleTrain3 = getTrainForCar(testCar, mlt1, mlt2);
@@ -850,7 +886,7 @@ public class Router extends TrainCommon implements InstanceManagerAutoDefault {
                         continue;
                     }
                     for (Track mlt3 : _otherLocationTracks) {
-                        if (mlt3 == mlt1 || mlt3 == mlt2) {
+                        if (mlt3 == mlt1 || mlt3 == mlt2 || !canReachLastTrack(testCar, mlt3, 1)) {
                             continue;
                         }
                         Train middleTrain4 = getTrainForCar(testCar, mlt2, mlt3);
@@ -888,8 +924,56 @@ public class Router extends TrainCommon implements InstanceManagerAutoDefault {
     private Train getTrainForCar(Car testCar, Track from, Track to) {
         testCar.setTrack(from); // set car to this location and track
         testCar.setDestinationTrack(to); // set car to this destination and track
+        Map<Track, Train> trains = _trainsBetweenTracks.computeIfAbsent(from, k -> new HashMap<>());
+        if (trains.containsKey(to)) {
+            _reusedTrainSearches++;
+            return trains.get(to);
+        }
+        _trainSearches++;
         // does a train service these two locations?
-        return tmanager.getTrainForCar(testCar, null);
+        Train train = tmanager.getTrainForCar(testCar, null);
+        trains.put(to, train);
+        return train;
+    }
+
+    /**
+     * Determines if the car can be carried from a track to one of the "last"
+     * tracks using the given number of trains, going through "other" tracks.
+     * Used to skip tracks that can't be part of a route before trying all the
+     * combinations of tracks that follow them.
+     *
+     * @param testCar   the car being routed
+     * @param track     the track the car starts from
+     * @param numTrains the number of trains, 1 or more
+     * @return true if the car might reach a "last" track
+     */
+    private boolean canReachLastTrack(Car testCar, Track track, int numTrains) {
+        while (_reachesLastTrack.size() < numTrains) {
+            _reachesLastTrack.add(new HashMap<>());
+        }
+        Boolean reaches = _reachesLastTrack.get(numTrains - 1).get(track);
+        if (reaches == null) {
+            reaches = false;
+            if (numTrains == 1) {
+                for (Track llt : _lastLocationTracks) {
+                    if (getTrainForCar(testCar, track, llt) != null) {
+                        reaches = true;
+                        break;
+                    }
+                }
+            } else {
+                for (Track mlt : _otherLocationTracks) {
+                    if (mlt != track &&
+                            getTrainForCar(testCar, track, mlt) != null &&
+                            canReachLastTrack(testCar, mlt, numTrains - 1)) {
+                        reaches = true;
+                        break;
+                    }
+                }
+            }
+            _reachesLastTrack.get(numTrains - 1).put(track, reaches);
+        }
+        return reaches;
     }
 
     private void showRoute(Car car, List<Train> trains, List<Track> tracks) {
@@ -42,6 +42,10 @@ public class Control {
     @SuppressFBWarnings(value = "MS_SHOULD_BE_FINAL") // allow access for testing
     public static boolean fullTrainOnly = false;
 
+    // Build trains that don't share locations at the same time, off by default
+    @SuppressFBWarnings(value = "MS_SHOULD_BE_FINAL") // allow access for testing
+    public static boolean parallelTrainBuild = false;
+
     // Car and Engine attribute maximum string length 
     public static int max_len_string_attibute = 12;
 
@@ -2827,9 +2827,30 @@ public class Train extends PropertyChangeSupport implements Identifiable, Proper
                 log.error("Thread unexpectedly interrupted", e);
             }
         }
+        return build(new TrainBuilder());
+    }
+
+    /**
+     * Build this train if the build control flag is true, without waiting for
+     * other trains to finish building. Used by {@link TrainBuildScheduler},
+     * which only builds trains at the same time when they can't affect each
+     * other.
+     *
+     * @param tb the builder used by this build only
+     * @return True only if train is successfully built.
+     */
+    synchronized boolean buildConcurrentlyIfSelected(TrainBuilder tb) {
+        if (!isBuildEnabled() || isBuilt()) {
+            log.debug("Train ({}) not selected or already built, skipping build", getName());
+            return false;
+        }
+        reset();
+        return build(tb);
+    }
+
+    private boolean build(TrainBuilder tb) {
         // run before build scripts
         runScripts(getBuildScripts());
-        TrainBuilder tb = new TrainBuilder();
         boolean results = tb.build(this);
         setPrinted(false);
         setSwitchListStatus(UNKNOWN);
@@ -0,0 +1,243 @@
+package jmri.jmrit.operations.trains;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jmri.InstanceManager;
+import jmri.jmrit.operations.locations.Location;
+import jmri.jmrit.operations.locations.Track;
+import jmri.jmrit.operations.locations.schedules.Schedule;
+import jmri.jmrit.operations.locations.schedules.ScheduleItem;
+import jmri.jmrit.operations.rollingstock.cars.Car;
+import jmri.jmrit.operations.rollingstock.cars.CarManager;
+import jmri.jmrit.operations.rollingstock.engines.Engine;
+import jmri.jmrit.operations.rollingstock.engines.EngineManager;
+import jmri.jmrit.operations.router.Router;
+import jmri.jmrit.operations.routes.Route;
+import jmri.jmrit.operations.routes.RouteLocation;
+import jmri.jmrit.operations.setup.Control;
+import jmri.jmrit.operations.setup.Setup;
+import jmri.util.ThreadingUtil;
+
+/**
+ * Builds a list of selected trains, building trains that can't affect each
+ * other at the same time.
+ * <p>
+ * A train build changes the cars, engines and tracks at the locations in the
+ * train's route, and reads the tracks the cars there can be sent to. Two
+ * trains that don't share any of these locations give the same results
+ * whichever is built first, so each train only waits for the earlier trains
+ * in the list that it shares a location with. Trains that run scripts, use
+ * car routing or generate custom loads can reach any location, so they wait
+ * for all earlier trains and all later trains wait for them. The build
+ * reports and manifests are the same as when the trains are built one after
+ * another in list order.
+ * <p>
+ * The build failed messages of trains built at the same time are shown on the
+ * GUI thread, in list order, once all the trains are done. Trains are only
+ * built at the same time when {@link Control#parallelTrainBuild} is set.
+ *
+ * @see TrainManager#buildSelectedTrains(List)
+ */
+public class TrainBuildScheduler {
+
+    private final List<Train> _trains = new ArrayList<>();
+
+    /**
+     * @param trains the trains to build, in build order. Only trains that are
+     *               selected and not already built are built.
+     */
+    public TrainBuildScheduler(List<Train> trains) {
+        for (Train train : trains) {
+            if (train.isBuildEnabled() && !train.isBuilt()) {
+                _trains.add(train);
+            }
+        }
+    }
+
+    /**
+     * Build the trains, returning when all of them are done.
+     */
+    public void build() {
+        if (!Control.parallelTrainBuild || _trains.size() < 2) {
+            for (Train train : _trains) {
+                train.buildIfSelected();
+            }
+            return;
+        }
+        waitForOtherBuilds();
+        List<Set<Location>> locations = new ArrayList<>();
+        for (Train train : _trains) {
+            locations.add(getLocations(train));
+        }
+        int threads = Math.min(_trains.size(), Runtime.getRuntime().availableProcessors());
+        ForkJoinPool pool = new ForkJoinPool(threads, p -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            thread.setName("Build Trains Worker " + thread.getPoolIndex()); // NOI18N
+            return thread;
+        }, null, false);
+        List<TrainBuilder> builders = new ArrayList<>();
+        for (int i = 0; i < _trains.size(); i++) {
+            TrainBuilder tb = new TrainBuilder();
+            // the router keeps state while routing a car, so each build needs its own
+            tb.router = new Router();
+            // the builds mustn't open dialogs at the same time, off the GUI thread
+            tb.deferBuildFailedMessages = true;
+            builders.add(tb);
+        }
+        try {
+            List<CompletableFuture<Void>> builds = new ArrayList<>();
+            for (int i = 0; i < _trains.size(); i++) {
+                List<CompletableFuture<Void>> earlier = new ArrayList<>();
+                Set<Location> reached = locations.get(i);
+                for (int j = 0; j < i; j++) {
+                    if (!isIndependent(reached, locations.get(j))) {
+                        earlier.add(builds.get(j));
+                        // cars changed by the earlier train can send this one
+                        // to any location the earlier train reaches
+                        reached = union(reached, locations.get(j));
+                    }
+                }
+                locations.set(i, reached);
+                Train train = _trains.get(i);
+                TrainBuilder tb = builders.get(i);
+                builds.add(CompletableFuture.allOf(earlier.toArray(new CompletableFuture<?>[earlier.size()]))
+                        .thenRunAsync(() -> build(train, tb), pool));
+            }
+            CompletableFuture.allOf(builds.toArray(new CompletableFuture<?>[builds.size()])).join();
+            ThreadingUtil.runOnGUI(() -> {
+                for (TrainBuilder tb : builders) {
+                    tb.showBuildFailedMessages();
+                }
+            });
+        } finally {
+            pool.shutdown();
+            try {
+                pool.awaitTermination(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void build(Train train, TrainBuilder tb) {
+        log.debug("Building train ({}) on thread {}", train.getName(), Thread.currentThread().getName());
+        try {
+            train.buildConcurrentlyIfSelected(tb);
+        } catch (RuntimeException e) {
+            // don't stop the trains waiting for this one
+            log.error("Exception building train ({})", train.getName(), e);
+        }
+    }
+
+    /**
+     * Wait for trains being built by someone else, for example from a train's
+     * edit window, as the trains in this list don't wait for each other.
+     */
+    private void waitForOtherBuilds() {
+        TrainManager trainManager = InstanceManager.getDefault(TrainManager.class);
+        while (trainManager.isAnyTrainBuilding()) {
+            try {
+                Thread.sleep(100); // 100 msec
+            } catch (InterruptedException e) {
+                log.error("Thread unexpectedly interrupted", e);
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Get the locations whose cars, engines or tracks a train's build can read
+     * or change: the locations in the train's route, the destinations of the
+     * cars and engines there, and the destinations of the spur schedules
+     * there.
+     *
+     * @param train the train
+     * @return the locations, or null if the build can reach any location or
+     *         can ask the user to pick a staging track
+     */
+    static Set<Location> getLocations(Train train) {
+        if (Setup.isCarRoutingEnabled() ||
+                Setup.isPromptFromStagingEnabled() ||
+                Setup.isPromptToStagingEnabled() ||
+                !train.getBuildScripts().isEmpty() ||
+                !train.getAfterBuildScripts().isEmpty() ||
+                train.isSendCarsWithCustomLoadsToStagingEnabled()) {
+            return null;
+        }
+        Route route = train.getRoute();
+        if (route == null) {
+            return Collections.emptySet();
+        }
+        Set<Location> routeLocations = new HashSet<>();
+        for (RouteLocation rl : route.getLocationsBySequenceList()) {
+            if (rl.getLocation() != null) {
+                routeLocations.add(rl.getLocation());
+            }
+        }
+        Set<Location> locations = new HashSet<>(routeLocations);
+        for (Location location : routeLocations) {
+            for (Track track : location.getTracksList()) {
+                if (track.isAddCustomLoadsEnabled() ||
+                        track.isAddCustomLoadsAnySpurEnabled() ||
+                        track.isAddCustomLoadsAnyStagingTrackEnabled()) {
+                    return null;
+                }
+                Schedule schedule = track.getSchedule();
+                if (schedule != null) {
+                    for (ScheduleItem si : schedule.getItemsBySequenceList()) {
+                        addLocation(locations, si.getDestination());
+                    }
+                }
+            }
+            for (Car car : InstanceManager.getDefault(CarManager.class).getList(location)) {
+                addLocation(locations, car.getDestination());
+                addLocation(locations, car.getFinalDestination());
+                addLocation(locations, car.getReturnWhenEmptyDestination());
+                addLocation(locations, car.getReturnWhenLoadedDestination());
+            }
+            for (Engine engine : InstanceManager.getDefault(EngineManager.class).getList(location)) {
+                addLocation(locations, engine.getDestination());
+            }
+        }
+        return locations;
+    }
+
+    private static void addLocation(Set<Location> locations, Location location) {
+        if (location != null) {
+            locations.add(location);
+        }
+    }
+
+    private static Set<Location> union(Set<Location> a, Set<Location> b) {
+        if (a == null || b == null) {
+            return null;
+        }
+        Set<Location> locations = new HashSet<>(a);
+        locations.addAll(b);
+        return locations;
+    }
+
+    /**
+     * @param a the locations one train can reach, null for any location
+     * @param b the locations another train can reach, null for any location
+     * @return true if the trains can be built in either order
+     */
+    static boolean isIndependent(Set<Location> a, Set<Location> b) {
+        return a != null && b != null && Collections.disjoint(a, b);
+    }
+
+    private final static Logger log = LoggerFactory.getLogger(TrainBuildScheduler.class);
+
+}
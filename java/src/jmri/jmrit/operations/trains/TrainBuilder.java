@@ -79,6 +79,10 @@ public class TrainBuilder extends TrainCommon {
     CarLoads carLoads = InstanceManager.getDefault(CarLoads.class);
     Router router = InstanceManager.getDefault(Router.class);
 
+    // when true, build failed messages are left for showBuildFailedMessages()
+    boolean deferBuildFailedMessages = false;
+    BuildFailedException _buildFailedException = null;
+
     /**
      * Build rules:
      * <ol>
@@ -5308,7 +5312,35 @@ public class TrainBuilder extends TrainCommon {
         _train.setBuildFailed(true);
         log.debug(msg);
 
+        if (deferBuildFailedMessages) {
+            _buildFailedException = e;
+        } else {
+            showBuildFailedMessages(e);
+        }
+        if (_buildReport != null) {
+            addLine(_buildReport, ONE, msg);
+            // Write to disk and close buildReport
+            addLine(_buildReport, ONE,
+                    MessageFormat.format(Bundle.getMessage("buildFailedMsg"), new Object[] { _train.getName() }));
+            _buildReport.flush();
+            _buildReport.close();
+        }
+    }
+
+    /**
+     * Show the build failed messages left by a build with
+     * deferBuildFailedMessages set, if the build failed.
+     */
+    void showBuildFailedMessages() {
+        if (_buildFailedException != null) {
+            showBuildFailedMessages(_buildFailedException);
+            _buildFailedException = null;
+        }
+    }
+
+    private void showBuildFailedMessages(BuildFailedException e) {
         if (trainManager.isBuildMessagesEnabled()) {
+            String msg = e.getMessage();
             // don't pass the object _train to the GUI, can cause thread lock
             String trainName = _train.getName();
             String trainDescription = _train.getDescription();
@@ -5344,14 +5376,6 @@ public class TrainBuilder extends TrainCommon {
                 }
             }
         }
-        if (_buildReport != null) {
-            addLine(_buildReport, ONE, msg);
-            // Write to disk and close buildReport
-            addLine(_buildReport, ONE,
-                    MessageFormat.format(Bundle.getMessage("buildFailedMsg"), new Object[] { _train.getName() }));
-            _buildReport.flush();
-            _buildReport.close();
-        }
     }
 
     /**
@@ -932,14 +932,19 @@ public class TrainManager extends PropertyChangeSupport
         }
     }
 
+    /**
+     * Build the selected trains in the list on a separate thread. Trains that
+     * don't share locations are built at the same time, see
+     * {@link TrainBuildScheduler}.
+     *
+     * @param trains the trains to build, in build order
+     */
     public void buildSelectedTrains(List<Train> trains) {
         // use a thread to allow table updates during build
         Thread build = jmri.util.ThreadingUtil.newThread(new Runnable() {
             @Override
             public void run() {
-                for (Train train : trains) {
-                    train.buildIfSelected();
-                }
+                new TrainBuildScheduler(trains).build();
                 setDirtyAndFirePropertyChange(TRAINS_BUILT_CHANGED_PROPERTY, false, true);
             }
         });
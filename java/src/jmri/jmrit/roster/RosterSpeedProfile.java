@@ -55,10 +55,12 @@ public class RosterSpeedProfile {
 
     public void clearCurrentProfile() {
         speeds = new TreeMap<>();
+        profileChanged();
     }
 
     public void deleteStep(Integer step) {
         speeds.remove(step);
+        profileChanged();
     }
 
     public boolean hasForwardSpeeds() {
@@ -205,7 +207,8 @@ public class RosterSpeedProfile {
     public void setSpeed(int speedStep, float forward, float reverse) {
         //int iSpeedStep = Math.round(speedStep*1000);
         if (!speeds.containsKey(speedStep)) {
-            speeds.put(speedStep, new SpeedStep());
+            speeds.put(speedStep, new SpeedStep(this));
+            profileChanged();
         }
         SpeedStep ss = speeds.get(speedStep);
         ss.setForwardSpeed(forward);
@@ -231,7 +234,8 @@ public class RosterSpeedProfile {
         }
         int iSpeedStep = Math.round(speedStep * 1000);
         if (!speeds.containsKey(iSpeedStep)) {
-            speeds.put(iSpeedStep, new SpeedStep());
+            speeds.put(iSpeedStep, new SpeedStep(this));
+            profileChanged();
         }
         SpeedStep ss = speeds.get(iSpeedStep);
         ss.setForwardSpeed(forward);
@@ -245,7 +249,8 @@ public class RosterSpeedProfile {
         }
         int iSpeedStep = Math.round(speedStep * 1000);
         if (!speeds.containsKey(iSpeedStep)) {
-            speeds.put(iSpeedStep, new SpeedStep());
+            speeds.put(iSpeedStep, new SpeedStep(this));
+            profileChanged();
         }
         SpeedStep ss = speeds.get(iSpeedStep);
         ss.setReverseSpeed(reverse);
@@ -264,56 +269,7 @@ public class RosterSpeedProfile {
         if (iSpeedStep <= 0 || !_hasForwardSpeeds) {
             return 0.0f;
         }
-        // Note there may be zero values interspersed in the tree
-        if (speeds.containsKey(iSpeedStep)) {
-            float speed = speeds.get(iSpeedStep).getForwardSpeed();
-            if (speed > 0.0f) {
-                return speed;
-            }
-        }
-        log.debug("no exact match forward for {}", iSpeedStep);
-        float lower = 0.0f;
-        float higher = 0.0f;
-        int highStep = iSpeedStep;
-        int lowStep = iSpeedStep;
-
-        Entry<Integer, SpeedStep> entry = speeds.higherEntry(highStep);
-        while (entry != null && higher <= 0.0f) {
-            highStep = entry.getKey();
-            float value = entry.getValue().getForwardSpeed();
-            if (value > 0.0f) {
-                higher = value;
-            }
-            entry = speeds.higherEntry(highStep);
-        }
-        boolean nothingHigher = (higher <= 0.0f);
-
-        entry = speeds.lowerEntry(lowStep);
-        while (entry != null && lower <= 0.0f) {
-            lowStep = entry.getKey();
-            float value = entry.getValue().getForwardSpeed();
-            if (value > 0.0f) {
-                lower = value;
-            }
-            entry = speeds.lowerEntry(lowStep);
-        }
-        log.debug("lowStep={}, lower={} highStep={} higher={} for iSpeedStep={}",
-                lowStep, lower, highStep, higher, iSpeedStep);
-        if (lower <= 0.0f) {      // nothing lower
-            if (nothingHigher) {
-                log.error("Nothing in speed Profile");
-                return 0.0f;       // no forward speeds at all
-            }
-            return higher * iSpeedStep / highStep;
-        }
-        if (nothingHigher) {
-            return lower * (1.0f + (iSpeedStep - lowStep) / (1000.0f - lowStep));
-        }
-
-        float valperstep = (higher - lower) / (highStep - lowStep);
-
-        float retValue = lower + (valperstep * (iSpeedStep - lowStep));
-        return retValue;
+        return getSpeedTable().speed(iSpeedStep, true);
     }
 
     /**
@@ -328,55 +284,7 @@ public class RosterSpeedProfile {
         if (iSpeedStep <= 0 || !_hasReverseSpeeds) {
             return 0.0f;
         }
-        if (speeds.containsKey(iSpeedStep)) {
-            float speed = speeds.get(iSpeedStep).getReverseSpeed();
-            if (speed > 0.0f) {
-                return speed;
-            }
-        }
-        log.debug("no exact match reverse for {}", iSpeedStep);
-        float lower = 0.0f;
-        float higher = 0.0f;
-        int highStep = iSpeedStep;
-        int lowStep = iSpeedStep;
-        // Note there may be zero values interspersed in the tree
-
-        Entry<Integer, SpeedStep> entry = speeds.higherEntry(highStep);
-        while (entry != null && higher <= 0.0f) {
-            highStep = entry.getKey();
-            float value = entry.getValue().getReverseSpeed();
-            if (value > 0.0f) {
-                higher = value;
-            }
-            entry = speeds.higherEntry(highStep);
-        }
-        boolean nothingHigher = (higher <= 0.0f);
-        entry = speeds.lowerEntry(lowStep);
-        while (entry != null && lower <= 0.0f) {
-            lowStep = entry.getKey();
-            float value = entry.getValue().getReverseSpeed();
-            if (value > 0.0f) {
-                lower = value;
-            }
-            entry = speeds.lowerEntry(lowStep);
-        }
-        log.debug("lowStep={}, lower={} highStep={} higher={} for iSpeedStep={}",
-                lowStep, lower, highStep, higher, iSpeedStep);
-        if (lower <= 0.0f) {      // nothing lower
-            if (nothingHigher) {
-                log.error("Nothing in speed Profile");
-                return 0.0f;       // no reverse speeds at all
-            }
-            return higher * iSpeedStep / highStep;
-        }
-        if (nothingHigher) {
-            return lower * (1.0f + (iSpeedStep - lowStep) / (1000.0f - lowStep));
-        }
-
-        float valperstep = (higher - lower) / (highStep - lowStep);
-
-        float retValue = lower + (valperstep * (iSpeedStep - lowStep));
-        return retValue;
+        return getSpeedTable().speed(iSpeedStep, false);
     }
 
     /**
@@ -430,6 +338,134 @@ public class RosterSpeedProfile {
 
     TreeMap<Integer, SpeedStep> speeds = new TreeMap<>();
 
+    // the speeds compiled for lookups, null when the profile has changed
+    private volatile SpeedTable speedTable = null;
+
+    /**
+     * Discard the compiled speed tables after a change to the profile.
+     */
+    void profileChanged() {
+        speedTable = null;
+    }
+
+    private SpeedTable getSpeedTable() {
+        SpeedTable table = speedTable;
+        if (table == null) {
+            table = new SpeedTable(speeds);
+            speedTable = table;
+        }
+        return table;
+    }
+
+    /**
+     * The speed profile compiled into arrays, so looking up a speed or a
+     * throttle setting doesn't search or box. Built when first needed after
+     * the profile changes, and not changed afterwards.
+     */
+    private static final class SpeedTable {
+
+        // speed in mm/sec for each speed step 0 to 1000, interpolated
+        final float[] forward = new float[1001];
+        final float[] reverse = new float[1001];
+
+        // the profile's entries in step order, with the values to find the
+        // first entry at or above a speed by binary search
+        final int[] keys;
+        final float[][] values = new float[2][];        // [0] forward, [1] reverse
+        final float[][] maxValues = new float[2][];     // greatest value up to each entry
+        final float[][] lastPositive = new float[2][];  // last value above zero up to each entry
+
+        // only the entries above zero, for interpolation
+        final int[][] positiveKeys = new int[2][];
+        final float[][] positiveValues = new float[2][];
+
+        SpeedTable(TreeMap<Integer, SpeedStep> speeds) {
+            int size = speeds.size();
+            keys = new int[size];
+            for (int d = 0; d < 2; d++) {
+                values[d] = new float[size];
+                maxValues[d] = new float[size];
+                lastPositive[d] = new float[size];
+            }
+            int n = 0;
+            for (Entry<Integer, SpeedStep> entry : speeds.entrySet()) {
+                keys[n] = entry.getKey();
+                values[0][n] = entry.getValue().getForwardSpeed();
+                values[1][n] = entry.getValue().getReverseSpeed();
+                n++;
+            }
+            for (int d = 0; d < 2; d++) {
+                int count = 0;
+                float max = Float.NEGATIVE_INFINITY;
+                float last = 0.0f;
+                for (int i = 0; i < size; i++) {
+                    float value = values[d][i];
+                    max = Math.max(max, value);
+                    if (value > 0.0f) {
+                        last = value;
+                        count++;
+                    }
+                    maxValues[d][i] = max;
+                    lastPositive[d][i] = last;
+                }
+                positiveKeys[d] = new int[count];
+                positiveValues[d] = new float[count];
+                count = 0;
+                for (int i = 0; i < size; i++) {
+                    if (values[d][i] > 0.0f) {
+                        positiveKeys[d][count] = keys[i];
+                        positiveValues[d][count] = values[d][i];
+                        count++;
+                    }
+                }
+            }
+            for (int step = 1; step <= 1000; step++) {
+                forward[step] = interpolate(step, 0);
+                reverse[step] = interpolate(step, 1);
+            }
+        }
+
+        float speed(int iSpeedStep, boolean isForward) {
+            int d = isForward ? 0 : 1;
+            if (positiveKeys[d].length == 0) {
+                log.error("Nothing in speed Profile");
+                return 0.0f;
+            }
+            if (iSpeedStep <= 1000) {
+                return isForward ? forward[iSpeedStep] : reverse[iSpeedStep];
+            }
+            return interpolate(iSpeedStep, d);
+        }
+
+        /*
+         * Straight line interpolation between the nearest steps with a speed,
+         * there may be zero values interspersed in the profile.
+         */
+        private float interpolate(int iSpeedStep, int d) {
+            int[] pKeys = positiveKeys[d];
+            float[] pValues = positiveValues[d];
+            if (pKeys.length == 0) {
+                return 0.0f;
+            }
+            int index = java.util.Arrays.binarySearch(pKeys, iSpeedStep);
+            if (index >= 0) {
+                return pValues[index];
+            }
+            int higherIndex = -index - 1;
+            int lowerIndex = higherIndex - 1;
+            if (lowerIndex < 0) {      // nothing lower
+                return pValues[higherIndex] * iSpeedStep / pKeys[higherIndex];
+            }
+            float lower = pValues[lowerIndex];
+            int lowStep = pKeys[lowerIndex];
+            if (higherIndex >= pKeys.length) {
+                return lower * (1.0f + (iSpeedStep - lowStep) / (1000.0f - lowStep));
+            }
+            float valperstep = (pValues[higherIndex] - lower) / (pKeys[higherIndex] - lowStep);
+            return lower + (valperstep * (iSpeedStep - lowStep));
+        }
+    }
+
     DccThrottle _throttle;
 
     float desiredSpeedStep = -1;
@@ -882,16 +918,28 @@ public class RosterSpeedProfile {
 
         float forward = 0.0f;
         float reverse = 0.0f;
+        private final RosterSpeedProfile profile; // told about changes, may be null
 
         public SpeedStep() {
+            this(null);
+        }
+
+        SpeedStep(RosterSpeedProfile profile) {
+            this.profile = profile;
         }
 
         public void setForwardSpeed(float speed) {
             forward = speed;
+            if (profile != null) {
+                profile.profileChanged();
+            }
         }
 
         public void setReverseSpeed(float speed) {
             reverse = speed;
+            if (profile != null) {
+                profile.profileChanged();
+            }
         }
 
         public float getForwardSpeed() {
@@ -910,6 +958,13 @@ public class RosterSpeedProfile {
         return speeds.size();
     }
 
+    /**
+     * Get the speed steps of the profile. Changes to the steps are seen by
+     * the profile, but add and remove steps with {@link #setSpeed} and
+     * {@link #deleteStep}.
+     *
+     * @return the speed steps by step
+     */
     public TreeMap<Integer, SpeedStep> getProfileSpeeds() {
         return speeds;
     }
@@ -925,58 +980,37 @@ public class RosterSpeedProfile {
         if ((isForward && !_hasForwardSpeeds) || (!isForward && !_hasReverseSpeeds)) {
             return 0.0f;
         }
-        int slowerKey = 0;
-        float slowerValue = 0;
-        float fasterKey;
-        float fasterValue;
-        Entry<Integer, SpeedStep> entry = speeds.firstEntry();
-        if (entry == null) {
+        SpeedTable table = getSpeedTable();
+        int size = table.keys.length;
+        if (size == 0) {
             log.warn("There is no speedprofile entries for [{}]", this.getRosterEntry().getId());
             return (0.0f);
         }
-        // search through table until end or the entry is greater than
-        // what we are looking for. This leaves the previous lower value in key. and slower
-        // Note there may be zero values interspersed in the tree
-        if (isForward) {
-            fasterKey = entry.getKey();
-            fasterValue = entry.getValue().getForwardSpeed();
-            while (entry != null && entry.getValue().getForwardSpeed() < speed) {
-                slowerKey = entry.getKey();
-                float value = entry.getValue().getForwardSpeed();
-                if (value > 0.0f) {
-                    slowerValue = value;
-                }
-                entry = speeds.higherEntry(slowerKey);
-                if (entry != null) {
-                    fasterKey = entry.getKey();
-                    value = entry.getValue().getForwardSpeed();
-                    if (value > 0.0f) {
-                        fasterValue = value;
-                    }
-                }
-            }
-        } else {
-            fasterKey = entry.getKey();
-            fasterValue = entry.getValue().getReverseSpeed();
-            while (entry != null && entry.getValue().getReverseSpeed() < speed) {
-                slowerKey = entry.getKey();
-                float value = entry.getValue().getReverseSpeed();
-                if (value > 0.0f) {
-                    slowerValue = value;
-                }
-                entry = speeds.higherEntry(slowerKey);
-                if (entry != null) {
-                    fasterKey = entry.getKey();
-                    value = entry.getValue().getReverseSpeed();
-                    if (value > 0.0f) {
-                        fasterValue = value;
-                    }
-                }
+        int d = isForward ? 0 : 1;
+        // find the first entry that is not slower than what we are looking
+        // for, the greatest values so far only increase so it can be a binary
+        // search. Note there may be zero values interspersed in the tree
+        float[] maxValues = table.maxValues[d];
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (maxValues[mid] < speed) {
+                low = mid + 1;
+            } else {
+                high = mid;
             }
         }
-        log.debug("slowerKey={}, slowerValue={} fasterKey={} fasterValue={} for speed={}",
-                slowerKey, slowerValue, fasterKey, fasterValue, speed);
-        if (entry == null) {
+        int faster = low;
+        int slowerKey = 0;
+        float slowerValue = 0;
+        if (faster > 0) {
+            slowerKey = table.keys[faster - 1];
+            slowerValue = table.lastPositive[d][faster - 1];
+        }
+        log.debug("slowerKey={}, slowerValue={} faster index={} for speed={}",
+                slowerKey, slowerValue, faster, speed);
+        if (faster == size) {
             // faster does not exists use slower...
             if (slowerValue <= 0.0f) { // neither does slower
                 return (0.0f);
@@ -990,6 +1024,11 @@ public class RosterSpeedProfile {
                 return 1.0f;
             }
         }
+        float fasterKey = table.keys[faster];
+        float fasterValue = table.lastPositive[d][faster];
+        if (fasterValue <= 0.0f) {
+            fasterValue = table.values[d][0];
+        }
         if (Float.compare(slowerValue, speed) == 0 || fasterValue <= slowerValue) {
             return slowerKey / 1000.0f;
         }
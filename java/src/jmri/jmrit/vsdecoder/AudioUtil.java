@@ -125,24 +125,41 @@ public class AudioUtil {
         int[] freq = new int[1];
         int[] loop = new int[1];
 
-        int[] formats = new int[3];
-
         // Pull the WAV data into the "data" buffer.
         try {
             ALut.alutLoadWAVFile(stream, format, data, size, freq, loop);
         } catch (ALException e) {
             log.warn("Error loading JoalAudioBuffer from stream", e);
-            return formats;
+            return new int[3];
         }
+        return getWavFormats(format[0], freq[0]);
+    }
+
+    /**
+     * Get the formats of WAV data already decoded.
+     *
+     * @param wav the decoded data, or null
+     * @return the format, frequency and frame size, all 0 if the data is
+     *         missing or not in a supported format
+     */
+    static public int[] getWavFormats(VSDSoundCache.WavData wav) {
+        if (wav == null) {
+            return new int[3];
+        }
+        return getWavFormats(wav.getFormat(), wav.getFrequency());
+    }
+
+    static private int[] getWavFormats(int format, int freq) {
+        int[] formats = new int[3];
         // OK, for now, we're only going to support 8-bit and 16-bit Mono data.
         // I'll have to figure out later how to extend this to multiple data formats.
-        if ((format[0] != AL.AL_FORMAT_MONO8) && (format[0] != AL.AL_FORMAT_MONO16)) {
-            log.warn("Invalid Format! Failing out.{}", parseFormat(format[0]));
+        if ((format != AL.AL_FORMAT_MONO8) && (format != AL.AL_FORMAT_MONO16)) {
+            log.warn("Invalid Format! Failing out.{}", parseFormat(format));
             return formats;
         }
-        formats[0] = format[0];
-        formats[1] = freq[0];
-        formats[2] = frameSize(format[0]);
+        formats[0] = format;
+        formats[1] = freq;
+        formats[2] = frameSize(format);
         return formats;
     }
 
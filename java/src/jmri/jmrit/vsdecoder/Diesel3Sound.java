@@ -435,9 +435,16 @@ class Diesel3Sound extends EngineSound {
             try {
                 buf = (AudioBuffer) am.provideAudio(VSDSound.BufSysNamePrefix + sname);
                 buf.setUserName(VSDSound.BufUserNamePrefix + uname);
-                java.io.InputStream ins = vf.getInputStream(filename);
-                if (ins != null) {
-                    buf.setInputStream(ins);
+                VSDSoundCache.WavData wav = VSDSoundCache.getWavData(vf, filename);
+                if (wav != null) {
+                    if (!buf.loadBuffer(wav.getData(), wav.getFormat(), wav.getFrequency())) {
+                        // this audio system can't take decoded data, so read the file again
+                        java.io.InputStream ins = vf.getInputStream(filename);
+                        if (ins == null) {
+                            return null;
+                        }
+                        buf.setInputStream(new java.io.BufferedInputStream(ins));
+                    }
                 } else {
                     log.debug("Input Stream failed");
                     return null;
@@ -91,9 +91,16 @@ class SoundBite extends VSDSound {
                         log.debug("No VSD File! Filename: {}", filename);
                         sound_buf.setURL(filename); // Path must be provided by caller.
                     } else {
-                        java.io.InputStream ins = vf.getInputStream(filename);
-                        if (ins != null) {
-                            sound_buf.setInputStream(ins);
+                        VSDSoundCache.WavData wav = VSDSoundCache.getWavData(vf, filename);
+                        if (wav != null) {
+                            if (!sound_buf.loadBuffer(wav.getData(), wav.getFormat(), wav.getFrequency())) {
+                                // this audio system can't take decoded data, so read the file again
+                                java.io.InputStream ins = vf.getInputStream(filename);
+                                if (ins == null) {
+                                    return false;
+                                }
+                                sound_buf.setInputStream(new java.io.BufferedInputStream(ins));
+                            }
                         } else {
                             return false;
                         }
@@ -335,7 +335,7 @@ class Steam1Sound extends EngineSound {
             for (Element fe : elist) {
                 fn = fe.getText();
                 log.debug("notch: {}, file: {}", nn, fn);
-                sb.addChuffData(AudioUtil.getWavData(S1Notch.getWavStream(vf, fn)));
+                sb.addChuffData(S1Notch.getWavData(vf, fn));
             }
             log.debug("Number of chuff medium/standard sounds for notch {} defined: {}", nn, elist.size());
 
@@ -346,7 +346,7 @@ class Steam1Sound extends EngineSound {
                 // All files of notch_sounds must have the same audio formats
                 fn = el.getChildText("notch-file");
                 int[] formats;
-                formats = AudioUtil.getWavFormats(S1Notch.getWavStream(vf, fn));
+                formats = AudioUtil.getWavFormats(VSDSoundCache.getWavData(vf, fn));
                 sb.setBufferFmt(formats[0]);
                 sb.setBufferFreq(formats[1]);
                 sb.setBufferFrameSize(formats[2]);
@@ -358,7 +358,7 @@ class Steam1Sound extends EngineSound {
                 fn = el.getChildText("notchfiller-file");
                 if (fn != null) {
                     log.debug("notch filler file: {}", fn);
-                    sb.setNotchFillerData(AudioUtil.getWavData(S1Notch.getWavStream(vf, fn)));
+                    sb.setNotchFillerData(S1Notch.getWavData(vf, fn));
                 } else {
                     log.debug("no notchfiller available.");
                     sb.setNotchFillerData(null);
@@ -369,7 +369,7 @@ class Steam1Sound extends EngineSound {
                 for (Element fe : elistc) {
                     fn = fe.getText();
                     log.debug("coasting file: {}", fn);
-                    sb.addCoastData(AudioUtil.getWavData(S1Notch.getWavStream(vf, fn)));
+                    sb.addCoastData(S1Notch.getWavData(vf, fn));
                 }
                 log.debug("Number of coasting sounds for notch {} defined: {}", nn, elistc.size());
 
@@ -377,7 +377,7 @@ class Steam1Sound extends EngineSound {
                 fn = el.getChildText("coastfiller-file");
                 if (fn != null) {
                     log.debug("coasting filler file: {}", fn);
-                    sb.setCoastFillerData(AudioUtil.getWavData(S1Notch.getWavStream(vf, fn)));
+                    sb.setCoastFillerData(S1Notch.getWavData(vf, fn));
                 } else {
                     log.debug("no coastfiller available.");
                     sb.setCoastFillerData(null);
@@ -582,10 +582,10 @@ class Steam1Sound extends EngineSound {
             return bf;
         }
 
-        static private java.io.InputStream getWavStream(VSDFile vf, String filename) {
-            java.io.InputStream ins = vf.getInputStream(filename);
-            if (ins != null) {
-                return ins;
+        static private ByteBuffer getWavData(VSDFile vf, String filename) {
+            VSDSoundCache.WavData wav = VSDSoundCache.getWavData(vf, filename);
+            if (wav != null) {
+                return wav.getData();
             } else {
                 log.warn("input Stream failed for {}", filename);
                 return null;
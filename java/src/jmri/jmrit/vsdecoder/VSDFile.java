@@ -91,8 +91,9 @@ public class VSDFile extends ZipFile {
                 log.error(_statusMsg);
                 return false;
             }
-            File f2 = new File(this.getURL(VSDXmlFileName));
-            root = xmlfile.rootFromFile(f2);
+            try (InputStream stream = this.getInputStream(config)) {
+                root = xmlfile.rootFromInputStream(stream);
+            }
             ValidateStatus rv = this.validate(root);
             if (!rv.getValid()) {
                 _statusMsg = rv.getMessage();
@@ -122,18 +123,12 @@ public class VSDFile extends ZipFile {
     public java.io.InputStream getInputStream(String name) {
         java.io.InputStream rv;
         try {
-            ZipEntry e = this.getEntry(name);
+            ZipEntry e = getSoundEntry(name);
             if (e == null) {
-                e = this.getEntry(name.toLowerCase());
-                if (e == null) {
-                    e = this.getEntry(name.toUpperCase());
-                    if (e == null) {
-                        // I give up.  Return null
-                        return null;
-                    }
-                }
+                // I give up.  Return null
+                return null;
             }
-            rv = getInputStream(this.getEntry(name));
+            rv = getInputStream(e);
         } catch (IOException e) {
             log.error("IOException caught", e);
             rv = null;
@@ -144,6 +139,24 @@ public class VSDFile extends ZipFile {
         return rv;
     }
 
+    /**
+     * Find an entry, trying lower and upper case names if the name given
+     * isn't in the file.
+     *
+     * @param name the name of the entry
+     * @return the entry, or null if not found
+     */
+    ZipEntry getSoundEntry(String name) {
+        ZipEntry e = this.getEntry(name);
+        if (e == null) {
+            e = this.getEntry(name.toLowerCase());
+            if (e == null) {
+                e = this.getEntry(name.toUpperCase());
+            }
+        }
+        return e;
+    }
+
     public java.io.File getFile(String name) {
         try {
             ZipEntry e = this.getEntry(name);
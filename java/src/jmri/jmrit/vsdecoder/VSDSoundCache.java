@@ -0,0 +1,205 @@
+package jmri.jmrit.vsdecoder;
+
+import com.jogamp.openal.ALException;
+import com.jogamp.openal.util.ALut;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Decoded sound data from VSD files, shared by all the VSDecoders using the
+ * same VSD file.
+ * <p>
+ * Each WAV file is decoded once into a direct ByteBuffer, kept by VSD file,
+ * entry name and CRC so a changed VSD file is read again. Every caller gets
+ * its own view of the data, so positions and byte order set by one decoder
+ * don't affect another, and the data is loaded into audio buffers with
+ * {@link jmri.jmrit.audio.AudioBuffer#loadBuffer(ByteBuffer, int, int)}
+ * without being copied again.
+ * <p>
+ * The sound data not used recently is dropped when the cache holds more than
+ * {@link #MAX_BYTES}; audio buffers already loaded keep their data.
+ *
+ * <hr>
+ * This file is part of JMRI.
+ * <p>
+ * JMRI is free software; you can redistribute it and/or modify it under
+ * the terms of version 2 of the GNU General Public License as published
+ * by the Free Software Foundation. See the "COPYING" file for a copy
+ * of this license.
+ * <p>
+ * JMRI is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * for more details.
+ */
+public final class VSDSoundCache {
+
+    /**
+     * The most sound data kept, in bytes.
+     */
+    static final long MAX_BYTES = 64L * 1024 * 1024;
+
+    // only static methods
+    private VSDSoundCache() {
+    }
+
+    /**
+     * A decoded WAV file.
+     */
+    public static final class WavData {
+
+        private final ByteBuffer data;
+        private final int format;
+        private final int frequency;
+
+        WavData(@Nonnull ByteBuffer data, int format, int frequency) {
+            this.data = data;
+            this.format = format;
+            this.frequency = frequency;
+        }
+
+        /**
+         * Get the sound data. The data is shared, but the buffer returned is
+         * the caller's own.
+         *
+         * @return the data, from the start
+         */
+        @Nonnull
+        public ByteBuffer getData() {
+            ByteBuffer view = data.duplicate();
+            view.order(data.order());
+            return view;
+        }
+
+        /**
+         * @return the OpenAL format of the data
+         */
+        public int getFormat() {
+            return format;
+        }
+
+        /**
+         * @return the sample frequency in Hz
+         */
+        public int getFrequency() {
+            return frequency;
+        }
+
+        int getSize() {
+            return data.limit();
+        }
+    }
+
+    private static final LinkedHashMap<String, WavData> cache = new LinkedHashMap<>(64, 0.75f, true);
+    private static long bytes = 0;
+
+    /**
+     * Get a WAV file from a VSD file, decoding it if it isn't cached.
+     *
+     * @param vf   the VSD file
+     * @param name the name of the WAV file in the VSD file
+     * @return the decoded data, or null if the file is missing or can't be
+     *         decoded
+     */
+    @CheckForNull
+    public static WavData getWavData(@Nonnull VSDFile vf, @Nonnull String name) {
+        ZipEntry entry = vf.getSoundEntry(name);
+        if (entry == null) {
+            log.debug("No entry {} in {}", name, vf.getName());
+            return null;
+        }
+        String key = vf.getName() + '!' + entry.getName() + '#' + entry.getCrc();
+        synchronized (cache) {
+            WavData wav = cache.get(key);
+            if (wav != null) {
+                return wav;
+            }
+        }
+        // decode outside the lock; if two decoders load the same sound at
+        // once, both decode it and the second one is kept
+        WavData wav = decode(vf, entry);
+        if (wav == null) {
+            return null;
+        }
+        synchronized (cache) {
+            WavData old = cache.put(key, wav);
+            if (old != null) {
+                bytes -= old.getSize();
+            }
+            bytes += wav.getSize();
+            Iterator<Map.Entry<String, WavData>> iterator = cache.entrySet().iterator();
+            while (bytes > MAX_BYTES && iterator.hasNext()) {
+                Map.Entry<String, WavData> eldest = iterator.next();
+                if (eldest.getValue() != wav) {
+                    bytes -= eldest.getValue().getSize();
+                    iterator.remove();
+                }
+            }
+        }
+        return wav;
+    }
+
+    @CheckForNull
+    private static WavData decode(@Nonnull VSDFile vf, @Nonnull ZipEntry entry) {
+        int[] format = new int[1];
+        ByteBuffer[] data = new ByteBuffer[1];
+        int[] size = new int[1];
+        int[] freq = new int[1];
+        int[] loop = new int[1];
+        try (InputStream stream = vf.getInputStream(entry)) {
+            ALut.alutLoadWAVFile(stream, format, data, size, freq, loop);
+        } catch (ALException | IOException e) {
+            log.warn("Error loading {} from {}", entry.getName(), vf.getName(), e);
+            return null;
+        }
+        ByteBuffer buffer = data[0];
+        if (!buffer.isDirect()) {
+            ByteBuffer direct = ByteBuffer.allocateDirect(buffer.remaining());
+            direct.order(buffer.order());
+            direct.put(buffer);
+            direct.rewind();
+            buffer = direct;
+        }
+        log.debug("Decoded {} from {}, {} bytes", entry.getName(), vf.getName(), buffer.limit());
+        return new WavData(buffer, format[0], freq[0]);
+    }
+
+    /**
+     * @return the number of WAV files cached
+     */
+    public static int getSize() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    /**
+     * @return the bytes of sound data cached
+     */
+    public static long getBytes() {
+        synchronized (cache) {
+            return bytes;
+        }
+    }
+
+    /**
+     * Drop all the cached sound data.
+     */
+    public static void clear() {
+        synchronized (cache) {
+            cache.clear();
+            bytes = 0;
+        }
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(VSDSoundCache.class);
+}
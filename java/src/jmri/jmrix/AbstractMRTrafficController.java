@@ -5,6 +5,7 @@ import java.io.DataInputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.util.*;
+import java.util.concurrent.ConcurrentLinkedDeque;
 import javax.swing.SwingUtilities;
 
 import jmri.InstanceManager;
@@ -128,6 +129,13 @@ public abstract class AbstractMRTrafficController {
 
     protected final Vector<AbstractMRListener> cmdListeners = new Vector<>();
 
+    /**
+     * Copy of cmdListeners used for notification. Replaced, never modified,
+     * whenever a listener is added or removed, so notifying does not need to
+     * lock or clone.
+     */
+    private volatile AbstractMRListener[] listenerSnapshot = new AbstractMRListener[0];
+
     protected synchronized void addListener(AbstractMRListener l) {
         // add only if not already registered
         if (l == null) {
@@ -135,12 +143,14 @@ public abstract class AbstractMRTrafficController {
         }
         if (!cmdListeners.contains(l)) {
             cmdListeners.addElement(l);
+            listenerSnapshot = cmdListeners.toArray(new AbstractMRListener[0]);
         }
     }
 
     protected synchronized void removeListener(AbstractMRListener l) {
         if (cmdListeners.contains(l)) {
             cmdListeners.removeElement(l);
+            listenerSnapshot = cmdListeners.toArray(new AbstractMRListener[0]);
         }
     }
 
@@ -151,18 +161,9 @@ public abstract class AbstractMRTrafficController {
      * @param notMe One (optional) listener to be skipped, usually because it's
      *              the originating object.
      */
-    @SuppressWarnings("unchecked")
     protected void notifyMessage(AbstractMRMessage m, AbstractMRListener notMe) {
-        // make a copy of the listener vector to synchronized not needed for transmit
-        Vector<AbstractMRListener> v;
-        synchronized (this) {
-            // FIXME: unnecessary synchronized; the Vector IS already thread-safe.
-            v = (Vector<AbstractMRListener>) cmdListeners.clone();
-        }
         // forward to all listeners
-        int cnt = v.size();
-        for (int i = 0; i < cnt; i++) {
-            AbstractMRListener client = v.elementAt(i);
+        for (AbstractMRListener client : listenerSnapshot) {
             if (notMe != client) {
                 log.debug("notify client: {}", client);
                 try {
@@ -269,18 +270,9 @@ public abstract class AbstractMRTrafficController {
      * @param dest One (optional) listener to be skipped, usually because it's
      *             the originating object.
      */
-    @SuppressWarnings("unchecked")
     protected void notifyReply(AbstractMRReply r, AbstractMRListener dest) {
-        // make a copy of the listener vector to synchronized (not needed for transmit?)
-        Vector<AbstractMRListener> v;
-        synchronized (this) {
-            // FIXME: unnecessary synchronized; the Vector IS already thread-safe.
-            v = (Vector<AbstractMRListener>) cmdListeners.clone();
-        }
         // forward to all listeners
-        int cnt = v.size();
-        for (int i = 0; i < cnt; i++) {
-            AbstractMRListener client = v.elementAt(i);
+        for (AbstractMRListener client : listenerSnapshot) {
             log.debug("notify client: {}", client);
             try {
                 //skip dest for now, we'll send the message to there last.
@@ -303,10 +295,63 @@ public abstract class AbstractMRTrafficController {
     protected abstract void forwardReply(AbstractMRListener client, AbstractMRReply m);
 
     /**
-     * Messages to be transmitted.
+     * A message waiting to be transmitted, together with the listener that
+     * sent it.
+     */
+    protected static final class QueuedMessage {
+
+        final AbstractMRMessage message;
+        final AbstractMRListener listener;
+        final long queuedAt = System.nanoTime();
+
+        QueuedMessage(AbstractMRMessage message, AbstractMRListener listener) {
+            this.message = message;
+            this.listener = listener;
+        }
+    }
+
+    /**
+     * Messages to be transmitted. Any thread may add; only the transmit
+     * thread removes.
+     */
+    protected final ConcurrentLinkedDeque<QueuedMessage> transmitQueue = new ConcurrentLinkedDeque<>();
+
+    private final TransmitQueueStatistics queueStatistics = new TransmitQueueStatistics();
+
+    /**
+     * Get the transmit queue depth and latency counters for this connection.
+     *
+     * @return the statistics, never null
+     */
+    public TransmitQueueStatistics getTransmitQueueStatistics() {
+        return queueStatistics;
+    }
+
+    /**
+     * Make the transmit queue statistics available from the connection's
+     * memo. Called when a port is connected, so it covers every connection
+     * however its traffic controller was created.
+     *
+     * @param p the port being connected
+     */
+    protected void storeTransmitQueueStatistics(AbstractPortController p) {
+        jmri.SystemConnectionMemo memo = p.getSystemConnectionMemo();
+        if (memo instanceof DefaultSystemConnectionMemo) {
+            ((DefaultSystemConnectionMemo) memo).store(queueStatistics, TransmitQueueStatistics.class);
+        }
+    }
+
+    /**
+     * Add a message to the end of the transmit queue without waking the
+     * transmit thread.
+     *
+     * @param m the message to send
+     * @param reply the Listener sending the message, often provided as 'this'
      */
-    protected LinkedList<AbstractMRMessage> msgQueue = new LinkedList<>();
-    protected LinkedList<AbstractMRListener> listenerQueue = new LinkedList<>();
+    protected void queueMessage(AbstractMRMessage m, AbstractMRListener reply) {
+        transmitQueue.addLast(new QueuedMessage(m, reply));
+        queueStatistics.messageQueued();
+    }
 
     /**
      * Forward message to the port. Messages are queued and then the
@@ -316,9 +361,8 @@ public abstract class AbstractMRTrafficController {
      * @param m the message to send
      * @param reply the Listener sending the message, often provided as 'this'
      */
-    protected synchronized void sendMessage(AbstractMRMessage m, AbstractMRListener reply) {
-        msgQueue.addLast(m);
-        listenerQueue.addLast(reply);
+    protected void sendMessage(AbstractMRMessage m, AbstractMRListener reply) {
+        queueMessage(m, reply);
         synchronized (xmtRunnable) {
             if (mCurrentState == IDLESTATE) {
                 mCurrentState = NOTIFIEDSTATE;
@@ -341,16 +385,14 @@ public abstract class AbstractMRTrafficController {
             AbstractMRMessage m = null;
             AbstractMRListener l = null;
             // check for something to do
-            synchronized (this) {
-                if (!msgQueue.isEmpty()) {
-                    // yes, something to do
-                    m = msgQueue.getFirst();
-                    msgQueue.removeFirst();
-                    l = listenerQueue.getFirst();
-                    listenerQueue.removeFirst();
-                    mCurrentState = WAITMSGREPLYSTATE;
-                    log.debug("transmit loop has something to do: {}", m);
-                }  // release lock here to proceed in parallel
+            QueuedMessage q = transmitQueue.pollFirst();
+            if (q != null) {
+                // yes, something to do
+                queueStatistics.messageRemoved();
+                m = q.message;
+                l = q.listener;
+                mCurrentState = WAITMSGREPLYSTATE;
+                log.debug("transmit loop has something to do: {}", m);
             }
             // if a message has been extracted, process it
             if (m != null) {
@@ -392,7 +434,13 @@ public abstract class AbstractMRTrafficController {
                         mCurrentMode = m.getNeededMode();
                     }
                 }
-                forwardToPort(m, l);
+                List<QueuedMessage> batch = collectBatch(q);
+                if (batch == null) {
+                    queueStatistics.messageSent(q.queuedAt, false);
+                    forwardToPort(m, l);
+                } else {
+                    forwardToPort(batch);
+                }
                 // reply expected?
                 if (m.replyExpected()) {
                     log.debug("reply expected is true for message {}",m);
@@ -403,8 +451,8 @@ public abstract class AbstractMRTrafficController {
                         handleTimeout(m, l);
                     } else if (mCurrentState == AUTORETRYSTATE) {
                         log.info("Message added back to queue: {}", m);
-                        msgQueue.addFirst(m);
-                        listenerQueue.addFirst(l);
+                        transmitQueue.addFirst(q);
+                        queueStatistics.messageQueued();
                         synchronized (xmtRunnable) {
                             mCurrentState = IDLESTATE;
                         }
@@ -640,6 +688,38 @@ public abstract class AbstractMRTrafficController {
 
     protected boolean xmtException = false;
 
+    /**
+     * Format a message as the bytes written to the port, including header
+     * and trailer.
+     * <p>
+     * Both {@link #forwardToPort(AbstractMRMessage, AbstractMRListener)} and
+     * coalesced writes use this, so a protocol that frames its messages
+     * differently should override this rather than forwardToPort.
+     *
+     * @param m the message to be sent
+     * @return the bytes to write
+     */
+    protected byte[] formatOutput(AbstractMRMessage m) {
+        int byteLength = lengthOfByteStream(m);
+        byte[] msg = new byte[byteLength];
+        log.debug("copying message, length = {}", byteLength);
+        // add header
+        int offset = addHeaderToOutput(msg, m);
+
+        // add data content
+        int len = m.getNumDataElements();
+        log.debug("copying data to message, length = {}", len);
+        if (len > byteLength) { // happens somehow
+            log.warn("Invalid message array size {} for {} elements, truncated", byteLength, len);
+        }
+        for (int i = 0; (i < len && i < byteLength); i++) {
+            msg[i + offset] = (byte) m.getElement(i);
+        }
+        // add trailer
+        addTrailerToOutput(msg, len + offset, m);
+        return msg;
+    }
+
     /**
      * Actually transmit the next message to the port.
      * @see #sendMessage(AbstractMRMessage, AbstractMRListener)
@@ -661,23 +741,7 @@ public abstract class AbstractMRTrafficController {
         SwingUtilities.invokeLater(r);
 
         // stream to port in single write, as that's needed by serial
-        int byteLength = lengthOfByteStream(m);
-        byte[]  msg= new byte[byteLength];
-        log.debug("copying message, length = {}", byteLength);
-        // add header
-        int offset = addHeaderToOutput(msg, m);
-
-        // add data content
-        int len = m.getNumDataElements();
-        log.debug("copying data to message, length = {}", len);
-        if (len > byteLength) { // happens somehow
-            log.warn("Invalid message array size {} for {} elements, truncated", byteLength, len);
-        }
-        for (int i = 0; (i < len && i < byteLength); i++) {
-            msg[i + offset] = (byte) m.getElement(i);
-        }
-        // add trailer
-        addTrailerToOutput(msg, len + offset, m);
+        byte[] msg = formatOutput(m);
         // and stream the bytes
         try {
             if (ostream != null) {
@@ -721,6 +785,125 @@ public abstract class AbstractMRTrafficController {
         }
     }
 
+    /**
+     * Check whether a queued message may be written to the port in the same
+     * write as the messages queued immediately before and after it.
+     * <p>
+     * Only messages that don't expect a reply and need the current mode are
+     * offered. The default is false; override in protocols whose framing lets
+     * the command station separate back-to-back messages.
+     * <p>
+     * Coalesced messages are formatted with {@link #formatOutput} and do not
+     * go through {@link #forwardToPort(AbstractMRMessage, AbstractMRListener)},
+     * so a protocol that overrides forwardToPort should not opt in unless
+     * formatOutput gives the same bytes.
+     *
+     * @param m the message to check
+     * @return true if m can be combined with its neighbours
+     */
+    protected boolean canCoalesce(AbstractMRMessage m) {
+        return false;
+    }
+
+    /**
+     * Maximum number of bytes to combine in one coalesced port write.
+     *
+     * @return the byte limit; default 64
+     */
+    protected int maxCoalescedLength() {
+        return 64;
+    }
+
+    private boolean isCoalescable(AbstractMRMessage m) {
+        return m != null && !m.replyExpected() && m.getNeededMode() == mCurrentMode && canCoalesce(m);
+    }
+
+    /**
+     * Take any messages queued behind first that can share its port write.
+     *
+     * @param first the message just taken from the queue
+     * @return the batch starting with first, or null if first is sent alone
+     */
+    private List<QueuedMessage> collectBatch(QueuedMessage first) {
+        if (!isCoalescable(first.message)) {
+            return null;
+        }
+        List<QueuedMessage> batch = null;
+        int length = lengthOfByteStream(first.message);
+        QueuedMessage next;
+        while ((next = transmitQueue.peekFirst()) != null && isCoalescable(next.message)) {
+            length += lengthOfByteStream(next.message);
+            if (length > maxCoalescedLength()) {
+                break;
+            }
+            // only the transmit thread removes, so the head is still next
+            transmitQueue.pollFirst();
+            queueStatistics.messageRemoved();
+            if (batch == null) {
+                batch = new ArrayList<>();
+                batch.add(first);
+            }
+            batch.add(next);
+        }
+        return batch;
+    }
+
+    /**
+     * Transmit several messages that don't expect replies in a single port
+     * write.
+     *
+     * @param batch the messages to send, in queue order
+     * @see #canCoalesce(AbstractMRMessage)
+     */
+    protected synchronized void forwardToPort(List<QueuedMessage> batch) {
+        List<byte[]> formatted = new ArrayList<>(batch.size());
+        int byteLength = 0;
+        for (QueuedMessage q : batch) {
+            AbstractMRMessage m = q.message;
+            log.debug("forwardToPort coalesced message: [{}]", m);
+            mLastSender = q.listener;
+            SwingUtilities.invokeLater(new XmtNotifier(m, mLastSender, this));
+            byte[] one = formatOutput(m);
+            formatted.add(one);
+            byteLength += one.length;
+            queueStatistics.messageSent(q.queuedAt, true);
+        }
+        byte[] msg = new byte[byteLength];
+        int start = 0;
+        for (byte[] one : formatted) {
+            System.arraycopy(one, 0, msg, start, one.length);
+            start += one.length;
+        }
+        AbstractMRMessage first = batch.get(0).message;
+        try {
+            if (ostream != null) {
+                while (first.getRetries() >= 0) {
+                    if (portReadyToSend(controller)) {
+                        ostream.write(msg);
+                        ostream.flush();
+                        log.debug("written {} coalesced messages", batch.size());
+                        break;
+                    }
+                    first.setRetries(first.getRetries() - 1);
+                    try {
+                        synchronized (xmtRunnable) {
+                            xmtRunnable.wait(first.getTimeout());
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt(); // retain if needed later
+                        log.error("retry wait interrupted");
+                    }
+                }
+            } else {  // ostream is null
+                // no stream connected
+                connectionWarn();
+            }
+        } catch (IOException | RuntimeException e) {
+            xmtException = true;
+            portWarn(e);
+        }
+    }
+
     protected void connectionWarn() {
         log.warn("sendMessage: no connection established for {}", this.getClass().getName(), new Exception());
     }
@@ -767,6 +950,7 @@ public abstract class AbstractMRTrafficController {
                 log.debug("connectPort invoked");
             }
             controller = p;
+            storeTransmitQueueStatistics(p);
             // and start threads
             xmtThread = jmri.util.ThreadingUtil.newThread(
                 xmtRunnable = new Runnable() {
@@ -0,0 +1,116 @@
+package jmri.jmrix;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters describing the transmit queue of an
+ * {@link AbstractMRTrafficController}.
+ * <p>
+ * Connections that use such a traffic controller store this object in their
+ * {@link DefaultSystemConnectionMemo}, so it can be retrieved with
+ * {@code memo.get(TransmitQueueStatistics.class)}.
+ * <p>
+ * Latency is measured from the moment a message is queued by
+ * {@link AbstractMRTrafficController#sendMessage(AbstractMRMessage, AbstractMRListener)}
+ * until the transmit thread hands it to the port. All counters may be read
+ * from any thread.
+ */
+public class TransmitQueueStatistics {
+
+    private final AtomicInteger depth = new AtomicInteger();
+    private final AtomicInteger maxDepth = new AtomicInteger();
+    private final LongAdder queued = new LongAdder();
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder totalLatency = new LongAdder();
+    private final AtomicLong maxLatency = new AtomicLong();
+
+    void messageQueued() {
+        queued.increment();
+        int d = depth.incrementAndGet();
+        maxDepth.accumulateAndGet(d, Math::max);
+    }
+
+    void messageRemoved() {
+        depth.decrementAndGet();
+    }
+
+    void messageSent(long queuedAtNanos, boolean inBatch) {
+        sent.increment();
+        if (inBatch) {
+            coalesced.increment();
+        }
+        long latency = System.nanoTime() - queuedAtNanos;
+        totalLatency.add(latency);
+        maxLatency.accumulateAndGet(latency, Math::max);
+    }
+
+    /**
+     * @return the number of messages currently waiting to be transmitted
+     */
+    public int getQueueDepth() {
+        return depth.get();
+    }
+
+    /**
+     * @return the largest queue depth seen since the last reset
+     */
+    public int getMaxQueueDepth() {
+        return maxDepth.get();
+    }
+
+    /**
+     * @return the number of messages queued since the last reset
+     */
+    public long getQueuedCount() {
+        return queued.sum();
+    }
+
+    /**
+     * @return the number of queued messages handed to the port since the last
+     *         reset
+     */
+    public long getSentCount() {
+        return sent.sum();
+    }
+
+    /**
+     * @return the number of messages that were written to the port together
+     *         with at least one other message
+     */
+    public long getCoalescedCount() {
+        return coalesced.sum();
+    }
+
+    /**
+     * @return the mean time in milliseconds a message waited in the queue, or
+     *         0 if nothing has been sent
+     */
+    public double getMeanLatency() {
+        long n = sent.sum();
+        return n == 0 ? 0.0 : totalLatency.sum() / (n * 1.0e6);
+    }
+
+    /**
+     * @return the longest time in milliseconds a message waited in the queue
+     */
+    public double getMaxLatency() {
+        return maxLatency.get() / 1.0e6;
+    }
+
+    /**
+     * Reset the counters. The current queue depth is kept, as those messages
+     * are still waiting.
+     */
+    public void reset() {
+        maxDepth.set(depth.get());
+        queued.reset();
+        sent.reset();
+        coalesced.reset();
+        totalLatency.reset();
+        maxLatency.set(0);
+    }
+
+}
@@ -1,5 +1,10 @@
 package jmri.jmrix.can;
 
+import jmri.jmrix.AbstractMRListener;
+import jmri.jmrix.AbstractMRMessage;
+import jmri.jmrix.AbstractMRReply;
+import jmri.jmrix.can.cbus.CbusEventRouter;
+
 /**
  * Traffic controller for CAN access.
  *
@@ -32,4 +37,45 @@ abstract public class TrafficController extends AbstractCanTrafficController {
         _canid = canid;
     }
 
+    private volatile CbusEventRouter cbusEventRouter = null;
+
+    /**
+     * Get the router that passes CBUS frames on this connection only to the
+     * beans listening for the events in them.
+     *
+     * @return the router, created if needed
+     */
+    public synchronized CbusEventRouter getCbusEventRouter() {
+        if (cbusEventRouter == null) {
+            cbusEventRouter = new CbusEventRouter();
+        }
+        return cbusEventRouter;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Also forwards the message through the CBUS event router, if any.
+     */
+    @Override
+    protected void notifyMessage(AbstractMRMessage m, AbstractMRListener notMe) {
+        super.notifyMessage(m, notMe);
+        CbusEventRouter router = cbusEventRouter;
+        if (router != null && m instanceof CanMessage) {
+            router.message((CanMessage) m, notMe);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * Also forwards the reply through the CBUS event router, if any.
+     */
+    @Override
+    protected void notifyReply(AbstractMRReply r, AbstractMRListener dest) {
+        super.notifyReply(r, dest);
+        CbusEventRouter router = cbusEventRouter;
+        if (router != null && r instanceof CanReply) {
+            router.reply((CanReply) r, dest);
+        }
+    }
+
 }
@@ -0,0 +1,275 @@
+package jmri.jmrix.can.cbus;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+
+import jmri.jmrix.AbstractMRListener;
+import jmri.jmrix.AbstractMessage;
+import jmri.jmrix.can.CanListener;
+import jmri.jmrix.can.CanMessage;
+import jmri.jmrix.can.CanReply;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Passes CBUS frames on a connection only to the listeners for the events in
+ * them, rather than every Sensor, Turnout, Light and Reporter seeing every
+ * frame.
+ * <p>
+ * Listeners are registered with the CbusAddresses they match, and are sent
+ * the frames for those events, in either direction, along with the event
+ * requests for them. Reporters are registered with their device number and
+ * are sent the DDES and ACDAT frames for it. Addresses that are not a
+ * single event, such as most hex addresses, are sent every frame.
+ * <p>
+ * Listeners still check the frames they are sent. Response events are
+ * converted to normal events before being sent, and the frames sent must
+ * not be changed by the listeners.
+ * <p>
+ * Listeners that want every frame, such as the event table and the
+ * consoles, continue to add themselves to the TrafficController.
+ *
+ * @see jmri.jmrix.can.TrafficController#getCbusEventRouter()
+ */
+public class CbusEventRouter {
+
+    private static final long DEVICE = 1L << 40;
+    private static final CanListener[] NONE = new CanListener[0];
+
+    private final Map<Long, CanListener[]> routes = new ConcurrentHashMap<>();
+    private volatile CanListener[] everything = NONE;
+
+    // guarded by this; beans are equal by name, so listeners are compared
+    // by identity throughout
+    private final Map<CanListener, long[]> keysByListener = new IdentityHashMap<>();
+
+    /**
+     * Add a listener for the frames matching any of a set of addresses.
+     * Replaces any earlier registration of the listener.
+     *
+     * @param l         the listener
+     * @param addresses the addresses the listener matches
+     */
+    public synchronized void addListener(@Nonnull CanListener l, @Nonnull CbusAddress... addresses) {
+        removeListener(l);
+        long[] keys = new long[addresses.length];
+        for (int i = 0; i < addresses.length; i++) {
+            Long key = addressKey(addresses[i].elements());
+            if (key == null) {
+                // can't tell which frames it matches
+                keysByListener.put(l, new long[0]);
+                everything = add(everything, l);
+                return;
+            }
+            keys[i] = key;
+        }
+        keysByListener.put(l, keys);
+        for (long key : keys) {
+            routes.put(key, add(routes.getOrDefault(key, NONE), l));
+        }
+    }
+
+    /**
+     * Add a listener for the DDES and ACDAT frames from a device.
+     * Replaces any earlier registration of the listener.
+     *
+     * @param l            the listener
+     * @param deviceNumber the device number
+     */
+    public synchronized void addDeviceListener(@Nonnull CanListener l, int deviceNumber) {
+        removeListener(l);
+        long key = DEVICE | (deviceNumber & 0xFFFF);
+        keysByListener.put(l, new long[]{key});
+        routes.put(key, add(routes.getOrDefault(key, NONE), l));
+    }
+
+    /**
+     * Remove a listener. Nothing happens if the listener was not added.
+     *
+     * @param l the listener
+     */
+    public synchronized void removeListener(@Nonnull CanListener l) {
+        long[] keys = keysByListener.remove(l);
+        if (keys == null) {
+            return;
+        }
+        if (keys.length == 0) {
+            everything = remove(everything, l);
+        }
+        for (long key : keys) {
+            CanListener[] listeners = remove(routes.getOrDefault(key, NONE), l);
+            if (listeners.length == 0) {
+                routes.remove(key);
+            } else {
+                routes.put(key, listeners);
+            }
+        }
+    }
+
+    /**
+     * @return the number of listeners added
+     */
+    public synchronized int numListeners() {
+        return keysByListener.size();
+    }
+
+    /**
+     * Send a message being sent to the layout to the listeners for it.
+     *
+     * @param m     the message
+     * @param notMe the listener that sent the message, if any, which is not
+     *              sent it
+     */
+    public void message(@Nonnull CanMessage m, @CheckForNull AbstractMRListener notMe) {
+        if (m.extendedOrRtr()) {
+            return;
+        }
+        for (CanListener l : getListeners(m)) {
+            if (l != notMe) {
+                try {
+                    l.message(m);
+                } catch (RuntimeException e) {
+                    log.warn("During message dispatch to {}", l, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Send a reply from the layout to the listeners for it.
+     *
+     * @param r    the reply
+     * @param dest the listener already sent the reply by the
+     *             TrafficController, if any, which is not sent it again
+     */
+    public void reply(@Nonnull CanReply r, @CheckForNull AbstractMRListener dest) {
+        if (r.extendedOrRtr()) {
+            return;
+        }
+        CanReply normal = CbusMessage.opcRangeToStl(r);
+        for (CanListener l : getListeners(normal)) {
+            if (l != dest) {
+                try {
+                    l.reply(normal);
+                } catch (RuntimeException e) {
+                    log.warn("During reply dispatch to {}", l, e);
+                }
+            }
+        }
+    }
+
+    @Nonnull
+    private List<CanListener> getListeners(@Nonnull AbstractMessage m) {
+        List<CanListener> result = new ArrayList<>(Arrays.asList(everything));
+        int opc = m.getNumDataElements() > 0 ? CbusMessage.getOpcode(m) : -1;
+        switch (opc) {
+            case CbusConstants.CBUS_AREQ:
+            case CbusConstants.CBUS_ASRQ:
+                if (m.getNumDataElements() == 5) {
+                    // requests are for the on and off events
+                    int node = CbusOpCodes.isShortEvent(opc) ? 0 : (m.getElement(1) << 8) + m.getElement(2);
+                    int event = (m.getElement(3) << 8) + m.getElement(4);
+                    addAll(result, routes.get(eventKey(node, event, true)));
+                    addAll(result, routes.get(eventKey(node, event, false)));
+                }
+                break;
+            case CbusConstants.CBUS_DDES:
+            case CbusConstants.CBUS_ACDAT:
+                if (m.getNumDataElements() >= 3) {
+                    addAll(result, routes.get(DEVICE | ((m.getElement(1) << 8) + m.getElement(2))));
+                }
+                break;
+            default:
+                int[] elements = new int[m.getNumDataElements()];
+                for (int i = 0; i < elements.length; i++) {
+                    elements[i] = m.getElement(i);
+                }
+                Long key = addressKey(elements);
+                if (key != null) {
+                    addAll(result, routes.get(key));
+                }
+                break;
+        }
+        return result;
+    }
+
+    private static void addAll(@Nonnull List<CanListener> result, @CheckForNull CanListener[] listeners) {
+        if (listeners != null) {
+            for (CanListener l : listeners) {
+                if (indexOf(result, l) < 0) {
+                    result.add(l);
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the key of the single event in an address or frame.
+     *
+     * @param elements the frame data
+     * @return the key, or null if not a single event
+     */
+    @CheckForNull
+    private static Long addressKey(@Nonnull int[] elements) {
+        if (elements.length != 5) {
+            return null;
+        }
+        switch (elements[0]) {
+            case CbusConstants.CBUS_ACON:
+            case CbusConstants.CBUS_ARON:
+                return eventKey((elements[1] << 8) + elements[2], (elements[3] << 8) + elements[4], true);
+            case CbusConstants.CBUS_ACOF:
+            case CbusConstants.CBUS_AROF:
+                return eventKey((elements[1] << 8) + elements[2], (elements[3] << 8) + elements[4], false);
+            case CbusConstants.CBUS_ASON:
+            case CbusConstants.CBUS_ARSON:
+                // short events are matched whatever node sent them
+                return eventKey(0, (elements[3] << 8) + elements[4], true);
+            case CbusConstants.CBUS_ASOF:
+            case CbusConstants.CBUS_ARSOF:
+                return eventKey(0, (elements[3] << 8) + elements[4], false);
+            default:
+                return null;
+        }
+    }
+
+    private static long eventKey(int node, int event, boolean on) {
+        return ((long) (node & 0xFFFF) << 17) | ((event & 0xFFFF) << 1) | (on ? 1 : 0);
+    }
+
+    @Nonnull
+    private static CanListener[] add(@Nonnull CanListener[] listeners, @Nonnull CanListener l) {
+        CanListener[] result = Arrays.copyOf(listeners, listeners.length + 1);
+        result[listeners.length] = l;
+        return result;
+    }
+
+    @Nonnull
+    private static CanListener[] remove(@Nonnull CanListener[] listeners, @Nonnull CanListener l) {
+        List<CanListener> result = new ArrayList<>(Arrays.asList(listeners));
+        int i = indexOf(result, l);
+        if (i >= 0) {
+            result.remove(i);
+        }
+        return result.toArray(NONE);
+    }
+
+    private static int indexOf(@Nonnull List<CanListener> listeners, @Nonnull CanListener l) {
+        for (int i = 0; i < listeners.size(); i++) {
+            if (listeners.get(i) == l) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(CbusEventRouter.class);
+}
@@ -61,7 +61,9 @@ public class CbusLight extends AbstractLight implements CanListener, CbusEventIn
                 return;
         }
         // connect
-        addTc(tc);
+        if (tc != null) {
+            tc.getCbusEventRouter().addListener(this, addrOn, addrOff);
+        }
     }
 
     /**
@@ -162,7 +164,9 @@ public class CbusLight extends AbstractLight implements CanListener, CbusEventIn
      */
     @Override
     public void dispose() {
-        tc.removeCanListener(this);
+        if (tc != null) {
+            tc.getCbusEventRouter().removeListener(this);
+        }
         super.dispose();
     }    
     
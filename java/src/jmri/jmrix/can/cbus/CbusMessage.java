@@ -29,32 +29,36 @@ public class CbusMessage {
      * Return a CanReply for use in sensors, turnouts + light
      * If a response event, set to normal event
      * In future, this may also translate extended messages down to normal messages.
+     * <p>
+     * The CanReply passed in is not changed, as it may be shared by many
+     * listeners.
      *
      * @param msg CanReply to be coverted to normal opc
-     * @return CanReply perhaps converted from response OPC to normal OPC.
+     * @return CanReply perhaps converted from response OPC to normal OPC,
+     *         a copy if converted.
      */
     public static CanReply opcRangeToStl(CanReply msg){
         int opc = getOpcode(msg);
         // log.debug(" about to check opc {} ",opc);
         switch (opc) {
             case CbusConstants.CBUS_ARON:
-                msg.setElement(0, CbusConstants.CBUS_ACON);
-                break;
+                return withOpcode(msg, CbusConstants.CBUS_ACON);
             case CbusConstants.CBUS_AROF:
-                msg.setElement(0, CbusConstants.CBUS_ACOF);
-                break;
+                return withOpcode(msg, CbusConstants.CBUS_ACOF);
             case CbusConstants.CBUS_ARSON:
-                msg.setElement(0, CbusConstants.CBUS_ASON);
-                break;
+                return withOpcode(msg, CbusConstants.CBUS_ASON);
             case CbusConstants.CBUS_ARSOF:
-                msg.setElement(0, CbusConstants.CBUS_ASOF);
-                break;
+                return withOpcode(msg, CbusConstants.CBUS_ASOF);
             default:
-                break;
+                return msg;
         }
-        return msg;
     }
-    
+
+    private static CanReply withOpcode(CanReply msg, int opc) {
+        CanReply copy = new CanReply(msg);
+        copy.setElement(0, opc);
+        return copy;
+    }
 
     /**
      * Get the Op Code from the CanMessage
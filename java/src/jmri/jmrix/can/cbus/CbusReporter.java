@@ -51,7 +51,7 @@ public class CbusReporter extends AbstractRailComReporter implements CanListener
         _number = number;
         // At construction, register for messages
         tc = tco;
-        addTc(tc);
+        addToRouter();
         _memo = null;
         log.debug("Added new reporter {}R{}", prefix, number);
         log.warn("Deprecated Constructor - Please use CbusReporter(String,CanSystemConnectionMemo,String) ");
@@ -70,10 +70,16 @@ public class CbusReporter extends AbstractRailComReporter implements CanListener
         _memo = memo;
         // At construction, register for messages
         tc = memo.getTrafficController(); // can be removed when former constructor removed
-        addTc(memo.getTrafficController());
+        addToRouter();
         log.debug("Added new reporter {}R{}", memo.getSystemPrefix(), address);
     }
 
+    private void addToRouter() {
+        if (tc != null) {
+            tc.getCbusEventRouter().addDeviceListener(this, _number);
+        }
+    }
+
     /**
      * Set the CbusReporter State.
      * <p>
@@ -212,7 +218,9 @@ public class CbusReporter extends AbstractRailComReporter implements CanListener
     @Override
     public void dispose() {
         disposed = true;
-        tc.removeCanListener(this);
+        if (tc != null) {
+            tc.getCbusEventRouter().removeListener(this);
+        }
         super.dispose();
     }
 
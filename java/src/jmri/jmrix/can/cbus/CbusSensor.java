@@ -59,7 +59,9 @@ public class CbusSensor extends AbstractSensor implements CanListener, CbusEvent
                 return;
         }
         // connect
-        addTc(tc);
+        if (tc != null) {
+            tc.getCbusEventRouter().addListener(this, addrActive, addrInactive);
+        }
     }
 
     /**
@@ -202,7 +204,9 @@ public class CbusSensor extends AbstractSensor implements CanListener, CbusEvent
      */
     @Override
     public void dispose() {
-        tc.removeCanListener(this);
+        if (tc != null) {
+            tc.getCbusEventRouter().removeListener(this);
+        }
         super.dispose();
     }
 
@@ -59,7 +59,9 @@ public class CbusTurnout extends jmri.implementation.AbstractTurnout
                 return;
         }
         // connect
-        addTc(tc);
+        if (tc != null) {
+            tc.getCbusEventRouter().addListener(this, addrThrown, addrClosed);
+        }
     }
 
     /**
@@ -284,7 +286,9 @@ public class CbusTurnout extends jmri.implementation.AbstractTurnout
      */
     @Override
     public void dispose() {
-        tc.removeCanListener(this);
+        if (tc != null) {
+            tc.getCbusEventRouter().removeListener(this);
+        }
         super.dispose();
     }    
     
@@ -102,6 +102,17 @@ public class DCCppPacketizer extends DCCppTrafficController {
         log.debug("finished string = {}", new String(msg, StandardCharsets.UTF_8));
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Each DCC++ command is framed by '&lt;' and '&gt;', so the command station
+     * can separate commands written back to back.
+     */
+    @Override
+    protected boolean canCoalesce(jmri.jmrix.AbstractMRMessage m) {
+        return true;
+    }
+
     /**
      * Check to see if PortController object can be sent to. returns true if
      * ready, false otherwise May throw an Exception.
@@ -27,6 +27,18 @@ public class DCCppEthernetPacketizer extends jmri.jmrix.dccpp.serial.SerialDCCpp
         log.debug("Loading DCC++ Ethernet Extension to DCCppPacketizer");
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Messages are not coalesced here, as only
+     * {@link #forwardToPort(AbstractMRMessage, AbstractMRListener)} recovers
+     * the connection after a failed write.
+     */
+    @Override
+    protected boolean canCoalesce(AbstractMRMessage m) {
+        return false;
+    }
+
     /**
      * Actually transmits the next message to the port
      */
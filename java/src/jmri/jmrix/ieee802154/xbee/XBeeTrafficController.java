@@ -260,9 +260,8 @@ public class XBeeTrafficController extends IEEE802154TrafficController implement
      * them, then notifies the transmission thread.
      */
     @Override
-    synchronized protected void sendMessage(AbstractMRMessage m, AbstractMRListener reply) {
-        msgQueue.addLast(m);
-        listenerQueue.addLast(reply);
+    protected void sendMessage(AbstractMRMessage m, AbstractMRListener reply) {
+        queueMessage(m, reply);
         if (m != null) {
             log.debug("just notified transmit thread with message {}", m.toString());
         }
@@ -209,7 +209,7 @@ public class XNetTurnout extends AbstractTurnout implements XNetListener {
         synchronized (this) {
             newCommandedState(s);
         }
-        myOperator = getTurnoutOperator(); // MUST set myOperator before starting the thread
+        myOperator = getTurnoutOperator(); // MUST set myOperator before starting it
         if (myOperator == null) {
             forwardCommandChangeToLayout(s);
             synchronized (this) {
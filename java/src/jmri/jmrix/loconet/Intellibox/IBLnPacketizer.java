@@ -172,7 +172,7 @@ public class IBLnPacketizer extends LnPacketizer {
                                 myTc.notify(msgForLater);
                             }
                         };
-                        javax.swing.SwingUtilities.invokeLater(r);
+                        jmri.util.ThreadingUtil.runOnLayoutEventually(thisTc, r::run);
                     }
 
                     // done with this one
@@ -14,7 +14,8 @@ import org.slf4j.LoggerFactory;
  * characters for transmission.
  * <p>
  * Messages come to this via the main GUI thread, and are forwarded back to
- * listeners in that same thread. Reception and transmission are handled in
+ * listeners on the layout thread, see
+ * {@link jmri.util.ThreadingUtil#runOnLayoutEventually}. Reception and transmission are handled in
  * dedicated threads by RcvHandler and XmtHandler objects. Those are internal
  * classes defined here. The thread priorities are:
  * <ul>
@@ -305,7 +306,8 @@ public class LnPacketizer extends LnTrafficController {
                     {
                         log.debug("queue message for notification: {}", msg);
 
-                        jmri.util.ThreadingUtil.runOnLayoutEventually(new RcvMemo(msg, trafficController));
+                        // keyed on the connection, so its messages stay in order
+                        jmri.util.ThreadingUtil.runOnLayoutEventually(trafficController, new RcvMemo(msg, trafficController));
                     }
 
                     // done with this one
@@ -338,15 +340,18 @@ public class LnPacketizer extends LnTrafficController {
         public RcvMemo(LocoNetMessage msg, LnTrafficController trafficController) {
             thisMsg = msg;
             thisTc = trafficController;
+            received = System.nanoTime();
         }
         LocoNetMessage thisMsg;
         LnTrafficController thisTc;
+        long received;
 
         /**
          * {@inheritDoc}
          */
         @Override
         public void run() {
+            thisTc.getReceiveLatency().recordSince(received);
             thisTc.notify(thisMsg);
         }
     }
@@ -417,10 +422,11 @@ public class LnPacketizer extends LnTrafficController {
         }
         // message is queued for transmit, echo it when needed
         // return a notification via the queue to ensure end
-        javax.swing.SwingUtilities.invokeLater(new Echo(this, new LocoNetMessage(msg)));
+        // keyed as for received messages, so echoes stay in order with them
+        jmri.util.ThreadingUtil.runOnLayoutEventually(this, new Echo(this, new LocoNetMessage(msg)));
     }
 
-    static class Echo implements Runnable {
+    static class Echo implements jmri.util.ThreadingUtil.ThreadAction {
 
         Echo(LnPacketizer t, LocoNetMessage m) {
             myTc = t;
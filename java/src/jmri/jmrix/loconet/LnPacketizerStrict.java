@@ -174,7 +174,7 @@ public class LnPacketizerStrict extends LnPacketizer {
                             reTryRequired = true;
                             // check for waiting on echo
                         }
-                        jmri.util.ThreadingUtil.runOnLayoutEventually(new RcvMemo(msg, trafficController));
+                        jmri.util.ThreadingUtil.runOnLayoutEventually(trafficController, new RcvMemo(msg, trafficController));
                     }
                     // done with this one
                 } catch (LocoNetMessageException e) {
@@ -206,15 +206,18 @@ public class LnPacketizerStrict extends LnPacketizer {
         public RcvMemo(LocoNetMessage msg, LnTrafficController trafficController) {
             thisMsg = msg;
             thisTc = trafficController;
+            received = System.nanoTime();
         }
         LocoNetMessage thisMsg;
         LnTrafficController thisTc;
+        long received;
 
         /**
          * {@inheritDoc}
          */
         @Override
         public void run() {
+            thisTc.getReceiveLatency().recordSince(received);
             thisTc.notify(thisMsg);
         }
     }
@@ -52,7 +52,7 @@ public class LnSensorManager extends jmri.managers.AbstractSensorManager impleme
                     // interrogation timing
 
         // ctor has to register for LocoNet events
-        tc.addLocoNetListener(~0, this);
+        tc.addLocoNetListener(LocoNetInterface.SENSORS | LocoNetInterface.TURNOUTS, this);
 
         // start the update sequence. Until JMRI 2.9.4, this waited
         // until files have been read, but starts automatically
@@ -1,9 +1,14 @@
 package jmri.jmrix.loconet;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Vector;
 import javax.annotation.Nonnull;
 
+import jmri.util.LatencyHistogram;
+import jmri.util.ThreadingUtil;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -77,24 +82,62 @@ public abstract class LnTrafficController implements LocoNetInterface {
     // relies on Vector being a synchronized class
     protected Vector<LocoNetListener> listeners = new Vector<LocoNetListener>();
 
+    /**
+     * Union of the masks each listener has registered with. Only accessed
+     * while synchronized on this object.
+     */
+    private final HashMap<LocoNetListener, Integer> listenerMasks = new HashMap<>();
+
+    /**
+     * Listeners to notify for each opcode, indexed by {@code opcode & 0xFF}.
+     * Rebuilt on every add or remove and replaced as a whole, so
+     * {@link #notify(LocoNetMessage)} can walk it without locking or copying.
+     */
+    private volatile LocoNetListener[][] dispatchTable = buildDispatchTable(new Vector<>(), new HashMap<>());
+
     @Override
     public synchronized void addLocoNetListener(int mask, @Nonnull LocoNetListener l) {
         java.util.Objects.requireNonNull(l);
-        if (!listeners.contains(l)) {
+        Integer current = listenerMasks.get(l);
+        if (current == null) {
             listeners.addElement(l);
+            listenerMasks.put(l, mask);
+        } else {
+            listenerMasks.put(l, current | mask);
         }
+        dispatchTable = buildDispatchTable(listeners, listenerMasks);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The bits in mask are removed from the listener's registration; the
+     * listener is dropped completely once no bits remain, or when mask is
+     * {@link LocoNetInterface#ALL}.
+     */
     @Override
     public synchronized void removeLocoNetListener(int mask, @Nonnull LocoNetListener l) {
         java.util.Objects.requireNonNull(l);
-        if (listeners.contains(l)) {
+        Integer current = listenerMasks.get(l);
+        if (current == null) {
+            return;
+        }
+        int remaining = current & ~mask;
+        if (remaining == 0 || mask == ALL) {
             listeners.removeElement(l);
+            listenerMasks.remove(l);
+        } else {
+            listenerMasks.put(l, remaining);
         }
+        dispatchTable = buildDispatchTable(listeners, listenerMasks);
     }
 
     /**
-     * Forward a LocoNetMessage to all registered listeners.
+     * Forward a LocoNetMessage to all registered listeners whose mask covers
+     * the message's opcode.
+     * <p>
+     * When called on a dedicated layout thread, listeners that are Swing
+     * components are called later on the GUI thread instead.
      * <p>
      * Needs to have public access, as
      * {@link jmri.jmrix.loconet.loconetovertcp.LnOverTcpPacketizer} and
@@ -108,20 +151,94 @@ public abstract class LnTrafficController implements LocoNetInterface {
         receivedMsgCount++;
         receivedByteCount += m.getNumDataElements();
 
-        // make a copy of the listener vector for notifications; synchronized not needed once copied
-        ArrayList<LocoNetListener> v;
-        synchronized (this) {
-            v = new ArrayList<LocoNetListener>(listeners);
-        }
+        // the table is never modified once published, so no copy is needed
+        LocoNetListener[] v = dispatchTable[m.getOpCode() & 0xFF];
 
-        // forward to all listeners
+        // forward to all interested listeners
         log.debug("notify of incoming LocoNet packet: {}", m);
         for (LocoNetListener client : v) {
             log.trace("  notify {} of incoming LocoNet packet: {}", client, m);
-            client.message(m);
+            if (ThreadingUtil.isGUIListener(client) && ThreadingUtil.isLayoutThread() && !ThreadingUtil.isGUIThread()) {
+                ThreadingUtil.runOnGUIEventually(() -> client.message(m));
+            } else {
+                client.message(m);
+            }
+        }
+    }
+
+    /**
+     * Get the mask bits that describe a LocoNet opcode.
+     * <p>
+     * A listener registered with {@link LocoNetInterface#ALL} receives every
+     * message; any other listener receives only those messages whose opcode
+     * class shares at least one bit with its mask.
+     *
+     * @param opCode the LocoNet opcode
+     * @return the OR of the {@link LocoNetInterface} mask values the opcode
+     *         belongs to, or 0 if it is only of interest to ALL listeners
+     */
+    public static int getOpCodeClass(int opCode) {
+        return OPCODE_CLASSES[opCode & 0xFF];
+    }
+
+    private static final int[] OPCODE_CLASSES = new int[256];
+
+    static {
+        int[] slot = {LnConstants.OPC_LOCO_SPD, LnConstants.OPC_LOCO_DIRF, LnConstants.OPC_LOCO_SND,
+            LnConstants.OPC_LOCO_ADR, LnConstants.OPC_SLOT_STAT1, LnConstants.OPC_CONSIST_FUNC,
+            LnConstants.OPC_UNLINK_SLOTS, LnConstants.OPC_LINK_SLOTS, LnConstants.OPC_MOVE_SLOTS,
+            LnConstants.OPC_RQ_SL_DATA, LnConstants.OPC_SL_RD_DATA, LnConstants.OPC_WR_SL_DATA,
+            LnConstants.OPC_LONG_ACK, LnConstants.OPC_EXP_REQ_SLOT, LnConstants.OPC_EXP_SLOT_MOVE,
+            LnConstants.OPC_EXP_RD_SL_DATA, LnConstants.OPC_EXP_WR_SL_DATA,
+            LnConstants.OPC_EXP_SEND_FUNCTION_OR_SPEED_AND_DIR};
+        for (int op : slot) {
+            OPCODE_CLASSES[op] |= SLOTINFO;
+        }
+        int[] programming = {LnConstants.OPC_SL_RD_DATA, LnConstants.OPC_WR_SL_DATA,
+            LnConstants.OPC_LONG_ACK, LnConstants.OPC_PEER_XFER, LnConstants.OPC_IMM_PACKET,
+            LnConstants.OPC_EXP_RD_SL_DATA, LnConstants.OPC_EXP_WR_SL_DATA};
+        for (int op : programming) {
+            OPCODE_CLASSES[op] |= PROGRAMMING;
+        }
+        int[] turnouts = {LnConstants.OPC_SW_REQ, LnConstants.OPC_SW_REP, LnConstants.OPC_SW_STATE,
+            LnConstants.OPC_SW_ACK, LnConstants.OPC_LONG_ACK};
+        for (int op : turnouts) {
+            OPCODE_CLASSES[op] |= TURNOUTS;
+        }
+        int[] sensors = {LnConstants.OPC_INPUT_REP, LnConstants.OPC_MULTI_SENSE,
+            LnConstants.OPC_LISSY_UPDATE};
+        for (int op : sensors) {
+            OPCODE_CLASSES[op] |= SENSORS;
+        }
+        int[] power = {LnConstants.OPC_GPBUSY, LnConstants.OPC_GPOFF, LnConstants.OPC_GPON,
+            LnConstants.OPC_IDLE, LnConstants.OPC_SL_RD_DATA};
+        for (int op : power) {
+            OPCODE_CLASSES[op] |= POWER;
         }
     }
 
+    /**
+     * Build the per-opcode listener arrays. Opcodes that share a class share
+     * the same array, and registration order is kept within each array.
+     */
+    private static LocoNetListener[][] buildDispatchTable(Vector<LocoNetListener> order, Map<LocoNetListener, Integer> masks) {
+        LocoNetListener[][] table = new LocoNetListener[256][];
+        HashMap<Integer, LocoNetListener[]> byClass = new HashMap<>();
+        for (int op = 0; op < 256; op++) {
+            table[op] = byClass.computeIfAbsent(OPCODE_CLASSES[op], opClass -> {
+                ArrayList<LocoNetListener> list = new ArrayList<>();
+                for (LocoNetListener l : order) {
+                    int mask = masks.get(l);
+                    if (mask == ALL || (mask & opClass) != 0) {
+                        list.add(l);
+                    }
+                }
+                return list.toArray(new LocoNetListener[list.size()]);
+            });
+        }
+        return table;
+    }
+
     /**
      * Is there a backlog of information for the outbound link? This includes
      * both in the program (e.g. the outbound queue) and in the Command Station
@@ -133,12 +250,13 @@ public abstract class LnTrafficController implements LocoNetInterface {
 
     /**
      * Reset statistics (received message count, transmitted message count,
-     * received byte count).
+     * received byte count, receive latency).
      */
     public void resetStatistics() {
         receivedMsgCount = 0;
         transmittedMsgCount = 0;
         receivedByteCount = 0;
+        receiveLatency.reset();
     }
 
     /**
@@ -180,6 +298,19 @@ public abstract class LnTrafficController implements LocoNetInterface {
     }
     protected int transmittedMsgCount = 0;
 
+    /**
+     * Monitor the time from a LocoNet message being received until its
+     * listeners are called. Only recorded by implementations that hand
+     * received messages to the layout thread.
+     *
+     * @return the receive latency histogram
+     */
+    @Nonnull
+    public LatencyHistogram getReceiveLatency() {
+        return receiveLatency;
+    }
+    protected final LatencyHistogram receiveLatency = new LatencyHistogram();
+
     private final static Logger log = LoggerFactory.getLogger(LnTrafficController.class);
 
 }
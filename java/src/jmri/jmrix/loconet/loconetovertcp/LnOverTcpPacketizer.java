@@ -201,7 +201,7 @@ public class LnOverTcpPacketizer extends LnPacketizer {
                                 myTc.notify(msgForLater);
                             }
                         };
-                        javax.swing.SwingUtilities.invokeLater(r);
+                        jmri.util.ThreadingUtil.runOnLayoutEventually(thisTc, r::run);
                     }
                     // done with this one
                 } catch (LocoNetMessageException e) {
@@ -4,6 +4,7 @@ import jmri.SystemConnectionMemo;
 import jmri.jmrix.loconet.LnCommandStationType;
 import jmri.jmrix.loconet.LnTrafficRouter;
 import jmri.jmrix.loconet.LocoNetException;
+import jmri.jmrix.loconet.LocoNetInterface;
 import jmri.jmrix.loconet.LocoNetMessage;
 import jmri.jmrix.loconet.LocoNetSystemConnectionMemo;
 import org.slf4j.Logger;
@@ -85,7 +86,7 @@ public class LnMessageClient extends LnTrafficRouter {
                     "//" + serverName + "/" + LnMessageServer.serviceName); // NOI18N
 
             lnMessageBuffer = lnServer.getMessageBuffer(clientMemo.getLnTrafficController());
-            lnMessageBuffer.enable(0);
+            lnMessageBuffer.enable(LocoNetInterface.ALL);
             pollThread = new LnMessageClientPollThread(this);
         } catch (java.rmi.NotBoundException | java.rmi.RemoteException | java.net.MalformedURLException ex) {
             log.error("Exception while trying to connect: ", ex); // NOI18N
@@ -24,7 +24,7 @@ public class LocoStatsFunc implements LocoNetListener {
         need2ndUpdate = false;
         ifaceStatus = null;
         if (memo != null) {
-            this.memo.getLnTrafficController().addLocoNetListener(0, this);
+            this.memo.getLnTrafficController().addLocoNetListener(~0, this);
         }
     }
     private boolean updatePending;
@@ -222,7 +222,7 @@ public class UhlenbrockPacketizer extends LnPacketizer {
                                 myTc.notify(msgForLater);
                             }
                         };
-                        javax.swing.SwingUtilities.invokeLater(r);
+                        jmri.util.ThreadingUtil.runOnLayoutEventually(thisTc, r::run);
                     }
 
                     // done with this one
@@ -197,6 +197,7 @@ public class Z21TrafficController extends jmri.jmrix.AbstractMRTrafficController
             throw new IllegalArgumentException("attempt to connect wrong port type");
         }
         controller = p;
+        storeTransmitQueueStatistics(p);
         try {
             host = java.net.InetAddress.getByName(((Z21Adapter) controller).getHostName());
             port = ((Z21Adapter) controller).getPort();
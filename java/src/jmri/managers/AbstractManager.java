@@ -14,6 +14,7 @@ import javax.annotation.OverridingMethodsMustInvokeSuper;
 import jmri.*;
 import jmri.beans.VetoableChangeSupport;
 import jmri.NamedBean.DuplicateSystemNameException;
+import jmri.util.IndexedTreeSet;
 
 /**
  * Abstract partial implementation for all Manager-type classes.
@@ -35,23 +36,33 @@ public abstract class AbstractManager<E extends NamedBean> extends VetoableChang
 
     // The data model consists of several components:
     // * The primary reference is _beans, a SortedSet of NamedBeans, sorted automatically on system name.
-    //      Currently that's implemented as a TreeSet; further performance work might change that
+    //      This is an IndexedTreeSet, so the position of a bean for notifications is found in O(log n);
+    //      subclasses see it as a NavigableSet
     //      Live access is available as an unmodifiableSortedSet via getNamedBeanSet()
     // * The manager also maintains synchronized maps from SystemName -> NamedBean (_tsys) and UserName -> NamedBean (_tuser)
     //      These are not made available: get access through the manager calls
     //      These use regular HashMaps instead of some sorted form for efficiency
-    // * Caches for the List<String> getSystemNameList() and List<E> getNamedBeanList() calls
+    // * Caches for the List<String> getSystemNameList() and List<E> getNamedBeanList() calls.
+    //      Once built, these are kept in step with _beans a bean at a time; while the
+    //      "beans" property is silenced they are marked stale and rebuilt when next asked for.
+    //      Callers get an unmodifiable copy, made on demand and reused until the next change
+    // * While the "beans" property is silenced, e.g. during loading, per-bean notifications
+    //      are skipped and a single update is sent when it is unsilenced
 
     protected final SystemConnectionMemo memo;
-    protected final TreeSet<E> _beans;
+    protected final NavigableSet<E> _beans;
+    private final IndexedTreeSet<E> indexedBeans; // same set as _beans
     protected final Hashtable<String, E> _tsys = new Hashtable<>();   // stores known E (NamedBean, i.e. Turnout) instances by system name
     protected final Hashtable<String, E> _tuser = new Hashtable<>();  // stores known E (NamedBean, i.e. Turnout) instances by user name
     protected final Map<String, Boolean> silencedProperties = new HashMap<>();
     protected final Set<String> silenceableProperties = new HashSet<>();
 
     // caches
-    private ArrayList<String> cachedSystemNameList = null;
-    private ArrayList<E> cachedNamedBeanList = null;
+    private final ArrayList<String> cachedSystemNameList = new ArrayList<>();
+    private final ArrayList<E> cachedNamedBeanList = new ArrayList<>();
+    private boolean cachedListsCurrent = false;
+    private List<String> systemNameListCopy = null;
+    private List<E> namedBeanListCopy = null;
 
     // Auto names. The atomic integer is always created even if not used, to
     // simplify concurrency.
@@ -60,7 +71,8 @@ public abstract class AbstractManager<E extends NamedBean> extends VetoableChang
 
     public AbstractManager(SystemConnectionMemo memo) {
         this.memo = memo;
-        this._beans = new TreeSet<>(memo.getNamedBeanComparator(getNamedBeanClass()));
+        this.indexedBeans = new IndexedTreeSet<>(memo.getNamedBeanComparator(getNamedBeanClass()));
+        this._beans = indexedBeans;
         silenceableProperties.add("beans");
         registerSelf();
     }
@@ -112,6 +124,9 @@ public abstract class AbstractManager<E extends NamedBean> extends VetoableChang
         _beans.clear();
         _tsys.clear();
         _tuser.clear();
+        cachedListsCurrent = false;
+        systemNameListCopy = null;
+        namedBeanListCopy = null;
     }
 
     /**
@@ -233,19 +248,24 @@ public abstract class AbstractManager<E extends NamedBean> extends VetoableChang
             }
         }
 
-        // clear caches
-        cachedSystemNameList = null;
-        cachedNamedBeanList = null;
-        
         // save this bean
-        _beans.add(s);
+        boolean added = _beans.add(s);
         _tsys.put(systemName, s);
         registerUserName(s);
 
         // notifications
-        int position = getPosition(s);
-        fireDataListenersAdded(position, position, s);
-        if (!silencedProperties.getOrDefault("beans", false)) {
+        if (isBulkRegistration()) {
+            bulkChanged = true;
+            cachedListsCurrent = false;
+        } else {
+            int position = getPosition(s);
+            if (added && cachedListsCurrent) {
+                cachedNamedBeanList.add(position, s);
+                cachedSystemNameList.add(position, systemName);
+                systemNameListCopy = null;
+                namedBeanListCopy = null;
+            }
+            fireDataListenersAdded(position, position, s);
             fireIndexedPropertyChange("beans", position, null, s);
         }
         firePropertyChange("length", null, _beans.size());
@@ -253,15 +273,23 @@ public abstract class AbstractManager<E extends NamedBean> extends VetoableChang
         s.addPropertyChangeListener(this);
     }
 
-    // not efficient, but does job for now
     private int getPosition(E s) {
-        if (_beans.contains(s)) {
-            return _beans.headSet(s, false).size();
-        } else {
-            return -1;
-        }
+        return indexedBeans.indexOf(s);
+    }
+
+    /**
+     * Bulk registration is in effect while the "beans" property is silenced,
+     * see {@link #setPropertyChangesSilenced(String, boolean)}.
+     *
+     * @return true if per-bean notifications are being deferred
+     */
+    protected boolean isBulkRegistration() {
+        return silencedProperties.getOrDefault("beans", false);
     }
 
+    // true if beans were added or removed during bulk registration
+    private boolean bulkChanged = false;
+
     /**
      * Invoked by {@link #register(NamedBean)} to register the user name of the
      * bean.
@@ -300,11 +328,17 @@ public abstract class AbstractManager<E extends NamedBean> extends VetoableChang
     @Override
     @OverridingMethodsMustInvokeSuper
     public void deregister(@Nonnull E s) {
-        int position = getPosition(s);
-
-        // clear caches
-        cachedSystemNameList = null;
-        cachedNamedBeanList = null;
+        int position = isBulkRegistration() ? -1 : getPosition(s);
+
+        // update caches
+        if (isBulkRegistration()) {
+            cachedListsCurrent = false;
+        } else if (position >= 0 && cachedListsCurrent) {
+            cachedNamedBeanList.remove(position);
+            cachedSystemNameList.remove(position);
+            systemNameListCopy = null;
+            namedBeanListCopy = null;
+        }
 
         // stop listening for user name changes
         s.removePropertyChangeListener(this);
@@ -319,8 +353,10 @@ public abstract class AbstractManager<E extends NamedBean> extends VetoableChang
         }
         
         // notifications
-        fireDataListenersRemoved(position, position, s);
-        if (!silencedProperties.getOrDefault("beans", false)) {
+        if (isBulkRegistration()) {
+            bulkChanged = true;
+        } else {
+            fireDataListenersRemoved(position, position, s);
             fireIndexedPropertyChange("beans", position, s, null);
         }
         firePropertyChange("length", null, _beans.size());
@@ -385,11 +421,11 @@ public abstract class AbstractManager<E extends NamedBean> extends VetoableChang
     @Deprecated  // will be removed when superclass method is removed due to @Override
     public List<String> getSystemNameList() {
         jmri.util.LoggingUtil.deprecationWarning(log, "getSystemNameList");
-        if (cachedSystemNameList == null) {
-            cachedSystemNameList = new ArrayList<>();
-            _beans.forEach(b -> cachedSystemNameList.add(b.getSystemName()));
+        updateCachedLists();
+        if (systemNameListCopy == null) {
+            systemNameListCopy = Collections.unmodifiableList(new ArrayList<>(cachedSystemNameList));
         }
-        return Collections.unmodifiableList(cachedSystemNameList);
+        return systemNameListCopy;
     }
 
     /** {@inheritDoc} */
@@ -398,10 +434,29 @@ public abstract class AbstractManager<E extends NamedBean> extends VetoableChang
     @Deprecated  // will be removed when superclass method is removed due to @Override
     public List<E> getNamedBeanList() {
         jmri.util.LoggingUtil.deprecationWarning(log, "getNamedBeanList");
-        if (cachedNamedBeanList == null) {
-            cachedNamedBeanList = new ArrayList<>(_beans);
+        updateCachedLists();
+        if (namedBeanListCopy == null) {
+            namedBeanListCopy = Collections.unmodifiableList(new ArrayList<>(cachedNamedBeanList));
         }
-        return Collections.unmodifiableList(cachedNamedBeanList);
+        return namedBeanListCopy;
+    }
+
+    /**
+     * Rebuild the cached lists if they are stale. Once current, register and
+     * deregister keep them up to date.
+     */
+    private void updateCachedLists() {
+        // a subclass may have changed _beans directly
+        if (cachedListsCurrent && cachedNamedBeanList.size() == _beans.size()) {
+            return;
+        }
+        cachedNamedBeanList.clear();
+        cachedNamedBeanList.addAll(_beans);
+        cachedSystemNameList.clear();
+        _beans.forEach(b -> cachedSystemNameList.add(b.getSystemName()));
+        cachedListsCurrent = true;
+        systemNameListCopy = null;
+        namedBeanListCopy = null;
     }
 
     /** {@inheritDoc} */
@@ -523,15 +578,26 @@ public abstract class AbstractManager<E extends NamedBean> extends VetoableChang
 
     /**
      * {@inheritDoc}
+     * <p>
+     * Silencing the "beans" property also starts a bulk registration: data
+     * listeners are not told about each bean as it is registered or
+     * deregistered, but get a single
+     * {@link jmri.Manager.ManagerDataEvent#CONTENTS_CHANGED} event when the
+     * property is unsilenced.
      */
     @Override
     @OverridingMethodsMustInvokeSuper
+    @SuppressWarnings("deprecation")
     public void setPropertyChangesSilenced(@Nonnull String propertyName, boolean silenced) {
         if (!silenceableProperties.contains(propertyName)) {
             throw new IllegalArgumentException("Property " + propertyName + " cannot be silenced.");
         }
         silencedProperties.put(propertyName, silenced);
         if (propertyName.equals("beans") && !silenced) {
+            if (bulkChanged) {
+                bulkChanged = false;
+                fireDataListenersChanged();
+            }
             fireIndexedPropertyChange("beans", _beans.size(), null, null);
         }
     }
@@ -562,12 +628,20 @@ public abstract class AbstractManager<E extends NamedBean> extends VetoableChang
     public void setDataListenerMute(boolean m) {
         if (muted && !m) {
             // send a total update, as we haven't kept track of specifics
-            ManagerDataEvent<E> e = new ManagerDataEvent<>(this, ManagerDataEvent.CONTENTS_CHANGED, 0, getObjectCount()-1, null);
-            listeners.forEach(listener -> listener.contentsChanged(e));          
+            this.muted = m;
+            fireDataListenersChanged();
         }
         this.muted = m;
     }
 
+    @Deprecated
+    @SuppressWarnings("deprecation")
+    protected void fireDataListenersChanged() {
+        if (muted) return;
+        ManagerDataEvent<E> e = new ManagerDataEvent<>(this, ManagerDataEvent.CONTENTS_CHANGED, 0, getObjectCount()-1, null);
+        listeners.forEach(listener -> listener.contentsChanged(e));
+    }
+
     @Deprecated
     @SuppressWarnings("deprecation")
     protected void fireDataListenersAdded(int start, int end, E changedBean) {
@@ -125,6 +125,8 @@ abstract public class AbstractProxyManager<E extends NamedBean> extends Vetoable
                 .forEach(n -> Arrays.stream(getVetoableChangeListeners(n))
                 .forEach(l -> m.addVetoableChangeListener(n, l)));
         m.addPropertyChangeListener("beans", this);
+        // "length" is still sent while "beans" is silenced
+        m.addPropertyChangeListener("length", lengthListener);
         m.addDataListener(this);
         recomputeNamedBeanSet();
         log.debug("added manager {}", m.getClass());
@@ -463,7 +465,9 @@ abstract public class AbstractProxyManager<E extends NamedBean> extends Vetoable
     @OverridingMethodsMustInvokeSuper
     public void addPropertyChangeListener(String propertyName, PropertyChangeListener listener) {
         super.addPropertyChangeListener(propertyName, listener);
-        boundPropertyNames.add(propertyName);
+        if (!boundPropertyNames.contains(propertyName)) {
+            boundPropertyNames.add(propertyName);
+        }
         mgrs.forEach(m -> m.addPropertyChangeListener(propertyName, listener));
     }
 
@@ -496,7 +500,9 @@ abstract public class AbstractProxyManager<E extends NamedBean> extends Vetoable
     @OverridingMethodsMustInvokeSuper
     public void addVetoableChangeListener(String propertyName, VetoableChangeListener listener) {
         super.addVetoableChangeListener(propertyName, listener);
-        vetoablePropertyNames.add(propertyName);
+        if (!vetoablePropertyNames.contains(propertyName)) {
+            vetoablePropertyNames.add(propertyName);
+        }
         mgrs.forEach(m -> m.addVetoableChangeListener(propertyName, listener));
     }
 
@@ -601,26 +607,51 @@ abstract public class AbstractProxyManager<E extends NamedBean> extends Vetoable
     }
 
     private TreeSet<E> namedBeanSet = null;
+    // while "beans" is silenced, changes only mark the merged set out of date
+    private boolean namedBeanSetDirty = false;
+    private boolean contentsChangedWhileSilenced = false;
+    private final PropertyChangeListener lengthListener = e -> {
+        if (namedBeanSet != null && silencedProperties.getOrDefault("beans", false)) {
+            namedBeanSetDirty = true;
+        }
+    };
+
     protected void recomputeNamedBeanSet() {
         if (namedBeanSet != null) { // only maintain if requested
-            namedBeanSet.clear();
-            mgrs.forEach(m -> namedBeanSet.addAll(m.getNamedBeanSet()));
+            if (silencedProperties.getOrDefault("beans", false)) {
+                // rebuilt once when next read, or when unsilenced
+                namedBeanSetDirty = true;
+                return;
+            }
+            rebuildNamedBeanSet();
         }
     }
 
+    private void rebuildNamedBeanSet() {
+        namedBeanSetDirty = false;
+        namedBeanSet.clear();
+        mgrs.forEach(m -> namedBeanSet.addAll(m.getNamedBeanSet()));
+    }
+
     /** {@inheritDoc} */
     @Override
     @Nonnull
     public SortedSet<E> getNamedBeanSet() {
         if (namedBeanSet == null) {
             namedBeanSet = new TreeSet<>(new NamedBeanComparator<>());
-            recomputeNamedBeanSet();
+            rebuildNamedBeanSet();
+        } else if (namedBeanSetDirty) {
+            rebuildNamedBeanSet();
         }
         return Collections.unmodifiableSortedSet(namedBeanSet);
     }
 
     /**
      * {@inheritDoc}
+     * <p>
+     * Silencing "beans" also silences it in the underlying managers. The
+     * changes they report while being unsilenced are sent on as a single
+     * update.
      */
     @Override
     @OverridingMethodsMustInvokeSuper
@@ -630,8 +661,22 @@ abstract public class AbstractProxyManager<E extends NamedBean> extends Vetoable
         if (!"beans".equals(propertyName) && !silenceableProperties.contains(propertyName)) {
             throw new IllegalArgumentException("Property " + propertyName + " cannot be silenced.");
         }
-        silencedProperties.put(propertyName, silenced);
-        if (propertyName.equals("beans") && !silenced) {
+        if (!propertyName.equals("beans")) {
+            silencedProperties.put(propertyName, silenced);
+        } else if (silenced) {
+            silencedProperties.put(propertyName, true);
+            mgrs.forEach(m -> m.setPropertyChangesSilenced("beans", true));
+        } else {
+            // still silenced here, so the managers' updates are collected
+            mgrs.forEach(m -> m.setPropertyChangesSilenced("beans", false));
+            silencedProperties.put(propertyName, false);
+            if (namedBeanSet != null && namedBeanSetDirty) {
+                rebuildNamedBeanSet();
+            }
+            if (contentsChangedWhileSilenced) {
+                contentsChangedWhileSilenced = false;
+                fireDataListenersChanged();
+            }
             fireIndexedPropertyChange("beans", getNamedBeanSet().size(), null, null);
         }
     }
@@ -660,7 +705,25 @@ abstract public class AbstractProxyManager<E extends NamedBean> extends Vetoable
      */
     @Override
     @Deprecated
+    @SuppressWarnings("deprecation")
     public void contentsChanged(Manager.ManagerDataEvent<E> e) {
+        // e.g. after a bulk registration; we don't know what changed
+        recomputeNamedBeanSet();
+        if (silencedProperties.getOrDefault("beans", false)) {
+            contentsChangedWhileSilenced = true;
+            return;
+        }
+        fireDataListenersChanged();
+    }
+
+    @Deprecated
+    @SuppressWarnings("deprecation")
+    private void fireDataListenersChanged() {
+        if (muted) return;
+
+        ManagerDataEvent<E> eOut = new ManagerDataEvent<>(this, Manager.ManagerDataEvent.CONTENTS_CHANGED, 0, getObjectCount()-1, null);
+
+        listeners.forEach(m -> m.contentsChanged(eOut));
     }
 
     /**
@@ -672,7 +735,7 @@ abstract public class AbstractProxyManager<E extends NamedBean> extends Vetoable
     @Deprecated
     @SuppressWarnings("deprecation")
     public void intervalAdded(AbstractProxyManager.ManagerDataEvent<E> e) {
-        if (namedBeanSet != null && e.getIndex0() == e.getIndex1()) {
+        if (namedBeanSet != null && !namedBeanSetDirty && e.getIndex0() == e.getIndex1()) {
             // just one element added, and we have the object reference
             namedBeanSet.add(e.getChangedBean());
         } else {
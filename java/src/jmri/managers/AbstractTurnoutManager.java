@@ -2,12 +2,15 @@ package jmri.managers;
 
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
 import java.util.Objects;
 import javax.annotation.CheckForNull;
 import javax.annotation.Nonnull;
 import jmri.*;
 import jmri.implementation.SignalSpeedMap;
 import jmri.SystemConnectionMemo;
+import jmri.util.DebounceScheduler;
+import jmri.util.ThreadingUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -367,6 +370,43 @@ public abstract class AbstractTurnoutManager extends AbstractManager<Turnout>
         return waitUntil;
     }
 
+    // commands waiting for their turn on this connection
+    private final ArrayDeque<ThreadingUtil.ThreadAction> outputQueue = new ArrayDeque<>();
+    private final DebounceScheduler.Debouncer outputPacer = new DebounceScheduler.Debouncer(this, this::sendNextOutput);
+    private long nextOutput = System.nanoTime(); // when the next queued command may go out
+
+    /**
+     * {@inheritDoc}
+     * The first command goes out as soon as an output interval has passed
+     * since the last one from the queue, and each following command one
+     * output interval after the one before it.
+     */
+    @Override
+    public void queueOutput(@Nonnull Turnout turnout, @Nonnull ThreadingUtil.ThreadAction command) {
+        synchronized (outputQueue) {
+            outputQueue.add(command);
+            if (outputQueue.size() == 1) {
+                // nothing was waiting, so nothing is scheduled
+                outputPacer.schedule(Math.max(0L, (nextOutput - System.nanoTime()) / 1000000L));
+            }
+            log.debug("queued output for {}, {} waiting", turnout.getSystemName(), outputQueue.size());
+        }
+    }
+
+    private void sendNextOutput() {
+        ThreadingUtil.ThreadAction command;
+        synchronized (outputQueue) {
+            command = outputQueue.poll();
+            nextOutput = System.nanoTime() + turnoutInterval * 1000000L;
+            if (!outputQueue.isEmpty()) {
+                outputPacer.schedule(turnoutInterval);
+            }
+        }
+        if (command != null) {
+            command.run();
+        }
+    }
+
     private final static Logger log = LoggerFactory.getLogger(AbstractTurnoutManager.class);
 
 }
@@ -4,6 +4,9 @@ import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Nonnull;
 
 import jmri.*;
 import jmri.implementation.DefaultSignalMastLogic;
@@ -48,33 +51,103 @@ public class DefaultSignalMastLogicManager
         return _speedMap;
     }
 
+    // Indexes of the logics by their source and destination masts, built
+    // from _beans when first needed after any change in the logics. Both
+    // guarded by this.
+    private Map<SignalMast, SignalMastLogic> logicsBySource = null;
+    private Map<SignalMast, List<SignalMastLogic>> logicsByDestination = null;
+
     /**
-     * {@inheritDoc}
+     * Drop the source and destination indexes when a logic changes its
+     * masts.
      */
-    @Override
-    public SignalMastLogic getSignalMastLogic(SignalMast source) {
+    private final PropertyChangeListener logicListener = (PropertyChangeEvent e) -> {
+        switch (e.getPropertyName()) {
+            case "length":
+            case "updatedSource":
+            case "updatedDestination":
+                invalidateIndexes();
+                break;
+            default:
+                break;
+        }
+    };
+
+    private synchronized void invalidateIndexes() {
+        logicsBySource = null;
+        logicsByDestination = null;
+    }
+
+    @Nonnull
+    private synchronized Map<SignalMast, SignalMastLogic> getLogicsBySource() {
+        if (logicsBySource == null) {
+            buildIndexes();
+        }
+        return logicsBySource;
+    }
+
+    @Nonnull
+    private synchronized Map<SignalMast, List<SignalMastLogic>> getLogicsByDestination() {
+        if (logicsByDestination == null) {
+            buildIndexes();
+        }
+        return logicsByDestination;
+    }
+
+    // must hold this lock
+    private void buildIndexes() {
+        Map<SignalMast, SignalMastLogic> bySource = new HashMap<>();
+        Map<SignalMast, List<SignalMastLogic>> byDestination = new HashMap<>();
         for (SignalMastLogic signalMastLogic : _beans) {
-            if (signalMastLogic.getSourceMast() == source) {
-                return signalMastLogic;
+            bySource.putIfAbsent(signalMastLogic.getSourceMast(), signalMastLogic);
+            for (SignalMast destination : signalMastLogic.getDestinationList()) {
+                byDestination.computeIfAbsent(destination, k -> new ArrayList<>()).add(signalMastLogic);
             }
         }
-        return null;
+        logicsBySource = bySource;
+        logicsByDestination = byDestination;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public SignalMastLogic getSignalMastLogic(SignalMast source) {
+        return getLogicsBySource().get(source);
     }
 
     /** {@inheritDoc} */
     @Override
     public SignalMastLogic newSignalMastLogic(SignalMast source) {
-        for (SignalMastLogic signalMastLogic : _beans) {
-            if (signalMastLogic.getSourceMast() == source) {
-                return signalMastLogic;
-            }
+        SignalMastLogic signalMastLogic = getSignalMastLogic(source);
+        if (signalMastLogic != null) {
+            return signalMastLogic;
         }
         SignalMastLogic logic = new DefaultSignalMastLogic(source);
+        logic.addPropertyChangeListener(logicListener);
         _beans.add(logic);
+        invalidateIndexes();
         firePropertyChange("length", null, _beans.size());
         return logic;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public void register(@Nonnull SignalMastLogic s) {
+        super.register(s);
+        s.removePropertyChangeListener(logicListener);
+        s.addPropertyChangeListener(logicListener);
+        invalidateIndexes();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void deregister(@Nonnull SignalMastLogic s) {
+        super.deregister(s);
+        s.removePropertyChangeListener(logicListener);
+        invalidateIndexes();
+    }
+
     /** {@inheritDoc} */
     @Override
     public void replaceSignalMast(SignalMast oldMast, SignalMast newMast) {
@@ -121,13 +194,8 @@ public class DefaultSignalMastLogicManager
     /** {@inheritDoc} */
     @Override
     public List<SignalMastLogic> getLogicsByDestination(SignalMast destination) {
-        List<SignalMastLogic> list = new ArrayList<>();
-        for (SignalMastLogic source : _beans) {
-            if (source.isDestinationValid(destination)) {
-                list.add(source);
-            }
-        }
-        return list;
+        List<SignalMastLogic> list = getLogicsByDestination().get(destination);
+        return list != null ? new ArrayList<>(list) : new ArrayList<>();
     }
 
     /** {@inheritDoc} */
@@ -139,17 +207,15 @@ public class DefaultSignalMastLogicManager
     /** {@inheritDoc} */
     @Override
     public boolean isSignalMastUsed(SignalMast mast) {
-        if (getSignalMastLogic(mast) != null) {
+        SignalMastLogic sml = getSignalMastLogic(mast);
+        if (sml != null) {
             /* Although we might have it registered as a source, it may not have
              any valid destination, so therefore it can be returned as not in use. */
-            if (!getSignalMastLogic(mast).getDestinationList().isEmpty()) {
+            if (!sml.getDestinationList().isEmpty()) {
                 return true;
             }
         }
-        if (!getLogicsByDestination(mast).isEmpty()) {
-            return true;
-        }
-        return false;
+        return getLogicsByDestination().containsKey(mast);
     }
 
     /** {@inheritDoc} */
@@ -168,8 +234,10 @@ public class DefaultSignalMastLogicManager
         }
         //Need to provide a method to delete and dispose.
         sml.dispose();
+        sml.removePropertyChangeListener(logicListener);
 
         _beans.remove(sml);
+        invalidateIndexes();
         firePropertyChange("length", null, _beans.size());
     }
 
@@ -179,10 +247,8 @@ public class DefaultSignalMastLogicManager
         if (mast == null) {
             return;
         }
-        for (SignalMastLogic source : _beans) {
-            if (source.isDestinationValid(mast)) {
-                source.removeDestination(mast);
-            }
+        for (SignalMastLogic source : getLogicsByDestination(mast)) {
+            source.removeDestination(mast);
         }
         removeSignalMastLogic(getSignalMastLogic(mast));
     }
@@ -251,20 +317,15 @@ public class DefaultSignalMastLogicManager
                     for (SignalMastLogic signalMastLogic : _beans) {
                         signalMastLogic.setupLayoutEditorDetails();
                     }
-                    if (runWhenStablised) {
-                        try {
-                            automaticallyDiscoverSignallingPairs();
-                        } catch (JmriException je) {
-                            //Considered normal if routing not enabled
-                        }
+                    List<NamedBean> masts = takeIntermediateSignalsToMark();
+                    if (masts != null) {
+                        markIntermediateSignals(masts);
                     }
                 }
             }
         }
     };
 
-    boolean runWhenStablised = false;
-
     /**
      * Discover valid destination Signal Masts for a given source Signal Mast on a
      * given Layout Editor Panel.
@@ -323,22 +384,73 @@ public class DefaultSignalMastLogicManager
         firePropertyChange("autoSignalMastGenerateComplete", null, source.getDisplayName());
     }
 
+    private volatile boolean discoveryCancelled = false;
+    private List<NamedBean> intermediateSignalsToMark = null; // guarded by this
+
+    /**
+     * Take the masts left by {@link #automaticallyDiscoverSignallingPairs()}
+     * for marking once routing has stabilised, so that only one caller marks
+     * them.
+     *
+     * @return the masts, or null if there are none waiting
+     */
+    private synchronized List<NamedBean> takeIntermediateSignalsToMark() {
+        List<NamedBean> masts = intermediateSignalsToMark;
+        intermediateSignalsToMark = null;
+        return masts;
+    }
+
+    /**
+     * Mark the source masts with a single destination and no turnouts between
+     * them as intermediate signals.
+     */
+    private void markIntermediateSignals(Collection<NamedBean> masts) {
+        for (NamedBean mast : masts) {
+            SignalMastLogic sml = getSignalMastLogic((SignalMast) mast);
+            if (sml != null && sml.getDestinationList().size() == 1 && sml.getAutoTurnouts(sml.getDestinationList().get(0)).isEmpty()) {
+                mast.setProperty("intermediateSignal", true);
+            }
+        }
+    }
+
     /**
      * Discover all possible valid source + destination signal mast pairs on all
      * Layout Editor Panels.
+     * <p>
+     * The pairs are found without waiting for the layout block routing to
+     * stabilise. Progress is reported with "autoGenerateUpdate" property
+     * changes, and the discovery can be stopped with
+     * {@link #cancelSignallingPairDiscovery()}, in which case no logics are
+     * created.
      */
     @Override
     public void automaticallyDiscoverSignallingPairs() throws JmriException {
-        runWhenStablised = false;
+        discoveryCancelled = false;
         LayoutBlockManager lbm = InstanceManager.getDefault(LayoutBlockManager.class);
         if (!lbm.isAdvancedRoutingEnabled()) {
             throw new JmriException("advanced routing not enabled");
         }
-        if (!lbm.routingStablised()) {
-            runWhenStablised = true;
-            return;
+        AtomicInteger reported = new AtomicInteger();
+        HashMap<NamedBean, List<NamedBean>> validPaths = lbm.getLayoutBlockConnectivityTools().discoverValidBeanPairs(null, SignalMast.class, LayoutBlockConnectivityTools.Routing.MASTTOMAST,
+                new LayoutBlockConnectivityTools.DiscoveryMonitor() {
+                    @Override
+                    public void progress(int done, int total) {
+                        // report about every 5 percent
+                        int step = Math.max(1, total / 20);
+                        int last = reported.get();
+                        if ((done == total || done - last >= step) && reported.compareAndSet(last, done)) {
+                            firePropertyChange("autoGenerateUpdate", null, ("Checked " + done + " of " + total + " masts as sources for logic"));
+                        }
+                    }
+
+                    @Override
+                    public boolean isCancelled() {
+                        return discoveryCancelled;
+                    }
+                });
+        if (discoveryCancelled) {
+            throw new JmriException("signal mast pair discovery cancelled");
         }
-        HashMap<NamedBean, List<NamedBean>> validPaths = lbm.getLayoutBlockConnectivityTools().discoverValidBeanPairs(null, SignalMast.class, LayoutBlockConnectivityTools.Routing.MASTTOMAST);
         firePropertyChange("autoGenerateUpdate", null, ("Found " + validPaths.size() + " masts as sources for logic"));
         InstanceManager.getDefault(SignalMastManager.class).getNamedBeanSet().forEach((nb) -> {
             nb.removeProperty("intermediateSignal");
@@ -363,14 +475,32 @@ public class DefaultSignalMastLogicManager
                     }
                 }
             }
-            if (sml.getDestinationList().size() == 1 && sml.getAutoTurnouts(sml.getDestinationList().get(0)).isEmpty()) {
-                key.setProperty("intermediateSignal", true);
+        }
+        // the turnouts between the masts are only known once the routing
+        // has stabilised; leave the masts for the topology listener, then
+        // check again in case routing stabilised before they were left
+        synchronized (this) {
+            intermediateSignalsToMark = new ArrayList<>(validPaths.keySet());
+        }
+        if (lbm.routingStablised()) {
+            List<NamedBean> masts = takeIntermediateSignalsToMark();
+            if (masts != null) {
+                markIntermediateSignals(masts);
             }
         }
         initialise();
         firePropertyChange("autoGenerateComplete", null, null);
     }
 
+    /**
+     * Stop a running {@link #automaticallyDiscoverSignallingPairs()}, which
+     * then throws a JmriException without creating any logics. May be called
+     * from any thread.
+     */
+    public void cancelSignallingPairDiscovery() {
+        discoveryCancelled = true;
+    }
+
     /**
      * Populate Sections of type SIGNALMASTLOGIC used with Layout Editor with
      * Signal Mast attributes as stored in Signal Mast Logic.
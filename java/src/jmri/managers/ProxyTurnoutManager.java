@@ -7,6 +7,7 @@ import java.util.List;
 import javax.annotation.Nonnull;
 
 import jmri.*;
+import jmri.util.ThreadingUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -266,6 +267,15 @@ public class ProxyTurnoutManager extends AbstractProvidingProxyManager<Turnout>
         return ((TurnoutManager) getDefaultManager()).outputIntervalEnds();
     }
 
+    /**
+     * {@inheritDoc}
+     * Queued on the connection of the turnout.
+     */
+    @Override
+    public void queueOutput(@Nonnull Turnout turnout, @Nonnull ThreadingUtil.ThreadAction command) {
+        ((TurnoutManager) getManagerOrDefault(turnout.getSystemName())).queueOutput(turnout, command);
+    }
+
     @Override
     public int getXMLOrder() {
         return jmri.Manager.TURNOUTS;
@@ -1,14 +1,21 @@
 package jmri.server.json;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 import javax.annotation.Nonnull;
 import jmri.InstanceManager;
 import jmri.jmris.JmriConnection;
 import jmri.server.json.schema.JsonSchemaServiceCache;
+import org.eclipse.jetty.websocket.api.RemoteEndpoint;
 import org.eclipse.jetty.websocket.api.Session;
+import org.eclipse.jetty.websocket.api.WriteCallback;
 
 /**
  * Abstraction of DataOutputStream and WebSocket.Connection classes for JSON
@@ -22,6 +29,10 @@ public class JsonConnection extends JmriConnection {
     private String version = JSON.V5;
     protected final JsonServerPreferences preferences = InstanceManager.getDefault(JsonServerPreferences.class);
     protected final JsonSchemaServiceCache schemas = InstanceManager.getDefault(JsonSchemaServiceCache.class);
+    // updates not yet written, by key; guarded by itself
+    private final LinkedHashMap<Object, Update> updates = new LinkedHashMap<>();
+    private boolean writing = false;
+    private long coalesced = 0;
 
     public JsonConnection(Session connection) {
         super(connection);
@@ -91,6 +102,163 @@ public class JsonConnection extends JmriConnection {
         sendMessage(message, new JsonRequest(getLocale(), getVersion(), JSON.GET, id));
     }
 
+    /**
+     * Send a message that has already been serialized, usually because it is
+     * being sent to many clients.
+     * <p>
+     * If {@link JsonServerPreferences#getValidateServerMessages()} is
+     * {@code true}, a message is sent to the client that validation failed
+     * instead of the intended message.
+     *
+     * @param message    the object or array to send as a message
+     * @param serialized message as a String
+     * @param request    the JSON request
+     * @throws IOException if unable to send the message
+     */
+    public void sendMessage(@Nonnull JsonNode message, @Nonnull String serialized, @Nonnull JsonRequest request)
+            throws IOException {
+        super.sendMessage(validate(message, serialized, request));
+    }
+
+    /**
+     * Queue an update to the state of an object for the client.
+     * <p>
+     * Updates are written in the order queued. If an update with the same key
+     * has not been written yet, because the client is slow to accept messages,
+     * it is replaced by this one, so a slow client gets the latest state of
+     * each object rather than every change. WebSocket clients are written to
+     * without waiting for the client, so the caller is not held up by a slow
+     * client.
+     *
+     * @param key        the object the update is for
+     * @param message    the object or array to send as a message
+     * @param serialized message as a String
+     * @param request    the JSON request
+     * @param failed     called if the update cannot be sent
+     */
+    public void sendUpdate(@Nonnull Object key, @Nonnull JsonNode message, @Nonnull String serialized,
+            @Nonnull JsonRequest request, @Nonnull Consumer<IOException> failed) {
+        synchronized (updates) {
+            if (updates.remove(key) != null) {
+                coalesced++;
+            }
+            updates.put(key, new Update(message, serialized, request, failed));
+            if (writing) {
+                return;
+            }
+            writing = true;
+        }
+        writeUpdates();
+    }
+
+    /**
+     * Get the number of updates replaced by a later update for the same
+     * object before they were written.
+     *
+     * @return the number of updates
+     */
+    public long getCoalescedCount() {
+        synchronized (updates) {
+            return coalesced;
+        }
+    }
+
+    private void writeUpdates() {
+        while (true) {
+            Update update;
+            synchronized (updates) {
+                Iterator<Update> iterator = updates.values().iterator();
+                if (!iterator.hasNext()) {
+                    writing = false;
+                    return;
+                }
+                update = iterator.next();
+                iterator.remove();
+            }
+            if (!write(update)) {
+                return; // the write callback carries on writing
+            }
+        }
+    }
+
+    /**
+     * Write an update.
+     *
+     * @param update the update
+     * @return true if written or failed; false if still being written, in
+     *         which case {@link #writeUpdates()} is called when done
+     */
+    private boolean write(Update update) {
+        Session session = getSession();
+        if (session == null) {
+            try {
+                sendMessage(update.message, update.serialized, update.request);
+            } catch (IOException ex) {
+                update.failed.accept(ex);
+            }
+            return true;
+        }
+        if (!session.isOpen()) {
+            update.failed.accept(new IOException("Will not send message on non-open session"));
+            return true;
+        }
+        String text;
+        try {
+            text = validate(update.message, update.serialized, update.request);
+        } catch (IOException ex) {
+            update.failed.accept(ex);
+            return true;
+        }
+        // whichever of this method and the callback finishes second carries on
+        AtomicBoolean handOff = new AtomicBoolean(false);
+        RemoteEndpoint remote = session.getRemote();
+        synchronized (remote) {
+            remote.sendString(text, new WriteCallback() {
+                @Override
+                public void writeFailed(Throwable ex) {
+                    update.failed.accept(ex instanceof IOException ? (IOException) ex : new IOException(ex));
+                    writeSuccess();
+                }
+
+                @Override
+                public void writeSuccess() {
+                    if (handOff.getAndSet(true)) {
+                        writeUpdates();
+                    }
+                }
+            });
+        }
+        return handOff.getAndSet(true);
+    }
+
+    @Nonnull
+    private String validate(@Nonnull JsonNode message, @Nonnull String serialized, @Nonnull JsonRequest request)
+            throws JsonProcessingException {
+        if (preferences.getValidateServerMessages()) {
+            try {
+                schemas.validateMessage(message, true, request);
+            } catch (JsonException ex) {
+                return getObjectMapper().writeValueAsString(ex.getJsonMessage());
+            }
+        }
+        return serialized;
+    }
+
+    private static final class Update {
+
+        final JsonNode message;
+        final String serialized;
+        final JsonRequest request;
+        final Consumer<IOException> failed;
+
+        Update(JsonNode message, String serialized, JsonRequest request, Consumer<IOException> failed) {
+            this.message = message;
+            this.serialized = serialized;
+            this.request = request;
+            this.failed = failed;
+        }
+    }
+
     public String getVersion() {
         return version;
     }
@@ -34,6 +34,7 @@ public class JsonNamedBeanSocketService<T extends NamedBean, H extends JsonNamed
 
     protected final HashMap<T, NamedBeanListener> beanListeners = new HashMap<>();
     protected final ManagerListener managerListener = new ManagerListener();
+    protected final JsonSubscriptionHub hub = InstanceManager.getDefault(JsonSubscriptionHub.class);
     private static final Logger log = LoggerFactory.getLogger(JsonNamedBeanSocketService.class);
 
     public JsonNamedBeanSocketService(JsonConnection connection, H service) {
@@ -86,7 +87,7 @@ public class JsonNamedBeanSocketService<T extends NamedBean, H extends JsonNamed
 
     @Override
     public void onClose() {
-        beanListeners.values().stream().forEach(listener -> listener.bean.removePropertyChangeListener(listener));
+        beanListeners.values().stream().forEach(listener -> hub.unsubscribe(listener.bean, service.getType(), listener));
         beanListeners.clear();
         service.getManager().removePropertyChangeListener(managerListener);
     }
@@ -98,7 +99,7 @@ public class JsonNamedBeanSocketService<T extends NamedBean, H extends JsonNamed
     protected void addListenerToBean(T bean) {
         if (bean != null) {
             NamedBeanListener listener = new NamedBeanListener(bean);
-            bean.addPropertyChangeListener(listener);
+            hub.subscribe(bean, service.getType(), listener);
             this.beanListeners.put(bean, listener);
         }
     }
@@ -106,12 +107,17 @@ public class JsonNamedBeanSocketService<T extends NamedBean, H extends JsonNamed
     protected void removeListenersFromRemovedBeans() {
         for (T bean : new HashSet<>(beanListeners.keySet())) {
             if (service.getManager().getBySystemName(bean.getSystemName()) == null) {
-                beanListeners.remove(bean);
+                hub.unsubscribe(bean, service.getType(), beanListeners.remove(bean));
             }
         }
     }
 
-    protected class NamedBeanListener implements PropertyChangeListener {
+    /**
+     * Sends changes to a bean to this service's client. Changes are
+     * listened for by the {@link JsonSubscriptionHub}, so a bean watched by
+     * many clients is listened to once.
+     */
+    protected class NamedBeanListener implements JsonSubscriptionHub.Subscriber {
 
         public final T bean;
 
@@ -120,16 +126,19 @@ public class JsonNamedBeanSocketService<T extends NamedBean, H extends JsonNamed
         }
 
         @Override
-        public void propertyChange(PropertyChangeEvent evt) {
-            try {
-                connection.sendMessage(service.doGet(this.bean, this.bean.getSystemName(), service.getType(), new JsonRequest(getLocale(), getVersion(), JSON.GET, 0)), 0);
-            } catch (
-                    IOException |
-                    JsonException ex) {
-                // if we get an error, unregister as listener
-                this.bean.removePropertyChangeListener(this);
-                beanListeners.remove(this.bean);
-            }
+        public JsonConnection getConnection() {
+            return connection;
+        }
+
+        @Override
+        public JsonNode render(JsonRequest request) throws JsonException {
+            return service.doGet(this.bean, this.bean.getSystemName(), service.getType(), request);
+        }
+
+        @Override
+        public void unsubscribed() {
+            // if we get an error, stop listening
+            beanListeners.remove(this.bean);
         }
     }
 
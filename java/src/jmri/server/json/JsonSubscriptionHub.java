@@ -0,0 +1,253 @@
+package jmri.server.json;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import jmri.InstanceManagerAutoDefault;
+import jmri.NamedBean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sends changes to {@link jmri.NamedBean}s to all the JSON clients watching
+ * them.
+ * <p>
+ * Each bean watched by any number of clients has one listener. When the bean
+ * changes, the new state is rendered and serialized once for each JSON
+ * protocol version and locale in use, and the same message is queued on each
+ * client's {@link JsonConnection}, which coalesces updates a slow client has
+ * not yet accepted.
+ */
+public class JsonSubscriptionHub implements InstanceManagerAutoDefault {
+
+    /**
+     * A client watching a bean.
+     */
+    public interface Subscriber {
+
+        /**
+         * @return the connection to the client
+         */
+        @Nonnull
+        JsonConnection getConnection();
+
+        /**
+         * Render the current state of the bean. This is only called for one
+         * subscriber of each version and locale, with the result sent to all
+         * of them.
+         *
+         * @param request the request to render the message for
+         * @return the message
+         * @throws JsonException if the bean cannot be rendered
+         */
+        @Nonnull
+        JsonNode render(@Nonnull JsonRequest request) throws JsonException;
+
+        /**
+         * Called when the hub stops sending changes to this subscriber
+         * because it could not render or send a message.
+         */
+        void unsubscribed();
+    }
+
+    private final Map<Topic, Topic> topics = new HashMap<>();
+    private final ObjectMapper mapper = new ObjectMapper();
+    private static final Logger log = LoggerFactory.getLogger(JsonSubscriptionHub.class);
+
+    /**
+     * Send changes to a bean to a subscriber.
+     *
+     * @param bean       the bean
+     * @param type       the JSON type the bean is sent as
+     * @param subscriber the subscriber
+     * @param related    other beans whose changes also change the message for
+     *                   bean; may contain nulls
+     */
+    public void subscribe(@Nonnull NamedBean bean, @Nonnull String type, @Nonnull Subscriber subscriber,
+            NamedBean... related) {
+        Topic topic;
+        synchronized (topics) {
+            topic = topics.get(new Topic(bean, type));
+            if (topic == null) {
+                topic = new Topic(bean, type);
+                topics.put(topic, topic);
+                topic.watch(bean);
+            }
+            for (NamedBean other : related) {
+                if (other != null) {
+                    topic.watch(other);
+                }
+            }
+            topic.subscribers.addIfAbsent(subscriber);
+        }
+    }
+
+    /**
+     * Stop sending changes to a bean to a subscriber.
+     *
+     * @param bean       the bean
+     * @param type       the JSON type the bean is sent as
+     * @param subscriber the subscriber
+     */
+    public void unsubscribe(@Nonnull NamedBean bean, @Nonnull String type, @Nonnull Subscriber subscriber) {
+        synchronized (topics) {
+            Topic topic = topics.get(new Topic(bean, type));
+            if (topic != null) {
+                topic.subscribers.remove(subscriber);
+                if (topic.subscribers.isEmpty()) {
+                    topic.unwatch();
+                    topics.remove(topic);
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the number of subscribers to a bean.
+     *
+     * @param bean the bean
+     * @param type the JSON type the bean is sent as
+     * @return the number of subscribers
+     */
+    public int getSubscriberCount(@Nonnull NamedBean bean, @Nonnull String type) {
+        synchronized (topics) {
+            Topic topic = topics.get(new Topic(bean, type));
+            return topic != null ? topic.subscribers.size() : 0;
+        }
+    }
+
+    private void unsubscribe(@Nonnull Topic topic, @Nonnull Subscriber subscriber) {
+        unsubscribe(topic.bean, topic.type, subscriber);
+        subscriber.unsubscribed();
+    }
+
+    private void publish(@Nonnull Topic topic) {
+        Map<Format, Message> messages = new HashMap<>();
+        for (Subscriber subscriber : topic.subscribers) {
+            JsonConnection connection = subscriber.getConnection();
+            Format format = new Format(connection.getVersion(), connection.getLocale());
+            Message message = messages.get(format);
+            if (message == null) {
+                message = render(topic, subscriber, format);
+                messages.put(format, message);
+            }
+            if (message.error == null) {
+                connection.sendUpdate(topic, message.node, message.serialized, message.request,
+                        ex -> unsubscribe(topic, subscriber));
+            } else {
+                unsubscribe(topic, subscriber);
+            }
+        }
+    }
+
+    @Nonnull
+    private Message render(@Nonnull Topic topic, @Nonnull Subscriber subscriber, @Nonnull Format format) {
+        JsonRequest request = new JsonRequest(format.locale, format.version, JSON.GET, 0);
+        try {
+            JsonNode node = subscriber.render(request);
+            return new Message(node, mapper.writeValueAsString(node), request, null);
+        } catch (JsonException | JsonProcessingException ex) {
+            log.debug("Unable to send {} {}", topic.type, topic.bean.getSystemName(), ex);
+            return new Message(null, null, request, ex);
+        }
+    }
+
+    /**
+     * A bean as sent to clients of one type, and the subscribers to it. This
+     * is also the key its updates are coalesced by in each connection.
+     */
+    private final class Topic implements PropertyChangeListener {
+
+        final NamedBean bean;
+        final String type;
+        final CopyOnWriteArrayList<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+        final Set<NamedBean> watched = new HashSet<>();
+
+        Topic(@Nonnull NamedBean bean, @Nonnull String type) {
+            this.bean = bean;
+            this.type = type;
+        }
+
+        void watch(@Nonnull NamedBean other) {
+            if (watched.add(other)) {
+                other.addPropertyChangeListener(this);
+            }
+        }
+
+        void unwatch() {
+            watched.forEach(other -> other.removePropertyChangeListener(this));
+            watched.clear();
+        }
+
+        @Override
+        public void propertyChange(PropertyChangeEvent evt) {
+            publish(this);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Topic)) {
+                return false;
+            }
+            Topic other = (Topic) obj;
+            return bean == other.bean && type.equals(other.type);
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(bean) * 31 + type.hashCode();
+        }
+    }
+
+    private static final class Format {
+
+        final String version;
+        final Locale locale;
+
+        Format(@Nonnull String version, @Nonnull Locale locale) {
+            this.version = version;
+            this.locale = locale;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Format)) {
+                return false;
+            }
+            Format other = (Format) obj;
+            return version.equals(other.version) && locale.equals(other.locale);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(version, locale);
+        }
+    }
+
+    private static final class Message {
+
+        final JsonNode node;
+        final String serialized;
+        final JsonRequest request;
+        final Exception error;
+
+        Message(@CheckForNull JsonNode node, @CheckForNull String serialized, @Nonnull JsonRequest request,
+                @CheckForNull Exception error) {
+            this.node = node;
+            this.serialized = serialized;
+            this.request = request;
+            this.error = error;
+        }
+    }
+}
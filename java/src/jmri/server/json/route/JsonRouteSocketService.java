@@ -20,23 +20,9 @@ public class JsonRouteSocketService extends JsonNamedBeanSocketService<Route, Js
     protected void addListenerToBean(Route bean) {
         if (bean != null) {
             NamedBeanListener listener = new NamedBeanListener(bean);
-            bean.addPropertyChangeListener(listener);
             Sensor sensor = bean.getTurnoutsAlgdSensor();
-            if (sensor != null) {
-                sensor.addPropertyChangeListener(listener);
-            }
+            hub.subscribe(bean, service.getType(), listener, sensor);
             this.beanListeners.put(bean, listener);
         }
     }
-
-    @Override
-    public void onClose() {
-        beanListeners.values().stream().forEach((listener) -> {
-            Sensor sensor = listener.bean.getTurnoutsAlgdSensor();
-            if (sensor != null) {
-                sensor.removePropertyChangeListener(listener);
-            }
-        });
-        super.onClose();
-    }
 }
@@ -0,0 +1,225 @@
+package jmri.util;
+
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nonnull;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs debounced work on the layout thread once an input has been stable for
+ * a given time, using one scheduling thread shared by everything that
+ * debounces.
+ * <p>
+ * Each input owns a {@link Debouncer}. Scheduling it again before it is due,
+ * which happens every time a bouncing input changes, moves the existing entry
+ * rather than adding another, so a flapping input keeps a single entry in the
+ * queue and doesn't create threads or timer tasks. Moving an entry still
+ * costs the small node the underlying {@link TreeSet} allocates when it is
+ * re-added.
+ * <p>
+ * Typical use:
+ * <p> {@code
+ * Debouncer debouncer = new DebounceScheduler.Debouncer(this, () -> {
+ *     // the input has settled
+ * });
+ * ...
+ * debouncer.schedule(debounceTime);
+ * }
+ *
+ * @see ThreadingUtil#runOnLayoutEventually(Object, ThreadingUtil.ThreadAction)
+ */
+public final class DebounceScheduler {
+
+    // only static methods
+    private DebounceScheduler() {
+    }
+
+    /**
+     * A piece of debounced work, usually one per input.
+     */
+    public static final class Debouncer {
+
+        private final Object bean;
+        private final ThreadingUtil.ThreadAction action;
+        private final ThreadingUtil.ThreadAction deliver = this::deliver;
+        private final long sequence = nextSequence.getAndIncrement(); // orders equal deadlines
+
+        // guarded by the queue
+        private long deadline;          // System.nanoTime() when due
+        private boolean queued = false;
+        private long generation = 0;    // changes when scheduled or cancelled
+        private long delivering = -1;   // generation handed to the layout thread
+
+        /**
+         * @param bean   the object the work is for, which keeps its work in
+         *               order on the layout thread; may be null
+         * @param action the work to run on the layout thread when due
+         */
+        public Debouncer(Object bean, @Nonnull ThreadingUtil.ThreadAction action) {
+            this.bean = bean;
+            this.action = action;
+        }
+
+        /**
+         * Run the work on the layout thread after a delay, replacing any
+         * pending run.
+         *
+         * @param delay the delay in milliseconds
+         */
+        public void schedule(long delay) {
+            synchronized (queue) {
+                if (cancelPending()) {
+                    cancelled++;
+                }
+                deadline = System.nanoTime() + (delay * 1000000L);
+                generation++;
+                queued = true;
+                queue.add(this);
+                if (queue.first() == this) {
+                    queue.notifyAll();
+                }
+            }
+            startThread();
+        }
+
+        /**
+         * Stop the pending run, if any, of the work.
+         *
+         * @return true if a run was pending and has been stopped
+         */
+        public boolean cancel() {
+            synchronized (queue) {
+                if (cancelPending()) {
+                    cancelled++;
+                    generation++;
+                    return true;
+                }
+                return false;
+            }
+        }
+
+        /**
+         * @return true if the work is waiting to run
+         */
+        public boolean isPending() {
+            synchronized (queue) {
+                return queued || (delivering == generation);
+            }
+        }
+
+        // must hold the queue lock
+        private boolean cancelPending() {
+            if (queued) {
+                queue.remove(this);
+                queued = false;
+                return true;
+            }
+            if (delivering == generation) {
+                // handed to the layout thread, but hasn't run yet
+                delivering = -1;
+                return true;
+            }
+            return false;
+        }
+
+        private void deliver() {
+            synchronized (queue) {
+                if (delivering != generation) {
+                    return; // cancelled or scheduled again since it was due
+                }
+                delivering = -1;
+                delivered++;
+            }
+            action.run();
+        }
+    }
+
+    // Ordered by deadline, then by sequence so that no two debouncers are
+    // equal. A debouncer's deadline only changes while it is out of the set,
+    // so moving it is an O(log n) remove and add.
+    private static final TreeSet<Debouncer> queue = new TreeSet<>((a, b) -> {
+        int c = Long.signum(a.deadline - b.deadline);
+        return (c != 0) ? c : Long.compare(a.sequence, b.sequence);
+    });
+    private static final AtomicLong nextSequence = new AtomicLong();
+    private static Thread thread = null;
+    private static long cancelled = 0;
+    private static long delivered = 0;
+
+    private static void startThread() {
+        synchronized (queue) {
+            if (thread == null) {
+                thread = ThreadingUtil.newThread(DebounceScheduler::runScheduler, "JMRI Debounce Scheduler"); // NOI18N
+                thread.setDaemon(true);
+                thread.start();
+            }
+        }
+    }
+
+    private static void runScheduler() {
+        while (true) {
+            Debouncer due;
+            synchronized (queue) {
+                due = queue.isEmpty() ? null : queue.first();
+                try {
+                    if (due == null) {
+                        queue.wait();
+                        continue;
+                    }
+                    long wait = due.deadline - System.nanoTime();
+                    if (wait > 0) {
+                        queue.wait(wait / 1000000L, (int) (wait % 1000000L));
+                        continue;
+                    }
+                } catch (InterruptedException e) {
+                    log.debug("Debounce scheduler interrupted");
+                    Thread.currentThread().interrupt();
+                    thread = null;
+                    return;
+                }
+                queue.pollFirst();
+                due.queued = false;
+                due.delivering = due.generation;
+            }
+            ThreadingUtil.runOnLayoutEventually(due.bean, due.deliver);
+        }
+    }
+
+    /**
+     * Get the number of debounced runs waiting for their time.
+     *
+     * @return the number of runs
+     */
+    public static int getPendingCount() {
+        synchronized (queue) {
+            return queue.size();
+        }
+    }
+
+    /**
+     * Get the number of debounced runs cancelled, or replaced by scheduling
+     * them again, before they ran.
+     *
+     * @return the number of runs since the program started
+     */
+    public static long getCancelledCount() {
+        synchronized (queue) {
+            return cancelled;
+        }
+    }
+
+    /**
+     * Get the number of debounced runs that have run.
+     *
+     * @return the number of runs since the program started
+     */
+    public static long getDeliveredCount() {
+        synchronized (queue) {
+            return delivered;
+        }
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(DebounceScheduler.class);
+}
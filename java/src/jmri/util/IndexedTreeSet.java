@@ -0,0 +1,881 @@
+package jmri.util;
+
+import java.util.AbstractSet;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.SortedSet;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+
+/**
+ * A sorted set that can also find the position of an element, or the element
+ * at a position, in O(log n) time.
+ * <p>
+ * This is a balanced (AVL) binary tree in which each node also records the
+ * size of its subtree. A {@link java.util.TreeSet} has to walk its elements to
+ * answer {@code headSet(e).size()}, which makes maintaining indexed views of a
+ * large set quadratic.
+ * <p>
+ * Like TreeSet, this is a {@link NavigableSet} that is not synchronized, does
+ * not accept null elements, and has fail-fast iterators. The views returned
+ * by {@link #subSet}, {@link #headSet}, {@link #tailSet} and
+ * {@link #descendingSet} are backed by this set.
+ *
+ * @param <E> the type of elements held
+ */
+public class IndexedTreeSet<E> extends AbstractSet<E> implements NavigableSet<E> {
+
+    private static final class Node<E> {
+
+        final E value;
+        Node<E> left;
+        Node<E> right;
+        int height = 1;
+        int size = 1;
+
+        Node(E value) {
+            this.value = value;
+        }
+    }
+
+    private final Comparator<? super E> comparator;
+    private Node<E> root = null;
+    private int modCount = 0;
+    private final Range all = new Range(null, true, null, true);
+
+    /**
+     * Create an empty set ordered by the natural ordering of its elements.
+     */
+    public IndexedTreeSet() {
+        this((Comparator<? super E>) null);
+    }
+
+    /**
+     * Create an empty set ordered by a comparator.
+     *
+     * @param comparator the ordering, or null for natural ordering
+     */
+    public IndexedTreeSet(@CheckForNull Comparator<? super E> comparator) {
+        this.comparator = comparator;
+    }
+
+    /**
+     * Create a set ordered by a comparator and holding some elements.
+     *
+     * @param comparator the ordering, or null for natural ordering
+     * @param c          the initial elements
+     */
+    public IndexedTreeSet(@CheckForNull Comparator<? super E> comparator, @Nonnull Collection<? extends E> c) {
+        this(comparator);
+        addAll(c);
+    }
+
+    @SuppressWarnings("unchecked")
+    private int compare(Object a, Object b) {
+        return comparator == null ? ((Comparable<Object>) a).compareTo(b) : comparator.compare((E) a, (E) b);
+    }
+
+    private static int height(Node<?> n) {
+        return n == null ? 0 : n.height;
+    }
+
+    private static int size(Node<?> n) {
+        return n == null ? 0 : n.size;
+    }
+
+    private static <E> Node<E> update(Node<E> n) {
+        n.height = 1 + Math.max(height(n.left), height(n.right));
+        n.size = 1 + size(n.left) + size(n.right);
+        return n;
+    }
+
+    private static <E> Node<E> rotateRight(Node<E> n) {
+        Node<E> l = n.left;
+        n.left = l.right;
+        l.right = update(n);
+        return update(l);
+    }
+
+    private static <E> Node<E> rotateLeft(Node<E> n) {
+        Node<E> r = n.right;
+        n.right = r.left;
+        r.left = update(n);
+        return update(r);
+    }
+
+    private static <E> Node<E> balance(Node<E> n) {
+        update(n);
+        int b = height(n.left) - height(n.right);
+        if (b > 1) {
+            if (height(n.left.left) < height(n.left.right)) {
+                n.left = rotateLeft(n.left);
+            }
+            return rotateRight(n);
+        }
+        if (b < -1) {
+            if (height(n.right.right) < height(n.right.left)) {
+                n.right = rotateRight(n.right);
+            }
+            return rotateLeft(n);
+        }
+        return n;
+    }
+
+    private Node<E> insert(Node<E> n, E e) {
+        if (n == null) {
+            return new Node<>(e);
+        }
+        if (compare(e, n.value) < 0) {
+            n.left = insert(n.left, e);
+        } else {
+            n.right = insert(n.right, e);
+        }
+        return balance(n);
+    }
+
+    private Node<E> delete(Node<E> n, Object o) {
+        int c = compare(o, n.value);
+        if (c < 0) {
+            n.left = delete(n.left, o);
+        } else if (c > 0) {
+            n.right = delete(n.right, o);
+        } else {
+            if (n.left == null) {
+                return n.right;
+            }
+            if (n.right == null) {
+                return n.left;
+            }
+            Node<E> successor = n.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            Node<E> replacement = new Node<>(successor.value);
+            replacement.right = deleteFirst(n.right);
+            replacement.left = n.left;
+            return balance(replacement);
+        }
+        return balance(n);
+    }
+
+    private Node<E> deleteFirst(Node<E> n) {
+        if (n.left == null) {
+            return n.right;
+        }
+        n.left = deleteFirst(n.left);
+        return balance(n);
+    }
+
+    @CheckForNull
+    private Node<E> find(Object o) {
+        Node<E> n = root;
+        while (n != null) {
+            int c = compare(o, n.value);
+            if (c == 0) {
+                return n;
+            }
+            n = c < 0 ? n.left : n.right;
+        }
+        return null;
+    }
+
+    /**
+     * Count the elements that sort before a value, whether or not that value
+     * is in the set.
+     *
+     * @param o the value
+     * @param inclusive true to also count an element equal to the value
+     * @return the number of elements before (or at) the value
+     */
+    private int rank(Object o, boolean inclusive) {
+        int r = 0;
+        Node<E> n = root;
+        while (n != null) {
+            int c = compare(o, n.value);
+            if (c < 0 || (c == 0 && !inclusive)) {
+                n = n.left;
+            } else {
+                r += size(n.left) + 1;
+                n = n.right;
+            }
+        }
+        return r;
+    }
+
+    /**
+     * Get the position of an element in the set.
+     *
+     * @param o the element to look for
+     * @return the index of the element, or -1 if it is not in the set
+     */
+    public int indexOf(Object o) {
+        if (o == null || find(o) == null) {
+            return -1;
+        }
+        return rank(o, false);
+    }
+
+    /**
+     * Get the element at a position in the set.
+     *
+     * @param index the position, from 0 to size()-1
+     * @return the element
+     * @throws IndexOutOfBoundsException if there is no such position
+     */
+    @Nonnull
+    public E get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        Node<E> n = root;
+        while (true) {
+            int l = size(n.left);
+            if (index < l) {
+                n = n.left;
+            } else if (index == l) {
+                return n.value;
+            } else {
+                index -= l + 1;
+                n = n.right;
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return size(root);
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o != null && find(o) != null;
+    }
+
+    @Override
+    public boolean add(@Nonnull E e) {
+        if (e == null) {
+            throw new NullPointerException("IndexedTreeSet cannot hold null");
+        }
+        if (find(e) != null) {
+            return false;
+        }
+        root = insert(root, e);
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (!contains(o)) {
+            return false;
+        }
+        root = delete(root, o);
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        root = null;
+        modCount++;
+    }
+
+    @Override
+    @Nonnull
+    public Iterator<E> iterator() {
+        return new Itr(null, false, null, false);
+    }
+
+    @Override
+    @CheckForNull
+    public Comparator<? super E> comparator() {
+        return comparator;
+    }
+
+    @Override
+    public E first() {
+        if (root == null) {
+            throw new NoSuchElementException();
+        }
+        return get(0);
+    }
+
+    @Override
+    public E last() {
+        if (root == null) {
+            throw new NoSuchElementException();
+        }
+        return get(size() - 1);
+    }
+
+    @Override
+    @CheckForNull
+    public E lower(E e) {
+        return all.lower(e);
+    }
+
+    @Override
+    @CheckForNull
+    public E floor(E e) {
+        return all.floor(e);
+    }
+
+    @Override
+    @CheckForNull
+    public E ceiling(E e) {
+        return all.ceiling(e);
+    }
+
+    @Override
+    @CheckForNull
+    public E higher(E e) {
+        return all.higher(e);
+    }
+
+    @Override
+    @CheckForNull
+    public E pollFirst() {
+        return all.pollFirst();
+    }
+
+    @Override
+    @CheckForNull
+    public E pollLast() {
+        return all.pollLast();
+    }
+
+    @Override
+    @Nonnull
+    public NavigableSet<E> descendingSet() {
+        return new Descending<>(this);
+    }
+
+    @Override
+    @Nonnull
+    public Iterator<E> descendingIterator() {
+        return all.descendingIterator();
+    }
+
+    @Override
+    @Nonnull
+    public NavigableSet<E> subSet(E fromElement, boolean fromInclusive, E toElement, boolean toInclusive) {
+        if (compare(fromElement, toElement) > 0) {
+            throw new IllegalArgumentException("fromElement > toElement");
+        }
+        return new Range(fromElement, fromInclusive, toElement, toInclusive);
+    }
+
+    @Override
+    @Nonnull
+    public NavigableSet<E> headSet(E toElement, boolean inclusive) {
+        compare(toElement, toElement); // type and null check, as in TreeSet
+        return new Range(null, true, toElement, inclusive);
+    }
+
+    @Override
+    @Nonnull
+    public NavigableSet<E> tailSet(E fromElement, boolean inclusive) {
+        compare(fromElement, fromElement);
+        return new Range(fromElement, inclusive, null, true);
+    }
+
+    @Override
+    @Nonnull
+    public SortedSet<E> subSet(E fromElement, E toElement) {
+        return subSet(fromElement, true, toElement, false);
+    }
+
+    @Override
+    @Nonnull
+    public SortedSet<E> headSet(E toElement) {
+        return headSet(toElement, false);
+    }
+
+    @Override
+    @Nonnull
+    public SortedSet<E> tailSet(E fromElement) {
+        return tailSet(fromElement, true);
+    }
+
+    /**
+     * In-order iterator over the elements from {@code from} (or the start if
+     * null) up to {@code to} (or the end if null).
+     */
+    private class Itr implements Iterator<E> {
+
+        private final Deque<Node<E>> stack = new ArrayDeque<>();
+        private final E to;
+        private final boolean toInclusive;
+        private E lastReturned = null;
+        private int expectedModCount = modCount;
+
+        Itr(E from, boolean strict, E to, boolean toInclusive) {
+            this.to = to;
+            this.toInclusive = toInclusive;
+            seek(from, strict);
+        }
+
+        /**
+         * Position on the first element at or after (or strictly after) a
+         * value.
+         */
+        private void seek(E from, boolean strict) {
+            stack.clear();
+            Node<E> n = root;
+            while (n != null) {
+                int c = from == null ? 1 : compare(n.value, from);
+                if (c > 0 || (c == 0 && !strict)) {
+                    stack.push(n);
+                    n = n.left;
+                } else {
+                    n = n.right;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (stack.isEmpty()) {
+                return false;
+            }
+            if (to == null) {
+                return true;
+            }
+            int c = compare(stack.peek().value, to);
+            return c < 0 || (c == 0 && toInclusive);
+        }
+
+        @Override
+        public E next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Node<E> n = stack.pop();
+            for (Node<E> x = n.right; x != null; x = x.left) {
+                stack.push(x);
+            }
+            lastReturned = n.value;
+            return n.value;
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned == null) {
+                throw new IllegalStateException();
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            IndexedTreeSet.this.remove(lastReturned);
+            expectedModCount = modCount;
+            // the tree may have been rebalanced, so find our place again
+            seek(lastReturned, true);
+            lastReturned = null;
+        }
+    }
+
+    /**
+     * Reverse-order iterator over the elements at positions {@code lo} to
+     * {@code hi - 1}. Each step is a lookup by position.
+     */
+    private class DescendingItr implements Iterator<E> {
+
+        private final int lo;
+        private int next;
+        private E lastReturned = null;
+        private int expectedModCount = modCount;
+
+        DescendingItr(int lo, int hi) {
+            this.lo = lo;
+            this.next = hi - 1;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next >= lo;
+        }
+
+        @Override
+        public E next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            lastReturned = get(next--);
+            return lastReturned;
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned == null) {
+                throw new IllegalStateException();
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            // only positions after the ones still to come are changed
+            IndexedTreeSet.this.remove(lastReturned);
+            expectedModCount = modCount;
+            lastReturned = null;
+        }
+    }
+
+    /**
+     * View of the elements between two bounds, either of which may be open.
+     */
+    private class Range extends AbstractSet<E> implements NavigableSet<E> {
+
+        private final E from; // null for no lower bound
+        private final boolean fromInclusive;
+        private final E to;   // null for no upper bound
+        private final boolean toInclusive;
+
+        Range(E from, boolean fromInclusive, E to, boolean toInclusive) {
+            this.from = from;
+            this.fromInclusive = fromInclusive;
+            this.to = to;
+            this.toInclusive = toInclusive;
+        }
+
+        private boolean tooLow(Object o) {
+            if (from == null) {
+                return false;
+            }
+            int c = compare(o, from);
+            return c < 0 || (c == 0 && !fromInclusive);
+        }
+
+        private boolean tooHigh(Object o) {
+            if (to == null) {
+                return false;
+            }
+            int c = compare(o, to);
+            return c > 0 || (c == 0 && !toInclusive);
+        }
+
+        private boolean inRange(Object o) {
+            return !tooLow(o) && !tooHigh(o);
+        }
+
+        /**
+         * Check a bound for a view of this view. An open bound may be equal
+         * to an open bound of this view.
+         */
+        private boolean inRange(E e, boolean inclusive) {
+            if (inclusive) {
+                return inRange(e);
+            }
+            return (from == null || compare(e, from) >= 0) && (to == null || compare(e, to) <= 0);
+        }
+
+        // position of the first element in the view
+        private int lo() {
+            return from == null ? 0 : rank(from, !fromInclusive);
+        }
+
+        // position after the last element in the view
+        private int hi() {
+            return to == null ? IndexedTreeSet.this.size() : rank(to, toInclusive);
+        }
+
+        @CheckForNull
+        private E at(int index) {
+            return (index >= lo() && index < hi()) ? get(index) : null;
+        }
+
+        @Override
+        public int size() {
+            return Math.max(0, hi() - lo());
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return o != null && inRange(o) && IndexedTreeSet.this.contains(o);
+        }
+
+        @Override
+        public boolean add(E e) {
+            if (!inRange(e)) {
+                throw new IllegalArgumentException("element out of range");
+            }
+            return IndexedTreeSet.this.add(e);
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            return o != null && inRange(o) && IndexedTreeSet.this.remove(o);
+        }
+
+        @Override
+        @Nonnull
+        public Iterator<E> iterator() {
+            return new Itr(from, !fromInclusive, to, toInclusive);
+        }
+
+        @Override
+        @Nonnull
+        public Iterator<E> descendingIterator() {
+            return new DescendingItr(lo(), hi());
+        }
+
+        @Override
+        public Comparator<? super E> comparator() {
+            return comparator;
+        }
+
+        @Override
+        public E first() {
+            E e = at(lo());
+            if (e == null) {
+                throw new NoSuchElementException();
+            }
+            return e;
+        }
+
+        @Override
+        public E last() {
+            E e = at(hi() - 1);
+            if (e == null) {
+                throw new NoSuchElementException();
+            }
+            return e;
+        }
+
+        @Override
+        public E lower(E e) {
+            return at(Math.min(hi(), rank(e, false)) - 1);
+        }
+
+        @Override
+        public E floor(E e) {
+            return at(Math.min(hi(), rank(e, true)) - 1);
+        }
+
+        @Override
+        public E ceiling(E e) {
+            return at(Math.max(lo(), rank(e, false)));
+        }
+
+        @Override
+        public E higher(E e) {
+            return at(Math.max(lo(), rank(e, true)));
+        }
+
+        @Override
+        public E pollFirst() {
+            E e = at(lo());
+            if (e != null) {
+                IndexedTreeSet.this.remove(e);
+            }
+            return e;
+        }
+
+        @Override
+        public E pollLast() {
+            E e = at(hi() - 1);
+            if (e != null) {
+                IndexedTreeSet.this.remove(e);
+            }
+            return e;
+        }
+
+        @Override
+        @Nonnull
+        public NavigableSet<E> descendingSet() {
+            return new Descending<>(this);
+        }
+
+        @Override
+        @Nonnull
+        public NavigableSet<E> subSet(E fromElement, boolean fromInc, E toElement, boolean toInc) {
+            if (compare(fromElement, toElement) > 0) {
+                throw new IllegalArgumentException("fromElement > toElement");
+            }
+            if (!inRange(fromElement, fromInc) || !inRange(toElement, toInc)) {
+                throw new IllegalArgumentException("bound out of range");
+            }
+            return IndexedTreeSet.this.new Range(fromElement, fromInc, toElement, toInc);
+        }
+
+        @Override
+        @Nonnull
+        public NavigableSet<E> headSet(E toElement, boolean inclusive) {
+            if (!inRange(toElement, inclusive)) {
+                throw new IllegalArgumentException("bound out of range");
+            }
+            return IndexedTreeSet.this.new Range(from, fromInclusive, toElement, inclusive);
+        }
+
+        @Override
+        @Nonnull
+        public NavigableSet<E> tailSet(E fromElement, boolean inclusive) {
+            if (!inRange(fromElement, inclusive)) {
+                throw new IllegalArgumentException("bound out of range");
+            }
+            return IndexedTreeSet.this.new Range(fromElement, inclusive, to, toInclusive);
+        }
+
+        @Override
+        @Nonnull
+        public SortedSet<E> subSet(E fromElement, E toElement) {
+            return subSet(fromElement, true, toElement, false);
+        }
+
+        @Override
+        @Nonnull
+        public SortedSet<E> headSet(E toElement) {
+            return headSet(toElement, false);
+        }
+
+        @Override
+        @Nonnull
+        public SortedSet<E> tailSet(E fromElement) {
+            return tailSet(fromElement, true);
+        }
+    }
+
+    /**
+     * Reverse-order view of a navigable set.
+     */
+    private static class Descending<E> extends AbstractSet<E> implements NavigableSet<E> {
+
+        private final NavigableSet<E> set;
+
+        Descending(NavigableSet<E> set) {
+            this.set = set;
+        }
+
+        @Override
+        public int size() {
+            return set.size();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return set.contains(o);
+        }
+
+        @Override
+        public boolean add(E e) {
+            return set.add(e);
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            return set.remove(o);
+        }
+
+        @Override
+        @Nonnull
+        public Iterator<E> iterator() {
+            return set.descendingIterator();
+        }
+
+        @Override
+        @Nonnull
+        public Iterator<E> descendingIterator() {
+            return set.iterator();
+        }
+
+        @Override
+        public Comparator<? super E> comparator() {
+            return Collections.reverseOrder(set.comparator());
+        }
+
+        @Override
+        public E first() {
+            return set.last();
+        }
+
+        @Override
+        public E last() {
+            return set.first();
+        }
+
+        @Override
+        public E lower(E e) {
+            return set.higher(e);
+        }
+
+        @Override
+        public E floor(E e) {
+            return set.ceiling(e);
+        }
+
+        @Override
+        public E ceiling(E e) {
+            return set.floor(e);
+        }
+
+        @Override
+        public E higher(E e) {
+            return set.lower(e);
+        }
+
+        @Override
+        public E pollFirst() {
+            return set.pollLast();
+        }
+
+        @Override
+        public E pollLast() {
+            return set.pollFirst();
+        }
+
+        @Override
+        @Nonnull
+        public NavigableSet<E> descendingSet() {
+            return set;
+        }
+
+        @Override
+        @Nonnull
+        public NavigableSet<E> subSet(E fromElement, boolean fromInclusive, E toElement, boolean toInclusive) {
+            return set.subSet(toElement, toInclusive, fromElement, fromInclusive).descendingSet();
+        }
+
+        @Override
+        @Nonnull
+        public NavigableSet<E> headSet(E toElement, boolean inclusive) {
+            return set.tailSet(toElement, inclusive).descendingSet();
+        }
+
+        @Override
+        @Nonnull
+        public NavigableSet<E> tailSet(E fromElement, boolean inclusive) {
+            return set.headSet(fromElement, inclusive).descendingSet();
+        }
+
+        @Override
+        @Nonnull
+        public SortedSet<E> subSet(E fromElement, E toElement) {
+            return subSet(fromElement, true, toElement, false);
+        }
+
+        @Override
+        @Nonnull
+        public SortedSet<E> headSet(E toElement) {
+            return headSet(toElement, false);
+        }
+
+        @Override
+        @Nonnull
+        public SortedSet<E> tailSet(E fromElement) {
+            return tailSet(fromElement, true);
+        }
+    }
+
+}
@@ -0,0 +1,123 @@
+package jmri.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Histogram of latencies, for example how long a received message waited
+ * before being handed to its listeners.
+ * <p>
+ * Samples are kept in buckets whose upper bounds double, starting at 1
+ * microsecond, so recording is cheap enough to do for every message. The
+ * last bucket collects everything longer than the others cover.
+ */
+@ThreadSafe
+public class LatencyHistogram {
+
+    /**
+     * Number of buckets; the last one is open ended.
+     */
+    public static final int BUCKETS = 32;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder total = new LongAdder();
+
+    /**
+     * Record one sample.
+     *
+     * @param nanos the latency in nanoseconds
+     */
+    public void record(long nanos) {
+        long micros = Math.max(0, nanos) / 1000;
+        // bucket i holds samples up to 2^i microseconds
+        int i = micros <= 1 ? 0 : 64 - Long.numberOfLeadingZeros(micros - 1);
+        buckets.incrementAndGet(Math.min(i, BUCKETS - 1));
+        count.increment();
+        total.add(Math.max(0, nanos));
+    }
+
+    /**
+     * Record the time elapsed since an earlier {@link System#nanoTime()}.
+     *
+     * @param startNanos the value of {@link System#nanoTime()} at the start
+     */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * @return the number of samples recorded
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * @return the mean latency in microseconds, or 0 if nothing was recorded
+     */
+    public double getMean() {
+        long n = count.sum();
+        return n == 0 ? 0.0 : total.sum() / (n * 1000.0);
+    }
+
+    /**
+     * @param bucket the bucket index, from 0 to {@link #BUCKETS} - 1
+     * @return the number of samples in the bucket
+     */
+    public long getBucketCount(int bucket) {
+        return buckets.get(bucket);
+    }
+
+    /**
+     * @param bucket the bucket index, from 0 to {@link #BUCKETS} - 1
+     * @return the largest latency in microseconds counted in the bucket;
+     *         {@link Long#MAX_VALUE} for the last bucket
+     */
+    public static long getBucketUpperBound(int bucket) {
+        return bucket >= BUCKETS - 1 ? Long.MAX_VALUE : 1L << bucket;
+    }
+
+    /**
+     * Get an upper bound on a percentile of the recorded latencies.
+     *
+     * @param percentile between 0 and 100
+     * @return the upper bound in microseconds of the bucket holding the
+     *         percentile, or 0 if nothing was recorded
+     */
+    public long getPercentile(double percentile) {
+        long n = count.sum();
+        if (n == 0) {
+            return 0;
+        }
+        long target = (long) Math.ceil(n * Math.min(100.0, Math.max(0.0, percentile)) / 100.0);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += buckets.get(i);
+            if (seen >= target && seen > 0) {
+                return getBucketUpperBound(i);
+            }
+        }
+        return getBucketUpperBound(BUCKETS - 1);
+    }
+
+    /**
+     * Discard all recorded samples.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets.set(i, 0);
+        }
+        count.reset();
+        total.reset();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("n=%d mean=%.1fus p50<=%dus p99<=%dus", // NOI18N
+                getCount(), getMean(), getPercentile(50), getPercentile(99));
+    }
+
+}
@@ -2,6 +2,13 @@ package jmri.util;
 
 import java.awt.event.ActionEvent;
 import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 import java.util.concurrent.atomic.AtomicReference;
 
 import javax.swing.SwingUtilities;
@@ -16,17 +23,157 @@ import javax.annotation.concurrent.ThreadSafe;
  * <a href="http://jmri.org/help/en/html/doc/Technical/Threads.shtml">http://jmri.org/help/en/html/doc/Technical/Threads.shtml</a>
  * <p>
  * Note this distinguishes "on layout", for example, Setting a sensor, from "on
- * GUI", for example, manipulating the Swing GUI. That may not be an important
- * distinction now, but it might be later, so we build it into the calls.
+ * GUI", for example, manipulating the Swing GUI. By default both run on the
+ * Swing event dispatch thread. Setting the {@value #LAYOUT_THREAD_PROPERTY}
+ * system property at startup selects a different {@link LayoutThreadMode}, so
+ * that layout work no longer waits behind GUI painting:
+ * <ul>
+ *   <li>{@code gui} - layout work runs on the Swing thread (default)
+ *   <li>{@code single} - layout work runs on one dedicated layout thread
+ *   <li>{@code pool} - layout work runs on a small pool of layout threads;
+ *       work for the same bean is always run in order on the same thread. The
+ *       pool size is set by {@value #LAYOUT_POOL_SIZE_PROPERTY}
+ * </ul>
  *
  * @author Bob Jacobsen Copyright 2015
  */
 @ThreadSafe
 public class ThreadingUtil {
 
+    /**
+     * System property used to select the {@link LayoutThreadMode} at startup.
+     */
+    public static final String LAYOUT_THREAD_PROPERTY = "jmri.layoutthread"; // NOI18N
+
+    /**
+     * System property used to set the number of threads in
+     * {@link LayoutThreadMode#POOL} mode.
+     */
+    public static final String LAYOUT_POOL_SIZE_PROPERTY = "jmri.layoutthread.pool"; // NOI18N
+
+    /**
+     * Where layout-specific code is run.
+     */
+    public enum LayoutThreadMode {
+        /**
+         * On the Swing event dispatch thread, shared with the GUI.
+         */
+        GUI,
+        /**
+         * On a single dedicated layout thread.
+         */
+        SINGLE,
+        /**
+         * On a small pool of layout threads, ordered per bean.
+         */
+        POOL
+    }
+
+    private static LayoutThreadMode layoutMode = LayoutThreadMode.GUI;
+    private static volatile ExecutorService[] layoutExecutors = null;
+
+
+    /**
+     * Select where layout-specific code is run. Normally this is set once at
+     * startup via the {@value #LAYOUT_THREAD_PROPERTY} system property. Any
+     * previous layout threads are shut down after completing work already
+     * queued for them.
+     *
+     * @param mode    the new mode
+     * @param threads number of layout threads in {@link LayoutThreadMode#POOL}
+     *                mode; ignored otherwise
+     */
+    static public synchronized void setLayoutThreadMode(@Nonnull LayoutThreadMode mode, int threads) {
+        ExecutorService[] old = layoutExecutors;
+        ExecutorService[] executors = null;
+        switch (mode) {
+            case SINGLE:
+                executors = new ExecutorService[]{newLayoutExecutor("JMRI Layout")}; // NOI18N
+                break;
+            case POOL:
+                executors = new ExecutorService[Math.max(1, threads)];
+                for (int i = 0; i < executors.length; i++) {
+                    executors[i] = newLayoutExecutor("JMRI Layout " + i); // NOI18N
+                }
+                break;
+            default:
+                break;
+        }
+        layoutExecutors = executors;
+        layoutMode = mode;
+        if (old != null) {
+            for (ExecutorService e : old) {
+                e.shutdown();
+            }
+        }
+        log.debug("layout work now runs in {} mode", mode);
+    }
+
+    /**
+     * Get where layout-specific code is run.
+     *
+     * @return the current mode
+     */
+    @Nonnull
+    static public synchronized LayoutThreadMode getLayoutThreadMode() {
+        return layoutMode;
+    }
+
+    private static ExecutorService newLayoutExecutor(String name) {
+        AtomicReference<ExecutorService> owner = new AtomicReference<>();
+        ExecutorService executor = Executors.newSingleThreadExecutor((Runnable r) -> {
+            Thread t = new LayoutThread(r, name, owner);
+            t.setDaemon(true);
+            t.setPriority(Thread.MAX_PRIORITY - 1);
+            return t;
+        });
+        owner.set(executor);
+        return executor;
+    }
+
+    /**
+     * Marker class for the dedicated layout threads.
+     */
+    private static class LayoutThread extends Thread {
+
+        private final AtomicReference<ExecutorService> owner;
+
+        LayoutThread(Runnable r, String name, AtomicReference<ExecutorService> owner) {
+            super(getJmriThreadGroup(), r, name);
+            this.owner = owner;
+        }
+
+        boolean runs(ExecutorService executor) {
+            return owner.get() == executor;
+        }
+    }
+
+    private static boolean isThreadOf(ExecutorService executor) {
+        Thread t = Thread.currentThread();
+        return t instanceof LayoutThread && ((LayoutThread) t).runs(executor);
+    }
+
+    private static ExecutorService layoutExecutor(Object bean) {
+        ExecutorService[] executors = layoutExecutors;
+        if (executors == null) {
+            return null;
+        }
+        if (bean == null || executors.length == 1) {
+            return executors[0];
+        }
+        return executors[Math.floorMod(bean.hashCode(), executors.length)];
+    }
+
     /**
      * Run some layout-specific code before returning.
      * <p>
+     * When layout work runs on dedicated layout threads, a call from the Swing
+     * thread still waits for the code to finish. While it waits, the Swing
+     * thread runs any code the layout threads pass to {@link #runOnGUI}, and
+     * if a layout thread is already waiting for the Swing thread the code is
+     * run at once on the Swing thread, so neither thread waits for the other
+     * forever.
+     * <p>
      * Typical uses:
      * <p> {@code
      * ThreadingUtil.runOnLayout(() -> {
@@ -37,7 +184,138 @@ public class ThreadingUtil {
      * @param ta What to run, usually as a lambda expression
      */
     static public void runOnLayout(@Nonnull ThreadAction ta) {
-        runOnGUI(ta);
+        ExecutorService executor = layoutExecutor(null);
+        if (executor == null) {
+            runOnGUI(ta);
+        } else if (isThreadOf(executor)) {
+            ta.run();
+        } else if (isGUIThread()) {
+            runOnLayoutFromGUI(executor, ta);
+        } else {
+            warnLocks();
+            try {
+                executor.submit(ta).get();
+            } catch (InterruptedException e) {
+                log.debug("Interrupted while running on layout thread");
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                log.error("Error while on layout thread", e.getCause());
+                log.error("   Came from call to runOnLayout:", e);
+                // should have been handled inside the ThreadAction
+            }
+        }
+    }
+
+    // Lets the Swing thread waiting in runOnLayout and layout threads waiting
+    // in runOnGUI make progress while each waits for the other
+    private static final Object handoffLock = new Object();
+    private static int guiWaitingOnLayout = 0; // guarded by handoffLock
+    private static int layoutWaitingOnGUI = 0; // guarded by handoffLock
+    private static final Queue<Runnable> handoff = new ArrayDeque<>(); // guarded by handoffLock
+
+    private static void runOnLayoutFromGUI(ExecutorService executor, ThreadAction ta) {
+        boolean runNow;
+        synchronized (handoffLock) {
+            // if a layout thread is waiting for us, waiting for it can't end
+            runNow = layoutWaitingOnGUI > 0;
+            if (!runNow) {
+                guiWaitingOnLayout++;
+            }
+        }
+        if (runNow) {
+            ta.run();
+            return;
+        }
+        try {
+            boolean[] finished = {false}; // guarded by handoffLock
+            Future<?> done = executor.submit(() -> {
+                try {
+                    ta.run();
+                } finally {
+                    synchronized (handoffLock) {
+                        finished[0] = true;
+                        handoffLock.notifyAll();
+                    }
+                }
+            });
+            while (true) {
+                Runnable r;
+                synchronized (handoffLock) {
+                    r = handoff.poll();
+                    if (r == null) {
+                        if (finished[0]) {
+                            break;
+                        }
+                        handoffLock.wait();
+                        continue;
+                    }
+                }
+                r.run();
+            }
+            done.get();
+        } catch (InterruptedException e) {
+            log.debug("Interrupted while running on layout thread");
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.error("Error while on layout thread", e.getCause());
+            log.error("   Came from call to runOnLayout:", e);
+            // should have been handled inside the ThreadAction
+        } finally {
+            synchronized (handoffLock) {
+                guiWaitingOnLayout--;
+            }
+            // run anything passed over before we stopped waiting
+            Runnable r;
+            while ((r = pollHandoff()) != null) {
+                r.run();
+            }
+        }
+    }
+
+    private static Runnable pollHandoff() {
+        synchronized (handoffLock) {
+            return handoff.poll();
+        }
+    }
+
+    /**
+     * Run code on the Swing thread from a dedicated layout thread and wait for
+     * it. If the Swing thread is waiting in runOnLayout, the code is passed
+     * straight to it.
+     */
+    private static void invokeAndWaitFromLayout(Runnable r) throws InterruptedException, InvocationTargetException {
+        FutureTask<Void> task = null;
+        synchronized (handoffLock) {
+            layoutWaitingOnGUI++;
+            if (guiWaitingOnLayout > 0) {
+                task = new FutureTask<>(r, null);
+                handoff.add(task);
+                handoffLock.notifyAll();
+            }
+        }
+        try {
+            if (task == null) {
+                SwingUtilities.invokeAndWait(r);
+            } else {
+                try {
+                    task.get();
+                } catch (ExecutionException e) {
+                    throw new InvocationTargetException(e.getCause());
+                }
+            }
+        } finally {
+            synchronized (handoffLock) {
+                layoutWaitingOnGUI--;
+            }
+        }
+    }
+
+    private static void invokeAndWait(Runnable r) throws InterruptedException, InvocationTargetException {
+        if (layoutExecutors != null && isLayoutThread()) {
+            invokeAndWaitFromLayout(r);
+        } else {
+            SwingUtilities.invokeAndWait(r);
+        }
     }
 
     /**
@@ -56,7 +334,40 @@ public class ThreadingUtil {
      * @param ta What to run, usually as a lambda expression
      */
     static public void runOnLayoutEventually(@Nonnull ThreadAction ta) {
-        runOnGUIEventually(ta);
+        runOnLayoutEventually(null, ta);
+    }
+
+    /**
+     * Run some layout-specific code for a specific bean at some later point.
+     * <p>
+     * Work submitted for the same bean is run in the order submitted. In
+     * {@link LayoutThreadMode#POOL} mode, work for different beans may run
+     * concurrently; otherwise this is the same as
+     * {@link #runOnLayoutEventually(ThreadAction)}.
+     * <p>
+     * Typical uses:
+     * <p> {@code
+     * ThreadingUtil.runOnLayoutEventually(sensor, () -> {
+     *     sensor.setState(value);
+     * });
+     * }
+     *
+     * @param bean the object the work is for, or null for work that must stay
+     *             in order with all other unkeyed layout work
+     * @param ta   What to run, usually as a lambda expression
+     */
+    static public void runOnLayoutEventually(Object bean, @Nonnull ThreadAction ta) {
+        ExecutorService executor = layoutExecutor(bean);
+        if (executor == null) {
+            runOnGUIEventually(ta);
+        } else {
+            try {
+                executor.execute(ta);
+            } catch (java.util.concurrent.RejectedExecutionException e) {
+                // mode changed while we were looking; try again on the new one
+                runOnLayoutEventually(bean, ta);
+            }
+        }
     }
 
     /**
@@ -78,7 +389,22 @@ public class ThreadingUtil {
      */
     @Nonnull 
     static public Timer runOnLayoutDelayed(@Nonnull ThreadAction ta, int delay) {
-        return runOnGUIDelayed(ta, delay);
+        if (layoutExecutor(null) == null) {
+            return runOnGUIDelayed(ta, delay);
+        }
+        // the timer fires on the Swing thread, then hands off
+        return runOnGUIDelayed(() -> runOnLayoutEventually(ta), delay);
+    }
+
+    /**
+     * Check if a listener has to be called on the Swing thread, i.e. is a
+     * Swing component or table model.
+     *
+     * @param listener the listener to check
+     * @return true if the listener must only be called on the Swing thread
+     */
+    static public boolean isGUIListener(Object listener) {
+        return listener instanceof java.awt.Component || listener instanceof javax.swing.table.TableModel;
     }
 
     /**
@@ -87,7 +413,10 @@ public class ThreadingUtil {
      * @return true if on the layout-operation thread
      */
     static public boolean isLayoutThread() {
-        return isGUIThread();
+        if (layoutExecutors == null) {
+            return isGUIThread();
+        }
+        return Thread.currentThread() instanceof LayoutThread;
     }
 
     /**
@@ -113,7 +442,7 @@ public class ThreadingUtil {
             // dispatch to Swing
             warnLocks();
             try {
-                SwingUtilities.invokeAndWait(ta);
+                invokeAndWait(ta);
             } catch (InterruptedException e) {
                 log.debug("Interrupted while running on GUI thread");
                 Thread.currentThread().interrupt();
@@ -152,7 +481,7 @@ public class ThreadingUtil {
             // dispatch to Swing
             final AtomicReference<E> result = new AtomicReference<>();
             try {
-                SwingUtilities.invokeAndWait(() -> {
+                invokeAndWait(() -> {
                     result.set(ta.run());
                 });
             } catch (InterruptedException e) {
@@ -297,7 +626,7 @@ public class ThreadingUtil {
      * Check that a call is on the GUI thread. Warns (once) if not.
      * Intended to be the run-time check mechanism for {@code @InvokeOnGuiThread}
      * <p>
-     * In this implementation, this is the same as {@link #requireLayoutThread(org.slf4j.Logger)}
+     * In {@link LayoutThreadMode#GUI} mode, this is the same as {@link #requireLayoutThread(org.slf4j.Logger)}
      * @param logger The logger object from the calling class, usually "log"
      */
     static public void requireGuiThread(org.slf4j.Logger logger) {
@@ -311,7 +640,7 @@ public class ThreadingUtil {
      * Check that a call is on the Layout thread. Warns (once) if not.
      * Intended to be the run-time check mechanism for {@code @InvokeOnLayoutThread}
      * <p>
-     * In this implementation, this is the same as {@link #requireGuiThread(org.slf4j.Logger)}
+     * In {@link LayoutThreadMode#GUI} mode, this is the same as {@link #requireGuiThread(org.slf4j.Logger)}
      * @param logger The logger object from the calling class, usually "log"
      */
     static public void requireLayoutThread(org.slf4j.Logger logger) {
@@ -386,5 +715,18 @@ public class ThreadingUtil {
     
     private final static org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(ThreadingUtil.class);
 
+    // after log, as this may log
+    static {
+        String mode = System.getProperty(LAYOUT_THREAD_PROPERTY);
+        if (mode != null) {
+            try {
+                setLayoutThreadMode(LayoutThreadMode.valueOf(mode.trim().toUpperCase(java.util.Locale.ROOT)),
+                        Integer.getInteger(LAYOUT_POOL_SIZE_PROPERTY, 4));
+            } catch (IllegalArgumentException e) {
+                log.error("Unknown {} \"{}\", layout work stays on the GUI thread", LAYOUT_THREAD_PROPERTY, mode);
+            }
+        }
+    }
+
 }
 
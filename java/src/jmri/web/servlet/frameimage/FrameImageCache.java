@@ -0,0 +1,205 @@
+package jmri.web.servlet.frameimage;
+
+import java.awt.Component;
+import java.awt.Container;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.Window;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.WeakHashMap;
+import javax.annotation.Nonnull;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+import javax.swing.JComponent;
+import javax.swing.RepaintManager;
+import javax.swing.SwingUtilities;
+import jmri.util.JmriJFrame;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * PNG images of frames for the {@link JmriJFrameServlet}, painted again only
+ * where the frame has changed.
+ * <p>
+ * Once an image of a frame has been made, the parts of the frame Swing
+ * repaints are tracked by a {@link RepaintManager}. A frame that has not been
+ * repainted since its last image gets the same image with the same tag, so a
+ * client polling the frame can be told the image is not modified. Otherwise
+ * only the repainted parts are painted into the image kept for the frame,
+ * which is encoded again with the same PNG writer and output buffer.
+ * <p>
+ * If another RepaintManager is already installed, frames are not tracked and
+ * are painted in full each time.
+ * <p>
+ * Images must be made on the Swing thread.
+ */
+final class FrameImageCache {
+
+    // only static methods
+    private FrameImageCache() {
+    }
+
+    /**
+     * An encoded image of a frame.
+     */
+    static final class Image {
+
+        final byte[] png;
+        final String tag;
+
+        Image(@Nonnull byte[] png, @Nonnull String tag) {
+            this.png = png;
+            this.tag = tag;
+        }
+    }
+
+    private static final Map<Window, FrameImage> frames = new WeakHashMap<>(); // guarded by itself
+    private static boolean tracking = false;
+    private static boolean installed = false;
+    private static final Logger log = LoggerFactory.getLogger(FrameImageCache.class);
+
+    /**
+     * Get an image of a frame, painting and encoding it again only if the
+     * frame has changed since the last image.
+     *
+     * @param frame the frame
+     * @return the image
+     * @throws IOException if the image cannot be encoded
+     */
+    @Nonnull
+    static Image getImage(@Nonnull JmriJFrame frame) throws IOException {
+        FrameImage image;
+        synchronized (frames) {
+            startTracking();
+            image = frames.computeIfAbsent(frame, f -> new FrameImage());
+        }
+        return image.update(frame.getContentPane());
+    }
+
+    /**
+     * @return true if repainted parts of frames are being tracked
+     */
+    static boolean isTracking() {
+        synchronized (frames) {
+            return tracking;
+        }
+    }
+
+    // must hold frames lock
+    private static void startTracking() {
+        if (!installed) {
+            installed = true;
+            RepaintManager current = RepaintManager.currentManager((Component) null);
+            if (current.getClass() == RepaintManager.class) {
+                RepaintManager.setCurrentManager(new DamageTracker());
+                tracking = true;
+            } else {
+                log.info("Frame images are painted in full since {} is in use", current.getClass().getName());
+            }
+        }
+    }
+
+    private static void damaged(@Nonnull Component component, int x, int y, int w, int h) {
+        Window window = component instanceof Window ? (Window) component : SwingUtilities.getWindowAncestor(component);
+        if (window == null) {
+            return;
+        }
+        FrameImage image;
+        synchronized (frames) {
+            image = frames.get(window);
+        }
+        if (image != null && window instanceof JmriJFrame) {
+            Container pane = ((JmriJFrame) window).getContentPane();
+            Rectangle area = new Rectangle(0, 0, pane.getWidth(), pane.getHeight());
+            if (SwingUtilities.isDescendingFrom(component, pane)) {
+                area = area.intersection(SwingUtilities.convertRectangle(component, new Rectangle(x, y, w, h), pane));
+            }
+            image.damage(area);
+        }
+    }
+
+    /**
+     * Tracks the parts of frames being repainted.
+     */
+    private static final class DamageTracker extends RepaintManager {
+
+        @Override
+        public void addDirtyRegion(JComponent c, int x, int y, int w, int h) {
+            super.addDirtyRegion(c, x, y, w, h);
+            damaged(c, x, y, w, h);
+        }
+
+        @Override
+        public void addDirtyRegion(Window window, int x, int y, int w, int h) {
+            super.addDirtyRegion(window, x, y, w, h);
+            damaged(window, x, y, w, h);
+        }
+    }
+
+    /**
+     * The image of a frame and the parts of the frame repainted since.
+     */
+    private static final class FrameImage {
+
+        private Rectangle damage = null; // guarded by this
+        private BufferedImage image = null;
+        private Image encoded = null;
+        private ImageWriter writer = null;
+        private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        private long generation = 0;
+
+        synchronized void damage(@Nonnull Rectangle area) {
+            damage = damage == null ? area : damage.union(area);
+        }
+
+        @Nonnull
+        Image update(@Nonnull Container pane) throws IOException {
+            int width = pane.getWidth();
+            int height = pane.getHeight();
+            Rectangle area;
+            synchronized (this) {
+                area = damage;
+                damage = null;
+            }
+            if (image == null || image.getWidth() != width || image.getHeight() != height || !isTracking()) {
+                image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+                area = new Rectangle(0, 0, width, height);
+            }
+            if ((area == null || area.isEmpty()) && encoded != null) {
+                return encoded;
+            }
+            Graphics2D graphics = image.createGraphics();
+            try {
+                if (area != null) {
+                    graphics.setClip(area);
+                }
+                pane.paint(graphics);
+            } finally {
+                graphics.dispose();
+            }
+            encoded = new Image(encode(), "\"" + Integer.toHexString(System.identityHashCode(this)) + "-" + (++generation) + "\"");
+            log.debug("Painted {} of {}x{} frame image", area, width, height);
+            return encoded;
+        }
+
+        @Nonnull
+        private byte[] encode() throws IOException {
+            if (writer == null) {
+                writer = ImageIO.getImageWritersByFormatName("png").next(); // NOI18N
+            }
+            output.reset();
+            try (ImageOutputStream stream = new MemoryCacheImageOutputStream(output)) {
+                writer.setOutput(stream);
+                writer.write(image);
+            } finally {
+                writer.reset();
+            }
+            return output.toByteArray();
+        }
+    }
+}
@@ -10,11 +10,20 @@ import com.fasterxml.jackson.databind.SerializationFeature;
 import java.awt.Container;
 import java.awt.Frame;
 import java.awt.image.BufferedImage;
+import java.beans.PropertyChangeListener;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.net.URLDecoder;
 import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPOutputStream;
 
 import javax.annotation.CheckForNull;
 import javax.annotation.Nonnull;
@@ -24,15 +33,25 @@ import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import javax.swing.JComponent;
+import jmri.BlockManager;
 import jmri.InstanceManager;
+import jmri.LightManager;
+import jmri.Manager;
+import jmri.MemoryManager;
+import jmri.ReporterManager;
 import jmri.Sensor;
+import jmri.SensorManager;
+import jmri.SignalHeadManager;
 import jmri.SignalMast;
 import jmri.SignalMastManager;
+import jmri.TurnoutManager;
 import jmri.configurexml.ConfigXmlManager;
 import jmri.jmrit.display.Editor;
 import jmri.jmrit.display.EditorManager;
 import jmri.jmrit.display.MultiSensorIcon;
 import jmri.jmrit.display.Positionable;
+import jmri.jmrit.display.layoutEditor.LayoutBlockManager;
+import jmri.jmrit.logix.OBlockManager;
 import jmri.server.json.JSON;
 import jmri.server.json.util.JsonUtilHttpService;
 import jmri.util.FileUtil;
@@ -53,6 +72,15 @@ import org.slf4j.LoggerFactory;
 public abstract class AbstractPanelServlet extends HttpServlet {
 
     protected ObjectMapper mapper;
+    // panel documents by format and panel name
+    private final Map<String, PanelDocument> documents = new HashMap<>();
+    private final AtomicInteger nameChanges = new AtomicInteger();
+    private PropertyChangeListener nameListener = null;
+    // managers of beans whose names may be in panel documents
+    private static final List<Class<? extends Manager<?>>> NAMED_MANAGERS = Arrays.asList(
+            TurnoutManager.class, SensorManager.class, LightManager.class, SignalHeadManager.class,
+            SignalMastManager.class, MemoryManager.class, ReporterManager.class, BlockManager.class,
+            LayoutBlockManager.class, OBlockManager.class);
     private final static Logger log = LoggerFactory.getLogger(AbstractPanelServlet.class);
 
     abstract protected String getPanelType();
@@ -137,15 +165,13 @@ public abstract class AbstractPanelServlet extends HttpServlet {
                     default: {
                         boolean useXML = (!JSON.JSON.equals(request.getParameter("format")));
                         response.setContentType(UTF8_APPLICATION_JSON);
-                        String panel = getPanelText(panelName, useXML);
+                        PanelDocument panel = getPanelDocument(panelName, useXML);
                         if (panel == null) {
                             response.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "See the JMRI console for details.");
-                        } else if (panel.startsWith("ERROR")) {
-                            response.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, panel.substring(5).trim());
+                        } else if (panel.error != null) {
+                            response.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, panel.error);
                         } else {
-                            response.setStatus(HttpServletResponse.SC_OK);
-                            response.setContentLength(panel.getBytes(UTF8).length);
-                            response.getOutputStream().print(panel);
+                            sendPanelDocument(request, response, panel);
                         }
                         break;
                     }
@@ -203,6 +229,158 @@ public abstract class AbstractPanelServlet extends HttpServlet {
         }
     }
 
+    /**
+     * Get a panel document, from the cache if the panel has not changed since
+     * the document was made.
+     * <p>
+     * A document is only cached while the panel is not being edited. It is
+     * made again if the panel's {@link Editor#getChangeCount() change count}
+     * changes, a bean is renamed, added or removed, or
+     * {@link #getPanelVersion(Editor)} changes.
+     *
+     * @param name   the panel name
+     * @param useXML true for XML; false for JSON
+     * @return the document, or null if it could not be made
+     */
+    @CheckForNull
+    protected PanelDocument getPanelDocument(String name, boolean useXML) {
+        listenForNameChanges();
+        Editor editor = getEditor(name);
+        String key = (useXML ? JSON.XML : JSON.JSON) + "/" + name;
+        String version = null;
+        if (editor != null && !editor.isEditable()) {
+            version = System.identityHashCode(editor) + "/" + editor.getChangeCount() + "/" + nameChanges.get()
+                    + "/" + getPanelVersion(editor);
+            synchronized (documents) {
+                PanelDocument document = documents.get(key);
+                if (document != null && document.version.equals(version)) {
+                    return document;
+                }
+            }
+        }
+        String text = getPanelText(name, useXML);
+        if (text == null) {
+            return null;
+        }
+        if (text.startsWith("ERROR")) {
+            return new PanelDocument(null, null, text.substring(5).trim());
+        }
+        PanelDocument document = new PanelDocument(text, version, null);
+        synchronized (documents) {
+            if (version != null) {
+                documents.put(key, document);
+            } else {
+                documents.remove(key);
+            }
+        }
+        return document;
+    }
+
+    /**
+     * Get a value that changes when anything in the panel document changes
+     * that isn't tracked by the editor's change count, such as panel
+     * attributes that can be changed without editing the panel.
+     *
+     * @param editor the panel editor
+     * @return a value that changes when the panel changes
+     */
+    protected int getPanelVersion(@Nonnull Editor editor) {
+        JComponent panel = editor.getTargetPanel();
+        Container content = editor.getTargetFrame().getContentPane();
+        return Objects.hash(panel.getWidth(), panel.getHeight(), content.getWidth(), content.getHeight(),
+                editor.getBackgroundColor(), editor.showToolTip(), editor.allControlling());
+    }
+
+    /**
+     * Send a panel document, or just its status if the client already has it,
+     * compressed if the client accepts compressed documents.
+     *
+     * @param request  the request
+     * @param response the response
+     * @param panel    the document to send
+     * @throws IOException if unable to send the document
+     */
+    protected void sendPanelDocument(@Nonnull HttpServletRequest request, @Nonnull HttpServletResponse response,
+            @Nonnull PanelDocument panel) throws IOException {
+        String encoding = request.getHeader("Accept-Encoding"); // NOI18N
+        boolean gzip = encoding != null && encoding.contains("gzip"); // NOI18N
+        String etag = gzip ? panel.gzipTag : panel.tag;
+        response.setHeader("ETag", etag); // NOI18N
+        response.setHeader("Cache-Control", "no-cache"); // NOI18N
+        response.setHeader("Vary", "Accept-Encoding"); // NOI18N
+        String match = request.getHeader("If-None-Match"); // NOI18N
+        if (match != null && (match.contains(etag) || match.trim().equals("*"))) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        byte[] bytes = gzip ? panel.getGzipBytes() : panel.bytes;
+        if (gzip) {
+            response.setHeader("Content-Encoding", "gzip"); // NOI18N
+        }
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentLength(bytes.length);
+        response.getOutputStream().write(bytes);
+    }
+
+    private void listenForNameChanges() {
+        synchronized (documents) {
+            if (nameListener != null) {
+                return;
+            }
+            nameListener = evt -> {
+                if ("DisplayListName".equals(evt.getPropertyName()) || "length".equals(evt.getPropertyName())) { // NOI18N
+                    nameChanges.incrementAndGet();
+                }
+            };
+        }
+        // managers are created before any panel using their beans is loaded
+        for (Class<? extends Manager<?>> type : NAMED_MANAGERS) {
+            if (InstanceManager.containsDefault(type)) {
+                InstanceManager.getDefault(type).addPropertyChangeListener(nameListener);
+            }
+        }
+    }
+
+    /**
+     * A panel document ready to send, or the error that prevented it being
+     * made.
+     */
+    protected static class PanelDocument {
+
+        final byte[] bytes;
+        final String version;
+        final String tag;
+        final String gzipTag;
+        final String error;
+        private byte[] gzipBytes = null;
+
+        PanelDocument(@CheckForNull String text, @CheckForNull String version, @CheckForNull String error) {
+            this.bytes = text != null ? text.getBytes(StandardCharsets.UTF_8) : new byte[0];
+            this.version = version;
+            this.error = error;
+            CRC32 crc = new CRC32();
+            crc.update(bytes);
+            String hash = Long.toHexString(crc.getValue()) + Integer.toHexString(bytes.length);
+            this.tag = "\"" + hash + "\"";
+            this.gzipTag = "\"" + hash + "-gzip\""; // NOI18N
+        }
+
+        /**
+         * @return the document compressed with gzip
+         * @throws IOException if unable to compress the document
+         */
+        synchronized byte[] getGzipBytes() throws IOException {
+            if (gzipBytes == null) {
+                ByteArrayOutputStream baos = new ByteArrayOutputStream(bytes.length / 4);
+                try (GZIPOutputStream gzip = new GZIPOutputStream(baos)) {
+                    gzip.write(bytes);
+                }
+                gzipBytes = baos.toByteArray();
+            }
+            return gzipBytes;
+        }
+    }
+
     abstract protected String getJsonPanel(String name);
 
     abstract protected String getXmlPanel(String name);
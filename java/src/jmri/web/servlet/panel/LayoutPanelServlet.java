@@ -2,11 +2,13 @@ package jmri.web.servlet.panel;
 
 import java.awt.Color;
 import java.util.List;
+import java.util.Objects;
 
 import javax.annotation.Nonnull;
 import javax.servlet.annotation.WebServlet;
 import javax.servlet.http.HttpServlet;
 import jmri.*;
+import jmri.jmrit.display.Editor;
 import jmri.jmrit.display.Positionable;
 import jmri.jmrit.display.layoutEditor.*;
 import jmri.util.ColorUtil;
@@ -43,6 +45,84 @@ public class LayoutPanelServlet extends AbstractPanelServlet {
             log.warn("Requested LayoutPanel [{}] does not exist.", name);
             return "ERROR Requested panel [" + name + "] does not exist.";
         }
+        Element panel = getPanelElement(editor, name);
+
+        // include positionable elements
+        List<Positionable> contents = editor.getContents();
+        log.debug("Number of positionable elements: {}", contents.size());
+        for (Positionable sub : contents) {
+            if (sub != null) {
+                try {
+                    panel.addContent(positionableElement(sub));
+                } catch (Exception ex) {
+                    log.error("Error storing panel positionable element: {}", ex);
+                }
+            }
+        }
+
+        // include LayoutBlocks
+        addLayoutBlocks(panel);
+
+        // include LayoutTrackViews
+        List<LayoutTrackView> layoutTrackViews = editor.getLayoutTrackViews();
+        log.debug("Number of LayoutTrack elements: {}", layoutTrackViews.size());
+
+        // 1st pass send everything but track segment views; 2nd send track segment views
+        for (int pass = 0; pass < 2; pass++) {
+            for (Object sub : layoutTrackViews) {
+                boolean isTSV = sub instanceof TrackSegmentView;
+                if (pass == (isTSV ? 1 : 0)) {
+                    try {
+                        Element e = jmri.configurexml.ConfigXmlManager.elementFromObject(sub);
+                        if (e != null) {
+                            replaceUserNames(e);
+                            if (sub instanceof LayoutTurntable) {
+                                List<Element> raytracks = e.getChildren("raytrack");
+                                for (Element raytrack : raytracks) {
+                                    replaceUserNameAttribute(raytrack, "turnout", "turnout");
+                                }
+                            }
+                            panel.addContent(e);
+                        }
+                    } catch (Exception e) {
+                        log.error("Error storing panel LayoutTrack element: {}", e);
+                    }
+                }
+            }
+        }
+
+        // include LayoutShapes
+        List<LayoutShape> layoutShapes = editor.getLayoutShapes();
+        for (Object sub : layoutShapes) {
+            try {
+                Element e = jmri.configurexml.ConfigXmlManager.elementFromObject(sub);
+                if (e != null) {
+                    panel.addContent(e);
+                }
+            } catch (Exception e) {
+                log.error("Error storing panel LayoutShape element: {}", e);
+            }
+        }
+        log.debug("Number of LayoutShape elements: {}", layoutShapes.size());
+
+        //write out formatted document
+        Document doc = new Document(panel);
+        XMLOutputter fmt = new XMLOutputter();
+        fmt.setFormat(Format.getPrettyFormat()
+                .setLineSeparator(System.getProperty("line.separator"))
+                .setTextMode(Format.TextMode.TRIM));
+
+        return fmt.outputString(doc);
+    }
+
+    /**
+     * Get the panel element with the panel attributes, without contents.
+     *
+     * @param editor the panel
+     * @param name   the panel name
+     * @return the panel element
+     */
+    private Element getPanelElement(@Nonnull LayoutEditor editor, @Nonnull String name) {
         Element panel = new Element("panel");
 
         panel.setAttribute("name", name);
@@ -75,20 +155,15 @@ public class LayoutPanelServlet extends AbstractPanelServlet {
         panel.setAttribute("turnoutcirclethrowncolor", editor.getTurnoutCircleThrownColor());
         panel.setAttribute("turnoutfillcontrolcircles", (editor.isTurnoutFillControlCircles()) ? "yes" : "no");
 
-        // include positionable elements
-        List<Positionable> contents = editor.getContents();
-        log.debug("Number of positionable elements: {}", contents.size());
-        for (Positionable sub : contents) {
-            if (sub != null) {
-                try {
-                    panel.addContent(positionableElement(sub));
-                } catch (Exception ex) {
-                    log.error("Error storing panel positionable element: {}", ex);
-                }
-            }
-        }
+        return panel;
+    }
 
-        // include LayoutBlocks
+    /**
+     * Add the LayoutBlocks in use to the panel element.
+     *
+     * @param panel the panel element
+     */
+    private void addLayoutBlocks(@Nonnull Element panel) {
         LayoutBlockManager lbm = InstanceManager.getDefault(LayoutBlockManager.class);
         java.util.Iterator<LayoutBlock> iter = lbm.getNamedBeanSet().iterator();
         SensorManager sm = InstanceManager.sensorManagerInstance();
@@ -138,57 +213,22 @@ public class LayoutPanelServlet extends AbstractPanelServlet {
             }
         }
         log.debug("Number of layoutblock elements: {}", num);
+    }
 
-        // include LayoutTrackViews
-        List<LayoutTrackView> layoutTrackViews = editor.getLayoutTrackViews();
-        log.debug("Number of LayoutTrack elements: {}", layoutTrackViews.size());
-
-        // 1st pass send everything but track segment views; 2nd send track segment views
-        for (int pass = 0; pass < 2; pass++) {
-            for (Object sub : layoutTrackViews) {
-                boolean isTSV = sub instanceof TrackSegmentView;
-                if (pass == (isTSV ? 1 : 0)) {
-                    try {
-                        Element e = jmri.configurexml.ConfigXmlManager.elementFromObject(sub);
-                        if (e != null) {
-                            replaceUserNames(e);
-                            if (sub instanceof LayoutTurntable) {
-                                List<Element> raytracks = e.getChildren("raytrack");
-                                for (Element raytrack : raytracks) {
-                                    replaceUserNameAttribute(raytrack, "turnout", "turnout");
-                                }
-                            }
-                            panel.addContent(e);
-                        }
-                    } catch (Exception e) {
-                        log.error("Error storing panel LayoutTrack element: {}", e);
-                    }
-                }
-            }
-        }
-
-        // include LayoutShapes
-        List<LayoutShape> layoutShapes = editor.getLayoutShapes();
-        for (Object sub : layoutShapes) {
-            try {
-                Element e = jmri.configurexml.ConfigXmlManager.elementFromObject(sub);
-                if (e != null) {
-                    panel.addContent(e);
-                }
-            } catch (Exception e) {
-                log.error("Error storing panel LayoutShape element: {}", e);
-            }
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This includes the panel attributes and the LayoutBlocks, which can be
+     * changed without editing the panel.
+     */
+    @Override
+    protected int getPanelVersion(@Nonnull Editor editor) {
+        if (!(editor instanceof LayoutEditor)) {
+            return super.getPanelVersion(editor);
         }
-        log.debug("Number of LayoutShape elements: {}", layoutShapes.size());
-
-        //write out formatted document
-        Document doc = new Document(panel);
-        XMLOutputter fmt = new XMLOutputter();
-        fmt.setFormat(Format.getPrettyFormat()
-                .setLineSeparator(System.getProperty("line.separator"))
-                .setTextMode(Format.TextMode.TRIM));
-
-        return fmt.outputString(doc);
+        Element panel = getPanelElement((LayoutEditor) editor, "");
+        addLayoutBlocks(panel);
+        return Objects.hash(super.getPanelVersion(editor), new XMLOutputter(Format.getCompactFormat()).outputString(panel));
     }
 
     /**
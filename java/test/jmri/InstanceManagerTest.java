@@ -149,6 +149,25 @@ public class InstanceManagerTest {
         Assert.assertEquals("retrieved second PowerManager", m1, m2);
     }
 
+    @Test
+    public void testDefaultFollowsChanges() {
+        PowerManager m1 = new PowerManagerScaffold();
+        PowerManager m2 = new PowerManagerScaffold();
+
+        InstanceManager.store(m1, PowerManager.class);
+        Assert.assertEquals("first stored", m1, InstanceManager.getDefault(PowerManager.class));
+        InstanceManager.store(m2, PowerManager.class);
+        Assert.assertEquals("last stored", m2, InstanceManager.getDefault(PowerManager.class));
+        InstanceManager.setDefault(PowerManager.class, m1);
+        Assert.assertEquals("set default", m1, InstanceManager.getDefault(PowerManager.class));
+        InstanceManager.deregister(m1, PowerManager.class);
+        Assert.assertEquals("after deregister", m2, InstanceManager.getDefault(PowerManager.class));
+        InstanceManager.reset(PowerManager.class);
+        Assert.assertNull("after reset", InstanceManager.getNullableDefault(PowerManager.class));
+        InstanceManager.store(m1, PowerManager.class);
+        Assert.assertEquals("stored again", m1, InstanceManager.getDefault(PowerManager.class));
+    }
+
     public static class OkAutoCreate implements InstanceManagerAutoDefault {
 
         public OkAutoCreate() {
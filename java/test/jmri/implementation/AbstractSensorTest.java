@@ -40,6 +40,28 @@ public class AbstractSensorTest extends AbstractSensorTestBase {
         Assert.assertEquals(nb.toString(), "Foo After");
     }
     
+    @Test
+    public void testDebounceFlapping() {
+        t.setSensorDebounceGoingActiveTimer(50L);
+        t.setSensorDebounceGoingInActiveTimer(50L);
+        t.setOwnState(Sensor.ACTIVE);
+        t.setOwnState(Sensor.INACTIVE);
+        t.setOwnState(Sensor.ACTIVE);
+        Assert.assertEquals("still settling", Sensor.UNKNOWN, t.getState());
+        Assert.assertEquals("restarts counted", 2, t.restartcount);
+        JUnitUtil.waitFor(() -> t.getState() == Sensor.ACTIVE, "settled");
+        Assert.assertEquals("restarts reset", 0, t.restartcount);
+
+        // a change that isn't debounced stops the pending debounce
+        t.setSensorDebounceGoingInActiveTimer(0L);
+        t.setOwnState(Sensor.INACTIVE);
+        t.setOwnState(Sensor.ACTIVE);
+        t.setOwnState(Sensor.INACTIVE);
+        Assert.assertEquals("not debounced", Sensor.INACTIVE, t.getState());
+        JUnitUtil.waitFor(100);
+        Assert.assertEquals("debounce stopped", Sensor.INACTIVE, t.getState());
+    }
+
     // load t with actual object; create scaffolds as needed
     @Override
     @BeforeEach
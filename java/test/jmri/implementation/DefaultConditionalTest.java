@@ -777,6 +777,40 @@ public class DefaultConditionalTest {
         // Test ACTION_SET_NXPAIR_SEGMENT
     }
     
+    @Test
+    public void testCompiledAntecedent() throws JmriException {
+        ConditionalVariable r1 = new ConditionalVariableStatic(Conditional.State.TRUE);
+        ConditionalVariable r2 = new ConditionalVariableStatic(Conditional.State.FALSE);
+        ConditionalVariable r3 = new ConditionalVariableStatic(Conditional.State.TRUE, true);
+        List<ConditionalVariable> variables = Arrays.asList(r1, r2, r3);
+
+        DefaultConditional ix1 = new DefaultConditional("IXIC 1");
+        ix1.setStateVariables(variables);
+        ix1.setLogicType(Conditional.AntecedentOperator.MIXED, "R1 and not (R2 or R3)");
+        // R3 is negated so is true when FALSE
+        Assert.assertEquals("R1 and not (F or F)", Conditional.TRUE, ix1.calculate(false, null));
+
+        // the compiled antecedent sees the variables change
+        r2.setState(Conditional.State.TRUE.getIntValue());
+        Assert.assertEquals("R1 and not (T or F)", Conditional.FALSE, ix1.calculate(false, null));
+        r2.setState(Conditional.State.FALSE.getIntValue());
+        r3.setState(Conditional.State.FALSE.getIntValue());
+        Assert.assertEquals("R1 and not (F or T)", Conditional.FALSE, ix1.calculate(false, null));
+
+        // and is compiled again when the antecedent changes
+        ix1.setLogicType(Conditional.AntecedentOperator.MIXED, "R1 and R3");
+        Assert.assertEquals("R1 and R3", Conditional.TRUE, ix1.calculate(false, null));
+
+        // operators are applied left to right
+        DefaultConditional.DataPair dp = ix1.compileAntecedent("R2ANDR1ORR1", variables);
+        Assert.assertTrue("(F and T) or T", dp.antecedent.evaluate());
+        Assert.assertEquals("whole string parsed", 11, dp.indexCount);
+        Assert.assertEquals("R1 and R2 used", 2, dp.argsUsed.cardinality());
+        dp = ix1.compileAntecedent("(R3)ANDR2)ORR1", variables);
+        Assert.assertEquals("level ends after R2", 10, dp.indexCount);
+        Assert.assertFalse("T and F", dp.antecedent.evaluate());
+    }
+
     @Test
     public void testActionPlaySound() {
         ConditionalVariable[] conditionalVariables_True
@@ -1,5 +1,14 @@
 package jmri.implementation;
 
+import java.util.Hashtable;
+
+import jmri.InstanceManager;
+import jmri.JmriException;
+import jmri.NamedBeanHandle;
+import jmri.NamedBeanHandleManager;
+import jmri.Sensor;
+import jmri.SignalMastLogicManager;
+import jmri.Turnout;
 import jmri.util.JUnitUtil;
 
 import org.junit.jupiter.api.*;
@@ -18,9 +27,80 @@ public class DefaultSignalMastLogicTest {
         Assert.assertNotNull("exists",t);
     }
 
+    @Test
+    public void testControlSensors() throws JmriException {
+        Sensor is1 = InstanceManager.sensorManagerInstance().provideSensor("IS1");
+        Sensor is2 = InstanceManager.sensorManagerInstance().provideSensor("IS2");
+        is1.setKnownState(Sensor.INACTIVE);
+        is2.setKnownState(Sensor.INACTIVE);
+        VirtualSignalMast sm1 = new VirtualSignalMast("IF$vsm:AAR-1946:CPL($0001)");
+        VirtualSignalMast sm2 = new VirtualSignalMast("IF$vsm:AAR-1946:CPL($0002)");
+        InstanceManager.getDefault(SignalMastLogicManager.class).setSignalLogicDelay(20);
+        DefaultSignalMastLogic sml = new DefaultSignalMastLogic(sm1);
+        sml.setDestinationMast(sm2);
+        sml.addSensor("IS1", Sensor.ACTIVE, sm2);
+        sml.addSensor("IS2", Sensor.ACTIVE, sm2);
+        sml.initialise();
+        sm2.setAspect("Clear");
+        JUnitUtil.waitFor(() -> !sml.isActive(sm2) && "Stop".equals(sm1.getAspect()), "held by both sensors");
+
+        is1.setKnownState(Sensor.ACTIVE);
+        JUnitUtil.waitFor(20);
+        Assert.assertFalse("still held by IS2", sml.isActive(sm2));
+        Assert.assertEquals("still held by IS2", "Stop", sm1.getAspect());
+
+        is2.setKnownState(Sensor.ACTIVE);
+        JUnitUtil.waitFor(() -> sml.isActive(sm2) && "Clear".equals(sm1.getAspect()), "cleared by both sensors");
+
+        // one sensor puts the mast to danger without waiting
+        is1.setKnownState(Sensor.INACTIVE);
+        Assert.assertFalse("held by IS1", sml.isActive(sm2));
+        JUnitUtil.waitFor(() -> "Stop".equals(sm1.getAspect()), "held by IS1");
+
+        is1.setKnownState(Sensor.ACTIVE);
+        JUnitUtil.waitFor(() -> sml.isActive(sm2) && "Clear".equals(sm1.getAspect()), "cleared again");
+
+        // a change in the sensors to check starts again from all of them
+        sml.removeSensor(is2, sm2);
+        is2.setKnownState(Sensor.INACTIVE);
+        JUnitUtil.waitFor(20);
+        Assert.assertTrue("IS2 no longer checked", sml.isActive(sm2));
+        sml.dispose();
+    }
+
+    @Test
+    public void testTurnoutInAutoAndUserLists() {
+        Turnout it1 = InstanceManager.turnoutManagerInstance().provideTurnout("IT1");
+        it1.setCommandedState(Turnout.CLOSED);
+        VirtualSignalMast sm1 = new VirtualSignalMast("IF$vsm:AAR-1946:CPL($0001)");
+        VirtualSignalMast sm2 = new VirtualSignalMast("IF$vsm:AAR-1946:CPL($0002)");
+        InstanceManager.getDefault(SignalMastLogicManager.class).setSignalLogicDelay(20);
+        DefaultSignalMastLogic sml = new DefaultSignalMastLogic(sm1);
+        sml.setDestinationMast(sm2);
+        Hashtable<NamedBeanHandle<Turnout>, Integer> turnouts = new Hashtable<>();
+        turnouts.put(InstanceManager.getDefault(NamedBeanHandleManager.class).getNamedBeanHandle("IT1", it1), Turnout.CLOSED);
+        sml.setTurnouts(turnouts, sm2);
+        Hashtable<Turnout, Integer> autoTurnouts = new Hashtable<>();
+        autoTurnouts.put(it1, Turnout.THROWN);
+        sml.setAutoTurnouts(autoTurnouts, sm2);
+        sml.initialise();
+        sm2.setAspect("Clear");
+        JUnitUtil.waitFor(() -> sml.isActive(sm2) && "Clear".equals(sm1.getAspect()), "cleared by the user setting");
+
+        // the turnout now matches the automatic setting but not the user one
+        it1.setCommandedState(Turnout.THROWN);
+        JUnitUtil.waitFor(() -> !sml.isActive(sm2) && "Stop".equals(sm1.getAspect()), "held by the user setting");
+
+        it1.setCommandedState(Turnout.CLOSED);
+        JUnitUtil.waitFor(() -> sml.isActive(sm2) && "Clear".equals(sm1.getAspect()), "cleared again");
+        sml.dispose();
+    }
+
     @BeforeEach
     public void setUp() {
         JUnitUtil.setUp();
+        JUnitUtil.initInternalSensorManager();
+        JUnitUtil.initInternalTurnoutManager();
     }
 
     @AfterEach
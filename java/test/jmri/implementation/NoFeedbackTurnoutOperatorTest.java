@@ -1,6 +1,9 @@
 package jmri.implementation;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import jmri.InstanceManager;
+import jmri.NoFeedbackTurnoutOperation;
 import jmri.Turnout;
 import jmri.TurnoutManager;
 import jmri.util.JUnitUtil;
@@ -21,6 +24,26 @@ public class NoFeedbackTurnoutOperatorTest {
         Assert.assertNotNull("exists",t);
     }
 
+    @Test
+    public void testOperate() {
+        AtomicInteger sent = new AtomicInteger();
+        AbstractTurnout it = new AbstractTurnout("IT2") {
+            @Override
+            protected void forwardCommandChangeToLayout(int s) {
+                sent.incrementAndGet();
+            }
+
+            @Override
+            protected void turnoutPushbuttonLockout(boolean locked) {
+            }
+        };
+        it.setInhibitOperation(false);
+        it.setTurnoutOperation(new NoFeedbackTurnoutOperation("Test", 20, 3));
+        it.setCommandedState(Turnout.THROWN);
+        JUnitUtil.waitFor(() -> it.getKnownState() == Turnout.THROWN, "operated");
+        Assert.assertEquals("tries", 3, sent.get());
+    }
+
     @BeforeEach
     public void setUp() {
         JUnitUtil.setUp();        jmri.util.JUnitUtil.initInternalTurnoutManager();
@@ -1,5 +1,21 @@
 package jmri.jmrit.audio;
 
+import com.jogamp.openal.AL;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+
 import jmri.util.JUnitUtil;
 
 import org.junit.jupiter.api.*;
@@ -24,6 +40,46 @@ public class JavaSoundAudioBufferTest {
         Assert.assertNotNull("exists", l);
     }
 
+    @Test
+    public void testLoadDecodedBuffer() throws IOException, UnsupportedAudioFileException {
+        String filename = "java/test/jmri/jmrit/vsdecoder/test.wav";
+        JavaSoundAudioBuffer fromStream = new JavaSoundAudioBuffer("IAB1");
+        // JavaSound needs a stream that supports mark and reset
+        try (InputStream stream = new BufferedInputStream(new FileInputStream(filename))) {
+            fromStream.setInputStream(stream);
+        }
+        Assert.assertEquals("loaded from stream", jmri.Audio.STATE_LOADED, fromStream.getState());
+
+        // decode the file as for OpenAL: little endian PCM and an OpenAL format
+        ByteBuffer data;
+        int format;
+        int frequency;
+        try (AudioInputStream stream = AudioSystem.getAudioInputStream(new File(filename))) {
+            AudioFormat pcm = stream.getFormat();
+            Assert.assertFalse("test file is little endian", pcm.isBigEndian());
+            byte[] bytes = new byte[(int) stream.getFrameLength() * pcm.getFrameSize()];
+            new DataInputStream(stream).readFully(bytes);
+            data = ByteBuffer.allocateDirect(bytes.length).order(ByteOrder.LITTLE_ENDIAN);
+            data.put(bytes).rewind();
+            frequency = (int) pcm.getSampleRate();
+            if (pcm.getChannels() == 1) {
+                format = pcm.getSampleSizeInBits() == 8 ? AL.AL_FORMAT_MONO8 : AL.AL_FORMAT_MONO16;
+            } else {
+                format = pcm.getSampleSizeInBits() == 8 ? AL.AL_FORMAT_STEREO8 : AL.AL_FORMAT_STEREO16;
+            }
+        }
+        JavaSoundAudioBuffer decoded = new JavaSoundAudioBuffer("IAB2");
+        Assert.assertTrue("decoded data loaded", decoded.loadBuffer(data, format, frequency));
+        Assert.assertEquals("loaded", jmri.Audio.STATE_LOADED, decoded.getState());
+        Assert.assertEquals("format", fromStream.getFormat(), decoded.getFormat());
+        Assert.assertEquals("frequency", fromStream.getFrequency(), decoded.getFrequency());
+        Assert.assertEquals("length", fromStream.getLength(), decoded.getLength());
+        Assert.assertArrayEquals("same samples", fromStream.getDataStorageBuffer(), decoded.getDataStorageBuffer());
+
+        Assert.assertFalse("unknown format", decoded.loadBuffer(data, 0, frequency));
+        jmri.util.JUnitAppender.assertErrorMessage("Unsupported audio format 0 when loading buffer IAB2");
+    }
+
     @BeforeEach
     public void setUp() {
         JUnitUtil.setUp();
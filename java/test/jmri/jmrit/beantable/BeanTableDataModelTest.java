@@ -1,13 +1,24 @@
 package jmri.jmrit.beantable;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.swing.event.TableModelEvent;
+
 import jmri.InstanceManager;
+import jmri.JmriException;
 import jmri.Manager;
 import jmri.Sensor;
+import jmri.SensorManager;
 import jmri.jmrit.beantable.sensor.SensorTableDataModel;
 import jmri.util.JUnitUtil;
+import jmri.util.ThreadingUtil;
 
+import org.junit.Assert;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 
 // import org.slf4j.Logger;
 // import org.slf4j.LoggerFactory;
@@ -51,6 +62,58 @@ public class BeanTableDataModelTest extends AbstractBeanTableDataModelBase<Senso
         return 13;
     }
 
+    @Test
+    public void testRowsAndListeners() {
+        SensorManager sm = InstanceManager.sensorManagerInstance();
+        Sensor s1 = sm.provideSensor("IS1");
+        Sensor s2 = sm.provideSensor("IS2");
+        Sensor s3 = sm.provideSensor("IS3");
+        // added off the GUI thread, so the table is updated later
+        JUnitUtil.waitFor(() -> t.getRowCount() == 3, "rows added");
+        Assert.assertEquals("row of IS2", 1, t.getRowOfSystemName("IS2"));
+        Assert.assertEquals("no row", -1, t.getRowOfSystemName("IS4"));
+        Assert.assertTrue("listening", Arrays.asList(s2.getPropertyChangeListeners()).contains(t));
+
+        sm.deregister(s2);
+        JUnitUtil.waitFor(() -> t.getRowCount() == 2, "row removed");
+        Assert.assertEquals("row of IS3", 1, t.getRowOfSystemName("IS3"));
+        Assert.assertFalse("not listening to removed", Arrays.asList(s2.getPropertyChangeListeners()).contains(t));
+
+        t.dispose();
+        Assert.assertFalse("not listening after dispose", Arrays.asList(s1.getPropertyChangeListeners()).contains(t));
+        Assert.assertFalse("not listening after dispose", Arrays.asList(s3.getPropertyChangeListeners()).contains(t));
+        t = null;
+    }
+
+    @Test
+    public void testNoListenersAfterDispose() {
+        SensorManager sm = InstanceManager.sensorManagerInstance();
+        // added off the GUI thread, so the table update is still queued
+        Sensor s1 = sm.provideSensor("IS1");
+        t.dispose();
+        // let the queued update run
+        ThreadingUtil.runOnGUI(() -> {});
+        Assert.assertFalse("not listening after dispose", Arrays.asList(s1.getPropertyChangeListeners()).contains(t));
+        t = null;
+    }
+
+    @Test
+    public void testRowUpdates() throws JmriException {
+        SensorManager sm = InstanceManager.sensorManagerInstance();
+        Sensor s1 = sm.provideSensor("IS1");
+        sm.provideSensor("IS2");
+        Sensor s3 = sm.provideSensor("IS3");
+        JUnitUtil.waitFor(() -> t.getRowCount() == 3, "rows added");
+
+        List<TableModelEvent> events = new ArrayList<>();
+        t.addTableModelListener(events::add);
+        s3.setKnownState(Sensor.ACTIVE);
+        s1.setKnownState(Sensor.ACTIVE);
+        JUnitUtil.waitFor(() -> !events.isEmpty(), "rows updated");
+        Assert.assertEquals("first row", 0, events.get(0).getFirstRow());
+        Assert.assertEquals("last row", 2, events.get(events.size() - 1).getLastRow());
+    }
+
     // An implementation of BeanTableModel which can be used in testing.
     private class BeanTableDataModelImpl extends SensorTableDataModel {
 
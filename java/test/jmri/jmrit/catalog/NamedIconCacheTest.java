@@ -0,0 +1,109 @@
+package jmri.jmrit.catalog;
+
+import javax.swing.JLabel;
+
+import jmri.util.FileUtil;
+import jmri.util.JUnitUtil;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.*;
+
+/**
+ * Tests for NamedIconCache class.
+ */
+public class NamedIconCacheTest {
+
+    private NamedIconCache cache;
+
+    @Test
+    public void testSharedImage() {
+        NamedIcon first = new NamedIcon("program:resources/logo.gif", "logo");
+        Assert.assertEquals("read once", 1, cache.getNumImages());
+        long misses = cache.getMisses();
+
+        NamedIcon second = new NamedIcon(FileUtil.getExternalFilename("program:resources/logo.gif"), "logo");
+        Assert.assertSame("same image for same file", first.getImage(), second.getImage());
+        Assert.assertEquals("still one image", 1, cache.getNumImages());
+        Assert.assertEquals("no more misses", misses, cache.getMisses());
+        Assert.assertTrue("hits", cache.getHits() > 0);
+        Assert.assertTrue("hit rate", cache.getHitRate() > 0.0);
+        Assert.assertEquals("portable name", "program:resources/logo.gif", second.getURL());
+    }
+
+    @Test
+    public void testAnimatedGifScannedOnce() {
+        String path = "program:resources/icons/largeschematics/aspects/CSD-1962/003_o40_p.gif";
+        NamedIcon first = new NamedIcon(path, "blink");
+        long misses = cache.getMisses();
+        NamedIcon second = new NamedIcon(path, "blink");
+        Assert.assertEquals("no more misses", misses, cache.getMisses());
+
+        JLabel comp = new JLabel();
+        first.rotate(90, comp);
+        second.rotate(90, comp);
+        Assert.assertSame("rotated frames shared", first.getImage(), second.getImage());
+    }
+
+    @Test
+    public void testVariants() {
+        NamedIcon first = new NamedIcon("program:resources/logo.gif", "logo");
+        NamedIcon second = new NamedIcon("program:resources/logo.gif", "logo");
+        JLabel comp = new JLabel();
+
+        first.rotate(45, comp);
+        Assert.assertEquals("variant held", 2, cache.getNumImages());
+        long hits = cache.getHits();
+        second.rotate(45, comp);
+        Assert.assertSame("rotated image shared", first.getImage(), second.getImage());
+        Assert.assertEquals("variant found", hits + 1, cache.getHits());
+
+        second.scale(2.0, comp);
+        Assert.assertNotSame("scaled differently", first.getImage(), second.getImage());
+        first.scale(2.0, comp);
+        Assert.assertSame("scaled image shared", first.getImage(), second.getImage());
+
+        first.setRotation(1, comp);
+        second.setRotation(1, comp);
+        Assert.assertSame("quarter turned image shared", first.getImage(), second.getImage());
+        Assert.assertEquals("turned", 1, second.getRotation());
+        Assert.assertEquals("turned dimensions", first.getIconWidth(), second.getIconWidth());
+    }
+
+    @Test
+    public void testEviction() {
+        NamedIcon icon = new NamedIcon("program:resources/logo.gif", "logo");
+        long imageSize = cache.getSize();
+        Assert.assertTrue("size estimated", imageSize > 0);
+
+        cache.setMaxSize(imageSize);
+        icon.rotate(90, new JLabel());
+        Assert.assertEquals("only variant held", 1, cache.getNumImages());
+        Assert.assertTrue("within limit", cache.getSize() <= imageSize * 2);
+
+        new NamedIcon("program:resources/logo.gif", "logo");
+        Assert.assertEquals("file image read again", 1, cache.getNumImages());
+
+        cache.clear();
+        Assert.assertEquals("nothing held", 0, cache.getNumImages());
+        Assert.assertEquals("no size", 0, cache.getSize());
+    }
+
+    @Test
+    public void testNotFound() {
+        Assert.assertNull("not found", cache.findURL("program:resources/foo/foo/foo/foo.gif"));
+        Assert.assertNull("no icon", NamedIcon.getIconByName("program:resources/foo/foo/foo/foo.gif"));
+        Assert.assertEquals("nothing held", 0, cache.getNumImages());
+    }
+
+    @BeforeEach
+    public void setUp() {
+        JUnitUtil.setUp();
+        cache = NamedIconCache.getDefault();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        cache = null;
+        JUnitUtil.tearDown();
+    }
+}
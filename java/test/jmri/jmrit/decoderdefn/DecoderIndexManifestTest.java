@@ -0,0 +1,63 @@
+package jmri.jmrit.decoderdefn;
+
+import java.io.File;
+import java.io.IOException;
+
+import jmri.util.JUnitUtil;
+
+import org.jdom2.Element;
+import org.jdom2.JDOMException;
+import org.jdom2.output.Format;
+import org.jdom2.output.XMLOutputter;
+import org.junit.Assert;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for DecoderIndexManifest class.
+ */
+public class DecoderIndexManifestTest {
+
+    private File manifestFile;
+
+    @Test
+    public void testGetFamily() throws JDOMException, IOException {
+        XMLOutputter outputter = new XMLOutputter(Format.getCompactFormat());
+        // 0NMRA.xml includes its outputs with XInclude
+        Element expected = new DecoderFile().rootFromName(DecoderFile.fileLocation + "0NMRA.xml")
+                .getChild("decoder").getChild("family");
+
+        DecoderIndexManifest manifest = new DecoderIndexManifest(manifestFile);
+        manifest.load();
+        Element family = manifest.getFamily("0NMRA.xml");
+        Assert.assertEquals("parsed family", outputter.outputString(expected), outputter.outputString(family));
+        manifest.store();
+        Assert.assertTrue("manifest written", manifestFile.exists());
+
+        manifest = new DecoderIndexManifest(manifestFile);
+        manifest.load();
+        family = manifest.getFamily("0NMRA.xml");
+        Assert.assertEquals("remembered family", outputter.outputString(expected), outputter.outputString(family));
+    }
+
+    @Test
+    public void testUnreadableManifest() throws JDOMException, IOException {
+        java.nio.file.Files.write(manifestFile.toPath(), "not xml".getBytes());
+        DecoderIndexManifest manifest = new DecoderIndexManifest(manifestFile);
+        manifest.load();
+        jmri.util.JUnitAppender.assertWarnMessageStartingWith("Unable to read decoder index manifest");
+        Assert.assertEquals("family still read", "NMRA standard CV definitions",
+                manifest.getFamily("0NMRA.xml").getAttributeValue("name"));
+    }
+
+    @BeforeEach
+    public void setUp(@TempDir File folder) {
+        JUnitUtil.setUp();
+        manifestFile = new File(folder, DecoderIndexManifest.MANIFEST_FILE_NAME);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        JUnitUtil.tearDown();
+    }
+}
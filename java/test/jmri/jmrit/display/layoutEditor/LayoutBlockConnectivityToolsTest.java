@@ -1,5 +1,11 @@
 package jmri.jmrit.display.layoutEditor;
 
+import java.util.Arrays;
+import java.util.Collections;
+
+import jmri.Block;
+import jmri.SignalMast;
+import jmri.implementation.VirtualSignalMast;
 import jmri.util.JUnitUtil;
 
 import org.junit.Assert;
@@ -18,6 +24,52 @@ public class LayoutBlockConnectivityToolsTest {
         Assert.assertNotNull("exists", t);
     }
 
+    @Test
+    public void testPairGraph() {
+        Block a = new Block("IB1", "A");
+        Block b = new Block("IB2", "B");
+        Block c = new Block("IB3", "C");
+        Block d = new Block("IB4", "D");
+        Block e = new Block("IB5", "E");
+        Block g = new Block("IB6", "G");
+        Block h = new Block("IB7", "H");
+        SignalMast source = new VirtualSignalMast("IF$vsm:basic:one-searchlight($1)");
+        SignalMast next = new VirtualSignalMast("IF$vsm:basic:one-searchlight($2)");
+        SignalMast beyond = new VirtualSignalMast("IF$vsm:basic:one-searchlight($3)");
+        SignalMast reverse = new VirtualSignalMast("IF$vsm:basic:one-searchlight($4)");
+        SignalMast bumper = new VirtualSignalMast("IF$vsm:basic:one-searchlight($5)");
+
+        // A - B - C - D - G, with a branch in B to E - H, which ends at a bumper
+        LayoutBlockConnectivityTools.PairGraph graph = new LayoutBlockConnectivityTools.PairGraph();
+        addThroughPaths(graph, b, a, c);
+        addThroughPaths(graph, b, a, e);
+        addThroughPaths(graph, c, b, d);
+        addThroughPaths(graph, d, c, g);
+        addThroughPaths(graph, e, b, h);
+        LayoutBlockConnectivityTools.FacingProtecting sourceFp
+                = new LayoutBlockConnectivityTools.FacingProtecting(a, Collections.singletonList(b), source);
+        LayoutBlockConnectivityTools.FacingProtecting nextFp
+                = new LayoutBlockConnectivityTools.FacingProtecting(c, Collections.singletonList(d), next);
+        graph.addDestination(sourceFp);
+        graph.addDestination(nextFp);
+        graph.addDestination(new LayoutBlockConnectivityTools.FacingProtecting(d, Collections.singletonList(g), beyond));
+        graph.addDestination(new LayoutBlockConnectivityTools.FacingProtecting(b, Collections.singletonList(a), reverse));
+        graph.addDestination(new LayoutBlockConnectivityTools.FacingProtecting(h, null, bumper));
+        graph.addObstacle(a, b);
+        graph.addObstacle(b, a);
+        graph.addObstacle(c, d);
+        graph.addObstacle(d, g);
+
+        Assert.assertEquals("next masts and bumper, but not beyond or reverse",
+                Arrays.asList(next, bumper), graph.findDestinations(sourceFp));
+        Assert.assertEquals("beyond from next", Collections.singletonList(beyond), graph.findDestinations(nextFp));
+    }
+
+    private static void addThroughPaths(LayoutBlockConnectivityTools.PairGraph graph, Block block, Block one, Block other) {
+        graph.addThroughPath(block, one, other);
+        graph.addThroughPath(block, other, one);
+    }
+
     // from here down is testing infrastructure
     @BeforeEach
     public void setUp() throws Exception {
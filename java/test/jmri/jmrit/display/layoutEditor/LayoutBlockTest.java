@@ -112,6 +112,44 @@ public class LayoutBlockTest {
     }
 
 
+    @Test
+    public void testPacketHistory() {
+        LayoutBlock.PacketHistory history = new LayoutBlock.PacketHistory();
+        for (int i = 0; i < 500; i++) {
+            history.add(i);
+        }
+        Assert.assertEquals("all held", 500, history.size());
+        Assert.assertTrue("oldest held", history.contains(0));
+        Assert.assertFalse("never added", history.contains(500));
+
+        // passing 500 forgets the oldest 250
+        history.add(500);
+        Assert.assertEquals("trimmed", 251, history.size());
+        Assert.assertFalse("oldest forgotten", history.contains(0));
+        Assert.assertFalse("oldest forgotten", history.contains(249));
+        Assert.assertTrue("newer held", history.contains(250));
+        Assert.assertTrue("newest held", history.contains(500));
+
+        // an id added again is held until its newest copy is forgotten
+        history.add(250);
+        for (int i = 0; i < 249; i++) {
+            history.add(1000 + i);
+        }
+        Assert.assertEquals("trimmed", 251, history.size());
+        Assert.assertTrue("repeated id held", history.contains(250));
+    }
+
+    @Test
+    public void testGetNextPacketID() {
+        LayoutBlock other = new LayoutBlock("ILB998", "Other Block");
+        int last = layoutBlock.getNextPacketID();
+        for (int i = 0; i < 2500; i++) {
+            int id = ((i % 2) == 0) ? other.getNextPacketID() : layoutBlock.getNextPacketID();
+            Assert.assertEquals("ids shared by all blocks and wrap after 2000", (last >= 2000) ? 0 : last + 1, id);
+            last = id;
+        }
+        Assert.assertTrue("own packets acted upon", layoutBlock.updatePacketActedUpon(last));
+    }
 
     // from here down is testing infrastructure
     @BeforeEach
@@ -0,0 +1,78 @@
+package jmri.jmrit.display.layoutEditor;
+
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.util.List;
+
+import jmri.util.JUnitUtil;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.condition.DisabledIfSystemProperty;
+
+/**
+ * Test simple functioning of LayoutTrackViewIndex
+ */
+@DisabledIfSystemProperty(named ="java.awt.headless", matches ="true")
+public class LayoutTrackViewIndexTest {
+
+    private LayoutEditor layoutEditor;
+    private PositionablePointView nearView;
+    private PositionablePointView farView;
+
+    @Test
+    public void testGetViews() {
+        layoutEditor.setAllEditable(false);
+        List<LayoutTrackView> views = layoutEditor.getLayoutTrackViews(new Rectangle2D.Double(90.0, 90.0, 20.0, 20.0));
+        Assert.assertTrue("near view found", views.contains(nearView));
+        Assert.assertFalse("far view not found", views.contains(farView));
+
+        views = layoutEditor.getLayoutTrackViews(new Rectangle2D.Double(3000.0, 3000.0, 0.0, 0.0));
+        Assert.assertTrue("far view found at a point", views.contains(farView));
+
+        Assert.assertEquals("all views found", layoutEditor.getLayoutTrackViews(),
+                layoutEditor.getLayoutTrackViews(new Rectangle2D.Double(0.0, 0.0, 4000.0, 4000.0)));
+    }
+
+    @Test
+    public void testEditable() {
+        layoutEditor.setAllEditable(true);
+        Assert.assertEquals("all views while editing", layoutEditor.getLayoutTrackViews(),
+                layoutEditor.getLayoutTrackViews(new Rectangle2D.Double(90.0, 90.0, 20.0, 20.0)));
+    }
+
+    @Test
+    public void testInvalidatedByAdd() {
+        layoutEditor.setAllEditable(false);
+        Rectangle2D area = new Rectangle2D.Double(1990.0, 90.0, 20.0, 20.0);
+        Assert.assertTrue("nothing there yet", layoutEditor.getLayoutTrackViews(area).isEmpty());
+
+        PositionablePoint point = new PositionablePoint("A3", PositionablePoint.PointType.ANCHOR, layoutEditor);
+        PositionablePointView pointView = new PositionablePointView(point, new Point2D.Double(2000.0, 100.0), layoutEditor);
+        layoutEditor.addLayoutTrack(point, pointView);
+        Assert.assertTrue("added view found", layoutEditor.getLayoutTrackViews(area).contains(pointView));
+    }
+
+    @BeforeEach
+    public void setUp() {
+        JUnitUtil.setUp();
+        JUnitUtil.resetProfileManager();
+        layoutEditor = new LayoutEditor();
+
+        PositionablePoint near = new PositionablePoint("A1", PositionablePoint.PointType.ANCHOR, layoutEditor);
+        nearView = new PositionablePointView(near, new Point2D.Double(100.0, 100.0), layoutEditor);
+        layoutEditor.addLayoutTrack(near, nearView);
+
+        PositionablePoint far = new PositionablePoint("A2", PositionablePoint.PointType.ANCHOR, layoutEditor);
+        farView = new PositionablePointView(far, new Point2D.Double(3000.0, 3000.0), layoutEditor);
+        layoutEditor.addLayoutTrack(far, farView);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        JUnitUtil.dispose(layoutEditor);
+        layoutEditor = null;
+        JUnitUtil.deregisterBlockManagerShutdownTask();
+        JUnitUtil.tearDown();
+    }
+}
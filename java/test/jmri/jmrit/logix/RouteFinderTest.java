@@ -34,6 +34,58 @@ public class RouteFinderTest {
         JUnitUtil.dispose(nxFrame);
     }
 
+    @Test
+    public void testFindRoutes() {
+        OBlockManager blockMgr = InstanceManager.getDefault(OBlockManager.class);
+        PortalManager portalMgr = InstanceManager.getDefault(PortalManager.class);
+        OBlock west = blockMgr.createNewOBlock("OB1", "West");
+        OBlock east = blockMgr.createNewOBlock("OB2", "East");
+        OBlock north = blockMgr.createNewOBlock("OB3", "North");
+        OBlock south = blockMgr.createNewOBlock("OB4", "South");
+        Portal northWest = portalMgr.createNewPortal("NorthWest");
+        northWest.setToBlock(west, false);
+        northWest.setFromBlock(north, false);
+        Portal southWest = portalMgr.createNewPortal("SouthWest");
+        southWest.setToBlock(west, false);
+        southWest.setFromBlock(south, false);
+        Portal northEast = portalMgr.createNewPortal("NorthEast");
+        northEast.setToBlock(east, false);
+        northEast.setFromBlock(north, false);
+        Portal southEast = portalMgr.createNewPortal("SouthEast");
+        southEast.setToBlock(east, false);
+        southEast.setFromBlock(south, false);
+        // a loop of four blocks
+        north.addPath(new OPath("NorthLoop", north, northWest, northEast, new ArrayList<>()));
+        west.addPath(new OPath("WestLoop", west, northWest, southWest, new ArrayList<>()));
+        south.addPath(new OPath("SouthLoop", south, southWest, southEast, new ArrayList<>()));
+        east.addPath(new OPath("EastLoop", east, southEast, northEast, new ArrayList<>()));
+
+        BlockOrder origin = new BlockOrder(north, "NorthLoop", "NorthEast", "NorthWest");
+        BlockOrder dest = new BlockOrder(south, "SouthLoop", "SouthWest", "SouthEast");
+        RouteFinder finder = new RouteFinder(null, origin, dest, null, null, 20);
+        List<List<BlockOrder>> routes = finder.findRoutes();
+        // going round the loop again gets back to the origin, which ends the route
+        assertThat(routes).withFailMessage("one way round").hasSize(1);
+        assertThat(routes.get(0)).withFailMessage("through West").hasSize(3);
+        assertThat(routes.get(0).get(1).getBlock()).isEqualTo(west);
+
+        // the other way round must pass East
+        origin = new BlockOrder(north, "NorthLoop", "NorthWest", "NorthEast");
+        dest = new BlockOrder(south, "SouthLoop", "SouthEast", "SouthWest");
+        BlockOrder via = new BlockOrder(east, "EastLoop", "NorthEast", "SouthEast");
+        routes = new RouteFinder(null, origin, dest, via, null, 20).findRoutes();
+        assertThat(routes).hasSize(1);
+        assertThat(routes.get(0).get(1).getBlock()).isEqualTo(east);
+
+        // can't avoid East going that way
+        routes = new RouteFinder(null, origin, dest, null, via, 20).findRoutes();
+        assertThat(routes).withFailMessage("avoided").isEmpty();
+
+        // too few blocks
+        routes = new RouteFinder(null, origin, dest, null, null, 1).findRoutes();
+        assertThat(routes).withFailMessage("too far").isEmpty();
+    }
+
     @BeforeEach
     public void setUp() {
         JUnitUtil.setUp();
@@ -60,6 +60,65 @@ public class CarManagerTest extends OperationsTestCase {
         Assert.assertEquals("After dispose Number of Cars", 0, carList.size());
     }
 
+    @Test
+    public void testIndexedLookups() {
+        initializeTest();
+        CarManager manager = InstanceManager.getDefault(CarManager.class);
+        Track l1t1 = l1.getTrackByName("A", null);
+        Track l3t2 = l3.getTrackByName("A", null);
+
+        Assert.assertEquals("cars at location B", 2, manager.getList(l1).size());
+        Assert.assertTrue(manager.getList(l1).contains(c1));
+        Assert.assertEquals("cars on track", 1, manager.getList(l1t1).size());
+
+        // move a car, and the lists follow
+        c1.setLocation(l3, l3t2);
+        Assert.assertEquals("cars at location B", 1, manager.getList(l1).size());
+        Assert.assertEquals("cars at location A", 3, manager.getList(l3).size());
+        Assert.assertTrue(manager.getList(l1t1).isEmpty());
+        Assert.assertTrue(manager.getList(l3t2).contains(c1));
+        c1.setLocation(null, null);
+        Assert.assertFalse(manager.getList(l3).contains(c1));
+        Assert.assertTrue(manager.getList((Location) null).contains(c1));
+
+        Train t1 = new Train("id1", "F");
+        c2.setTrain(t1);
+        Assert.assertEquals(1, manager.getList(t1).size());
+        c2.setTrain(null);
+        Assert.assertTrue(manager.getList(t1).isEmpty());
+
+        c3.setRfid("1234");
+        jmri.util.JUnitAppender.assertErrorMessage("Tag 1234 not found");
+        Assert.assertEquals(c3, manager.getByRfid("1234"));
+        c3.setRfid("5678");
+        jmri.util.JUnitAppender.assertErrorMessage("Tag 5678 not found");
+        Assert.assertNull(manager.getByRfid("1234"));
+        Assert.assertEquals(c3, manager.getByRfid("5678"));
+
+        Assert.assertNull(manager.getByTypeAndRoad("Flatcar", "PC"));
+        c5.setTypeName("Flatcar");
+        Assert.assertEquals(c5, manager.getByTypeAndRoad("Flatcar", "PC"));
+        c5.setRoadName("SP");
+        Assert.assertNull(manager.getByTypeAndRoad("Flatcar", "PC"));
+        Assert.assertEquals(c5, manager.getByTypeAndRoad("Flatcar", "SP"));
+
+        // lists are ordered by id, also after an id changes
+        List<Car> atA = manager.getList(l3);
+        for (int i = 1; i < atA.size(); i++) {
+            Assert.assertTrue("ordered by id", atA.get(i - 1).getId().compareTo(atA.get(i).getId()) < 0);
+        }
+        Car first = atA.get(0);
+        first.setRoadName("ZZ");
+        atA = manager.getList(l3);
+        Assert.assertSame("now last", first, atA.get(atA.size() - 1));
+        Assert.assertSame("by id list follows id", first, manager.getByIdList().get(manager.getByIdList().size() - 1));
+
+        // deleted cars leave the lists
+        manager.deregister(c5);
+        Assert.assertNull(manager.getByTypeAndRoad("Flatcar", "SP"));
+        Assert.assertFalse(manager.getList(l3).contains(c5));
+    }
+
     @Test
     public void testListCarsById() {
         initializeTest();
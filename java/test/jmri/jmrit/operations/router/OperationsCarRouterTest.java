@@ -1,6 +1,8 @@
 
 package jmri.jmrit.operations.router;
 
+import java.io.PrintWriter;
+import java.io.StringWriter;
 import java.text.MessageFormat;
 import java.util.List;
 
@@ -2326,6 +2328,49 @@ public class OperationsCarRouterTest extends OperationsTestCase {
         // TODO test restrict tracks by type road, load
     }
 
+    /**
+     * Test that a multiple train search shows how long it took in the build
+     * report, and that repeating the search gives the same route.
+     */
+    @Test
+    public void testCarRoutingSearchTime() {
+        TrainManager tmanager = InstanceManager.getDefault(TrainManager.class);
+        RouteManager rmanager = InstanceManager.getDefault(RouteManager.class);
+        LocationManager lmanager = InstanceManager.getDefault(LocationManager.class);
+        Router router = InstanceManager.getDefault(Router.class);
+
+        JUnitOperationsUtil.createSevenNormalLocations();
+        Location acton = lmanager.getLocationByName("Acton");
+        Track actonSpur1 = acton.getTrackByName("Acton Spur 1", null);
+        Location boston = lmanager.getLocationByName("Boston");
+        Location chelmsford = lmanager.getLocationByName("Chelmsford");
+        Location danvers = lmanager.getLocationByName("Danvers");
+
+        Car c3 = JUnitOperationsUtil.createAndPlaceCar("BA", "3", "Boxcar", "40", actonSpur1, 0);
+
+        // A -> A -> B -> C -> D
+        Location[][] legs = { { acton }, { acton, boston }, { boston, chelmsford }, { chelmsford, danvers } };
+        for (Location[] leg : legs) {
+            Route route = rmanager.newRoute(leg[0].getName() + leg[leg.length - 1].getName());
+            for (Location location : leg) {
+                route.addLocation(location);
+            }
+            tmanager.newTrain("Train " + route.getName()).setRoute(route);
+        }
+        // force first move to be by local train
+        actonSpur1.setTrainDirections(0);
+
+        Setup.setRouterBuildReportLevel(Setup.BUILD_REPORT_DETAILED);
+        for (int i = 0; i < 2; i++) {
+            StringWriter report = new StringWriter();
+            c3.setDestination(null, null);
+            c3.setFinalDestination(danvers);
+            Assert.assertTrue("four train route", router.setDestination(c3, null, new PrintWriter(report)));
+            Assert.assertEquals("Check car's destination track", "Acton Interchange 1", c3.getDestinationTrackName());
+            Assert.assertTrue("search time in report", report.toString().contains("msec"));
+        }
+    }
+
     /**
      * Test routing through staging
      */
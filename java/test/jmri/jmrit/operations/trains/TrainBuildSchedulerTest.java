@@ -0,0 +1,173 @@
+package jmri.jmrit.operations.trains;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import jmri.InstanceManager;
+import jmri.jmrit.operations.OperationsTestCase;
+import jmri.jmrit.operations.locations.Location;
+import jmri.jmrit.operations.locations.LocationManager;
+import jmri.jmrit.operations.locations.Track;
+import jmri.jmrit.operations.rollingstock.cars.Car;
+import jmri.jmrit.operations.rollingstock.cars.CarManager;
+import jmri.jmrit.operations.rollingstock.cars.CarTypes;
+import jmri.jmrit.operations.routes.Route;
+import jmri.jmrit.operations.routes.RouteManager;
+import jmri.jmrit.operations.setup.Control;
+import jmri.jmrit.operations.setup.Setup;
+import jmri.util.JUnitOperationsUtil;
+
+public class TrainBuildSchedulerTest extends OperationsTestCase {
+
+    private TrainManager tmanager;
+    private LocationManager lmanager;
+
+    @Test
+    public void testCTor() {
+        TrainBuildScheduler t = new TrainBuildScheduler(new ArrayList<>());
+        Assert.assertNotNull("exists", t);
+    }
+
+    @Test
+    public void testGetLocations() {
+        Train train = newTrain("Acton", "Boston");
+        Location acton = lmanager.getLocationByName("Acton");
+        Location boston = lmanager.getLocationByName("Boston");
+        Location gulf = lmanager.getLocationByName("Gulf");
+
+        Setup.setCarRoutingEnabled(true);
+        Assert.assertNull("routing can reach any location", TrainBuildScheduler.getLocations(train));
+
+        Setup.setCarRoutingEnabled(false);
+        Set<Location> locations = TrainBuildScheduler.getLocations(train);
+        Assert.assertNotNull(locations);
+        Assert.assertEquals("route locations", 2, locations.size());
+        Assert.assertTrue(locations.contains(acton));
+        Assert.assertTrue(locations.contains(boston));
+
+        // a car in the route with a final destination elsewhere
+        Car car = JUnitOperationsUtil.createAndPlaceCar("CP", "99", "Boxcar", "40",
+                acton.getTrackByName("Acton Yard 1", Track.YARD), 0);
+        car.setFinalDestination(gulf);
+        locations = TrainBuildScheduler.getLocations(train);
+        Assert.assertEquals("final destination", 3, locations.size());
+        Assert.assertTrue(locations.contains(gulf));
+
+        Setup.setPromptFromStagingEnabled(true);
+        Assert.assertNull("prompts for staging track", TrainBuildScheduler.getLocations(train));
+        Setup.setPromptFromStagingEnabled(false);
+
+        train.addBuildScript("test.py");
+        Assert.assertNull("scripts can reach any location", TrainBuildScheduler.getLocations(train));
+    }
+
+    @Test
+    public void testIsIndependent() {
+        Location acton = lmanager.getLocationByName("Acton");
+        Location boston = lmanager.getLocationByName("Boston");
+        Set<Location> a = Collections.singleton(acton);
+        Set<Location> b = Collections.singleton(boston);
+        Assert.assertTrue(TrainBuildScheduler.isIndependent(a, b));
+        Assert.assertFalse(TrainBuildScheduler.isIndependent(a, new HashSet<>(Arrays.asList(acton, boston))));
+        Assert.assertFalse(TrainBuildScheduler.isIndependent(a, null));
+        Assert.assertFalse(TrainBuildScheduler.isIndependent(null, b));
+    }
+
+    @Test
+    public void testBuildSameAsSerial() {
+        Setup.setCarRoutingEnabled(false);
+        Control.parallelTrainBuild = true;
+        List<Train> trains = Arrays.asList(
+                newTrain("Acton", "Boston"),
+                newTrain("Chelmsford", "Danvers"),
+                newTrain("Boston", "Essex"),
+                newTrain("Foxboro", "Gulf"));
+        int n = 0;
+        for (String name : new String[]{"Acton", "Boston", "Chelmsford", "Foxboro"}) {
+            Track yard = lmanager.getLocationByName(name).getTrackByName(name + " Yard 1", Track.YARD);
+            for (int i = 0; i < 4; i++) {
+                JUnitOperationsUtil.createAndPlaceCar("CP", Integer.toString(++n), "Boxcar", "40", yard, i);
+            }
+        }
+        // train 4 doesn't build
+        trains.get(3).setBuildEnabled(false);
+
+        new TrainBuildScheduler(trains).build();
+        Map<String, String> parallel = getAssignments();
+
+        Assert.assertTrue(trains.get(0).isBuilt());
+        Assert.assertTrue(trains.get(1).isBuilt());
+        Assert.assertTrue(trains.get(2).isBuilt());
+        Assert.assertFalse(trains.get(3).isBuilt());
+        Assert.assertEquals("cars assigned", 12, parallel.size());
+
+        for (Train train : trains) {
+            train.reset();
+        }
+        Control.parallelTrainBuild = false;
+        new TrainBuildScheduler(trains).build();
+        Assert.assertEquals("same as serial build", getAssignments(), parallel);
+    }
+
+    @Test
+    public void testBuildFailedMessagesDeferred() {
+        Train train = tmanager.newTrain("No Route");
+        TrainBuilder tb = new TrainBuilder();
+        tb.deferBuildFailedMessages = true;
+        Assert.assertFalse("build fails", tb.build(train));
+        Assert.assertTrue("train build failed", train.getBuildFailed());
+        Assert.assertNotNull("failure kept", tb._buildFailedException);
+        tb.showBuildFailedMessages();
+        Assert.assertNull("failure shown", tb._buildFailedException);
+    }
+
+    private Map<String, String> getAssignments() {
+        Map<String, String> assignments = new HashMap<>();
+        for (Car car : InstanceManager.getDefault(CarManager.class).getList()) {
+            if (car.getTrain() != null) {
+                assignments.put(car.toString(), car.getTrainName() + " " + car.getDestinationTrackName());
+            }
+        }
+        return assignments;
+    }
+
+    private Train newTrain(String from, String to) {
+        Route route = InstanceManager.getDefault(RouteManager.class).newRoute(from + "-" + to);
+        route.addLocation(lmanager.getLocationByName(from));
+        route.addLocation(lmanager.getLocationByName(to));
+        Train train = tmanager.newTrain(from + "-" + to);
+        train.setRoute(route);
+        return train;
+    }
+
+    @BeforeEach
+    @Override
+    public void setUp() {
+        super.setUp();
+        tmanager = InstanceManager.getDefault(TrainManager.class);
+        lmanager = InstanceManager.getDefault(LocationManager.class);
+        tmanager.setBuildMessagesEnabled(false);
+        tmanager.setBuildReportEnabled(false);
+        InstanceManager.getDefault(CarTypes.class).addName("Boxcar");
+        JUnitOperationsUtil.createSevenNormalLocations();
+    }
+
+    @AfterEach
+    @Override
+    public void tearDown() {
+        Control.parallelTrainBuild = false;
+        super.tearDown();
+    }
+
+}
@@ -63,18 +63,21 @@ public class TrainCommonTest extends OperationsTestCase {
         Setup.setSwitchListFormatSameAsManifest(false);
         
         TrainCommon tc = new TrainCommon();
+        // the list has no particular order, so select the cars by id
+        Car boxcar = cmanager.getByRoadAndNumber("CP", "X20001");
+        Car caboose = cmanager.getByRoadAndNumber("CP", "C10099");
         // select car type "Boxcar"
-        String s = tc.setoutUtilityCars(cars, cars.get(0), TrainCommon.LOCAL, TrainCommon.IS_MANIFEST);
+        String s = tc.setoutUtilityCars(cars, boxcar, TrainCommon.LOCAL, TrainCommon.IS_MANIFEST);
         Assert.assertEquals("Confirm text", " 4     Boxcar 40'  E from North End 2 to  ", s);
         
-        s = tc.setoutUtilityCars(cars, cars.get(0), TrainCommon.LOCAL, TrainCommon.IS_MANIFEST);
+        s = tc.setoutUtilityCars(cars, boxcar, TrainCommon.LOCAL, TrainCommon.IS_MANIFEST);
         Assert.assertNull("should be null", s);
         
         // select car type "Caboose"
-        s = tc.setoutUtilityCars(cars, cars.get(4), TrainCommon.LOCAL, !TrainCommon.IS_MANIFEST);
+        s = tc.setoutUtilityCars(cars, caboose, TrainCommon.LOCAL, !TrainCommon.IS_MANIFEST);
         Assert.assertEquals("Confirm text", " 2     Caboose  from North End 1 to  Test Car CP C10099 Comment", s);
         
-        s = tc.setoutUtilityCars(cars, cars.get(4), TrainCommon.LOCAL, !TrainCommon.IS_MANIFEST);
+        s = tc.setoutUtilityCars(cars, caboose, TrainCommon.LOCAL, !TrainCommon.IS_MANIFEST);
         Assert.assertNull("should be null", s);
     }
     
@@ -96,18 +99,21 @@ public class TrainCommonTest extends OperationsTestCase {
         Setup.setSwitchListFormatSameAsManifest(false);
         
         TrainCommon tc = new TrainCommon();
+        // the list has no particular order, so select the cars by id
+        Car boxcar = cmanager.getByRoadAndNumber("CP", "X20001");
+        Car caboose = cmanager.getByRoadAndNumber("CP", "C10099");
         // select car type "Boxcar"
-        String s = tc.setoutUtilityCars(cars, cars.get(0), !TrainCommon.LOCAL, TrainCommon.IS_MANIFEST);
+        String s = tc.setoutUtilityCars(cars, boxcar, !TrainCommon.LOCAL, TrainCommon.IS_MANIFEST);
         Assert.assertEquals("Confirm text", " 4     Boxcar 40'  E to   ", s);
         
-        s = tc.setoutUtilityCars(cars, cars.get(0), !TrainCommon.LOCAL, TrainCommon.IS_MANIFEST);
+        s = tc.setoutUtilityCars(cars, boxcar, !TrainCommon.LOCAL, TrainCommon.IS_MANIFEST);
         Assert.assertNull("should be null", s);
         
         // select car type "Caboose"
-        s = tc.setoutUtilityCars(cars, cars.get(4), !TrainCommon.LOCAL, !TrainCommon.IS_MANIFEST);
+        s = tc.setoutUtilityCars(cars, caboose, !TrainCommon.LOCAL, !TrainCommon.IS_MANIFEST);
         Assert.assertEquals("Confirm text", " 2     Caboose  to  Test Car CP C10099 Comment ", s);
         
-        s = tc.setoutUtilityCars(cars, cars.get(4), !TrainCommon.LOCAL, !TrainCommon.IS_MANIFEST);
+        s = tc.setoutUtilityCars(cars, caboose, !TrainCommon.LOCAL, !TrainCommon.IS_MANIFEST);
         Assert.assertNull("should be null", s);
     }
 }
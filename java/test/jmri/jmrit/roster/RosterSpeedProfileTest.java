@@ -17,6 +17,32 @@ public class RosterSpeedProfileTest {
         Assert.assertNotNull("exists",t);
     }
 
+    @Test
+    public void testSpeedsFollowChanges() {
+        RosterSpeedProfile t = new RosterSpeedProfile(new RosterEntry());
+        t.setSpeed(200, 100.0f, 50.0f);
+        t.setSpeed(600, 300.0f, 150.0f);
+        Assert.assertEquals("exact", 100.0f, t.getForwardSpeed(0.2f), 0.001);
+        Assert.assertEquals("interpolated", 200.0f, t.getForwardSpeed(0.4f), 0.001);
+        Assert.assertEquals("below first", 50.0f, t.getForwardSpeed(0.1f), 0.001);
+        Assert.assertEquals("reverse", 100.0f, t.getReverseSpeed(0.4f), 0.001);
+        Assert.assertEquals("throttle setting", 0.4f, t.getThrottleSetting(200.0f, true), 0.001);
+
+        t.setSpeed(400, 250.0f, 75.0f);
+        Assert.assertEquals("added step", 250.0f, t.getForwardSpeed(0.4f), 0.001);
+        Assert.assertEquals("throttle setting after add", 0.4f, t.getThrottleSetting(250.0f, true), 0.001);
+
+        t.getProfileSpeeds().get(400).setForwardSpeed(220.0f);
+        Assert.assertEquals("edited step", 220.0f, t.getForwardSpeed(0.4f), 0.001);
+
+        t.deleteStep(400);
+        Assert.assertEquals("deleted step", 200.0f, t.getForwardSpeed(0.4f), 0.001);
+
+        t.clearCurrentProfile();
+        Assert.assertEquals("cleared", 0.0f, t.getForwardSpeed(0.4f), 0.001);
+        jmri.util.JUnitAppender.assertErrorMessage("Nothing in speed Profile");
+    }
+
     @BeforeEach
     public void setUp() {
         JUnitUtil.setUp();
@@ -0,0 +1,57 @@
+package jmri.jmrit.vsdecoder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import jmri.util.JUnitUtil;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.*;
+
+public class VSDSoundCacheTest {
+
+    String filename = "java/test/jmri/jmrit/vsdecoder/steam1min8.zip";
+
+    @Test
+    public void testDecodeOnce() throws IOException {
+        VSDFile first = new VSDFile(filename);
+        VSDFile second = new VSDFile(filename);
+        VSDSoundCache.WavData wav = VSDSoundCache.getWavData(first, "sounds/engine/idle.wav");
+        Assert.assertNotNull("decoded", wav);
+        Assert.assertEquals("cached", 1, VSDSoundCache.getSize());
+        Assert.assertEquals("bytes", wav.getSize(), VSDSoundCache.getBytes());
+        Assert.assertSame("shared", wav, VSDSoundCache.getWavData(second, "sounds/engine/idle.wav"));
+        Assert.assertSame("case fallback", wav, VSDSoundCache.getWavData(first, "SOUNDS/ENGINE/IDLE.WAV"));
+        Assert.assertEquals("still cached once", 1, VSDSoundCache.getSize());
+        Assert.assertNull("missing", VSDSoundCache.getWavData(first, "sounds/engine/none.wav"));
+        int[] formats = AudioUtil.getWavFormats(wav);
+        Assert.assertEquals("frequency", wav.getFrequency(), formats[1]);
+    }
+
+    @Test
+    public void testDataIsOwnView() throws IOException {
+        VSDFile vf = new VSDFile(filename);
+        VSDSoundCache.WavData wav = VSDSoundCache.getWavData(vf, "sounds/engine/s3_1.wav");
+        Assert.assertNotNull("decoded", wav);
+        ByteBuffer one = wav.getData();
+        ByteBuffer two = wav.getData();
+        Assert.assertTrue("direct", one.isDirect());
+        Assert.assertEquals("order kept", one.order(), two.order());
+        one.get();
+        Assert.assertEquals("own position", 0, two.position());
+        Assert.assertEquals("same data", one.get(0), two.get(0));
+    }
+
+    @BeforeEach
+    public void setUp() {
+        JUnitUtil.setUp();
+        VSDSoundCache.clear();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        VSDSoundCache.clear();
+        JUnitUtil.tearDown();
+    }
+
+}
@@ -48,11 +48,79 @@ public class AbstractMRTrafficControllerTest {
         Assert.assertFalse(tc.status());
     }
 
-    @BeforeEach
-    public void setUp() {
-        JUnitUtil.setUp();
-        JUnitUtil.resetInstanceManager();
-        tc = new AbstractMRTrafficController() {
+    @Test
+    public void testTransmitQueueStatistics() {
+        TransmitQueueStatistics stats = tc.getTransmitQueueStatistics();
+        Assert.assertNotNull(stats);
+        Assert.assertEquals("nothing queued", 0, stats.getQueueDepth());
+        tc.queueMessage(new TestMessage(false), null);
+        Assert.assertEquals("one queued", 1, stats.getQueueDepth());
+        Assert.assertEquals("one counted", 1, stats.getQueuedCount());
+    }
+
+    @Test
+    public void testStatisticsStoredInMemo() throws Exception {
+        jmri.jmrix.internal.InternalSystemConnectionMemo memo = new jmri.jmrix.internal.InternalSystemConnectionMemo("I", "Internal");
+        Assert.assertFalse("not yet connected", memo.provides(TransmitQueueStatistics.class));
+        tc.connectPort(new AbstractPortControllerScaffold(memo));
+        Assert.assertSame("stored on connect", tc.getTransmitQueueStatistics(), memo.get(TransmitQueueStatistics.class));
+    }
+
+    @Test
+    public void testCoalescedWrite() throws Exception {
+        AbstractMRTrafficController coalescing = newTrafficController(true);
+        java.util.List<Integer> writes = new java.util.ArrayList<>();
+        coalescing.ostream = new java.io.OutputStream() {
+            @Override
+            public void write(int b) {
+                writes.add(1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                writes.add(len);
+            }
+        };
+        coalescing.controller = new AbstractPortControllerScaffold(new jmri.jmrix.internal.InternalSystemConnectionMemo("I", "Internal"));
+        coalescing.queueMessage(new TestMessage(false), null);
+        coalescing.queueMessage(new TestMessage(false), null);
+        coalescing.queueMessage(new TestMessage(false), null);
+        coalescing.xmtRunnable = coalescing::transmitLoop;
+        coalescing.xmtThread = jmri.util.ThreadingUtil.newThread(coalescing.xmtRunnable, "coalesce test");
+        coalescing.xmtThread.start();
+
+        JUnitUtil.waitFor(() -> coalescing.getTransmitQueueStatistics().getSentCount() == 3, "all sent");
+        JUnitUtil.waitFor(() -> !writes.isEmpty(), "written");
+        Assert.assertEquals("one write of three 2-byte messages", java.util.Arrays.asList(6), writes);
+        Assert.assertEquals("all coalesced", 3, coalescing.getTransmitQueueStatistics().getCoalescedCount());
+        coalescing.terminateThreads();
+    }
+
+    private static class TestMessage extends AbstractMRMessage {
+
+        private final boolean reply;
+
+        TestMessage(boolean reply) {
+            super(2);
+            this.reply = reply;
+            setBinary(true);
+            setElement(0, 0x12);
+            setElement(1, 0x34);
+        }
+
+        @Override
+        public boolean replyExpected() {
+            return reply;
+        }
+    }
+
+    private AbstractMRTrafficController newTrafficController(boolean coalesce) {
+        return new AbstractMRTrafficController() {
+
+            @Override
+            protected boolean canCoalesce(AbstractMRMessage m) {
+                return coalesce;
+            }
 
             @Override
             protected void forwardMessage(AbstractMRListener client, AbstractMRMessage m) {
@@ -94,6 +162,13 @@ public class AbstractMRTrafficControllerTest {
         };
     }
 
+    @BeforeEach
+    public void setUp() {
+        JUnitUtil.setUp();
+        JUnitUtil.resetInstanceManager();
+        tc = newTrafficController(false);
+    }
+
     @AfterEach
     public void tearDown() {
         tc.terminateThreads();
@@ -0,0 +1,55 @@
+package jmri.jmrix;
+
+import jmri.util.JUnitUtil;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.*;
+
+/**
+ * Tests for TransmitQueueStatistics.
+ */
+public class TransmitQueueStatisticsTest {
+
+    @Test
+    public void testCounters() {
+        TransmitQueueStatistics t = new TransmitQueueStatistics();
+        Assert.assertEquals("no latency yet", 0.0, t.getMeanLatency(), 0.0);
+        t.messageQueued();
+        t.messageQueued();
+        Assert.assertEquals("depth", 2, t.getQueueDepth());
+        t.messageRemoved();
+        t.messageSent(System.nanoTime(), false);
+        Assert.assertEquals("depth after send", 1, t.getQueueDepth());
+        Assert.assertEquals("max depth", 2, t.getMaxQueueDepth());
+        Assert.assertEquals("sent", 1, t.getSentCount());
+        Assert.assertEquals("queued", 2, t.getQueuedCount());
+        Assert.assertEquals("not coalesced", 0, t.getCoalescedCount());
+        Assert.assertTrue("latency measured", t.getMaxLatency() >= t.getMeanLatency());
+    }
+
+    @Test
+    public void testReset() {
+        TransmitQueueStatistics t = new TransmitQueueStatistics();
+        t.messageQueued();
+        t.messageQueued();
+        t.messageRemoved();
+        t.messageSent(System.nanoTime() - 1_000_000, true);
+        t.reset();
+        Assert.assertEquals("depth kept", 1, t.getQueueDepth());
+        Assert.assertEquals("max depth is current depth", 1, t.getMaxQueueDepth());
+        Assert.assertEquals("sent cleared", 0, t.getSentCount());
+        Assert.assertEquals("coalesced cleared", 0, t.getCoalescedCount());
+        Assert.assertEquals("max latency cleared", 0.0, t.getMaxLatency(), 0.0);
+    }
+
+    @BeforeEach
+    public void setUp() {
+        JUnitUtil.setUp();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        JUnitUtil.tearDown();
+    }
+
+}
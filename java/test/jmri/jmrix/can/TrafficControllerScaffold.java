@@ -98,10 +98,11 @@ public class TrafficControllerScaffold extends TrafficController {
     }
 
     /*
-     * Check number of listeners, used for testing dispose()
+     * Check number of listeners, including those added to the CBUS event
+     * router, used for testing dispose()
      */
     public int numListeners() {
-        return cmdListeners.size();
+        return cmdListeners.size() + getCbusEventRouter().numListeners();
     }
 
     private final static Logger log = LoggerFactory.getLogger(TrafficControllerScaffold.class);
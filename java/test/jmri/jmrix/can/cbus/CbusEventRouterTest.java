@@ -0,0 +1,140 @@
+package jmri.jmrix.can.cbus;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import jmri.Sensor;
+import jmri.jmrix.can.CanListener;
+import jmri.jmrix.can.CanMessage;
+import jmri.jmrix.can.CanReply;
+import jmri.jmrix.can.adapters.loopback.LoopbackTrafficController;
+import jmri.util.JUnitUtil;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.*;
+
+/**
+ * Tests for the CbusEventRouter class.
+ */
+public class CbusEventRouterTest {
+
+    private CbusEventRouter router;
+
+    @Test
+    public void testLongEvents() {
+        CountingListener l = new CountingListener();
+        router.addListener(l, new CbusAddress("+N1E2"), new CbusAddress("-N1E3"));
+        Assert.assertEquals("one listener", 1, router.numListeners());
+
+        router.reply(new CanReply(new int[]{CbusConstants.CBUS_ACON, 0x00, 0x01, 0x00, 0x02}), null);
+        router.reply(new CanReply(new int[]{CbusConstants.CBUS_ACOF, 0x00, 0x01, 0x00, 0x03}), null);
+        router.message(new CanMessage(new int[]{CbusConstants.CBUS_ACON, 0x00, 0x01, 0x00, 0x02}, 0x12), null);
+        Assert.assertEquals("matching replies", 2, l.replies.size());
+        Assert.assertEquals("matching message", 1, l.messages.size());
+
+        router.reply(new CanReply(new int[]{CbusConstants.CBUS_ACOF, 0x00, 0x01, 0x00, 0x02}), null);
+        router.reply(new CanReply(new int[]{CbusConstants.CBUS_ACON, 0x00, 0x02, 0x00, 0x02}), null);
+        router.reply(new CanReply(new int[]{CbusConstants.CBUS_ACON1, 0x00, 0x01, 0x00, 0x02, 0x05}), null);
+        router.reply(new CanReply(new int[]{CbusConstants.CBUS_RTON}), null);
+        Assert.assertEquals("no other replies", 2, l.replies.size());
+
+        router.removeListener(l);
+        Assert.assertEquals("no listeners", 0, router.numListeners());
+        router.reply(new CanReply(new int[]{CbusConstants.CBUS_ACON, 0x00, 0x01, 0x00, 0x02}), null);
+        Assert.assertEquals("not sent after removal", 2, l.replies.size());
+    }
+
+    @Test
+    public void testShortEventsAndResponses() {
+        CountingListener l = new CountingListener();
+        router.addListener(l, new CbusAddress("+7"), new CbusAddress("-7"));
+
+        // short events match whichever node sends them
+        router.reply(new CanReply(new int[]{CbusConstants.CBUS_ASON, 0x01, 0x02, 0x00, 0x07}), null);
+        Assert.assertEquals("short event", 1, l.replies.size());
+
+        CanReply response = new CanReply(new int[]{CbusConstants.CBUS_ARSOF, 0x01, 0x02, 0x00, 0x07});
+        router.reply(response, null);
+        Assert.assertEquals("response event", 2, l.replies.size());
+        Assert.assertEquals("sent as normal event", CbusConstants.CBUS_ASOF, l.replies.get(1).getElement(0));
+        Assert.assertEquals("original unchanged", CbusConstants.CBUS_ARSOF, response.getElement(0));
+    }
+
+    @Test
+    public void testRequestsAndSender() {
+        CountingListener l = new CountingListener();
+        router.addListener(l, new CbusAddress("+N1E2"), new CbusAddress("-N1E2"));
+
+        router.reply(new CanReply(new int[]{CbusConstants.CBUS_AREQ, 0x00, 0x01, 0x00, 0x02}), null);
+        Assert.assertEquals("request sent once", 1, l.replies.size());
+
+        router.message(new CanMessage(new int[]{CbusConstants.CBUS_ACON, 0x00, 0x01, 0x00, 0x02}, 0x12), l);
+        Assert.assertEquals("not sent own message", 0, l.messages.size());
+        router.reply(new CanReply(new int[]{CbusConstants.CBUS_ACON, 0x00, 0x01, 0x00, 0x02}), l);
+        Assert.assertEquals("not sent reply again", 1, l.replies.size());
+    }
+
+    @Test
+    public void testHexAndDevices() {
+        CountingListener hex = new CountingListener();
+        router.addListener(hex, new CbusAddress("X0A"));
+        CountingListener device = new CountingListener();
+        router.addDeviceListener(device, 258);
+
+        router.reply(new CanReply(new int[]{CbusConstants.CBUS_DDES, 0x01, 0x02, 0x03, 0x04, 0x05, 0x06, 0x07}), null);
+        router.reply(new CanReply(new int[]{CbusConstants.CBUS_ACDAT, 0x01, 0x03, 0x03, 0x04, 0x05, 0x06, 0x07}), null);
+        Assert.assertEquals("device data", 1, device.replies.size());
+        Assert.assertEquals("hex address sent everything", 2, hex.replies.size());
+    }
+
+    @Test
+    public void testBeans() throws jmri.JmriException {
+        LoopbackTrafficController tc = new LoopbackTrafficController();
+        CbusSensor s = new CbusSensor("MS", "+N1E2", tc);
+        CbusSensor twin = new CbusSensor("MS", "+N1E2", tc);
+        CbusSensor other = new CbusSensor("MS", "+N1E3", tc);
+        Assert.assertEquals("listening", 3, tc.getCbusEventRouter().numListeners());
+
+        tc.sendCanReply(new CanReply(new int[]{CbusConstants.CBUS_ARON, 0x00, 0x01, 0x00, 0x02}), null);
+        Assert.assertEquals("active", Sensor.ACTIVE, s.getKnownState());
+        Assert.assertEquals("twin active", Sensor.ACTIVE, twin.getKnownState());
+        Assert.assertEquals("other unknown", Sensor.UNKNOWN, other.getKnownState());
+
+        twin.setKnownState(Sensor.INACTIVE);
+        Assert.assertEquals("follows twin", Sensor.INACTIVE, s.getKnownState());
+        Assert.assertEquals("other still unknown", Sensor.UNKNOWN, other.getKnownState());
+
+        s.dispose();
+        twin.dispose();
+        other.dispose();
+        Assert.assertEquals("no listeners after dispose", 0, tc.getCbusEventRouter().numListeners());
+        tc.terminateThreads();
+    }
+
+    private static class CountingListener implements CanListener {
+
+        final List<CanMessage> messages = new ArrayList<>();
+        final List<CanReply> replies = new ArrayList<>();
+
+        @Override
+        public void message(CanMessage m) {
+            messages.add(m);
+        }
+
+        @Override
+        public void reply(CanReply r) {
+            replies.add(r);
+        }
+    }
+
+    @BeforeEach
+    public void setUp() {
+        JUnitUtil.setUp();
+        router = new CbusEventRouter();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        JUnitUtil.tearDown();
+    }
+}
@@ -69,6 +69,55 @@ public class DCCppPacketizerTest extends DCCppTrafficControllerTest {
         Assert.assertEquals("remaining ", 0, p.tostream.available());
     }
 
+    /**
+     * Local test class to queue messages before the transmit thread starts
+     */
+    class QueueingDCCppPacketizer extends DCCppPacketizer {
+
+        public QueueingDCCppPacketizer(jmri.jmrix.dccpp.DCCppCommandStation p) {
+            super(p);
+        }
+
+        void queue(DCCppMessage m) {
+            queueMessage(m, null);
+        }
+
+        void startTransmit(java.io.OutputStream out) {
+            ostream = out;
+            xmtRunnable = this::transmitLoop;
+            xmtThread = jmri.util.ThreadingUtil.newThread(xmtRunnable, "DCC++ coalesce test");
+            xmtThread.start();
+        }
+    }
+
+    @Test
+    public void testCoalescedOutbound() throws Exception {
+        QueueingDCCppPacketizer c = new QueueingDCCppPacketizer(new DCCppCommandStation());
+        c.controller = new DCCppPortControllerScaffold();
+        java.util.List<String> writes = java.util.Collections.synchronizedList(new java.util.ArrayList<>());
+        // no reply is expected to an ops mode write, so these can share a write
+        c.queue(DCCppMessage.makeWriteOpsModeCVMsg(3, 1, 5));
+        c.queue(DCCppMessage.makeWriteOpsModeCVMsg(3, 2, 6));
+        c.queue(DCCppMessage.makeWriteOpsModeCVMsg(3, 3, 7));
+        c.startTransmit(new java.io.OutputStream() {
+            @Override
+            public void write(int b) {
+                writes.add(String.valueOf((char) b));
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                writes.add(new String(b, off, len, java.nio.charset.StandardCharsets.US_ASCII));
+            }
+        });
+        JUnitUtil.waitFor(() -> c.getTransmitQueueStatistics().getSentCount() == 3, "all sent");
+        JUnitUtil.waitFor(() -> !writes.isEmpty(), "written");
+        Assert.assertEquals("one write of three framed messages",
+                java.util.Arrays.asList("<w 3 1 5><w 3 2 6><w 3 3 7>"), writes);
+        Assert.assertEquals("all coalesced", 3, c.getTransmitQueueStatistics().getCoalescedCount());
+        c.terminateThreads();
+    }
+
     @Test
     public void testInbound() throws Exception {
         DCCppPacketizer c = (DCCppPacketizer) tc;
@@ -144,6 +144,32 @@ public class InternalSensorManagerTest extends jmri.managers.AbstractSensorMgrTe
         Assert.assertEquals("index", 1, lastEvent0);
     }
 
+    @Test
+    public void testBulkRegistration() {
+        l.provideSensor("IS1");
+        l.addDataListener(this);
+
+        l.setPropertyChangesSilenced("beans", true);
+        for (int i = 2; i <= 10; i++) {
+            l.provideSensor("IS" + i);
+        }
+        l.deregister(l.getBySystemName("IS5"));
+        Assert.assertEquals("no events while loading", 0, events);
+
+        l.setPropertyChangesSilenced("beans", false);
+        Assert.assertEquals("one event for the load", 1, events);
+        Assert.assertEquals("last call", "Changed", lastCall);
+        Assert.assertEquals("type", Manager.ManagerDataEvent.CONTENTS_CHANGED, lastType);
+        Assert.assertEquals("start", 0, lastEvent0);
+        Assert.assertEquals("end", 8, lastEvent1);
+
+        // back to one event per bean
+        l.provideSensor("IS11");
+        Assert.assertEquals("events", 2, events);
+        Assert.assertEquals("type", Manager.ManagerDataEvent.INTERVAL_ADDED, lastType);
+        Assert.assertEquals("index", 9, lastEvent0);
+    }
+
     @Test
     @SuppressWarnings("deprecation") // getSystemNameList references
     public void testOrderVsSorted() {
@@ -197,6 +223,43 @@ public class InternalSensorManagerTest extends jmri.managers.AbstractSensorMgrTe
 
     }
 
+    @Test
+    @SuppressWarnings({"deprecation", "unchecked"}) // getNamedBeanList references
+    public void testNamedBeanListKeptUpToDate() throws NoSuchFieldException, IllegalAccessException {
+        Sensor s4 = l.provideSensor("IS4");
+        Sensor s2 = l.provideSensor("IS2");
+
+        List<Sensor> list = l.getNamedBeanList();
+        jmri.util.JUnitAppender.suppressWarnMessageStartsWith("getNamedBeanList");
+        Assert.assertSame("same list while unchanged", list, l.getNamedBeanList());
+
+        java.lang.reflect.Field f = jmri.managers.AbstractManager.class.getDeclaredField("cachedNamedBeanList");
+        f.setAccessible(true);
+        List<Sensor> cache = (List<Sensor>) f.get(l);
+
+        // one at a time
+        Sensor s3 = l.provideSensor("IS3");
+        Sensor s1 = l.provideSensor("IS1");
+        Assert.assertSame("cache kept", cache, f.get(l));
+        Assert.assertEquals("cache updated", Arrays.asList(s1, s2, s3, s4), cache);
+        Assert.assertEquals("returned list not live", Arrays.asList(s2, s4), list);
+        Assert.assertEquals("new list", new ArrayList<>(l.getNamedBeanSet()), l.getNamedBeanList());
+
+        l.deregister(s2);
+        Assert.assertSame("cache kept", cache, f.get(l));
+        Assert.assertEquals("cache updated", Arrays.asList(s1, s3, s4), cache);
+
+        // in bulk
+        l.setPropertyChangesSilenced("beans", true);
+        for (int i = 5; i <= 10; i++) {
+            l.provideSensor("IS" + i);
+        }
+        l.setPropertyChangesSilenced("beans", false);
+        Assert.assertEquals("list after load", new ArrayList<>(l.getNamedBeanSet()), l.getNamedBeanList());
+        Assert.assertSame("cache kept", cache, f.get(l));
+        Assert.assertEquals("cache length", 9, cache.size());
+    }
+
     @Test
     @SuppressWarnings("deprecation") // getSystemNameList references
     public void testUnmodifiable() {
@@ -170,6 +170,35 @@ public class InternalTurnoutManagerTest extends jmri.managers.AbstractTurnoutMgr
         Assert.assertEquals("new outputInterval from manager", 50, l.getOutputInterval()); // get via turnoutManager
     }
     
+    @Test
+    public void testQueueOutput() {
+        l.setOutputInterval(50);
+        java.util.List<String> order = new java.util.ArrayList<>();
+        java.util.List<Long> times = new java.util.ArrayList<>();
+        for (int i = 1; i <= 4; i++) {
+            Turnout t = l.provideTurnout("IT" + i);
+            t.addPropertyChangeListener("CommandedState", e -> {
+                synchronized (order) {
+                    order.add(t.getSystemName());
+                    times.add(System.nanoTime());
+                }
+            });
+        }
+        for (int i = 1; i <= 4; i++) {
+            l.provideTurnout("IT" + i).setCommandedStateAtInterval(Turnout.THROWN);
+        }
+        JUnitUtil.waitFor(() -> {
+            synchronized (order) {
+                return order.size() == 4;
+            }
+        }, "all sent");
+        Assert.assertEquals("in order", java.util.Arrays.asList("IT1", "IT2", "IT3", "IT4"), order);
+        for (int i = 1; i < 4; i++) {
+            // allow for timer granularity
+            assertThat(times.get(i) - times.get(i - 1)).as("spaced").isGreaterThanOrEqualTo(40 * 1000000L);
+        }
+    }
+
     // No manager-specific system name validation at present
     @Test
     @Override
@@ -21,8 +21,7 @@ public class LnPacketizerStrictTest extends LnPacketizerTest {
     @AfterEach
     @Override
     public void tearDown() {
-        lnp = null;
-        JUnitUtil.tearDown();
+        super.tearDown();
     }
 
 }
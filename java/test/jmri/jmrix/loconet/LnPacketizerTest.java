@@ -9,6 +9,12 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jmri.util.ThreadingUtil;
 
 /**
  * JUnit tests for the LnPacketizerTest class.
@@ -70,6 +76,82 @@ public class LnPacketizerTest {
        memo.dispose();
     }
 
+    @Test
+    public void testReceiveOnLayoutThread() {
+        ThreadingUtil.setLayoutThreadMode(ThreadingUtil.LayoutThreadMode.SINGLE, 0);
+        AtomicInteger received = new AtomicInteger();
+        AtomicBoolean onLayout = new AtomicBoolean(true);
+        AtomicBoolean onGui = new AtomicBoolean(false);
+        lnp.addLocoNetListener(LocoNetInterface.ALL, (LocoNetMessage m) -> {
+            onLayout.compareAndSet(true, ThreadingUtil.isLayoutThread());
+            received.incrementAndGet();
+        });
+        class SwingListener extends javax.swing.JPanel implements LocoNetListener {
+            @Override
+            public void message(LocoNetMessage m) {
+                onGui.set(ThreadingUtil.isGUIThread());
+            }
+        }
+        lnp.addLocoNetListener(LocoNetInterface.ALL, new SwingListener());
+
+        // two OPC_INPUT_REP messages, then the end of the stream
+        byte[] data = {(byte) 0xB2, 0x10, 0x50, 0x0D, (byte) 0xB2, 0x10, 0x50, 0x0D};
+        lnp.istream = new DataInputStream(new InputStream() {
+            int pos = 0;
+
+            @Override
+            public int read() throws IOException {
+                if (pos == data.length) {
+                    throw new IOException("end of data");
+                }
+                return data[pos++] & 0xFF;
+            }
+        });
+        lnp.new RcvHandler(lnp).run();
+
+        JUnitUtil.waitFor(() -> received.get() == 2, "both messages received");
+        Assert.assertTrue("listeners called on layout thread", onLayout.get());
+        JUnitUtil.waitFor(() -> onGui.get(), "Swing listener called on GUI thread");
+        Assert.assertEquals("latency recorded", 2, lnp.getReceiveLatency().getCount());
+    }
+
+    @Test
+    public void testConnectionKeptInOrderInPool() {
+        ThreadingUtil.setLayoutThreadMode(ThreadingUtil.LayoutThreadMode.POOL, 3);
+        java.util.List<Integer> seen = java.util.Collections.synchronizedList(new java.util.ArrayList<>());
+        lnp.addLocoNetListener(LocoNetInterface.ALL, (LocoNetMessage m) -> seen.add(m.getElement(1)));
+
+        // OPC_INPUT_REP messages for 40 addresses, then the end of the stream
+        byte[] data = new byte[40 * 4];
+        for (int i = 0; i < 40; i++) {
+            data[4 * i] = (byte) 0xB2;
+            data[4 * i + 1] = (byte) i;
+            data[4 * i + 2] = 0x50;
+            data[4 * i + 3] = (byte) (0xFF ^ 0xB2 ^ i ^ 0x50);
+        }
+        lnp.istream = new DataInputStream(new InputStream() {
+            int pos = 0;
+
+            @Override
+            public int read() throws IOException {
+                if (pos == data.length) {
+                    throw new IOException("end of data");
+                }
+                return data[pos++] & 0xFF;
+            }
+        });
+        lnp.new RcvHandler(lnp).run();
+        // an echo of a sent message follows the received ones
+        lnp.echo = true;
+        lnp.messageTransmitted(new byte[]{(byte) 0xB2, 0x7F, 0x50, (byte) (0xFF ^ 0xB2 ^ 0x7F ^ 0x50)});
+
+        JUnitUtil.waitFor(() -> seen.size() == 41, "all messages received");
+        for (int i = 0; i < 40; i++) {
+            Assert.assertEquals("in order", i, seen.get(i).intValue());
+        }
+        Assert.assertEquals("echo last", 0x7F, seen.get(40).intValue());
+    }
+
     @BeforeEach
     public void setUp() {
         JUnitUtil.setUp();
@@ -79,6 +161,7 @@ public class LnPacketizerTest {
 
     @AfterEach
     public void tearDown() {
+        ThreadingUtil.setLayoutThreadMode(ThreadingUtil.LayoutThreadMode.GUI, 0);
         lnp = null;
         memo = null;
         JUnitUtil.tearDown();
@@ -0,0 +1,141 @@
+package jmri.jmrix.loconet;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jmri.util.JUnitUtil;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Throughput benchmark for the LnPacketizer receive path.
+ * <p>
+ * Replays a recorded hexfile trace through the packetizer's RcvHandler and
+ * measures how long it takes until every packet has been delivered to the
+ * registered listeners. Besides one catch-all listener, a number of listeners
+ * registered for a single message class are attached, the way the managers
+ * of a large layout are.
+ *
+ * @author agent Copyright (C) 2026
+ */
+public class LnPacketizerThroughputIT {
+
+    private static final String TRACE = "java/test/jmri/jmrix/loconet/hexfile/TestFiles/SensorTraffic.hex";
+    private static final int REPEATS = 200;
+    private static final int MASKED_LISTENERS = 50;
+
+    private LnPacketizer lnp;
+    private LocoNetSystemConnectionMemo memo;
+
+    @Test
+    public void testReplayThroughput() throws IOException {
+        byte[] trace = loadTrace();
+
+        AtomicInteger all = new AtomicInteger();
+        AtomicInteger sensors = new AtomicInteger();
+        lnp.addLocoNetListener(LocoNetInterface.ALL, (LocoNetMessage m) -> all.incrementAndGet());
+        for (int i = 0; i < MASKED_LISTENERS; i++) {
+            lnp.addLocoNetListener(LocoNetInterface.SENSORS, (LocoNetMessage m) -> sensors.incrementAndGet());
+        }
+
+        int packets = countPackets(trace);
+        int sensorPackets = countOpCode(trace, LnConstants.OPC_INPUT_REP);
+
+        long start = System.nanoTime();
+        lnp.istream = new DataInputStream(new ReplayStream(trace, REPEATS));
+        lnp.new RcvHandler(lnp).run();
+        JUnitUtil.waitFor(() -> all.get() == packets * REPEATS, "all packets delivered");
+        long elapsed = System.nanoTime() - start;
+
+        Assert.assertEquals("sensor listeners only see sensor reports",
+                (long) sensorPackets * REPEATS * MASKED_LISTENERS, sensors.get());
+        log.info("replayed {} packets in {} ms: {} packets/s",
+                packets * REPEATS, elapsed / 1_000_000,
+                (long) packets * REPEATS * 1_000_000_000L / Math.max(1, elapsed));
+    }
+
+    private byte[] loadTrace() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (String line : Files.readAllLines(Paths.get(TRACE), StandardCharsets.US_ASCII)) {
+            // same format as read by LnHexFilePort
+            for (int i = 0; i + 1 < line.length(); i += 3) {
+                out.write(Integer.valueOf(line.substring(i, i + 2), 16));
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private int countPackets(byte[] trace) {
+        int n = 0;
+        for (byte b : trace) {
+            if ((b & 0x80) != 0) {
+                n++;
+            }
+        }
+        return n;
+    }
+
+    private int countOpCode(byte[] trace, int opCode) {
+        int n = 0;
+        for (byte b : trace) {
+            if ((b & 0xFF) == opCode) {
+                n++;
+            }
+        }
+        return n;
+    }
+
+    /**
+     * Repeats the trace, then ends the RcvHandler loop with an IOException
+     * the same way the end of a hexfile does.
+     */
+    private static class ReplayStream extends InputStream {
+
+        private final byte[] trace;
+        private int remaining;
+        private int pos = 0;
+
+        ReplayStream(byte[] trace, int repeats) {
+            this.trace = trace;
+            this.remaining = repeats;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (pos == trace.length) {
+                pos = 0;
+                remaining--;
+            }
+            if (remaining <= 0) {
+                throw new IOException("end of trace");
+            }
+            return trace[pos++] & 0xFF;
+        }
+    }
+
+    @BeforeEach
+    public void setUp() {
+        JUnitUtil.setUp();
+        memo = new LocoNetSystemConnectionMemo();
+        lnp = new LnPacketizer(memo);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        lnp = null;
+        memo = null;
+        JUnitUtil.tearDown();
+    }
+
+    private final static Logger log = LoggerFactory.getLogger(LnPacketizerThroughputIT.class);
+
+}
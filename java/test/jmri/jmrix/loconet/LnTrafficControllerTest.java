@@ -1,5 +1,8 @@
 package jmri.jmrix.loconet;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+
 import jmri.util.JUnitUtil;
 
 import org.junit.Assert;
@@ -18,6 +21,66 @@ public class LnTrafficControllerTest {
         Assert.assertNotNull("exists", memo.getLnTrafficController() );
     }
 
+    @Test
+    public void testMaskedDispatch() {
+        LocoNetInterfaceScaffold lnis = (LocoNetInterfaceScaffold) memo.getLnTrafficController();
+        ArrayList<String> seen = new ArrayList<>();
+        lnis.addLocoNetListener(LocoNetInterface.ALL, (LocoNetMessage m) -> seen.add("all"));
+        lnis.addLocoNetListener(LocoNetInterface.SENSORS, (LocoNetMessage m) -> seen.add("sensors"));
+        lnis.addLocoNetListener(LocoNetInterface.POWER, (LocoNetMessage m) -> seen.add("power"));
+
+        lnis.sendTestMessage(new LocoNetMessage(new int[]{0xB2, 0x01, 0x50, 0x1C}));
+        Assert.assertEquals("sensor report", Arrays.asList("all", "sensors"), seen);
+
+        seen.clear();
+        lnis.sendTestMessage(new LocoNetMessage(new int[]{0x83, 0x7C}));
+        Assert.assertEquals("power on", Arrays.asList("all", "power"), seen);
+
+        seen.clear();
+        lnis.sendTestMessage(new LocoNetMessage(new int[]{0xA0, 0x01, 0x20, 0x7E}));
+        Assert.assertEquals("speed only to catch-all", Arrays.asList("all"), seen);
+    }
+
+    @Test
+    public void testMaskUnionAndRemove() {
+        LocoNetInterfaceScaffold lnis = (LocoNetInterfaceScaffold) memo.getLnTrafficController();
+        ArrayList<LocoNetMessage> seen = new ArrayList<>();
+        LocoNetListener l = seen::add;
+        LocoNetMessage sensor = new LocoNetMessage(new int[]{0xB2, 0x01, 0x50, 0x1C});
+        LocoNetMessage power = new LocoNetMessage(new int[]{0x83, 0x7C});
+
+        lnis.addLocoNetListener(LocoNetInterface.SENSORS, l);
+        lnis.addLocoNetListener(LocoNetInterface.POWER, l);
+        Assert.assertEquals("registered once", 1, lnis.numListeners());
+
+        lnis.sendTestMessage(sensor);
+        lnis.sendTestMessage(power);
+        Assert.assertEquals("both classes seen", 2, seen.size());
+
+        lnis.removeLocoNetListener(LocoNetInterface.SENSORS, l);
+        lnis.sendTestMessage(sensor);
+        lnis.sendTestMessage(power);
+        Assert.assertEquals("only power seen after partial remove", 3, seen.size());
+        Assert.assertEquals("still registered", 1, lnis.numListeners());
+
+        lnis.removeLocoNetListener(LocoNetInterface.POWER, l);
+        lnis.sendTestMessage(power);
+        Assert.assertEquals("nothing after full remove", 3, seen.size());
+        Assert.assertEquals("not registered", 0, lnis.numListeners());
+    }
+
+    @Test
+    public void testOpCodeClass() {
+        Assert.assertEquals("INPUT_REP", LocoNetInterface.SENSORS,
+                LnTrafficController.getOpCodeClass(LnConstants.OPC_INPUT_REP));
+        Assert.assertNotEquals("SL_RD_DATA has power", 0,
+                LnTrafficController.getOpCodeClass(LnConstants.OPC_SL_RD_DATA) & LocoNetInterface.POWER);
+        Assert.assertEquals("MULTI_SENSE is for reporters, not power", LocoNetInterface.SENSORS,
+                LnTrafficController.getOpCodeClass(LnConstants.OPC_MULTI_SENSE));
+        Assert.assertEquals("LOCO_SPD not sensor", 0,
+                LnTrafficController.getOpCodeClass(LnConstants.OPC_LOCO_SPD) & LocoNetInterface.SENSORS);
+    }
+
     @BeforeEach
     public void setUp() {
         JUnitUtil.setUp();
@@ -0,0 +1,112 @@
+package jmri.managers;
+
+import java.beans.PropertyChangeListener;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jmri.InstanceManager;
+import jmri.Manager;
+import jmri.Sensor;
+import jmri.jmrix.internal.InternalSensorManager;
+import jmri.jmrix.internal.InternalSystemConnectionMemo;
+import jmri.util.JUnitUtil;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Benchmark for registering a large number of beans in an AbstractManager.
+ * <p>
+ * Each bean registered with listeners attached needs its position in the
+ * manager; this checks that stays cheap for a large layout, both one at a
+ * time and in a bulk registration as done when loading a panel file.
+ */
+public class AbstractManagerRegistrationIT {
+
+    private static final int COUNT = 50000;
+
+    private InternalSensorManager l;
+
+    @Test
+    @SuppressWarnings("deprecation") // addDataListener
+    public void testRegisterOneAtATime() {
+        AtomicInteger added = new AtomicInteger();
+        AtomicInteger indexed = new AtomicInteger();
+        l.addDataListener(new DataListener(added));
+        l.addPropertyChangeListener("beans", (PropertyChangeListener) e -> indexed.incrementAndGet());
+
+        long start = System.nanoTime();
+        // register in reverse, so every bean goes to the front
+        for (int i = COUNT; i > 0; i--) {
+            l.provideSensor("IS" + i);
+        }
+        long elapsed = System.nanoTime() - start;
+
+        Assert.assertEquals(COUNT, l.getObjectCount());
+        Assert.assertEquals(COUNT, added.get());
+        Assert.assertEquals(COUNT, indexed.get());
+        Assert.assertEquals("IS1", l.getNamedBeanSet().first().getSystemName());
+        log.info("registered {} sensors one at a time in {} ms", COUNT, elapsed / 1_000_000);
+    }
+
+    @Test
+    @SuppressWarnings("deprecation") // addDataListener
+    public void testRegisterInBulk() {
+        AtomicInteger changed = new AtomicInteger();
+        l.addDataListener(new DataListener(changed));
+
+        long start = System.nanoTime();
+        l.setPropertyChangesSilenced("beans", true);
+        for (int i = COUNT; i > 0; i--) {
+            l.provideSensor("IS" + i);
+        }
+        l.setPropertyChangesSilenced("beans", false);
+        long elapsed = System.nanoTime() - start;
+
+        Assert.assertEquals(COUNT, l.getObjectCount());
+        Assert.assertEquals("one event for the whole load", 1, changed.get());
+        log.info("registered {} sensors in bulk in {} ms", COUNT, elapsed / 1_000_000);
+    }
+
+    @SuppressWarnings("deprecation") // ManagerDataListener
+    private static class DataListener implements Manager.ManagerDataListener<Sensor> {
+
+        private final AtomicInteger count;
+
+        DataListener(AtomicInteger count) {
+            this.count = count;
+        }
+
+        @Override
+        public void intervalAdded(Manager.ManagerDataEvent<Sensor> e) {
+            count.incrementAndGet();
+        }
+
+        @Override
+        public void intervalRemoved(Manager.ManagerDataEvent<Sensor> e) {
+            count.incrementAndGet();
+        }
+
+        @Override
+        public void contentsChanged(Manager.ManagerDataEvent<Sensor> e) {
+            count.incrementAndGet();
+        }
+    }
+
+    @BeforeEach
+    public void setUp() {
+        JUnitUtil.setUp();
+        l = new InternalSensorManager(InstanceManager.getDefault(InternalSystemConnectionMemo.class));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        l.dispose();
+        l = null;
+        JUnitUtil.tearDown();
+    }
+
+    private final static Logger log = LoggerFactory.getLogger(AbstractManagerRegistrationIT.class);
+
+}
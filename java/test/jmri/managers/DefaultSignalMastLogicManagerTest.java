@@ -1,6 +1,9 @@
 package jmri.managers;
 
 import jmri.InstanceManager;
+import jmri.SignalMast;
+import jmri.SignalMastLogic;
+import jmri.implementation.VirtualSignalMast;
 import jmri.jmrix.internal.InternalSystemConnectionMemo;
 import jmri.util.JUnitUtil;
 
@@ -18,6 +21,41 @@ public class DefaultSignalMastLogicManagerTest extends AbstractManagerTestBase<j
         Assert.assertNotNull("exists",l);
     }
 
+    @Test
+    public void testLookups() {
+        SignalMast sm1 = new VirtualSignalMast("IF$vsm:AAR-1946:CPL($0001)");
+        SignalMast sm2 = new VirtualSignalMast("IF$vsm:AAR-1946:CPL($0002)");
+        SignalMast sm3 = new VirtualSignalMast("IF$vsm:AAR-1946:CPL($0003)");
+        SignalMast sm4 = new VirtualSignalMast("IF$vsm:AAR-1946:CPL($0004)");
+        Assert.assertNull("no logic yet", l.getSignalMastLogic(sm1));
+        Assert.assertFalse("sm3 not used", l.isSignalMastUsed(sm3));
+
+        SignalMastLogic sml1 = l.newSignalMastLogic(sm1);
+        Assert.assertSame("same logic for source", sml1, l.newSignalMastLogic(sm1));
+        Assert.assertSame("logic for sm1", sml1, l.getSignalMastLogic(sm1));
+        Assert.assertFalse("sm1 not used without destinations", l.isSignalMastUsed(sm1));
+
+        SignalMastLogic sml2 = l.newSignalMastLogic(sm2);
+        sml1.setDestinationMast(sm3);
+        sml2.setDestinationMast(sm3);
+        Assert.assertEquals("logics to sm3", java.util.Arrays.asList(sml1, sml2), l.getLogicsByDestination(sm3));
+        Assert.assertTrue("sm1 used", l.isSignalMastUsed(sm1));
+        Assert.assertTrue("sm3 used", l.isSignalMastUsed(sm3));
+
+        sml1.replaceDestinationMast(sm3, sm4);
+        Assert.assertEquals("logics to sm3 after replace", java.util.Collections.singletonList(sml2), l.getLogicsByDestination(sm3));
+        Assert.assertEquals("logics to sm4 after replace", java.util.Collections.singletonList(sml1), l.getLogicsByDestination(sm4));
+
+        l.replaceSignalMast(sm2, sm4);
+        Assert.assertNull("no logic for replaced source", l.getSignalMastLogic(sm2));
+        Assert.assertSame("logic for new source", sml2, l.getSignalMastLogic(sm4));
+
+        l.removeSignalMastLogic(sml1);
+        Assert.assertNull("logic removed", l.getSignalMastLogic(sm1));
+        Assert.assertTrue("no logics to sm4", l.getLogicsByDestination(sm4).isEmpty());
+        Assert.assertFalse("sm1 not used", l.isSignalMastUsed(sm1));
+    }
+
     @Test
     @Override
     @Disabled("makeSystemName is not currently supported")
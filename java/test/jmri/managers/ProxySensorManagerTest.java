@@ -340,6 +340,38 @@ public class ProxySensorManagerTest implements Manager.ManagerDataListener<Senso
         Assert.assertEquals("index1", 3, lastEvent1); // originally five items, deleted 1, so 4, and last index is then 3
     }
 
+    @Test
+    @SuppressWarnings("deprecation") // addDataListener references
+    public void testBulkRegistration() {
+        l.provideSensor("IS10");
+        SortedSet<Sensor> beanSet = l.getNamedBeanSet();
+        l.addDataListener(this);
+
+        java.util.concurrent.atomic.AtomicInteger beansEvents = new java.util.concurrent.atomic.AtomicInteger();
+        l.addPropertyChangeListener("beans", e -> {
+            if (e.getSource() == l) {
+                beansEvents.incrementAndGet();
+            }
+        });
+
+        l.setPropertyChangesSilenced("beans", true);
+        l.provideSensor("IS11");
+        l.provideSensor("JS1");
+        l.provideSensor("JS2");
+        Assert.assertEquals("events", 0, events);
+        Assert.assertEquals("set still complete while loading", 4, l.getNamedBeanSet().size());
+        l.provideSensor("JS3");
+        Assert.assertEquals("set rebuilt when read", 5, l.getNamedBeanSet().size());
+
+        l.setPropertyChangesSilenced("beans", false);
+        // one for all the underlying managers that changed
+        Assert.assertEquals("events", 1, events);
+        Assert.assertEquals("beans events from the proxy", 1, beansEvents.get());
+        Assert.assertEquals("type", Manager.ManagerDataEvent.CONTENTS_CHANGED, lastType);
+        Assert.assertEquals("index1", 4, lastEvent1);
+        Assert.assertEquals("bean set length", 5, beanSet.size());
+    }
+
     @Test
     @SuppressWarnings("deprecation") // getSystemNameList, getNamedBeanList references
     public void testOrderVsSorted() {
@@ -1,9 +1,15 @@
 package jmri.server.json;
 
+import com.fasterxml.jackson.databind.JsonNode;
+
 import java.io.ByteArrayOutputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
 
 import jmri.InstanceManager;
 import jmri.util.JUnitAppender;
@@ -96,4 +102,47 @@ public class JsonConnectionTest {
         Assert.assertEquals("Invalid message is passed", invalid, baos.toString(StandardCharsets.UTF_8.name()));
         baos.reset();
     }
+
+    /**
+     * Test of sendUpdate method, of class JsonConnection. Verifies that
+     * updates queued while the client is being written to are coalesced by
+     * key and written in order.
+     *
+     * @throws java.io.IOException if unable to write to output stream
+     */
+    @Test
+    public void testSendUpdate() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        DataOutputStream dos = new DataOutputStream(baos);
+        InstanceManager.getDefault(JsonServerPreferences.class).setValidateServerMessages(false);
+        JsonRequest request = new JsonRequest(Locale.ENGLISH, JSON.V5, JSON.GET, 0);
+        List<IOException> failures = new ArrayList<>();
+        JsonConnection instance = new JsonConnection(dos) {
+            @Override
+            public void sendMessage(JsonNode message, String serialized, JsonRequest request) throws IOException {
+                if (serialized.equals("first")) {
+                    // queue updates as if the client was slow to accept the first
+                    sendUpdate("a", message, "second", request, failures::add);
+                    sendUpdate("b", message, "other", request, failures::add);
+                    sendUpdate("a", message, "third", request, failures::add);
+                }
+                super.sendMessage(message, serialized, request);
+            }
+        };
+        JsonNode message = instance.getObjectMapper().readTree("{\"type\":\"pong\"}");
+        instance.sendUpdate("a", message, "first", request, failures::add);
+        Assert.assertEquals("Latest update for each key is written", "firstotherthird",
+                baos.toString(StandardCharsets.UTF_8.name()));
+        Assert.assertEquals("One update coalesced", 1, instance.getCoalescedCount());
+        Assert.assertTrue("No failures", failures.isEmpty());
+        // a failed write is reported
+        instance = new JsonConnection(new DataOutputStream(new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("closed");
+            }
+        }));
+        instance.sendUpdate("a", message, "failed", request, failures::add);
+        Assert.assertEquals("Failure reported", 1, failures.size());
+    }
 }
@@ -92,6 +92,17 @@ public class JsonMockConnection extends JsonConnection {
         sendMessage(message, new JsonRequest(getLocale(), getVersion(), JSON.GET, id));
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This implementation retains the message as
+     * {@link #sendMessage(JsonNode, JsonRequest)} does.
+     */
+    @Override
+    public void sendMessage(@Nonnull JsonNode message, @Nonnull String serialized, JsonRequest request) throws IOException {
+        sendMessage(message, request);
+    }
+
     @CheckForNull
     public JsonNode getMessage() {
         int i = messages.size() - 1;
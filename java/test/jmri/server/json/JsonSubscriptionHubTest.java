@@ -0,0 +1,71 @@
+package jmri.server.json;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Locale;
+
+import jmri.InstanceManager;
+import jmri.JmriException;
+import jmri.Sensor;
+import jmri.SensorManager;
+import jmri.server.json.sensor.JsonSensor;
+import jmri.server.json.sensor.JsonSensorSocketService;
+import jmri.util.JUnitUtil;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.*;
+
+public class JsonSubscriptionHubTest {
+
+    @Test
+    public void testSharedSubscription() throws IOException, JmriException, JsonException {
+        JsonSubscriptionHub hub = InstanceManager.getDefault(JsonSubscriptionHub.class);
+        Sensor sensor = InstanceManager.getDefault(SensorManager.class).provideSensor("IS1");
+        int listeners = sensor.getNumPropertyChangeListeners();
+        JsonMockConnection connection1 = new JsonMockConnection((DataOutputStream) null);
+        JsonMockConnection connection2 = new JsonMockConnection((DataOutputStream) null);
+        JsonMockConnection connection3 = new JsonMockConnection((DataOutputStream) null);
+        connection3.setLocale(Locale.GERMAN);
+        JsonSensorSocketService service1 = new JsonSensorSocketService(connection1);
+        JsonSensorSocketService service2 = new JsonSensorSocketService(connection2);
+        JsonSensorSocketService service3 = new JsonSensorSocketService(connection3);
+        JsonNode data = connection1.getObjectMapper().createObjectNode().put(JSON.NAME, "IS1");
+        service1.onMessage(JsonSensor.SENSOR, data, new JsonRequest(Locale.ENGLISH, JSON.V5, JSON.GET, 42));
+        service2.onMessage(JsonSensor.SENSOR, data, new JsonRequest(Locale.ENGLISH, JSON.V5, JSON.GET, 42));
+        service3.onMessage(JsonSensor.SENSOR, data, new JsonRequest(Locale.GERMAN, JSON.V5, JSON.GET, 42));
+        Assert.assertEquals("One listener for all clients", listeners + 1, sensor.getNumPropertyChangeListeners());
+        Assert.assertEquals("Three subscribers", 3, hub.getSubscriberCount(sensor, JsonSensor.SENSOR));
+        sensor.setKnownState(Sensor.ACTIVE);
+        JsonNode message = connection1.getMessage();
+        Assert.assertNotNull("Message sent", message);
+        Assert.assertEquals(JSON.ACTIVE, message.path(JSON.DATA).path(JSON.STATE).asInt(-1));
+        Assert.assertSame("Same message for same version and locale", message, connection2.getMessage());
+        Assert.assertNotSame("Own message for other locale", message, connection3.getMessage());
+        Assert.assertEquals(JSON.ACTIVE, connection3.getMessage().path(JSON.DATA).path(JSON.STATE).asInt(-1));
+        // a client that fails is dropped without affecting the others
+        connection1.setThrowIOException(true);
+        sensor.setKnownState(Sensor.INACTIVE);
+        Assert.assertEquals("Failed client dropped", 2, hub.getSubscriberCount(sensor, JsonSensor.SENSOR));
+        Assert.assertEquals(JSON.INACTIVE, connection2.getMessage().path(JSON.DATA).path(JSON.STATE).asInt(-1));
+        service2.onClose();
+        service3.onClose();
+        Assert.assertEquals("No subscribers", 0, hub.getSubscriberCount(sensor, JsonSensor.SENSOR));
+        Assert.assertEquals("Listener removed", listeners, sensor.getNumPropertyChangeListeners());
+        service1.onClose();
+    }
+
+    @BeforeEach
+    public void setUp() {
+        JUnitUtil.setUp();
+        JUnitUtil.resetProfileManager();
+        JUnitUtil.initInternalSensorManager();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        JUnitUtil.tearDown();
+    }
+
+}
@@ -0,0 +1,104 @@
+package jmri.util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.*;
+
+public class DebounceSchedulerTest {
+
+    @Test
+    public void testSchedule() {
+        long delivered = DebounceScheduler.getDeliveredCount();
+        debouncer.schedule(10);
+        Assert.assertTrue("pending", debouncer.isPending());
+        JUnitUtil.waitFor(() -> runs.get() == 1, "ran");
+        Assert.assertTrue("ran on layout thread", ranOnLayout);
+        Assert.assertFalse("not pending", debouncer.isPending());
+        Assert.assertEquals("delivered", delivered + 1, DebounceScheduler.getDeliveredCount());
+    }
+
+    @Test
+    public void testReschedule() {
+        long cancelled = DebounceScheduler.getCancelledCount();
+        debouncer.schedule(200);
+        for (int i = 0; i < 5; i++) {
+            debouncer.schedule(20);
+        }
+        Assert.assertEquals("replaced runs cancelled", cancelled + 5, DebounceScheduler.getCancelledCount());
+        JUnitUtil.waitFor(() -> runs.get() == 1, "ran");
+        // and only once
+        JUnitUtil.waitFor(250);
+        Assert.assertEquals("ran once", 1, runs.get());
+    }
+
+    @Test
+    public void testCancel() {
+        Assert.assertFalse("nothing to cancel", debouncer.cancel());
+        long cancelled = DebounceScheduler.getCancelledCount();
+        int pending = DebounceScheduler.getPendingCount();
+        debouncer.schedule(50);
+        Assert.assertEquals("pending", pending + 1, DebounceScheduler.getPendingCount());
+        Assert.assertTrue("cancelled", debouncer.cancel());
+        Assert.assertEquals("not pending", pending, DebounceScheduler.getPendingCount());
+        Assert.assertEquals("counted", cancelled + 1, DebounceScheduler.getCancelledCount());
+        JUnitUtil.waitFor(150);
+        Assert.assertEquals("didn't run", 0, runs.get());
+    }
+
+    @Test
+    public void testOrder() {
+        StringBuilder order = new StringBuilder();
+        DebounceScheduler.Debouncer a = new DebounceScheduler.Debouncer(null, () -> order.append("a"));
+        DebounceScheduler.Debouncer b = new DebounceScheduler.Debouncer(null, () -> order.append("b"));
+        a.schedule(60);
+        b.schedule(10);
+        JUnitUtil.waitFor(() -> order.length() == 2, "both ran");
+        Assert.assertEquals("earliest first", "ba", order.toString());
+    }
+
+    @Test
+    public void testManyPending() {
+        int pending = DebounceScheduler.getPendingCount();
+        AtomicInteger ran = new AtomicInteger();
+        DebounceScheduler.Debouncer[] debouncers = new DebounceScheduler.Debouncer[1000];
+        for (int i = 0; i < debouncers.length; i++) {
+            debouncers[i] = new DebounceScheduler.Debouncer(null, ran::incrementAndGet);
+            debouncers[i].schedule(60000);
+        }
+        // same deadlines are kept apart, and moving one doesn't lose others
+        for (DebounceScheduler.Debouncer d : debouncers) {
+            d.schedule(60000);
+        }
+        Assert.assertEquals("all pending", pending + 1000, DebounceScheduler.getPendingCount());
+        for (int i = 0; i < debouncers.length; i += 2) {
+            Assert.assertTrue("cancelled", debouncers[i].cancel());
+        }
+        Assert.assertEquals("half pending", pending + 500, DebounceScheduler.getPendingCount());
+        for (int i = 1; i < debouncers.length; i += 2) {
+            debouncers[i].schedule(10);
+        }
+        JUnitUtil.waitFor(() -> ran.get() == 500, "rest ran");
+        Assert.assertEquals("none pending", pending, DebounceScheduler.getPendingCount());
+    }
+
+    private final AtomicInteger runs = new AtomicInteger();
+    private boolean ranOnLayout = false;
+    private DebounceScheduler.Debouncer debouncer;
+
+    @BeforeEach
+    public void setUp() {
+        JUnitUtil.setUp();
+        debouncer = new DebounceScheduler.Debouncer(this, () -> {
+            ranOnLayout = ThreadingUtil.isLayoutThread();
+            runs.incrementAndGet();
+        });
+    }
+
+    @AfterEach
+    public void tearDown() {
+        debouncer.cancel();
+        JUnitUtil.tearDown();
+    }
+
+}
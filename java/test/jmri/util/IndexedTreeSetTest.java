@@ -0,0 +1,156 @@
+package jmri.util;
+
+import java.util.*;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.*;
+
+/**
+ * Tests for the IndexedTreeSet class, mostly by comparing with a TreeSet.
+ */
+public class IndexedTreeSetTest {
+
+    @Test
+    public void testIndexOfAndGet() {
+        IndexedTreeSet<String> set = new IndexedTreeSet<>(new AlphanumComparator());
+        set.add("IS10");
+        set.add("IS2");
+        set.add("IS1");
+        Assert.assertFalse("no duplicates", set.add("IS2"));
+        Assert.assertEquals(3, set.size());
+        Assert.assertEquals(0, set.indexOf("IS1"));
+        Assert.assertEquals(1, set.indexOf("IS2"));
+        Assert.assertEquals(2, set.indexOf("IS10"));
+        Assert.assertEquals(-1, set.indexOf("IS3"));
+        Assert.assertEquals("IS10", set.get(2));
+        Assert.assertEquals("IS1", set.first());
+        Assert.assertEquals("IS10", set.last());
+        Assert.assertThrows(IndexOutOfBoundsException.class, () -> set.get(3));
+        Assert.assertThrows(NullPointerException.class, () -> set.add(null));
+    }
+
+    @Test
+    public void testMatchesTreeSet() {
+        Random r = new Random(42);
+        IndexedTreeSet<Integer> set = new IndexedTreeSet<>();
+        TreeSet<Integer> reference = new TreeSet<>();
+        for (int i = 0; i < 5000; i++) {
+            Integer v = r.nextInt(1000);
+            if (r.nextInt(3) == 0) {
+                Assert.assertEquals(reference.remove(v), set.remove(v));
+            } else {
+                Assert.assertEquals(reference.add(v), set.add(v));
+            }
+            if (i % 100 == 0) {
+                Assert.assertEquals(reference.size(), set.size());
+                Assert.assertEquals(new ArrayList<>(reference), new ArrayList<>(set));
+                Assert.assertEquals(reference.headSet(v).size(), set.headSet(v).size());
+                if (set.contains(v)) {
+                    Assert.assertEquals(reference.headSet(v).size(), set.indexOf(v));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testViews() {
+        IndexedTreeSet<Integer> set = new IndexedTreeSet<>();
+        for (int i = 0; i < 20; i += 2) {
+            set.add(i);
+        }
+        SortedSet<Integer> sub = set.subSet(5, 13);
+        Assert.assertEquals(Arrays.asList(6, 8, 10, 12), new ArrayList<>(sub));
+        Assert.assertEquals(4, sub.size());
+        Assert.assertEquals(6, sub.first().intValue());
+        Assert.assertEquals(12, sub.last().intValue());
+        Assert.assertEquals(Arrays.asList(8, 10), new ArrayList<>(sub.subSet(7, 11)));
+        Assert.assertEquals(Arrays.asList(0, 2), new ArrayList<>(set.headSet(4)));
+        Assert.assertEquals(Arrays.asList(16, 18), new ArrayList<>(set.tailSet(16)));
+        Assert.assertThrows(IllegalArgumentException.class, () -> sub.add(20));
+
+        // views are live
+        sub.add(7);
+        Assert.assertTrue(set.contains(7));
+        Assert.assertEquals(5, sub.size());
+    }
+
+    @Test
+    public void testNavigableMatchesTreeSet() {
+        IndexedTreeSet<Integer> set = new IndexedTreeSet<>();
+        TreeSet<Integer> reference = new TreeSet<>();
+        for (int i = 0; i < 20; i += 2) {
+            set.add(i);
+            reference.add(i);
+        }
+        for (int v = -1; v <= 20; v++) {
+            Assert.assertEquals("lower " + v, reference.lower(v), set.lower(v));
+            Assert.assertEquals("floor " + v, reference.floor(v), set.floor(v));
+            Assert.assertEquals("ceiling " + v, reference.ceiling(v), set.ceiling(v));
+            Assert.assertEquals("higher " + v, reference.higher(v), set.higher(v));
+            for (boolean inclusive : new boolean[]{true, false}) {
+                Assert.assertEquals(new ArrayList<>(reference.headSet(v, inclusive)), new ArrayList<>(set.headSet(v, inclusive)));
+                Assert.assertEquals(new ArrayList<>(reference.tailSet(v, inclusive)), new ArrayList<>(set.tailSet(v, inclusive)));
+                Assert.assertEquals(reference.tailSet(v, inclusive).size(), set.tailSet(v, inclusive).size());
+            }
+        }
+        NavigableSet<Integer> sub = set.subSet(4, false, 12, true);
+        NavigableSet<Integer> subReference = reference.subSet(4, false, 12, true);
+        Assert.assertEquals(new ArrayList<>(subReference), new ArrayList<>(sub));
+        Assert.assertEquals(subReference.lower(7), sub.lower(7));
+        Assert.assertNull(sub.lower(6));
+        Assert.assertNull(sub.higher(12));
+        Assert.assertEquals(new ArrayList<>(subReference.headSet(10, true)), new ArrayList<>(sub.headSet(10, true)));
+        Assert.assertThrows(IllegalArgumentException.class, () -> sub.tailSet(4, true));
+
+        Assert.assertEquals(new ArrayList<>(reference.descendingSet()), new ArrayList<>(set.descendingSet()));
+        Assert.assertEquals(new ArrayList<>(subReference.descendingSet()), new ArrayList<>(sub.descendingSet()));
+        Assert.assertEquals(new ArrayList<>(reference.descendingSet().headSet(9, false)),
+                new ArrayList<>(set.descendingSet().headSet(9, false)));
+        Assert.assertEquals(reference.descendingSet().first(), set.descendingSet().first());
+        Assert.assertEquals(reference.descendingSet().ceiling(9), set.descendingSet().ceiling(9));
+
+        Iterator<Integer> it = set.descendingIterator();
+        while (it.hasNext()) {
+            if (it.next() % 4 != 0) {
+                it.remove();
+            }
+        }
+        reference.removeIf(i -> i % 4 != 0);
+        Assert.assertEquals(new ArrayList<>(reference), new ArrayList<>(set));
+
+        Assert.assertEquals(reference.pollFirst(), set.pollFirst());
+        Assert.assertEquals(reference.pollLast(), set.pollLast());
+        Assert.assertEquals(new ArrayList<>(reference), new ArrayList<>(set));
+        Assert.assertNull(new IndexedTreeSet<Integer>().pollFirst());
+    }
+
+    @Test
+    public void testIteratorRemove() {
+        IndexedTreeSet<Integer> set = new IndexedTreeSet<>();
+        for (int i = 0; i < 100; i++) {
+            set.add(i);
+        }
+        Iterator<Integer> it = set.iterator();
+        while (it.hasNext()) {
+            if (it.next() % 3 != 0) {
+                it.remove();
+            }
+        }
+        Assert.assertEquals(34, set.size());
+        int expected = 0;
+        for (Integer i : set) {
+            Assert.assertEquals(expected, i.intValue());
+            expected += 3;
+        }
+    }
+
+    @Test
+    public void testFailFast() {
+        IndexedTreeSet<Integer> set = new IndexedTreeSet<>(null, Arrays.asList(1, 2, 3));
+        Iterator<Integer> it = set.iterator();
+        it.next();
+        set.add(4);
+        Assert.assertThrows(ConcurrentModificationException.class, it::next);
+    }
+
+}
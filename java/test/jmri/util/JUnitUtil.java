@@ -1339,6 +1339,7 @@ public class JUnitUtil {
         "Aqua L&F",                         // macOS
         "AppKit Thread",
         "JMRI Common Timer",
+        "JMRI Debounce Scheduler",
         "BluecoveAsynchronousShutdownThread", // from LocoNet BlueTooth implementation
         "Keep-Alive-Timer",                 // from "system" group
         "process reaper",                   // observed in macOS JRE
@@ -0,0 +1,57 @@
+package jmri.util;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.*;
+
+/**
+ * Tests for the LatencyHistogram class.
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    public void testEmpty() {
+        LatencyHistogram h = new LatencyHistogram();
+        Assert.assertEquals(0, h.getCount());
+        Assert.assertEquals(0.0, h.getMean(), 0.0);
+        Assert.assertEquals(0, h.getPercentile(50));
+    }
+
+    @Test
+    public void testBuckets() {
+        LatencyHistogram h = new LatencyHistogram();
+        h.record(500);          // under 1us
+        h.record(1_000);        // 1us
+        h.record(3_000);        // 3us -> up to 4us
+        h.record(1_000_000);    // 1000us -> up to 1024us
+        h.record(-5);           // clock skew counts as zero
+        Assert.assertEquals(5, h.getCount());
+        Assert.assertEquals(3, h.getBucketCount(0));
+        Assert.assertEquals(1, h.getBucketCount(2));
+        Assert.assertEquals(1, h.getBucketCount(10));
+        Assert.assertEquals(1, h.getPercentile(50));
+        Assert.assertEquals(1024, h.getPercentile(100));
+        Assert.assertEquals((500 + 1_000 + 3_000 + 1_000_000) / 5000.0, h.getMean(), 0.001);
+    }
+
+    @Test
+    public void testOverflowAndReset() {
+        LatencyHistogram h = new LatencyHistogram();
+        h.record(Long.MAX_VALUE);
+        Assert.assertEquals(1, h.getBucketCount(LatencyHistogram.BUCKETS - 1));
+        Assert.assertEquals(Long.MAX_VALUE, h.getPercentile(99));
+        h.reset();
+        Assert.assertEquals(0, h.getCount());
+        Assert.assertEquals(0, h.getBucketCount(LatencyHistogram.BUCKETS - 1));
+    }
+
+    @BeforeEach
+    public void setUp() {
+        JUnitUtil.setUp();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        JUnitUtil.tearDown();
+    }
+
+}
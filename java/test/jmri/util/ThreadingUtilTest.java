@@ -185,6 +185,134 @@ public class ThreadingUtilTest {
         
    }
     
+    @Test
+    public void testDedicatedLayoutThread() {
+        ThreadingUtil.setLayoutThreadMode(ThreadingUtil.LayoutThreadMode.SINGLE, 0);
+        Assert.assertEquals(ThreadingUtil.LayoutThreadMode.SINGLE, ThreadingUtil.getLayoutThreadMode());
+        Assert.assertFalse(ThreadingUtil.isLayoutThread());
+
+        java.util.concurrent.atomic.AtomicReference<String> name = new java.util.concurrent.atomic.AtomicReference<>();
+        java.util.concurrent.atomic.AtomicBoolean onLayout = new java.util.concurrent.atomic.AtomicBoolean();
+        ThreadingUtil.runOnLayout(() -> {
+            name.set(Thread.currentThread().getName());
+            onLayout.set(ThreadingUtil.isLayoutThread() && !ThreadingUtil.isGUIThread());
+            // nested calls run immediately
+            ThreadingUtil.runOnLayout(() -> done = true);
+        });
+        Assert.assertEquals("JMRI Layout", name.get());
+        Assert.assertTrue(onLayout.get());
+        Assert.assertTrue(done);
+
+        done = false;
+        ThreadingUtil.runOnLayoutEventually(() -> done = ThreadingUtil.isLayoutThread());
+        JUnitUtil.waitFor(() -> done, "eventually on layout thread");
+
+        done = false;
+        ThreadingUtil.runOnLayoutDelayed(() -> done = ThreadingUtil.isLayoutThread(), 50);
+        JUnitUtil.waitFor(() -> done, "delayed on layout thread");
+    }
+
+    @Test
+    public void testLayoutPoolKeepsBeanOrder() {
+        ThreadingUtil.setLayoutThreadMode(ThreadingUtil.LayoutThreadMode.POOL, 3);
+        Object[] beans = {new Object(), new Object(), new Object(), new Object()};
+        java.util.List<java.util.List<Integer>> seen = new java.util.ArrayList<>();
+        for (int b = 0; b < beans.length; b++) {
+            seen.add(java.util.Collections.synchronizedList(new java.util.ArrayList<>()));
+        }
+        for (int i = 0; i < 100; i++) {
+            for (int b = 0; b < beans.length; b++) {
+                int value = i;
+                java.util.List<Integer> list = seen.get(b);
+                ThreadingUtil.runOnLayoutEventually(beans[b], () -> list.add(value));
+            }
+        }
+        for (int b = 0; b < beans.length; b++) {
+            java.util.List<Integer> list = seen.get(b);
+            JUnitUtil.waitFor(() -> list.size() == 100, "all work run");
+            for (int i = 0; i < 100; i++) {
+                Assert.assertEquals("in order", i, list.get(i).intValue());
+            }
+        }
+    }
+
+    @Test
+    public void testRunOnLayoutFromGUIWaitsWithoutDeadlock() {
+        ThreadingUtil.setLayoutThreadMode(ThreadingUtil.LayoutThreadMode.SINGLE, 0);
+        done = false;
+        java.util.concurrent.atomic.AtomicBoolean onLayout = new java.util.concurrent.atomic.AtomicBoolean();
+        java.util.concurrent.atomic.AtomicBoolean doneOnReturn = new java.util.concurrent.atomic.AtomicBoolean();
+        java.util.concurrent.atomic.AtomicBoolean nestedRun = new java.util.concurrent.atomic.AtomicBoolean();
+        ThreadingUtil.runOnGUI(() -> {
+            ThreadingUtil.runOnLayout(() -> {
+                onLayout.set(ThreadingUtil.isLayoutThread());
+                // the GUI thread is waiting for us, and runs this meanwhile
+                ThreadingUtil.runOnGUI(() -> {
+                    done = true;
+                    // and the layout thread is waiting for the GUI thread
+                    ThreadingUtil.runOnLayout(() -> nestedRun.set(true));
+                });
+            });
+            doneOnReturn.set(done);
+        });
+        Assert.assertTrue("ran on layout thread", onLayout.get());
+        Assert.assertTrue("finished before runOnLayout returned", doneOnReturn.get());
+        Assert.assertTrue("nested call run", nestedRun.get());
+    }
+
+    @Test
+    public void testPoolRunOnLayoutUsesUnkeyedThread() {
+        ThreadingUtil.setLayoutThreadMode(ThreadingUtil.LayoutThreadMode.POOL, 3);
+        java.util.List<String> names = java.util.Collections.synchronizedList(new java.util.ArrayList<>());
+        for (int b = 0; b < 6; b++) {
+            ThreadingUtil.runOnLayoutEventually(new Object(), () -> {
+                ThreadingUtil.runOnLayout(() -> names.add(Thread.currentThread().getName()));
+            });
+        }
+        JUnitUtil.waitFor(() -> names.size() == 6, "all work run");
+        for (String name : names) {
+            Assert.assertEquals("JMRI Layout 0", name);
+        }
+    }
+
+    @Test
+    public void testBeanNotifiesGUIListenersOnGUIThread() {
+        ThreadingUtil.setLayoutThreadMode(ThreadingUtil.LayoutThreadMode.SINGLE, 0);
+        JUnitUtil.initInternalSensorManager();
+        jmri.Sensor sensor = jmri.InstanceManager.sensorManagerInstance().provideSensor("IS1");
+        java.util.concurrent.atomic.AtomicBoolean plainOnLayout = new java.util.concurrent.atomic.AtomicBoolean();
+        java.util.concurrent.atomic.AtomicBoolean tableOnGUI = new java.util.concurrent.atomic.AtomicBoolean();
+        sensor.addPropertyChangeListener((java.beans.PropertyChangeEvent e) -> {
+            if ("KnownState".equals(e.getPropertyName())) {
+                plainOnLayout.set(ThreadingUtil.isLayoutThread() && !ThreadingUtil.isGUIThread());
+            }
+        });
+        sensor.addPropertyChangeListener("KnownState", new TableListener(tableOnGUI));
+        ThreadingUtil.runOnLayout(() -> {
+            try {
+                sensor.setKnownState(jmri.Sensor.ACTIVE);
+            } catch (jmri.JmriException e) {
+                Assert.fail("could not set sensor");
+            }
+        });
+        Assert.assertTrue("plain listener on layout thread", plainOnLayout.get());
+        JUnitUtil.waitFor(() -> tableOnGUI.get(), "table listener on GUI thread");
+    }
+
+    private static class TableListener extends javax.swing.table.DefaultTableModel implements java.beans.PropertyChangeListener {
+
+        private final java.util.concurrent.atomic.AtomicBoolean onGUI;
+
+        TableListener(java.util.concurrent.atomic.AtomicBoolean onGUI) {
+            this.onGUI = onGUI;
+        }
+
+        @Override
+        public void propertyChange(java.beans.PropertyChangeEvent e) {
+            onGUI.set(ThreadingUtil.isGUIThread());
+        }
+    }
+
     /**
      * Show how to query state of _current_ thread
      */
@@ -203,6 +331,7 @@ public class ThreadingUtilTest {
 
     @AfterEach
     public void tearDown() throws Exception {
+        ThreadingUtil.setLayoutThreadMode(ThreadingUtil.LayoutThreadMode.GUI, 0);
         jmri.util.JUnitUtil.tearDown();
     }
 
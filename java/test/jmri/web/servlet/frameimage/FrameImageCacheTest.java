@@ -0,0 +1,45 @@
+package jmri.web.servlet.frameimage;
+
+import java.io.IOException;
+import javax.swing.JLabel;
+import jmri.util.JUnitUtil;
+import jmri.util.JmriJFrame;
+import org.junit.Assert;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.condition.DisabledIfSystemProperty;
+
+/**
+ * Tests for the jmri.web.servlet.frameimage.FrameImageCache class
+ */
+public class FrameImageCacheTest {
+
+    @Test
+    @DisabledIfSystemProperty(named ="java.awt.headless", matches ="true")
+    public void testGetImage() throws IOException {
+        JmriJFrame frame = new JmriJFrame("Frame Image Test");
+        JLabel label = new JLabel("before");
+        frame.getContentPane().add(label);
+        frame.pack();
+
+        FrameImageCache.Image first = FrameImageCache.getImage(frame);
+        Assert.assertTrue("has png", first.png.length > 0);
+        Assert.assertSame("unchanged frame gets same image", first, FrameImageCache.getImage(frame));
+
+        label.setText("after");
+        FrameImageCache.Image second = FrameImageCache.getImage(frame);
+        if (FrameImageCache.isTracking()) {
+            Assert.assertNotEquals("changed frame gets new tag", first.tag, second.tag);
+        }
+        JUnitUtil.dispose(frame);
+    }
+
+    @BeforeEach
+    public void setUp() {
+        JUnitUtil.setUp();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        JUnitUtil.tearDown();
+    }
+}
@@ -1,15 +1,31 @@
 package jmri.web.servlet.panel;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import javax.servlet.http.HttpServletResponse;
 
 import org.jdom2.Element;
+import org.apache.commons.io.IOUtils;
 import org.junit.jupiter.api.*;
+import org.mockito.Mockito;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
 
 import jmri.InstanceManager;
 import jmri.Sensor;
 import jmri.SensorManager;
 import jmri.configurexml.ConfigXmlManager;
 import jmri.jmrit.catalog.NamedIcon;
+import jmri.jmrit.display.Editor;
 import jmri.jmrit.display.MultiSensorIcon;
 import jmri.util.JUnitUtil;
 
@@ -30,6 +46,67 @@ public class AbstractPanelServletTest {
         assertEquals(systemName, e.getChild("active").getAttribute("sensor").getValue());
     }
 
+    @Test
+    public void testPanelDocumentCache() {
+        Editor editor = Mockito.mock(Editor.class);
+        Mockito.when(editor.isEditable()).thenReturn(false);
+        Mockito.when(editor.getChangeCount()).thenReturn(1);
+        CountingPanelServlet servlet = new CountingPanelServlet(editor);
+        AbstractPanelServlet.PanelDocument document = servlet.getPanelDocument("Panel", true);
+        assertNotNull(document);
+        assertEquals("made once", 1, servlet.made);
+        assertSame("cached", document, servlet.getPanelDocument("Panel", true));
+        assertEquals("made once", 1, servlet.made);
+        // JSON is cached separately
+        servlet.getPanelDocument("Panel", false);
+        assertEquals("JSON made", 2, servlet.made);
+        // editing the panel makes it again
+        Mockito.when(editor.getChangeCount()).thenReturn(2);
+        assertNotSame("made again after edit", document, servlet.getPanelDocument("Panel", true));
+        assertEquals("made again after edit", 3, servlet.made);
+        // renaming a bean makes it again
+        InstanceManager.getDefault(SensorManager.class).provide("IS1").setUserName("Renamed Sensor");
+        servlet.getPanelDocument("Panel", true);
+        assertEquals("made again after rename", 4, servlet.made);
+        // a panel being edited is not cached
+        Mockito.when(editor.isEditable()).thenReturn(true);
+        servlet.getPanelDocument("Panel", true);
+        servlet.getPanelDocument("Panel", true);
+        assertEquals("made while editing", 6, servlet.made);
+    }
+
+    @Test
+    public void testSendPanelDocument() throws IOException {
+        CountingPanelServlet servlet = new CountingPanelServlet(null);
+        AbstractPanelServlet.PanelDocument document = servlet.getPanelDocument("Panel", true);
+        assertNotNull(document);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        servlet.sendPanelDocument(request, response, document);
+        assertEquals(HttpServletResponse.SC_OK, response.getStatus());
+        assertEquals(PANEL, response.getContentAsString());
+        String etag = response.getHeader("ETag");
+        assertNotNull("ETag", etag);
+        // client has the document
+        request = new MockHttpServletRequest();
+        request.addHeader("If-None-Match", etag);
+        response = new MockHttpServletResponse();
+        servlet.sendPanelDocument(request, response, document);
+        assertEquals(HttpServletResponse.SC_NOT_MODIFIED, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+        // compressed document
+        request = new MockHttpServletRequest();
+        request.addHeader("Accept-Encoding", "gzip, deflate");
+        response = new MockHttpServletResponse();
+        servlet.sendPanelDocument(request, response, document);
+        assertEquals(HttpServletResponse.SC_OK, response.getStatus());
+        assertEquals("gzip", response.getHeader("Content-Encoding"));
+        assertNotEquals("own ETag", etag, response.getHeader("ETag"));
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+            assertEquals(PANEL, IOUtils.toString(gzip, StandardCharsets.UTF_8));
+        }
+    }
+
     @BeforeEach
     public void setUp() {
         JUnitUtil.setUp();
@@ -41,6 +118,45 @@ public class AbstractPanelServletTest {
         JUnitUtil.tearDown();
     }
 
+    private static final String PANEL = "<panel name=\"Panel\"/>";
+
+    private static class CountingPanelServlet extends AbstractPanelServlet {
+
+        private final Editor editor;
+        int made = 0;
+
+        CountingPanelServlet(Editor editor) {
+            this.editor = editor;
+        }
+
+        @Override
+        protected String getPanelType() {
+            return "Panel";
+        }
+
+        @Override
+        protected Editor getEditor(String name) {
+            return editor;
+        }
+
+        @Override
+        protected int getPanelVersion(Editor editor) {
+            return 0;
+        }
+
+        @Override
+        protected String getJsonPanel(String name) {
+            made++;
+            return "{}";
+        }
+
+        @Override
+        protected String getXmlPanel(String name) {
+            made++;
+            return PANEL;
+        }
+    }
+
     private class NullPanelServlet extends AbstractPanelServlet {
 
         @Override
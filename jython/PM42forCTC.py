@@ -66,7 +66,7 @@ class PM42Listener(jmri.jmrix.loconet.LocoNetListener):
 
 # create the loconet listener
 ln = PM42Listener()
-jmri.InstanceManager.getList(jmri.jmrix.loconet.LocoNetSystemConnectionMemo).get(connectionIndex).getLnTrafficController().addLocoNetListener(0xFF,ln)
+jmri.InstanceManager.getList(jmri.jmrix.loconet.LocoNetSystemConnectionMemo).get(connectionIndex).getLnTrafficController().addLocoNetListener(jmri.jmrix.loconet.LocoNetInterface.ALL, ln)
 # Start Panelpro Select Tools - Tables - Sensors - Sensor tables 
 # Click Add  System name. in the small window that opens enter System Name - ISPM_nn1  Where nn is
 # your pm42 board id and User name which can be a decription # of the Power District 
@@ -94,7 +94,7 @@ l = PM4LnListener()
 
 l.init()
 
-jmri.InstanceManager.getList(jmri.jmrix.loconet.LocoNetSystemConnectionMemo).get(connectionIndex).getLnTrafficController().addLocoNetListener(0xFF, l)
+jmri.InstanceManager.getList(jmri.jmrix.loconet.LocoNetSystemConnectionMemo).get(connectionIndex).getLnTrafficController().addLocoNetListener(jmri.jmrix.loconet.LocoNetInterface.ALL, l)
 
 # The next part formats and sends a test LocoNet message.
 
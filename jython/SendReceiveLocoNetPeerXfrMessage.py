@@ -29,7 +29,7 @@ class PeerListener (jmri.jmrix.loconet.LocoNetListener) :
         return
 
 # add one of those to the LocoNet connection
-myLocoNetConnection.getLnTrafficController().addLocoNetListener(0xFF,PeerListener())
+myLocoNetConnection.getLnTrafficController().addLocoNetListener(jmri.jmrix.loconet.LocoNetInterface.ALL, PeerListener())
 
 # now create a message and send it
 source = 10